@@ -0,0 +1,97 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.util.Percentage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the isolation check of the DungeonDistributor, which probes a {@link DungeonEntranceIndex}, and of
+ * the original check, which made a list of the Points around the candidate and probed a HashSet of entrances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DungeonDistributorBenchmark {
+
+  /**
+   * Checks whether a Point is isolated by probing a HashSet with every Point of the zone around it.
+   */
+  @Benchmark
+  public boolean isIsolatedByHashSet(EntrancesState state) {
+    Point point = state.nextPoint();
+    for (Point pointToCheck : DungeonDistributor.makeNoEntrancesZonePointList(point, state.rectangle)) {
+      if (state.entranceSet.contains(pointToCheck)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether a Point is isolated by looking up the cells of the index around it.
+   */
+  @Benchmark
+  public boolean isIsolatedByIndex(EntrancesState state) {
+    Point point = state.nextPoint();
+    return !state.entranceIndex.hasEntranceNear(point.getX(), point.getY(), point.getZ());
+  }
+
+  @State(Scope.Thread)
+  public static class EntrancesState {
+
+    private static final int SIDE = 200;
+    private static final long SEED = 0;
+    private static final Percentage DUNGEON_PROBABILITY = Percentage.fromString("2%");
+
+    MinimumBoundingRectangle rectangle;
+    Set<Point> entranceSet;
+    DungeonEntranceIndex entranceIndex;
+    Point[] points;
+    int index;
+
+    /**
+     * Registers the same entrances in both structures, as a distributor would have after going over the whole area.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      rectangle = DungeonCreator.getMinimumBoundingRectangle();
+      entranceSet = new HashSet<>();
+      entranceIndex = new DungeonEntranceIndex(rectangle);
+      points = new Point[SIDE * SIDE];
+      SeededRandom random = new SeededRandom(SEED);
+      for (int x = 0; x < SIDE; x++) {
+        for (int y = 0; y < SIDE; y++) {
+          Point point = new Point(x, y, 0);
+          points[x * SIDE + y] = point;
+          if (!entranceIndex.hasEntranceNear(x, y, 0) && random.roll(DUNGEON_PROBABILITY)) {
+            entranceSet.add(point);
+            entranceIndex.add(x, y, 0);
+          }
+        }
+      }
+    }
+
+    Point nextPoint() {
+      index = (index + 1) % points.length;
+      return points[index];
+    }
+
+  }
+
+}
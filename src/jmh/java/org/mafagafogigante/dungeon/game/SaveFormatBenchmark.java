@@ -0,0 +1,178 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.io.CompressionCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of saved games written by Java serialization, as saves used to be written, and by the SaveFormat with
+ * each compression codec, of lazy reads, and of the journal record written after the Hero takes a step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveFormatBenchmark {
+
+  // The side, in Locations, of the square around the origin that is generated before the game is saved.
+  private static final int SIDE = 100;
+
+  private static GameState makeGameState() {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE / 2; x < SIDE / 2; x++) {
+      for (int y = -SIDE / 2; y < SIDE / 2; y++) {
+        world.getLocation(x, y, 0);
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Writes the game by Java serialization.
+   */
+  @Benchmark
+  public byte[] writeSerialized(GameStateState state) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+      stream.writeObject(state.gameState);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads the game written by Java serialization.
+   */
+  @Benchmark
+  public Object readSerialized(GameStateState state) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(state.serialized))) {
+      return stream.readObject();
+    }
+  }
+
+  /**
+   * Writes the game in the SaveFormat.
+   */
+  @Benchmark
+  public byte[] writeSaveFormat(SaveFormatState state) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(state.gameState, bytes, state.codec);
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads the whole game written in the SaveFormat.
+   */
+  @Benchmark
+  public GameState readSaveFormat(SaveFormatState state) throws IOException {
+    return SaveFormat.read(new ByteArrayInputStream(state.saved));
+  }
+
+  /**
+   * Reads the game written in the SaveFormat lazily, which leaves the chunks away from the Hero encoded.
+   */
+  @Benchmark
+  public GameState readSaveFormatLazily(SaveFormatState state) throws IOException {
+    ByteArrayInputStream input = new ByteArrayInputStream(state.saved);
+    return SaveFormat.read(SaveFormat.readHeader(input), input, null, true);
+  }
+
+  /**
+   * Writes the journal record of a game in which the Hero took a step since it was saved.
+   */
+  @Benchmark
+  public int writeJournalRecord(JournalState state) throws IOException {
+    return SaveFormat.writeJournalRecord(state.gameState, new ByteArrayOutputStream());
+  }
+
+  @State(Scope.Benchmark)
+  public static class GameStateState {
+
+    GameState gameState;
+    byte[] serialized;
+
+    /**
+     * Generates the game and serializes it once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      gameState = makeGameState();
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+        stream.writeObject(gameState);
+      }
+      serialized = bytes.toByteArray();
+    }
+
+  }
+
+  @State(Scope.Benchmark)
+  public static class SaveFormatState {
+
+    @Param({"NONE", "LZ", "DEFLATE"})
+    CompressionCodec codec;
+
+    GameState gameState;
+    byte[] saved;
+
+    /**
+     * Generates the game and saves it once with the codec.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      gameState = makeGameState();
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      SaveFormat.write(gameState, bytes, codec);
+      saved = bytes.toByteArray();
+    }
+
+  }
+
+  @State(Scope.Thread)
+  public static class JournalState {
+
+    GameState gameState;
+
+    /**
+     * Generates and saves the game once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      gameState = makeGameState();
+      SaveFormat.write(gameState, new ByteArrayOutputStream());
+    }
+
+    /**
+     * Moves the Hero one step east before each record is written.
+     */
+    @Setup(Level.Invocation)
+    public void takeStep() {
+      Location origin = gameState.getHero().getLocation();
+      Point point = origin.getPoint();
+      Location destination = gameState.getWorld().getLocation(point.getX() + 1, point.getY(), 0);
+      origin.removeCreature(gameState.getHero());
+      destination.addCreature(gameState.getHero());
+    }
+
+  }
+
+}
@@ -0,0 +1,174 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of world generation and of Location lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+  private static final long SEED = 0;
+  private static final int CHUNK_SIDE = WorldGenerator.DEFAULT_CHUNK_SIDE;
+  // The side, in Locations, of the square around the origin that is generated before lookups are measured.
+  private static final int RESIDENT_SIDE = 8 * CHUNK_SIDE;
+  // A point far enough from the origin to be paged out whenever the chunks around the origin are kept.
+  private static final int DISTANT_COORDINATE = 100 * CHUNK_SIDE;
+
+  /**
+   * Generates a new chunk at each invocation. Every iteration starts with a new generator so that memory use does not
+   * grow without bounds.
+   */
+  @Benchmark
+  public List<Location> expandFreshChunk(GenerationState state) {
+    state.generator.expand(state.nextX, 0);
+    state.nextX += CHUNK_SIDE;
+    return state.generator.takeGeneratedLocations();
+  }
+
+  /**
+   * Looks up Locations that are resident, which is what happens for almost every lookup during a game.
+   */
+  @Benchmark
+  public Location getResidentLocation(ResidentState state) {
+    state.index = (state.index + 1) % (RESIDENT_SIDE * RESIDENT_SIDE);
+    return state.world.getLocation(state.index / RESIDENT_SIDE, state.index % RESIDENT_SIDE, 0);
+  }
+
+  /**
+   * Looks up a Location whose chunk was paged out, which is what happens when the Hero returns to a distant place.
+   */
+  @Benchmark
+  public Location getPagedOutLocation(PagedOutState state) {
+    return state.world.getLocation(DISTANT_COORDINATE, DISTANT_COORDINATE, 0);
+  }
+
+  /**
+   * Rolls for dungeons over an area in which many entrances were already registered.
+   */
+  @Benchmark
+  public boolean rollForDungeon(DistributorState state) {
+    state.index = (state.index + 1) % state.points.length;
+    return state.distributor.rollForDungeon(state.points[state.index], state.random);
+  }
+
+  @State(Scope.Thread)
+  public static class GenerationState {
+
+    @Param({"CLASSIC", "NOISE"})
+    ChunkGeneratorType chunkGeneratorType;
+
+    WorldGenerator generator;
+    int nextX;
+
+    /**
+     * Makes a new generator for a World that is never expanded by anyone else.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+      World world = new World(new WorldStatistics(), SEED, chunkGeneratorType);
+      generator = new WorldGenerator(world, chunkGeneratorType.makeChunkGenerator(SEED));
+      nextX = 0;
+    }
+
+  }
+
+  @State(Scope.Thread)
+  public static class ResidentState {
+
+    World world;
+    int index;
+
+    /**
+     * Generates the square of Locations that is looked up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      world = new World(new WorldStatistics(), SEED);
+      for (int x = 0; x < RESIDENT_SIDE; x++) {
+        for (int y = 0; y < RESIDENT_SIDE; y++) {
+          world.getLocation(x, y, 0);
+        }
+      }
+    }
+
+  }
+
+  @State(Scope.Thread)
+  public static class PagedOutState {
+
+    World world;
+
+    /**
+     * Generates the distant chunk once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      world = new World(new WorldStatistics(), SEED);
+      world.setChunkResidencyLimits(0, 1);
+      world.getLocation(0, 0, 0);
+      world.getLocation(DISTANT_COORDINATE, DISTANT_COORDINATE, 0);
+    }
+
+    /**
+     * Pages out every chunk but the one at the origin before each lookup.
+     */
+    @Setup(Level.Invocation)
+    public void pageOut() {
+      world.pageOutDistantChunks(new Point(0, 0, 0));
+    }
+
+  }
+
+  @State(Scope.Thread)
+  public static class DistributorState {
+
+    private static final int SIDE = 200;
+
+    DungeonDistributor distributor;
+    Point[] points;
+    SeededRandom random;
+    int index;
+
+    /**
+     * Registers the entrances that a distributor would have after going over the whole area.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      distributor = new DungeonDistributor();
+      points = new Point[SIDE * SIDE];
+      random = new SeededRandom(SEED);
+      for (int x = 0; x < SIDE; x++) {
+        for (int y = 0; y < SIDE; y++) {
+          Point point = new Point(x, y, 0);
+          points[x * SIDE + y] = point;
+          if (distributor.rollForDungeon(point, random)) {
+            distributor.registerDungeonEntrance(point);
+          }
+        }
+      }
+    }
+
+  }
+
+}
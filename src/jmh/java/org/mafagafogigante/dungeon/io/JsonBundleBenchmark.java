@@ -0,0 +1,85 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.JsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of parsing every JSON resource against reading a bundle compiled from them and decoding every
+ * resource, which is what happens when the game starts with and without a bundle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBundleBenchmark {
+
+  /**
+   * Parses every JSON resource.
+   */
+  @Benchmark
+  public List<JsonValue> parseResources(ResourcesState state) throws IOException {
+    List<JsonValue> values = new ArrayList<>();
+    for (byte[] source : state.sources.values()) {
+      values.add(JsonBundle.parse(source));
+    }
+    return values;
+  }
+
+  /**
+   * Reads the bundle from a buffer that is not on the heap, as the game does, and decodes every resource.
+   */
+  @Benchmark
+  public List<JsonValue> decodeBundle(ResourcesState state) throws IOException {
+    JsonBundle bundle = JsonBundle.read(state.bundle.duplicate());
+    List<JsonValue> values = new ArrayList<>();
+    for (String name : state.sources.keySet()) {
+      values.add(bundle.decode(name));
+    }
+    return values;
+  }
+
+  @State(Scope.Benchmark)
+  public static class ResourcesState {
+
+    Map<String, byte[]> sources;
+    ByteBuffer bundle;
+
+    /**
+     * Reads the resources and compiles them once.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      sources = new LinkedHashMap<>();
+      for (DungeonResource resource : DungeonResource.values()) {
+        sources.put(resource.getFilename(), ResourceStreamFactory.readBytes(resource.getFilename()));
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      JsonBundle.write(sources, bytes);
+      bundle = ByteBuffer.allocateDirect(bytes.size());
+      bundle.put(bytes.toByteArray());
+      bundle.flip();
+    }
+
+  }
+
+}
@@ -0,0 +1,59 @@
+package org.mafagafogigante.dungeon.map;
+
+import org.mafagafogigante.dungeon.game.Point;
+import org.mafagafogigante.dungeon.game.World;
+import org.mafagafogigante.dungeon.gui.GameWindow;
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JMH benchmark of the rendering of a map of the size used by the map commands in the GameWindow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldMapBenchmark {
+
+  private World world;
+  private Point center;
+
+  /**
+   * Generates all the Locations in the map once, so that only rendering is measured.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    world = new World(new WorldStatistics(), 0);
+    center = new Point(0, 0, 0);
+    WorldMap.makeWorldMap(world, center, getRows(), getColumns());
+  }
+
+  private static int getRows() {
+    return GameWindow.getRows() - 1;
+  }
+
+  private static int getColumns() {
+    return GameWindow.getColumns();
+  }
+
+  @Benchmark
+  public WorldMap makeWorldMap() {
+    return WorldMap.makeWorldMap(world, center, getRows(), getColumns());
+  }
+
+}
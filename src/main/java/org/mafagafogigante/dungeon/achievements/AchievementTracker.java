@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.achievements;
 import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.game.DungeonString;
 import org.mafagafogigante.dungeon.game.Id;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.io.Writer;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.stats.Statistics;
@@ -23,7 +22,7 @@ import java.util.Map;
  */
 public class AchievementTracker implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Statistics statistics;
   private final Map<Id, UnlockedAchievement> unlockedAchievements = new HashMap<>();
 
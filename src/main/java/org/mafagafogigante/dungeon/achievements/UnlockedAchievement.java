@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.achievements;
 
 import org.mafagafogigante.dungeon.date.Date;
-import org.mafagafogigante.dungeon.io.Version;
 
 import java.io.Serializable;
 
@@ -10,7 +9,7 @@ import java.io.Serializable;
  */
 public final class UnlockedAchievement implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final String name;
   private final String info;
   private final Date date;
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.commands;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.CircularList;
 
 import org.apache.commons.lang3.StringUtils;
@@ -13,7 +12,7 @@ import java.io.Serializable;
  */
 public class CommandHistory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final int HISTORY_MAXIMUM_SIZE = 200; // Enough. Small so it doesn't slow down 'TAB' search.
   private final CircularList<String> commands = new CircularList<>(HISTORY_MAXIMUM_SIZE);
   private transient Cursor cursor = new Cursor(this);
@@ -69,7 +68,7 @@ public class CommandHistory implements Serializable {
    */
   public static final class Cursor implements Serializable {
 
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private final CommandHistory history;
     private int index;
 
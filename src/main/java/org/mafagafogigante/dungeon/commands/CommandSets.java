@@ -83,6 +83,18 @@ final class CommandSets {
         Game.getGameState().getHero().printAge();
       }
     });
+    commandSet.addCommand(new Command("autosave", "Displays or sets the autosave interval in minutes.") {
+      @Override
+      public void execute(@NotNull String[] arguments) {
+        Loader.parseAutosaveCommand(arguments);
+      }
+    });
+    commandSet.addCommand(new Command("compression", "Displays or sets the codec that saves are compressed with.") {
+      @Override
+      public void execute(@NotNull String[] arguments) {
+        Loader.parseCompressionCommand(arguments);
+      }
+    });
     commandSet.addCommand(new Command("cast", "Casts a spell.") {
       @Override
       public void execute(@NotNull String[] arguments) {
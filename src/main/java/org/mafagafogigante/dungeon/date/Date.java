@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.date;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 import org.jetbrains.annotations.NotNull;
@@ -16,7 +15,7 @@ import java.io.Serializable;
  */
 public class Date implements Comparable<Date>, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   /**
    * The time, in milliseconds.
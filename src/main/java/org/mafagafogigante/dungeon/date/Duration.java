@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.date;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.DungeonMath;
 import org.mafagafogigante.dungeon.util.Utils;
 
@@ -16,7 +15,7 @@ import java.util.Locale;
  */
 public class Duration implements Comparable<Duration>, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   /**
    * The duration, in milliseconds.
@@ -1,12 +1,10 @@
 package org.mafagafogigante.dungeon.entity;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 public class DamageAmount implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   private final DamageType type;
   private final int amount;
@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.entity;
 
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.io.JsonObjectFactory;
-import org.mafagafogigante.dungeon.io.Version;
 
 import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
@@ -14,9 +13,9 @@ import java.util.Map;
 
 public class EnchantmentFactory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
-  private Map<Id, WeaponEnchantmentPreset> presets = new HashMap<>();
+  private final Map<Id, WeaponEnchantmentPreset> presets = new HashMap<>();
 
   /**
    * Construct an EnchantmentFactory from a JSON file.
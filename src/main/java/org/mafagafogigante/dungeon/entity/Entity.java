@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.entity;
 
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Name;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 import org.mafagafogigante.dungeon.util.Selectable;
 import org.mafagafogigante.dungeon.world.LuminosityVisibilityCriterion;
@@ -16,7 +15,7 @@ import java.io.Serializable;
  */
 public abstract class Entity implements Selectable, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Id id;
   private final String type;
   private final Name name;
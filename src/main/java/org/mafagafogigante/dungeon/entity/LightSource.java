@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.entity;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 /**
@@ -9,7 +7,7 @@ import java.io.Serializable;
  */
 public class LightSource implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Luminosity luminosity;
   private boolean enabled = true;
 
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.entity;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import java.io.Serializable;
@@ -11,7 +10,7 @@ import java.util.Collection;
  */
 public class Luminosity implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   public static final Luminosity ZERO = new Luminosity(new Percentage(0.0));
 
   private final Percentage value;
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.entity;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 import com.eclipsesource.json.JsonArray;
@@ -16,7 +15,7 @@ import java.util.Set;
  */
 public class TagSet<E extends Enum<E>> implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Set<E> set;
 
   private TagSet(Set<E> set) {
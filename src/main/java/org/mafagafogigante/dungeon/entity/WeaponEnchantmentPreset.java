@@ -1,12 +1,10 @@
 package org.mafagafogigante.dungeon.entity;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 public class WeaponEnchantmentPreset implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final String name;
   private final DamageAmount damageAmount;
 
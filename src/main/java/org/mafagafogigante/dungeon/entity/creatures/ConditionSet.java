@@ -0,0 +1,188 @@
+package org.mafagafogigante.dungeon.entity.creatures;
+
+import org.mafagafogigante.dungeon.date.Date;
+import org.mafagafogigante.dungeon.util.Percentage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The active conditions of a Creature.
+ *
+ * <p>Conditions are also kept ordered by expiration, so checking for expired conditions only looks at the first one.
+ * The attack, hit rate and fishing proficiency modified by the conditions are cached for the last value they were
+ * computed from, and the caches are only invalidated when a condition is added or expires. Therefore, looking up the
+ * statistics of a creature during a battle does not go through its conditions again.
+ */
+final class ConditionSet implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // In the order in which they were added, which is the order in which their modifiers are applied.
+  private final List<Condition> conditions = new ArrayList<>();
+  // The same conditions, the first to expire first.
+  private final List<Condition> byExpiration = new ArrayList<>();
+
+  // A null base means that the corresponding cache is invalid.
+  private Integer attackBase;
+  private int attack;
+  private Percentage hitRateBase;
+  private Percentage hitRate;
+  private Percentage fishingProficiencyBase;
+  private Percentage fishingProficiency;
+
+  /**
+   * Returns an unmodifiable view of the conditions, in the order in which they were added.
+   */
+  List<Condition> asList() {
+    return Collections.unmodifiableList(conditions);
+  }
+
+  /**
+   * Removes the conditions that expired before the specified date.
+   */
+  void removeExpired(@NotNull Date date) {
+    if (byExpiration.isEmpty() || !byExpiration.get(0).hasExpired(date)) {
+      return;
+    }
+    int expired = 0;
+    while (expired < byExpiration.size() && byExpiration.get(expired).hasExpired(date)) {
+      removeFromConditions(byExpiration.get(expired));
+      expired++;
+    }
+    byExpiration.subList(0, expired).clear();
+    invalidateCaches();
+  }
+
+  /**
+   * Returns the world time, in milliseconds, at which the first condition expires, or Long.MAX_VALUE if there are no
+   * conditions.
+   */
+  long getNextExpirationTime() {
+    if (byExpiration.isEmpty()) {
+      return Long.MAX_VALUE;
+    }
+    // A condition expires after its expiration date.
+    return byExpiration.get(0).getExpirationDate().getTime() + 1;
+  }
+
+  /**
+   * Adds a condition. If its effect already caused as many identical conditions as it can stack, the first of them to
+   * expire is removed.
+   */
+  void add(@NotNull Condition condition) {
+    int maximumStack = condition.getEffect().getMaximumStack();
+    if (maximumStack > 0) {
+      int stack = 0;
+      Condition firstToExpire = null;
+      // Going through byExpiration, the first identical condition found is the first to expire.
+      for (Condition existingCondition : byExpiration) {
+        if (existingCondition.equals(condition) && existingCondition.getEffect().equals(condition.getEffect())) {
+          if (firstToExpire == null) {
+            firstToExpire = existingCondition;
+          }
+          stack++;
+        }
+      }
+      if (stack == maximumStack) {
+        removeFromConditions(firstToExpire);
+        removeByIdentity(byExpiration, firstToExpire);
+      } else if (stack > maximumStack) {
+        throw new IllegalStateException("Condition stack is bigger than maximum stack");
+      }
+    }
+    conditions.add(condition);
+    byExpiration.add(findExpirationIndex(condition), condition);
+    invalidateCaches();
+  }
+
+  /**
+   * Returns the index at which a condition should be inserted into byExpiration, after those that do not expire later.
+   */
+  private int findExpirationIndex(Condition condition) {
+    Date expiration = condition.getExpirationDate();
+    int low = 0;
+    int high = byExpiration.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (byExpiration.get(middle).getExpirationDate().compareTo(expiration) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private void removeFromConditions(Condition condition) {
+    removeByIdentity(conditions, condition);
+  }
+
+  /**
+   * Removes a condition from a list. Conditions of the same class are equal, so List.remove cannot be used.
+   */
+  private static void removeByIdentity(List<Condition> list, Condition condition) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == condition) {
+        list.remove(i);
+        return;
+      }
+    }
+  }
+
+  private void invalidateCaches() {
+    attackBase = null;
+    hitRateBase = null;
+    fishingProficiencyBase = null;
+  }
+
+  /**
+   * Returns the specified attack modified by all the conditions.
+   */
+  int modifyAttack(int base) {
+    if (attackBase == null || attackBase != base) {
+      int total = base;
+      for (Condition condition : conditions) {
+        total = condition.modifyAttack(total);
+      }
+      attackBase = base;
+      attack = total;
+    }
+    return attack;
+  }
+
+  /**
+   * Returns the specified hit rate modified by all the conditions.
+   */
+  Percentage modifyHitRate(@NotNull Percentage base) {
+    if (hitRateBase == null || !hitRateBase.equals(base)) {
+      Percentage total = base;
+      for (Condition condition : conditions) {
+        total = condition.modifyHitRate(total);
+      }
+      hitRateBase = base;
+      hitRate = total;
+    }
+    return hitRate;
+  }
+
+  /**
+   * Returns the specified fishing proficiency modified by all the conditions.
+   */
+  Percentage modifyFishingProficiency(@NotNull Percentage base) {
+    if (fishingProficiencyBase == null || !fishingProficiencyBase.equals(base)) {
+      Percentage total = base;
+      for (Condition condition : conditions) {
+        total = condition.modifyFishingProficiency(total);
+      }
+      fishingProficiencyBase = base;
+      fishingProficiency = total;
+    }
+    return fishingProficiency;
+  }
+
+}
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.entity.creatures;
 
-import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.entity.Entity;
 import org.mafagafogigante.dungeon.entity.LightSource;
 import org.mafagafogigante.dungeon.entity.Luminosity;
@@ -8,7 +7,6 @@ import org.mafagafogigante.dungeon.entity.TagSet;
 import org.mafagafogigante.dungeon.entity.items.CreatureInventory;
 import org.mafagafogigante.dungeon.entity.items.Item;
 import org.mafagafogigante.dungeon.game.Location;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.stats.CauseOfDeath;
 import org.mafagafogigante.dungeon.util.Percentage;
@@ -23,13 +21,13 @@ import java.util.List;
  */
 public class Creature extends Entity {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final Percentage BASE_FISHING_PROFICIENCY = Percentage.fromString("25%");
   private final int attack;
   private final AttackAlgorithmId attackAlgorithmId;
   private final TagSet<Tag> tagSet;
   private final CreatureInventory inventory;
-  private final List<Condition> conditions;
+  private final ConditionSet conditions;
   private final LightSource lightSource;
   private final CreatureHealth health;
   private final Dropper dropper;
@@ -54,7 +52,7 @@ public class Creature extends Entity {
     tagSet = TagSet.copyTagSet(preset.getTagSet());
     attackAlgorithmId = preset.getAttackAlgorithmId();
     inventory = new CreatureInventory(this, preset.getInventoryItemLimit(), preset.getInventoryWeightLimit());
-    conditions = new ArrayList<>();
+    conditions = new ConditionSet();
     lightSource = new LightSource(preset.getLuminosity());
     dropper = new Dropper(this, preset.getDropList());
   }
@@ -75,49 +73,31 @@ public class Creature extends Entity {
     return dropper;
   }
 
-  private void refreshConditions() {
-    Date date = getLocation().getWorld().getWorldDate();
-    boolean hasExpired = false;
-    for (Condition condition : conditions) {
-      if (condition.hasExpired(date)) {
-        hasExpired = true;
-        break;
-      }
-    }
-    if (hasExpired) {
-      for (Condition condition : new ArrayList<>(conditions)) {
-        if (condition.hasExpired(date)) {
-          conditions.remove(condition);
-        }
-      }
-    }
+  /**
+   * Removes the conditions of this creature that expired.
+   */
+  public void refreshConditions() {
+    conditions.removeExpired(getLocation().getWorld().getWorldDate());
   }
 
+  /**
+   * Returns an unmodifiable view of the active conditions of this creature.
+   */
   List<Condition> getConditions() {
     refreshConditions();
-    return conditions;
+    return conditions.asList();
+  }
+
+  /**
+   * Returns the world time, in milliseconds, at which the first condition of this creature expires, or Long.MAX_VALUE
+   * if this creature has no conditions.
+   */
+  public long getNextConditionExpiration() {
+    return conditions.getNextExpirationTime();
   }
 
   void addCondition(@NotNull Condition condition) {
-    List<Condition> conditions = getConditions();
-    if (condition.getEffect().getMaximumStack() > 0) {
-      int stack = 0;
-      Condition firstToExpire = null;
-      for (Condition existingCondition : conditions) {
-        if (existingCondition.equals(condition) && existingCondition.getEffect().equals(condition.getEffect())) {
-          Date existingConditionExpiration = existingCondition.getExpirationDate();
-          if (firstToExpire == null || existingConditionExpiration.compareTo(firstToExpire.getExpirationDate()) < 0) {
-            firstToExpire = existingCondition;
-          }
-          stack++;
-        }
-      }
-      if (stack == condition.getEffect().getMaximumStack()) {
-        conditions.remove(firstToExpire);
-      } else if (stack > condition.getEffect().getMaximumStack()) {
-        throw new IllegalStateException("Condition stack is bigger than maximum stack");
-      }
-    }
+    refreshConditions();
     conditions.add(condition);
   }
 
@@ -125,22 +105,24 @@ public class Creature extends Entity {
    * Returns the attack of this creature after taking into account all of its active conditions.
    */
   int getAttack() {
-    int total = attack;
-    for (Condition condition : getConditions()) {
-      total = condition.modifyAttack(total);
-    }
-    return total;
+    refreshConditions();
+    return conditions.modifyAttack(attack);
+  }
+
+  /**
+   * Returns the specified hit rate after taking into account all of the active conditions of this creature.
+   */
+  Percentage modifyHitRate(@NotNull Percentage hitRate) {
+    refreshConditions();
+    return conditions.modifyHitRate(hitRate);
   }
 
   /**
    * Returns the fishing proficiency of this creature after taking into account all of its active conditions.
    */
   Percentage getFishingProficiency() {
-    Percentage total = BASE_FISHING_PROFICIENCY;
-    for (Condition condition : getConditions()) {
-      total = condition.modifyFishingProficiency(total);
-    }
-    return total;
+    refreshConditions();
+    return conditions.modifyFishingProficiency(BASE_FISHING_PROFICIENCY);
   }
 
   public CreatureInventory getInventory() {
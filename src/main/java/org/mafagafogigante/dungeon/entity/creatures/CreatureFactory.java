@@ -4,35 +4,41 @@ import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.entity.items.CreatureInventory.SimulationResult;
 import org.mafagafogigante.dungeon.entity.items.Item;
 import org.mafagafogigante.dungeon.entity.items.ItemFactory;
-import org.mafagafogigante.dungeon.game.Game;
 import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.game.PresetRegistry;
 import org.mafagafogigante.dungeon.game.World;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.stats.Statistics;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * The factory of creatures.
+ *
+ * <p>A CreatureFactory is immutable, so a single one is shared by every World. The presets are not serialized and a
+ * deserialized CreatureFactory is replaced by the one of the default {@link PresetRegistry}.
  */
 public final class CreatureFactory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
-  private final Map<Id, CreaturePreset> creaturePresets = new HashMap<>();
+  private static final long serialVersionUID = 1L;
+  private final transient Map<Id, CreaturePreset> creaturePresets;
 
   /**
-   * Constructs an ItemFactory from one or more CreaturePresetFactories.
+   * Constructs a CreatureFactory from one or more CreaturePresetFactories.
    */
   public CreatureFactory(@NotNull CreaturePresetFactory... creaturePresetFactories) {
+    Map<Id, CreaturePreset> presets = new HashMap<>();
     for (CreaturePresetFactory creaturePresetFactory : creaturePresetFactories) {
-      addAllPresets(creaturePresetFactory.getCreaturePresets());
+      addAllPresets(presets, creaturePresetFactory.getCreaturePresets());
     }
+    creaturePresets = Collections.unmodifiableMap(presets);
   }
 
   private static void equipWeapon(Creature creature, CreaturePreset preset) {
@@ -52,18 +58,22 @@ public final class CreatureFactory implements Serializable {
   }
 
   /**
-   * Iterates over all presets of a Collection, adding them to this factory after they are validated.
+   * Iterates over all presets of a Collection, adding them to the map after they are validated.
    */
-  private void addAllPresets(Collection<CreaturePreset> presets) {
+  private static void addAllPresets(Map<Id, CreaturePreset> map, Collection<CreaturePreset> presets) {
     for (CreaturePreset preset : presets) {
       Id id = preset.getId();
-      if (creaturePresets.containsKey(id)) {
+      if (map.containsKey(id)) {
         throw new IllegalArgumentException("factory already contains a preset with the Id " + preset.getId() + ".");
       }
-      creaturePresets.put(id, preset);
+      map.put(id, preset);
     }
   }
 
+  private Object readResolve() throws ObjectStreamException {
+    return PresetRegistry.getDefaultRegistry().getCreatureFactory();
+  }
+
   /**
    * Gives a Creature all the Items defined in the corresponding CreaturePreset and equips its weapon, if there is one.
    *
@@ -99,7 +109,7 @@ public final class CreatureFactory implements Serializable {
     CreaturePreset preset = creaturePresets.get(id);
     if (preset != null) {
       Creature creature = new Creature(preset);
-      Game.getGameState().getStatistics().getWorldStatistics().addSpawn(creature.getName().getSingular());
+      world.getWorldStatistics().addSpawn(creature.getName().getSingular());
       giveItems(creature, world);
       return creature;
     } else {
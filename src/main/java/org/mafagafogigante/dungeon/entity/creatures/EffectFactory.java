@@ -5,7 +5,6 @@ import org.mafagafogigante.dungeon.date.DungeonTimeParser;
 import org.mafagafogigante.dungeon.date.DungeonTimeUnit;
 import org.mafagafogigante.dungeon.date.Duration;
 import org.mafagafogigante.dungeon.game.Id;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import java.io.Serializable;
@@ -15,7 +14,7 @@ import java.util.Map;
 
 public class EffectFactory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final EffectFactory defaultFactory = new EffectFactory();
   private final Map<Id, EffectTemplate> templates = new HashMap<>();
 
@@ -49,7 +48,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class HealingEffectTemplate extends EffectTemplate {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
 
     @Override
     public Effect instantiate(List<String> parameters) {
@@ -60,7 +59,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class AttackEffectTemplate extends EffectTemplate {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
 
     @Override
     public Effect instantiate(List<String> parameters) {
@@ -73,7 +72,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class WellFedEffectTemplate extends EffectTemplate {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private static final Duration SIX_HOURS = DungeonTimeParser.parseDuration("6 hours");
 
     @Override
@@ -84,7 +83,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class FishingProficiencyTemplate extends EffectTemplate {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
 
     @Override
     public Effect instantiate(List<String> parameters) {
@@ -97,7 +96,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class HealingEffect extends Effect {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private final int healing;
 
     HealingEffect(int healing) {
@@ -111,7 +110,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class AttackEffect extends Effect {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private final Duration duration;
     private final int extraDamage;
 
@@ -128,7 +127,7 @@ public class EffectFactory implements Serializable {
     }
 
     private static class AttackCondition extends Condition {
-      private static final long serialVersionUID = Version.MAJOR;
+      private static final long serialVersionUID = 1L;
       private final Date end;
       private final Effect effect;
       private final int attackModifier;
@@ -161,7 +160,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class HitRateEffect extends Effect {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private final Duration duration;
     private final double hitRateMultiplier;
     private final int maximumStack;
@@ -185,7 +184,7 @@ public class EffectFactory implements Serializable {
     }
 
     private static class HitRateCondition extends Condition {
-      private static final long serialVersionUID = Version.MAJOR;
+      private static final long serialVersionUID = 1L;
       private final Date end;
       private final Effect effect;
       private final double hitRateMultiplier;
@@ -222,7 +221,7 @@ public class EffectFactory implements Serializable {
   }
 
   private static class FishingProficiencyEffect extends Effect {
-    private static final long serialVersionUID = Version.MAJOR;
+    private static final long serialVersionUID = 1L;
     private final Duration duration;
     private final Percentage extraProficiency;
     private final int maximumStack;
@@ -246,7 +245,7 @@ public class EffectFactory implements Serializable {
     }
 
     private static class ImprovedFishingCondition extends Condition {
-      private static final long serialVersionUID = Version.MAJOR;
+      private static final long serialVersionUID = 1L;
       private final Date end;
       private final Effect effect;
       private final Percentage extraProficiency;
@@ -1,13 +1,11 @@
 package org.mafagafogigante.dungeon.entity.creatures;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 import java.util.List;
 
 abstract class EffectTemplate implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   abstract Effect instantiate(List<String> parameters);
 
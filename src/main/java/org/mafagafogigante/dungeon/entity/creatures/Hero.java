@@ -24,9 +24,9 @@ import org.mafagafogigante.dungeon.game.NameFactory;
 import org.mafagafogigante.dungeon.game.PartOfDay;
 import org.mafagafogigante.dungeon.game.QuantificationMode;
 import org.mafagafogigante.dungeon.game.Random;
+import org.mafagafogigante.dungeon.game.RefreshBatch;
 import org.mafagafogigante.dungeon.game.World;
 import org.mafagafogigante.dungeon.io.Sleeper;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.io.Writer;
 import org.mafagafogigante.dungeon.spells.Spell;
 import org.mafagafogigante.dungeon.spells.SpellData;
@@ -50,7 +50,7 @@ import java.util.Locale;
  */
 public class Hero extends Creature {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   // The longest possible sleep starts at 19:00 and ends at 05:15 (takes 10 hours and 15 minutes).
   // It seems a good idea to let the Hero have one dream every 4 hours.
   private static final int DREAM_DURATION_IN_SECONDS = 4 * DungeonMath.safeCastLongToInteger(HOUR.as(SECOND));
@@ -153,20 +153,23 @@ public class Hero extends Creature {
       // In order to increase realism, add some time for the time it would take to wake up exactly at dawn.
       seconds += nextRandomTimeChunk();
       statistics.getHeroStatistics().incrementSleepingTime(seconds);
-      while (seconds > 0) {
-        final int cycleDuration = Math.min(DREAM_DURATION_IN_SECONDS, seconds);
-        Engine.rollDateAndRefresh(cycleDuration);
-        // Cast to long because it is considered best practice. We are going to end with a long anyway, so start doing
-        // long arithmetic at the first multiplication. Reported by ICAST_INTEGER_MULTIPLY_CAST_TO_LONG in FindBugs.
-        long timeForSleep = (long) MILLISECONDS_TO_SLEEP_AN_HOUR * cycleDuration / HOUR.as(SECOND);
-        Sleeper.sleep(timeForSleep);
-        if (cycleDuration == DREAM_DURATION_IN_SECONDS) {
-          Writer.write(Libraries.getDreamLibrary().next());
-        }
-        seconds -= cycleDuration;
-        if (!getHealth().isFull()) {
-          int healing = getHealth().getMaximum() * cycleDuration / SECONDS_TO_REGENERATE_FULL_HEALTH;
-          getHealth().incrementBy(healing);
+      // The world is refreshed once, when the Hero wakes up, instead of once per dream.
+      try (RefreshBatch batch = Engine.beginRefreshBatch()) {
+        while (seconds > 0) {
+          final int cycleDuration = Math.min(DREAM_DURATION_IN_SECONDS, seconds);
+          batch.rollDate(cycleDuration);
+          // Cast to long because it is considered best practice. We are going to end with a long anyway, so start
+          // doing long arithmetic at the first multiplication. Reported by ICAST_INTEGER_MULTIPLY_CAST_TO_LONG.
+          long timeForSleep = (long) MILLISECONDS_TO_SLEEP_AN_HOUR * cycleDuration / HOUR.as(SECOND);
+          Sleeper.sleep(timeForSleep);
+          if (cycleDuration == DREAM_DURATION_IN_SECONDS) {
+            Writer.write(Libraries.getDreamLibrary().next());
+          }
+          seconds -= cycleDuration;
+          if (!getHealth().isFull()) {
+            int healing = getHealth().getMaximum() * cycleDuration / SECONDS_TO_REGENERATE_FULL_HEALTH;
+            getHealth().incrementBy(healing);
+          }
         }
       }
       Writer.write("You wake up.");
@@ -322,23 +325,27 @@ public class Hero extends Creature {
   public void pickItems(String[] arguments) {
     if (canSeeAnItem()) {
       List<Item> selectedItems = selectLocationItems(arguments);
-      for (Item item : selectedItems) {
-        final SimulationResult result = getInventory().simulateItemAddition(item);
-        // We stop adding items as soon as we hit the first one which would exceed the amount or weight limit.
-        if (result == SimulationResult.AMOUNT_LIMIT) {
-          Writer.write("Your inventory is full.");
-          break;
-        } else if (result == SimulationResult.WEIGHT_LIMIT) {
-          Writer.write("You can't carry more weight.");
-          // This may not be ideal, as there may be a selection which has lighter items after this item.
-          break;
-        } else if (result == SimulationResult.SUCCESSFUL) {
-          Engine.rollDateAndRefresh(SECONDS_TO_PICK_UP_AN_ITEM);
-          if (getLocation().getInventory().hasItem(item)) {
-            getLocation().removeItem(item);
-            addItem(item);
-          } else {
-            HeroUtils.writeNoLongerInLocationMessage(item);
+      try (RefreshBatch batch = Engine.beginRefreshBatch()) {
+        for (Item item : selectedItems) {
+          final SimulationResult result = getInventory().simulateItemAddition(item);
+          // We stop adding items as soon as we hit the first one which would exceed the amount or weight limit.
+          if (result == SimulationResult.AMOUNT_LIMIT) {
+            Writer.write("Your inventory is full.");
+            break;
+          } else if (result == SimulationResult.WEIGHT_LIMIT) {
+            Writer.write("You can't carry more weight.");
+            // This may not be ideal, as there may be a selection which has lighter items after this item.
+            break;
+          } else if (result == SimulationResult.SUCCESSFUL) {
+            batch.rollDate(SECONDS_TO_PICK_UP_AN_ITEM);
+            // The item may have decomposed while it was being picked up.
+            batch.refreshItems();
+            if (getLocation().getInventory().hasItem(item)) {
+              getLocation().removeItem(item);
+              addItem(item);
+            } else {
+              HeroUtils.writeNoLongerInLocationMessage(item);
+            }
           }
         }
       }
@@ -382,17 +389,20 @@ public class Hero extends Creature {
    */
   public void dropItems(String[] arguments) {
     List<Item> selectedItems = selectInventoryItems(arguments);
-    for (Item item : selectedItems) {
-      if (item == getWeapon()) {
-        unsetWeapon(); // Just unset the weapon, it does not need to be moved to the inventory before being dropped.
-      }
-      // Take the time to drop the item.
-      Engine.rollDateAndRefresh(SECONDS_TO_DROP_AN_ITEM);
-      if (getInventory().hasItem(item)) { // The item may have disappeared while dropping.
-        dropItem(item); // Just drop it if has not disappeared.
+    try (RefreshBatch batch = Engine.beginRefreshBatch()) {
+      for (Item item : selectedItems) {
+        if (item == getWeapon()) {
+          unsetWeapon(); // Just unset the weapon, it does not need to be moved to the inventory before being dropped.
+        }
+        // Take the time to drop the item.
+        batch.rollDate(SECONDS_TO_DROP_AN_ITEM);
+        batch.refreshItems();
+        if (getInventory().hasItem(item)) { // The item may have disappeared while dropping.
+          dropItem(item); // Just drop it if has not disappeared.
+        }
+        // The character "dropped" the item even if it disappeared while doing it, so write about it.
+        Writer.write(String.format("Dropped %s.", item.getQualifiedName()));
       }
-      // The character "dropped" the item even if it disappeared while doing it, so write about it.
-      Writer.write(String.format("Dropped %s.", item.getQualifiedName()));
     }
   }
 
@@ -489,10 +499,10 @@ public class Hero extends Creature {
         SimulationResult result = getInventory().simulateItemAddition(item);
         if (result == SimulationResult.AMOUNT_LIMIT) {
           Writer.write("Your inventory is full, you decide to drop the fish in the ground.");
-          getLocation().getInventory().addItem(item);
+          getLocation().addItem(item);
         } else if (result == SimulationResult.WEIGHT_LIMIT) {
           Writer.write("You can't carry more weight, you decide to drop the fish in the ground.");
-          getLocation().getInventory().addItem(item);
+          getLocation().addItem(item);
         } else if (result == SimulationResult.SUCCESSFUL) {
           getInventory().addItem(item);
         }
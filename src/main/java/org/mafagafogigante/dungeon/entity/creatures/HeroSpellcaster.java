@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.entity.creatures;
 
 import org.mafagafogigante.dungeon.io.Split;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.io.Writer;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.spells.Spell;
@@ -17,7 +16,7 @@ import java.util.List;
  */
 public class HeroSpellcaster implements Serializable, Spellcaster {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Hero hero;
   private final List<Spell> spellList = new ArrayList<>();
 
@@ -6,6 +6,7 @@ import org.mafagafogigante.dungeon.entity.Weight;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.NameFactory;
 import org.mafagafogigante.dungeon.io.JsonObjectFactory;
+import org.mafagafogigante.dungeon.io.JsonObjectStream;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.util.Percentage;
 
@@ -110,33 +111,37 @@ public class JsonCreaturePresetFactory implements CreaturePresetFactory {
     }
   }
 
+  private static CreaturePreset makeCreaturePreset(JsonObject presetObject) {
+    CreaturePreset preset = new CreaturePreset();
+    preset.setId(new Id(presetObject.get("id").asString()));
+    preset.setType(presetObject.get("type").asString());
+    preset.setName(NameFactory.fromJsonObject(presetObject.get("name").asObject()));
+    if (presetObject.get("tags") != null) {
+      preset.setTagSet(TagSet.fromJsonArray(presetObject.get("tags").asArray(), Creature.Tag.class));
+    } else {
+      preset.setTagSet(TagSet.makeEmptyTagSet(Creature.Tag.class));
+    }
+    preset.setInventoryItemLimit(presetObject.getInt("inventoryItemLimit", DEFAULT_INVENTORY_ITEM_LIMIT));
+    preset.setInventoryWeightLimit(presetObject.getDouble("inventoryWeightLimit", DEFAULT_INVENTORY_WEIGHT_LIMIT));
+    preset.setItems(getInventory(presetObject));
+    preset.setDropList(getDrops(presetObject));
+    setLuminosityIfPresent(preset, presetObject);
+    setVisibility(preset, presetObject);
+    preset.setWeight(Weight.newInstance(presetObject.get("weight").asDouble()));
+    preset.setHealth(presetObject.get("health").asInt());
+    preset.setAttack(presetObject.get("attack").asInt());
+    setWeaponIfPreset(preset, presetObject);
+    preset.setAttackAlgorithmId(AttackAlgorithmId.valueOf(presetObject.get("attackAlgorithmID").asString()));
+    return preset;
+  }
+
   @Override
   public Collection<CreaturePreset> getCreaturePresets() {
     Collection<CreaturePreset> creaturePresetMap = new ArrayList<>();
-    JsonObject object = JsonObjectFactory.makeJsonObject(filename);
-    for (JsonValue value : object.get("creatures").asArray()) {
-      JsonObject presetObject = value.asObject();
-      CreaturePreset preset = new CreaturePreset();
-      preset.setId(new Id(presetObject.get("id").asString()));
-      preset.setType(presetObject.get("type").asString());
-      preset.setName(NameFactory.fromJsonObject(presetObject.get("name").asObject()));
-      if (presetObject.get("tags") != null) {
-        preset.setTagSet(TagSet.fromJsonArray(presetObject.get("tags").asArray(), Creature.Tag.class));
-      } else {
-        preset.setTagSet(TagSet.makeEmptyTagSet(Creature.Tag.class));
+    try (JsonObjectStream stream = JsonObjectFactory.makeJsonObjectStream(filename, "creatures")) {
+      while (stream.hasNext()) {
+        creaturePresetMap.add(makeCreaturePreset(stream.next()));
       }
-      preset.setInventoryItemLimit(presetObject.getInt("inventoryItemLimit", DEFAULT_INVENTORY_ITEM_LIMIT));
-      preset.setInventoryWeightLimit(presetObject.getDouble("inventoryWeightLimit", DEFAULT_INVENTORY_WEIGHT_LIMIT));
-      preset.setItems(getInventory(presetObject));
-      preset.setDropList(getDrops(presetObject));
-      setLuminosityIfPresent(preset, presetObject);
-      setVisibility(preset, presetObject);
-      preset.setWeight(Weight.newInstance(presetObject.get("weight").asDouble()));
-      preset.setHealth(presetObject.get("health").asInt());
-      preset.setAttack(presetObject.get("attack").asInt());
-      setWeaponIfPreset(preset, presetObject);
-      preset.setAttackAlgorithmId(AttackAlgorithmId.valueOf(presetObject.get("attackAlgorithmID").asString()));
-      creaturePresetMap.add(preset);
     }
     DungeonLogger.info("Loaded " + creaturePresetMap.size() + " creature presets.");
     return creaturePresetMap;
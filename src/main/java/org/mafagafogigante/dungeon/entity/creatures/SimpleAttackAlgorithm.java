@@ -39,10 +39,7 @@ class SimpleAttackAlgorithm implements AttackAlgorithm {
     } else {
       hitRate = DEFAULT_UNARMED_HIT_RATE;
     }
-    for (Condition condition : creature.getConditions()) {
-      hitRate = condition.modifyHitRate(hitRate);
-    }
-    return hitRate;
+    return creature.modifyHitRate(hitRate);
   }
 
   /**
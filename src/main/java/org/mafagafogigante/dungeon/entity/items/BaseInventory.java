@@ -1,27 +1,67 @@
 package org.mafagafogigante.dungeon.entity.items;
 
-import org.mafagafogigante.dungeon.entity.items.Item.Tag;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.date.Date;
+
+import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * The abstract BaseInventory class all inventories inherit from.
  */
 public abstract class BaseInventory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
-  final List<Item> items;
+  private static final long serialVersionUID = 1L;
+  private static final Comparator<Item> DECOMPOSITION_COMPARATOR = new Comparator<Item>() {
+    @Override
+    public int compare(Item first, Item second) {
+      return Long.compare(first.getDecompositionTime(), second.getDecompositionTime());
+    }
+  };
+  private final List<Item> items;
+  // The Items that decompose, the first to decompose at the head. Rebuilt from the list of Items when deserialized.
+  private transient PriorityQueue<Item> decomposingItems;
 
   BaseInventory() {
     items = new ArrayList<>();
   }
 
-  private static boolean isDecomposed(Item item) {
-    return (item.hasTag(Tag.DECOMPOSES) && item.getAge() >= item.getDecompositionPeriod());
+  private PriorityQueue<Item> getDecomposingItems() {
+    if (decomposingItems == null) {
+      decomposingItems = new PriorityQueue<>(11, DECOMPOSITION_COMPARATOR);
+      for (Item item : items) {
+        if (item.getDecompositionTime() != Long.MAX_VALUE) {
+          decomposingItems.add(item);
+        }
+      }
+    }
+    return decomposingItems;
+  }
+
+  /**
+   * Adds an Item to the list of Items of this inventory. Used by the inventories after checking that they can hold it.
+   */
+  void addToItems(Item item) {
+    // Get the queue before adding the Item to the list, as making the queue adds the Items of the list to it.
+    PriorityQueue<Item> decomposingItems = getDecomposingItems();
+    items.add(item);
+    if (item.getDecompositionTime() != Long.MAX_VALUE) {
+      decomposingItems.add(item);
+    }
+  }
+
+  /**
+   * Removes an Item from the list of Items of this inventory.
+   */
+  void removeFromItems(Item item) {
+    if (items.remove(item) && item.getDecompositionTime() != Long.MAX_VALUE) {
+      getDecomposingItems().remove(item);
+    }
   }
 
   /**
@@ -57,14 +97,29 @@ public abstract class BaseInventory implements Serializable {
   protected abstract void removeItem(Item item);
 
   /**
-   * Iterates through the inventory, removing items that shouldn't exist anymore.
+   * Removes the items that decomposed. Only the items that decomposed are visited, so refreshing an inventory whose
+   * items are not due costs nothing.
+   *
+   * @param date the current date of the World
+   * @return whether any item was removed
    */
-  public void refreshItems() {
-    for (Item item : new ArrayList<>(items)) {
-      if (isDecomposed(item)) {
-        removeItem(item);
-      }
+  public boolean refreshItems(@NotNull Date date) {
+    PriorityQueue<Item> decomposingItems = getDecomposingItems();
+    boolean removed = false;
+    while (!decomposingItems.isEmpty() && decomposingItems.peek().getDecompositionTime() <= date.getTime()) {
+      removeItem(decomposingItems.poll());
+      removed = true;
     }
+    return removed;
+  }
+
+  /**
+   * Returns the world time, in milliseconds, at which the first Item of this inventory decomposes, or Long.MAX_VALUE if
+   * none of them decompose.
+   */
+  public long getNextDecompositionTime() {
+    Item item = getDecomposingItems().peek();
+    return item == null ? Long.MAX_VALUE : item.getDecompositionTime();
   }
 
 }
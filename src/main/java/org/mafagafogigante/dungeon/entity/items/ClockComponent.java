@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.entity.items;
 import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.game.Game;
 import org.mafagafogigante.dungeon.game.Random;
-import org.mafagafogigante.dungeon.io.Version;
 
 import java.io.Serializable;
 
@@ -12,7 +11,7 @@ import java.io.Serializable;
  */
 public class ClockComponent implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Item master;
 
   /**
@@ -29,6 +28,10 @@ public class ClockComponent implements Serializable {
     this.lastTime = lastTime;
   }
 
+  Date getLastTime() {
+    return lastTime;
+  }
+
   /**
    * Returns a string that represents a clock reading.
    */
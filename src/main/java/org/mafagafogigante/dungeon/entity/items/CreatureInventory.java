@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.entity.Weight;
 import org.mafagafogigante.dungeon.entity.creatures.Creature;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 /**
@@ -10,7 +9,7 @@ import org.mafagafogigante.dungeon.logging.DungeonLogger;
  */
 public class CreatureInventory extends BaseInventory implements LimitedInventory {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Creature owner;
   private final int itemLimit;
   private final Weight weightLimit;
@@ -52,7 +51,7 @@ public class CreatureInventory extends BaseInventory implements LimitedInventory
    */
   public void addItem(Item item) {
     if (simulateItemAddition(item) == SimulationResult.SUCCESSFUL) {
-      items.add(item);
+      addToItems(item);
       item.setInventory(this);
       String format = "Added %s to the inventory of %s.";
       DungeonLogger.fine(String.format(format, item.getQualifiedName(), owner));
@@ -98,7 +97,7 @@ public class CreatureInventory extends BaseInventory implements LimitedInventory
     if (owner.getWeapon() == item) {
       owner.unsetWeapon();
     }
-    items.remove(item);
+    removeFromItems(item);
     item.setInventory(null);
     String format = "Removed %s from the inventory of %s.";
     DungeonLogger.fine(String.format(format, item.getQualifiedName(), owner));
@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.entity.creatures.Creature;
 import org.mafagafogigante.dungeon.entity.creatures.Effect;
-import org.mafagafogigante.dungeon.io.Version;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -11,7 +10,7 @@ import java.util.List;
 
 public class DrinkableComponent implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final List<Effect> effects;
   private final int integrityDecrementPerDose;
   private int doses;
@@ -39,6 +38,14 @@ public class DrinkableComponent implements Serializable {
     return doses == 0;
   }
 
+  int getDoses() {
+    return doses;
+  }
+
+  void setDoses(int doses) {
+    this.doses = doses;
+  }
+
   int getIntegrityDecrementPerDose() {
     return integrityDecrementPerDose;
   }
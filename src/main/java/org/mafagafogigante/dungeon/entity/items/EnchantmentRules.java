@@ -1,8 +1,7 @@
 package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.game.Id;
-import org.mafagafogigante.dungeon.game.Random;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.game.SeededRandom;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -13,7 +12,7 @@ import java.util.Map.Entry;
 
 public class EnchantmentRules implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   private final Map<Id, Double> rules = new HashMap<>();
 
@@ -21,10 +20,10 @@ public class EnchantmentRules implements Serializable {
     rules.put(id, probability);
   }
 
-  List<Id> randomRoll() {
+  List<Id> randomRoll(SeededRandom random) {
     List<Id> chosenRules = new ArrayList<>();
     for (Entry<Id, Double> rule : rules.entrySet()) {
-      if (Random.roll(rule.getValue())) {
+      if (random.roll(rule.getValue())) {
         chosenRules.add(rule.getKey());
       }
     }
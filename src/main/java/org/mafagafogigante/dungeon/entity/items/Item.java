@@ -1,18 +1,17 @@
 package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.date.Date;
-import org.mafagafogigante.dungeon.date.Duration;
+import org.mafagafogigante.dungeon.date.DungeonTimeUnit;
 import org.mafagafogigante.dungeon.entity.EnchantmentFactory;
 import org.mafagafogigante.dungeon.entity.Entity;
 import org.mafagafogigante.dungeon.entity.LightSource;
 import org.mafagafogigante.dungeon.entity.Luminosity;
 import org.mafagafogigante.dungeon.entity.TagSet;
 import org.mafagafogigante.dungeon.entity.Weight;
-import org.mafagafogigante.dungeon.game.Game;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Name;
 import org.mafagafogigante.dungeon.game.QualifiedName;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.game.SeededRandom;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import java.util.ArrayList;
@@ -21,11 +20,12 @@ import java.util.List;
 
 public final class Item extends Entity {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final ItemIntegrity integrity;
   private final Date dateOfCreation;
   private final Rarity rarity;
-  private final long decompositionPeriod;
+  // The world time, in milliseconds, at which this Item decomposes. Long.MAX_VALUE if it does not decompose.
+  private final long decompositionTime;
   private final TagSet<Tag> tagSet;
   private final LightSource lightSource;
   private WeaponComponent weaponComponent;
@@ -38,15 +38,31 @@ public final class Item extends Entity {
 
   /**
    * Constructs a new Item from the provided preset and with the specified creation date.
+   *
+   * <p>The provided SeededRandom is used to roll the enchantments of the Item.
+   */
+  public Item(ItemPreset preset, Date date, EnchantmentFactory enchantmentFactory, SeededRandom random) {
+    this(preset, date);
+    for (Id enchantmentId : preset.getEnchantmentRules().randomRoll(random)) {
+      weaponComponent.getEnchantments().add(enchantmentFactory.makeEnchantment(enchantmentId));
+    }
+  }
+
+  /**
+   * Constructs a new Item from the provided preset and with the specified creation date, without enchantments.
    */
-  public Item(ItemPreset preset, Date date, EnchantmentFactory enchantmentFactory) {
+  Item(ItemPreset preset, Date date) {
     super(preset);
     rarity = preset.getRarity();
     tagSet = TagSet.copyTagSet(preset.getTagSet());
     dateOfCreation = date;
-    decompositionPeriod = preset.getPutrefactionPeriod();
     integrity = ItemIntegrity.makeItemIntegrity(preset.getIntegrity(), this);
     lightSource = new LightSource(preset.getLuminosity());
+    if (hasTag(Tag.DECOMPOSES)) {
+      decompositionTime = date.getTime() + preset.getPutrefactionPeriod() * DungeonTimeUnit.SECOND.milliseconds;
+    } else {
+      decompositionTime = Long.MAX_VALUE;
+    }
     if (hasTag(Tag.WEAPON)) {
       int damage = preset.getDamage();
       Percentage hitRate = preset.getHitRate();
@@ -67,9 +83,10 @@ public final class Item extends Entity {
     if (hasTag(Tag.BOOK)) {
       bookComponent = new BookComponent(preset.getSpellId(), preset.getText());
     }
-    for (Id enchantmentId : preset.getEnchantmentRules().randomRoll()) {
-      weaponComponent.getEnchantments().add(enchantmentFactory.makeEnchantment(enchantmentId));
-    }
+  }
+
+  Date getDateOfCreation() {
+    return dateOfCreation;
   }
 
   public Rarity getRarity() {
@@ -87,13 +104,10 @@ public final class Item extends Entity {
   }
 
   /**
-   * Returns how many seconds have passed since this Item was created.
-   *
-   * @return a long representing an amount of seconds
+   * Returns the world time, in milliseconds, at which this Item decomposes, or Long.MAX_VALUE if it does not decompose.
    */
-  long getAge() {
-    Duration existence = new Duration(dateOfCreation, Game.getGameState().getWorld().getWorldDate());
-    return existence.getSeconds();
+  public long getDecompositionTime() {
+    return decompositionTime;
   }
 
   @Override
@@ -180,10 +194,6 @@ public final class Item extends Entity {
     return IntegrityState.getIntegrityState(getIntegrity().getCurrent(), getIntegrity().getMaximum()).toString();
   }
 
-  long getDecompositionPeriod() {
-    return decompositionPeriod;
-  }
-
   @Override
   public Luminosity getLuminosity() {
     return lightSource.getLuminosity();
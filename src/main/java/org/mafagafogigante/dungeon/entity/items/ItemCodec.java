@@ -0,0 +1,76 @@
+package org.mafagafogigante.dungeon.entity.items;
+
+import org.mafagafogigante.dungeon.date.Date;
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.game.IdTable;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Uninstantiable ItemCodec class that writes Items as the Id of their preset followed by the little state they have of
+ * their own, and makes them again from the preset when they are read.
+ *
+ * <p>Only Items whose whole state fits in this encoding can be written. The others, such as enchanted weapons, must be
+ * serialized.
+ */
+public final class ItemCodec {
+
+  private ItemCodec() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Evaluates whether or not the whole state of the provided Item can be written by this class.
+   */
+  public static boolean canEncode(@NotNull Item item) {
+    WeaponComponent weaponComponent = item.getWeaponComponent();
+    if (weaponComponent != null && !weaponComponent.getEnchantments().isEmpty()) {
+      return false;
+    }
+    ClockComponent clockComponent = item.getClockComponent();
+    return clockComponent == null || clockComponent.getLastTime() == null;
+  }
+
+  /**
+   * Writes an Item. Throws an IllegalArgumentException if the Item cannot be encoded.
+   */
+  public static void encode(@NotNull Item item, @NotNull DataOutput output, @NotNull IdTable idTable)
+      throws IOException {
+    if (!canEncode(item)) {
+      throw new IllegalArgumentException(item.getId() + " cannot be encoded.");
+    }
+    VariableLengthCoding.writeUnsigned(output, idTable.getIndex(item.getId()));
+    VariableLengthCoding.writeSigned(output, item.getDateOfCreation().getTime());
+    VariableLengthCoding.writeUnsigned(output, item.getIntegrity().getCurrent());
+    if (item.getDrinkableComponent() != null) {
+      VariableLengthCoding.writeUnsigned(output, item.getDrinkableComponent().getDoses());
+    }
+  }
+
+  /**
+   * Reads an Item written by encode, making it from its preset in the provided ItemFactory.
+   *
+   * <p>The restrictions of the ItemFactory are not updated, as the Item was already registered when it was first made.
+   */
+  @NotNull
+  public static Item decode(@NotNull DataInput input, @NotNull IdTable idTable, @NotNull ItemFactory itemFactory)
+      throws IOException {
+    Id id = idTable.getId(VariableLengthCoding.readUnsignedInt(input));
+    ItemPreset preset = itemFactory.getItemPreset(id);
+    if (preset == null) {
+      throw new IOException("there is no ItemPreset with the Id " + id + ".");
+    }
+    Item item = new Item(preset, new Date(VariableLengthCoding.readSigned(input)));
+    item.getIntegrity().restoreCurrent(VariableLengthCoding.readUnsignedInt(input));
+    if (item.getDrinkableComponent() != null) {
+      item.getDrinkableComponent().setDoses(VariableLengthCoding.readUnsignedInt(input));
+    }
+    return item;
+  }
+
+}
@@ -5,14 +5,14 @@ import org.mafagafogigante.dungeon.entity.EnchantmentFactory;
 import org.mafagafogigante.dungeon.entity.creatures.CorpseItemPresetFactory;
 import org.mafagafogigante.dungeon.entity.creatures.Creature;
 import org.mafagafogigante.dungeon.game.Id;
-import org.mafagafogigante.dungeon.io.DungeonResource;
-import org.mafagafogigante.dungeon.io.ResourceNameResolver;
-import org.mafagafogigante.dungeon.io.Version;
-import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.game.PresetRegistry;
+import org.mafagafogigante.dungeon.game.Random;
+import org.mafagafogigante.dungeon.game.SeededRandom;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ObjectStreamException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,71 +23,76 @@ import java.util.Set;
 
 /**
  * Provides methods to create different items for the game.
+ *
+ * <p>Items may be made by the chunk prefetcher while the game makes others, so the methods that consult or update the
+ * restrictions are synchronized.
+ *
+ * <p>The presets are not serialized, only the restrictions are. A deserialized ItemFactory takes its presets from the
+ * default {@link PresetRegistry}.
  */
 public final class ItemFactory implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
-  private final Map<Id, ItemPreset> itemPresets = new HashMap<>();
-  private final EnchantmentFactory enchantmentFactory;
-  private ItemFactoryRestrictions restrictions;
-
-  // The flag that indicates we have already refreshed this ItemFactory with the resource files.
-  // An ItemFactory is refreshed after construction, but not after deserialization.
-  private transient boolean refreshed = true;
+  private static final long serialVersionUID = 1L;
+  private final ItemFactoryRestrictions restrictions;
+  private transient Map<Id, ItemPreset> itemPresets;
+  private transient EnchantmentFactory enchantmentFactory;
 
   /**
    * Constructs an ItemFactory from one or more ItemPresetFactories.
    */
   public ItemFactory(EnchantmentFactory enchantmentFactory, @NotNull ItemPresetFactory... itemPresetFactories) {
     this.enchantmentFactory = enchantmentFactory;
+    Map<Id, ItemPreset> presets = new HashMap<>();
     for (ItemPresetFactory itemPresetFactory : itemPresetFactories) {
-      addAllPresets(itemPresetFactory.getItemPresets());
+      addAllPresets(presets, itemPresetFactory.getItemPresets());
     }
-    createUniquenessRestrictions();
+    itemPresets = Collections.unmodifiableMap(presets);
+    restrictions = createUniquenessRestrictions();
   }
 
-  private Object readResolve() throws ObjectStreamException {
-    refreshed = false;
-    return this;
+  /**
+   * Constructs an ItemFactory that shares an unmodifiable map of presets, such as the one of a {@link PresetRegistry}.
+   */
+  public ItemFactory(EnchantmentFactory enchantmentFactory, @NotNull Map<Id, ItemPreset> itemPresets) {
+    this.enchantmentFactory = enchantmentFactory;
+    this.itemPresets = itemPresets;
+    restrictions = createUniquenessRestrictions();
   }
 
   /**
-   * Iterates over all presets of a Collection, adding them to this factory after they are validated.
+   * Iterates over all presets of a Collection, adding them to the map after they are validated.
    */
-  private void addAllPresets(Collection<ItemPreset> presets) {
+  private static void addAllPresets(Map<Id, ItemPreset> map, Collection<ItemPreset> presets) {
     for (ItemPreset preset : presets) {
       Id id = preset.getId();
-      if (itemPresets.containsKey(id)) {
+      if (map.containsKey(id)) {
         throw new IllegalArgumentException("factory already contains a preset with the Id " + preset.getId() + ".");
       }
-      itemPresets.put(id, preset);
+      map.put(id, preset);
     }
   }
 
-  private void createUniquenessRestrictions() {
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    PresetRegistry registry = PresetRegistry.getDefaultRegistry();
+    itemPresets = registry.getItemPresets();
+    enchantmentFactory = registry.getEnchantmentFactory();
+  }
+
+  private ItemFactoryRestrictions createUniquenessRestrictions() {
     Set<Id> uniqueIds = new HashSet<>();
-    for (ItemPreset itemPreset : getItemPresets().values()) {
+    for (ItemPreset itemPreset : itemPresets.values()) {
       if (itemPreset.isUnique()) {
         uniqueIds.add(itemPreset.getId());
       }
     }
-    restrictions = new UniquenessRestrictions(uniqueIds);
-  }
-
-  /**
-   * Returns an unmodifiable view of the ItemPreset map.
-   */
-  private Map<Id, ItemPreset> getItemPresets() {
-    if (!refreshed) {
-      refreshItemPresets();
-    }
-    return Collections.unmodifiableMap(itemPresets);
+    return new UniquenessRestrictions(uniqueIds);
   }
 
   /**
    * Returns whether or not this ItemFactory can make an Item with the specified Id based on its restrictions.
    */
-  public boolean canMakeItem(@NotNull Id id) {
+  public synchronized boolean canMakeItem(@NotNull Id id) {
     return restrictions.canMakeItem(id);
   }
 
@@ -102,25 +107,33 @@ public final class ItemFactory implements Serializable {
    * @return an Item with the specified creation date
    */
   public Item makeItem(@NotNull Id id, @NotNull Date date) {
-    ItemPreset itemPreset = getItemPresets().get(id);
+    return makeItem(id, date, Random.getSharedRandom());
+  }
+
+  /**
+   * Attempts to create an item from the ItemPreset specified by an ID with the provided creation date, rolling its
+   * enchantments with the provided SeededRandom.
+   *
+   * @param id the ID of the preset, not null
+   * @param date the creation date of the item, not null
+   * @param random the SeededRandom used to roll the enchantments of the item, not null
+   * @return an Item with the specified creation date
+   */
+  public synchronized Item makeItem(@NotNull Id id, @NotNull Date date, @NotNull SeededRandom random) {
+    ItemPreset itemPreset = itemPresets.get(id);
     if (itemPreset == null) {
       throw new IllegalArgumentException("id (" + id + ") does not correspond to an ItemPreset.");
     }
-    Item item = new Item(itemPreset, date, enchantmentFactory);
+    Item item = new Item(itemPreset, date, enchantmentFactory, random);
     restrictions.registerItem(item.getId());
     return item;
   }
 
-  private void refreshItemPresets() {
-    DungeonLogger.info("Refreshing item presets.");
-    String filename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
-    ItemPresetFactory jsonItemPresetFactory = new JsonItemPresetFactory(filename);
-    for (ItemPreset preset : jsonItemPresetFactory.getItemPresets()) {
-      if (!itemPresets.containsKey(preset.getId())) {
-        itemPresets.put(preset.getId(), preset);
-      }
-    }
-    refreshed = true;
+  /**
+   * Returns the ItemPreset with the specified Id or null if there is no such preset.
+   */
+  ItemPreset getItemPreset(@NotNull Id id) {
+    return itemPresets.get(id);
   }
 
   /**
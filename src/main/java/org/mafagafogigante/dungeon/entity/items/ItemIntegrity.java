@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.entity.Integrity;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import org.jetbrains.annotations.NotNull;
@@ -13,7 +12,7 @@ import java.io.Serializable;
  */
 public class ItemIntegrity implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Integrity integrity;
   private final Item item;
 
@@ -76,6 +75,13 @@ public class ItemIntegrity implements Serializable {
     }
   }
 
+  /**
+   * Sets the current integrity to the specified value without checking for breakage. Used to restore saved Items.
+   */
+  void restoreCurrent(int current) {
+    integrity.decrementBy(integrity.getCurrent() - current);
+  }
+
   @Override
   public String toString() {
     return "ItemIntegrity{" +
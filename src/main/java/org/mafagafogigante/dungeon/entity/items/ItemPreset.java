@@ -10,7 +10,6 @@ import org.mafagafogigante.dungeon.entity.creatures.EffectFactory;
 import org.mafagafogigante.dungeon.entity.items.Item.Tag;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Name;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import java.io.Serializable;
@@ -22,7 +21,7 @@ import java.util.List;
  */
 public final class ItemPreset implements Preset, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final List<Effect> drinkableEffects = new ArrayList<>();
   private Id id;
   private String type;
@@ -1,12 +1,10 @@
 package org.mafagafogigante.dungeon.entity.items;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 public class ItemUsageEffect implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final int healing;
 
   public ItemUsageEffect(int healing) {
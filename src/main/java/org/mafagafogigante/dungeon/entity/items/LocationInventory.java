@@ -1,21 +1,19 @@
 package org.mafagafogigante.dungeon.entity.items;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 /**
  * The inventory used by Location objects.
  */
 public class LocationInventory extends  BaseInventory {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   public void addItem(Item item) {
-    items.add(item);
+    addToItems(item);
     item.setInventory(this);
   }
 
   public void removeItem(Item item) {
-    items.remove(item);
+    removeFromItems(item);
     item.setInventory(null);
   }
 
@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.entity.items;
 
 import org.mafagafogigante.dungeon.game.Id;
-import org.mafagafogigante.dungeon.io.Version;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -15,7 +14,7 @@ import java.util.Set;
  */
 class UniquenessRestrictions implements ItemFactoryRestrictions, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Set<Id> uniqueIds;
   private final Set<Id> alreadyCreatedUniqueIds = new HashSet<>();
 
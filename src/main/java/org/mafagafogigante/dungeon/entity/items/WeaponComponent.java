@@ -4,7 +4,6 @@ import org.mafagafogigante.dungeon.entity.Damage;
 import org.mafagafogigante.dungeon.entity.DamageAmount;
 import org.mafagafogigante.dungeon.entity.DamageType;
 import org.mafagafogigante.dungeon.entity.Enchantment;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import java.io.Serializable;
@@ -16,7 +15,7 @@ import java.util.List;
  */
 public class WeaponComponent implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final int damage;
   private final Percentage hitRate;
   private final int integrityDecrementOnHit;
@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
@@ -11,7 +9,7 @@ import java.io.Serializable;
  */
 public final class BaseName extends Name implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final String singular;
   private final String plural;
 
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.util.Utils;
 
@@ -14,7 +13,7 @@ import java.util.Set;
  */
 public class BlockedEntrances implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private Set<Direction> setOfBlockedEntrances = new HashSet<>();
 
   public BlockedEntrances() {
@@ -0,0 +1,103 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A chunk captured by a {@link SaveSnapshot}, which is either shared with the World it was captured from, held in
+ * memory as its encoded bytes or left in a region file of a {@link ChunkPager}.
+ *
+ * <p>A shared chunk is only encoded when the snapshot is written or when its World is about to change it, whichever
+ * comes first, so capturing it is free. The bytes of a chunk left in a region file are only read when the snapshot is
+ * written, through the channel the pager keeps open.
+ */
+final class CapturedChunk {
+
+  private final ChunkCodec codec;
+  private final FileChannel regionChannel;
+  private final long position;
+  // The Locations of a shared chunk, which are dropped once it is encoded. Guarded by this.
+  private Location[] sharedChunk;
+  // Never modified once set, so they are shared instead of copied. Guarded by this.
+  private byte[] bytes;
+  private IOException encodingException;
+  private int length;
+
+  CapturedChunk(@NotNull ChunkCodec codec, @NotNull Location[] chunk) {
+    this.codec = codec;
+    this.regionChannel = null;
+    this.position = 0;
+    this.sharedChunk = chunk;
+  }
+
+  CapturedChunk(@NotNull byte[] bytes) {
+    this.codec = null;
+    this.regionChannel = null;
+    this.position = 0;
+    this.bytes = bytes;
+    this.length = bytes.length;
+  }
+
+  CapturedChunk(@NotNull FileChannel regionChannel, long position, int length) {
+    this.codec = null;
+    this.regionChannel = regionChannel;
+    this.position = position;
+    this.length = length;
+  }
+
+  /**
+   * Returns the length of the encoded chunk. Throws an IllegalStateException if the chunk is shared and was not copied.
+   */
+  synchronized int getLength() {
+    if (sharedChunk != null) {
+      throw new IllegalStateException("the chunk was not copied yet.");
+    }
+    return length;
+  }
+
+  /**
+   * Encodes a shared chunk, so that its World can change it afterwards. Copying a chunk that is not shared, or that was
+   * already copied, has no effect. An IOException thrown by the encoding is thrown again by read.
+   */
+  synchronized void copy() {
+    if (sharedChunk == null) {
+      return;
+    }
+    try {
+      bytes = codec.encode(sharedChunk);
+      length = bytes.length;
+    } catch (IOException exception) {
+      encodingException = exception;
+    }
+    sharedChunk = null;
+  }
+
+  /**
+   * Returns the encoded bytes of the chunk, encoding it if it is shared and reading it from the region file if it is
+   * not in memory.
+   */
+  @NotNull
+  byte[] read() throws IOException {
+    synchronized (this) {
+      copy();
+      if (encodingException != null) {
+        throw encodingException;
+      }
+      if (bytes != null) {
+        return bytes;
+      }
+    }
+    // The channel is shared with the pager, so it is only read at explicit positions and never closed here.
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (regionChannel.read(buffer, position + buffer.position()) == -1) {
+        throw new IOException("the region file ended before the chunk at " + position + ".");
+      }
+    }
+    return buffer.array();
+  }
+
+}
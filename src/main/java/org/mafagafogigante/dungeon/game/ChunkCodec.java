@@ -0,0 +1,278 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.creatures.Creature;
+import org.mafagafogigante.dungeon.entity.creatures.Hero;
+import org.mafagafogigante.dungeon.entity.items.Item;
+import org.mafagafogigante.dungeon.entity.items.ItemCodec;
+import org.mafagafogigante.dungeon.entity.items.LocationInventory;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the chunks of a World into compact byte arrays and decodes them back.
+ *
+ * <p>A Location is written as the index of the Id of its preset in the IdTable of the World, its blocked entrances,
+ * its spawners and its items, each item also as the Id of its preset followed by its own state. Its point is implied by
+ * the position of the Location in the chunk. Everything else about the Location comes from its preset when the chunk is
+ * decoded.
+ *
+ * <p>Creatures, and the rare items whose state does not fit in {@link ItemCodec}, are serialized together in an object
+ * section at the start of the chunk, with the World and the Hero replaced by placeholders.
+ */
+final class ChunkCodec {
+
+  private final World world;
+  private final int chunkSide;
+
+  ChunkCodec(@NotNull World world, int chunkSide) {
+    this.world = world;
+    this.chunkSide = chunkSide;
+  }
+
+  private static int getBlockedEntrancesMask(Location location) {
+    int mask = 0;
+    for (Direction direction : Direction.values()) {
+      if (location.isBlocked(direction)) {
+        mask |= 1 << direction.ordinal();
+      }
+    }
+    return mask;
+  }
+
+  private static void blockEntrances(Location location, int mask) {
+    for (Direction direction : Direction.values()) {
+      if ((mask & 1 << direction.ordinal()) != 0 && !location.isBlocked(direction)) {
+        location.getBlockedEntrances().block(direction);
+      }
+    }
+  }
+
+  /**
+   * Encodes a chunk. Serialized creatures that are the Hero are written as a placeholder.
+   */
+  byte[] encode(@NotNull Location[] chunk) throws IOException {
+    List<Object> objects = new ArrayList<>();
+    ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+    DataOutputStream body = new DataOutputStream(bodyBytes);
+    byte[] presence = new byte[(chunk.length + 7) / 8];
+    for (int i = 0; i < chunk.length; i++) {
+      if (chunk[i] != null) {
+        presence[i / 8] |= 1 << (i % 8);
+      }
+    }
+    body.write(presence);
+    IdTable idTable = world.getIdTable();
+    for (Location location : chunk) {
+      if (location != null) {
+        VariableLengthCoding.writeUnsigned(body, idTable.getIndex(location.getId()));
+        body.writeByte(getBlockedEntrancesMask(location));
+        VariableLengthCoding.writeUnsigned(body, location.getSpawners().size());
+        for (Spawner spawner : location.getSpawners()) {
+          VariableLengthCoding.writeUnsigned(body, idTable.getIndex(spawner.getId()));
+          VariableLengthCoding.writeUnsigned(body, spawner.getPopulationLimit());
+          VariableLengthCoding.writeUnsigned(body, spawner.getSpawnDelay());
+          VariableLengthCoding.writeSigned(body, spawner.getLastChange());
+        }
+        VariableLengthCoding.writeUnsigned(body, location.getItemList().size());
+        for (Item item : location.getItemList()) {
+          boolean encodable = ItemCodec.canEncode(item);
+          body.writeBoolean(encodable);
+          if (encodable) {
+            ItemCodec.encode(item, body, idTable);
+          } else {
+            objects.add(item);
+          }
+        }
+        VariableLengthCoding.writeUnsigned(body, location.getCreatureCount());
+        if (location.getCreatureCount() != 0) {
+          objects.add(new ArrayList<>(location.getCreatures()));
+        }
+      }
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    if (objects.isEmpty()) {
+      VariableLengthCoding.writeUnsigned(output, 0);
+    } else {
+      byte[] objectSection = serialize(objects);
+      VariableLengthCoding.writeUnsigned(output, objectSection.length);
+      output.write(objectSection);
+    }
+    bodyBytes.writeTo(output);
+    return bytes.toByteArray();
+  }
+
+  private byte[] serialize(List<Object> objects) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream stream = new ChunkOutputStream(bytes, world)) {
+      stream.writeInt(objects.size());
+      for (Object object : objects) {
+        stream.writeObject(object);
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private List<Object> deserialize(byte[] bytes, @Nullable Creature hero) throws IOException {
+    try (ObjectInputStream stream = new ChunkInputStream(new ByteArrayInputStream(bytes), world, hero)) {
+      int count = stream.readInt();
+      List<Object> objects = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        objects.add(stream.readObject());
+      }
+      return objects;
+    } catch (ClassNotFoundException exception) {
+      throw new IOException("failed to deserialize the objects of a chunk.", exception);
+    }
+  }
+
+  /**
+   * Decodes a chunk encoded by this class.
+   *
+   * @param key the key of the chunk, from which the points of its Locations are derived
+   * @param bytes the encoded chunk
+   * @param hero the Hero, which replaces its placeholder, or null if the chunk cannot contain the Hero
+   */
+  @NotNull
+  Location[] decode(long key, @NotNull byte[] bytes, @Nullable Creature hero) throws IOException {
+    try {
+      return decodeChunk(key, new DataInputStream(new ByteArrayInputStream(bytes)), hero);
+    } catch (IllegalArgumentException | ClassCastException exception) {
+      throw new IOException("the chunk " + key + " is corrupted.", exception);
+    }
+  }
+
+  private Location[] decodeChunk(long key, DataInputStream input, @Nullable Creature hero) throws IOException {
+    List<Object> objects = new ArrayList<>();
+    int objectSectionLength = VariableLengthCoding.readUnsignedInt(input);
+    if (objectSectionLength != 0) {
+      byte[] objectSection = new byte[objectSectionLength];
+      input.readFully(objectSection);
+      objects = deserialize(objectSection, hero);
+    }
+    int nextObject = 0;
+    Location[] chunk = new Location[chunkSide * chunkSide];
+    byte[] presence = new byte[(chunk.length + 7) / 8];
+    input.readFully(presence);
+    IdTable idTable = world.getIdTable();
+    for (int i = 0; i < chunk.length; i++) {
+      if ((presence[i / 8] & 1 << (i % 8)) != 0) {
+        Id presetId = idTable.getId(VariableLengthCoding.readUnsignedInt(input));
+        LocationPreset preset = LocationPresetStore.getDefaultLocationPresetStore().getLocationPreset(presetId);
+        if (preset == null) {
+          throw new IOException("there is no LocationPreset with the Id " + presetId + ".");
+        }
+        int x = ChunkStore.unpackChunkX(key) * chunkSide + i / chunkSide;
+        int y = ChunkStore.unpackChunkY(key) * chunkSide + i % chunkSide;
+        Location location = new Location(preset, world, new Point(x, y, ChunkStore.unpackZ(key)));
+        blockEntrances(location, input.readUnsignedByte());
+        int spawnerCount = VariableLengthCoding.readUnsignedInt(input);
+        for (int j = 0; j < spawnerCount; j++) {
+          Id id = idTable.getId(VariableLengthCoding.readUnsignedInt(input));
+          int populationLimit = VariableLengthCoding.readUnsignedInt(input);
+          int spawnDelay = VariableLengthCoding.readUnsignedInt(input);
+          long lastChange = VariableLengthCoding.readSigned(input);
+          location.addSpawner(new Spawner(id, populationLimit, spawnDelay, location, lastChange));
+        }
+        int itemCount = VariableLengthCoding.readUnsignedInt(input);
+        for (int j = 0; j < itemCount; j++) {
+          if (input.readBoolean()) {
+            location.restoreItem(ItemCodec.decode(input, idTable, world.getItemFactory()));
+          } else {
+            location.restoreItem((Item) objects.get(nextObject++));
+          }
+        }
+        if (VariableLengthCoding.readUnsignedInt(input) != 0) {
+          for (Object creature : (List<?>) objects.get(nextObject++)) {
+            location.restoreCreature((Creature) creature);
+          }
+        }
+        chunk[i] = location;
+      }
+    }
+    if (nextObject != objects.size()) {
+      throw new IOException("the chunk " + key + " has " + (objects.size() - nextObject) + " unused objects.");
+    }
+    return chunk;
+  }
+
+  /**
+   * Stands in for the World and for the Hero in the object section of encoded chunks.
+   */
+  private enum Placeholder {
+
+    WORLD, HERO
+
+  }
+
+  /**
+   * Serializes the objects of a chunk without the World, the Hero, or the Locations and inventories of Locations, which
+   * are restored when the objects are added back to their Locations.
+   */
+  private static final class ChunkOutputStream extends ObjectOutputStream {
+
+    private final World world;
+
+    ChunkOutputStream(OutputStream out, World world) throws IOException {
+      super(out);
+      this.world = world;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object object) throws IOException {
+      if (object == world) {
+        return Placeholder.WORLD;
+      } else if (object instanceof Hero) {
+        return Placeholder.HERO;
+      } else if (object instanceof Location || object instanceof LocationInventory) {
+        return null;
+      }
+      return object;
+    }
+
+  }
+
+  private static final class ChunkInputStream extends ObjectInputStream {
+
+    private final World world;
+    private final Creature hero;
+
+    ChunkInputStream(InputStream in, World world, @Nullable Creature hero) throws IOException {
+      super(in);
+      this.world = world;
+      this.hero = hero;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object object) throws IOException {
+      if (object == Placeholder.WORLD) {
+        return world;
+      } else if (object == Placeholder.HERO) {
+        if (hero == null) {
+          throw new InvalidObjectException("the chunk contains the Hero, but no Hero was provided.");
+        }
+        return hero;
+      }
+      return object;
+    }
+
+  }
+
+}
@@ -0,0 +1,35 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * A strategy that decides which Locations make up each chunk of a World.
+ *
+ * <p>Implementations are invoked by a {@link WorldGenerator} while it holds its own lock, at most once per chunk.
+ */
+interface ChunkGenerator extends Serializable {
+
+  /**
+   * Generates the Locations of the chunk that starts at the specified coordinates, registering each of them through
+   * {@link WorldGenerator#addLocation(Location)}. Points for which the generator already has a Location, such as the
+   * rooms of dungeons generated with neighboring chunks, must be skipped.
+   */
+  void generateChunk(@NotNull WorldGenerator generator, int xStart, int yStart, int chunkSide);
+
+  /**
+   * Writes the state that this generator accumulated by generating chunks, either all of it or only what was added
+   * since it was last written. Saves write this state apart from the rest of the generator.
+   */
+  void writeGenerationState(@NotNull DataOutput output, boolean addedOnly) throws IOException;
+
+  /**
+   * Reads state written by writeGenerationState, adding it to the state of this generator.
+   */
+  void readGenerationState(@NotNull DataInput input) throws IOException;
+
+}
@@ -0,0 +1,30 @@
+package org.mafagafogigante.dungeon.game;
+
+/**
+ * The strategies that can be used to generate the chunks of a World.
+ */
+public enum ChunkGeneratorType {
+
+  /**
+   * The original generator. Its results depend on the order in which chunks are generated.
+   */
+  CLASSIC {
+    @Override
+    ChunkGenerator makeChunkGenerator(long seed) {
+      return new ClassicChunkGenerator(seed);
+    }
+  },
+
+  /**
+   * A stateless generator based on seeded noise, which generates any chunk the same way regardless of the others.
+   */
+  NOISE {
+    @Override
+    ChunkGenerator makeChunkGenerator(long seed) {
+      return new NoiseChunkGenerator(seed);
+    }
+  };
+
+  abstract ChunkGenerator makeChunkGenerator(long seed);
+
+}
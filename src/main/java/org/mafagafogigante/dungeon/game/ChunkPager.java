@@ -0,0 +1,474 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the chunks evicted from a {@link ChunkStore} in region files on disk until they are needed again.
+ *
+ * <p>Each region file holds the chunks of a square of REGION_SIDE by REGION_SIDE chunks of a single z-level. Chunks are
+ * encoded by a {@link ChunkCodec} and written through a FileChannel, which stays open until the region files are
+ * deleted so that paging a chunk out or in does not open the file again. Only the position of each chunk in its region
+ * file is kept in memory.
+ *
+ * <p>The region files are temporary. When the World is saved, the bytes of the paged out chunks are copied into the
+ * save as they are, which is much cheaper than encoding their objects again. Saves only capture where those bytes are
+ * and read them when they are written by another thread, so the space of the chunks paged back in is not reused while
+ * any captured save that may still read it is retained. The region files are deleted when the World is disposed of, or
+ * once the last captured save is released if any is still retained then.
+ *
+ * <p>A chunk loaded lazily from a save starts paged out with its encoded bytes kept in memory instead of in a region
+ * file, so that it is only decoded the first time it is needed.
+ *
+ * <p>A pager is not saved, as its region files do not outlive the session. The World saves its limits instead.
+ */
+final class ChunkPager {
+
+  static final int DEFAULT_RESIDENCY_RADIUS = 4;
+  static final int DEFAULT_MAXIMUM_RESIDENT_CHUNKS = 512;
+
+  private static final int REGION_SIDE = 16;
+
+  private final World world;
+  private int residencyRadius = DEFAULT_RESIDENCY_RADIUS;
+  private int maximumResidentChunks = DEFAULT_MAXIMUM_RESIDENT_CHUNKS;
+  private final Map<Long, PagedChunk> pagedChunks = new HashMap<>();
+  // The space left by the chunks that were paged back in, by region, which is reused by the chunks written after them.
+  private final Map<Long, List<FreeBlock>> freeBlocks = new HashMap<>();
+  // The space left by the chunks that were paged back in while captured saves were retained, by region. Like the free
+  // blocks and the count of retained saves, only used while holding the lock of this pager, as saves release it from
+  // the thread that writes them.
+  private final Map<Long, List<FreeBlock>> heldBlocks = new HashMap<>();
+  private int retainedSnapshots;
+  // Like the directory and the open region files, only used while holding the lock of this pager, as the region files
+  // may be deleted by the thread that writes saves.
+  private boolean disposed;
+  private Path directory;
+  // The channels of the region files, by region, which are closed when the region files are deleted.
+  private final Map<Long, FileChannel> regionChannels = new HashMap<>();
+  private long hits;
+  private long misses;
+  private long pageIns;
+  private long pageOuts;
+
+  ChunkPager(@NotNull World world) {
+    this.world = world;
+  }
+
+  int getResidencyRadius() {
+    return residencyRadius;
+  }
+
+  int getMaximumResidentChunks() {
+    return maximumResidentChunks;
+  }
+
+  /**
+   * Sets how many chunks may be resident and how far from the Hero, in chunks, they must be to be evicted.
+   */
+  void setLimits(int residencyRadius, int maximumResidentChunks) {
+    if (residencyRadius < 0) {
+      throw new IllegalArgumentException("residencyRadius must be nonnegative.");
+    }
+    if (maximumResidentChunks < 1) {
+      throw new IllegalArgumentException("maximumResidentChunks must be positive.");
+    }
+    this.residencyRadius = residencyRadius;
+    this.maximumResidentChunks = maximumResidentChunks;
+  }
+
+  /**
+   * Records that a requested Location was resident.
+   */
+  void recordHit() {
+    hits++;
+  }
+
+  /**
+   * Records that a requested Location had to be paged in or generated.
+   */
+  void recordMiss() {
+    misses++;
+  }
+
+  long getHits() {
+    return hits;
+  }
+
+  long getMisses() {
+    return misses;
+  }
+
+  long getPageIns() {
+    return pageIns;
+  }
+
+  long getPageOuts() {
+    return pageOuts;
+  }
+
+  /**
+   * Returns how many chunks are currently paged out.
+   */
+  int getPagedChunkCount() {
+    return pagedChunks.size();
+  }
+
+  boolean isPagedOut(long key) {
+    return pagedChunks.containsKey(key);
+  }
+
+  /**
+   * Returns where the encoded bytes of a paged out chunk are, without reading them. The chunk stays paged out. Throws
+   * an IllegalStateException if the chunk is not paged out.
+   *
+   * <p>The bytes may only be read later if the region files were retained by retainRegionFiles before the chunk can be
+   * paged in again.
+   */
+  @NotNull
+  CapturedChunk capturePagedChunk(long key) throws IOException {
+    PagedChunk pagedChunk = pagedChunks.get(key);
+    if (pagedChunk == null) {
+      throw new IllegalStateException("the chunk " + key + " is not paged out.");
+    }
+    return captureChunk(key, pagedChunk);
+  }
+
+  /**
+   * Captures every paged out chunk like capturePagedChunk, putting their keys and the captured chunks into the provided
+   * arrays from the specified index on, which must have room for getPagedChunkCount of them.
+   */
+  void capturePagedChunks(@NotNull long[] keys, @NotNull CapturedChunk[] chunks, int firstIndex) throws IOException {
+    int index = firstIndex;
+    for (Map.Entry<Long, PagedChunk> entry : pagedChunks.entrySet()) {
+      keys[index] = entry.getKey();
+      chunks[index] = captureChunk(entry.getKey(), entry.getValue());
+      index++;
+    }
+  }
+
+  /**
+   * Prevents the space of the chunks that are paged in from now on from being reused until releaseRegionFiles is called
+   * as many times as this method, so that captured chunks can still be read from the region files.
+   */
+  synchronized void retainRegionFiles() {
+    retainedSnapshots++;
+  }
+
+  /**
+   * Undoes a call to retainRegionFiles. May be called by any thread.
+   */
+  synchronized void releaseRegionFiles() {
+    if (retainedSnapshots == 0) {
+      throw new IllegalStateException("the region files are not retained.");
+    }
+    retainedSnapshots--;
+    if (retainedSnapshots == 0 && disposed) {
+      deleteRegionFiles();
+    } else if (retainedSnapshots == 0) {
+      for (Map.Entry<Long, List<FreeBlock>> entry : heldBlocks.entrySet()) {
+        for (FreeBlock block : entry.getValue()) {
+          releaseBlock(entry.getKey(), block.position, block.capacity);
+        }
+      }
+      heldBlocks.clear();
+    }
+  }
+
+  /**
+   * Deletes the region files, or has the last call to releaseRegionFiles delete them if any captured save is retained.
+   * Afterwards, no chunk can be paged out or in. Disposing of a pager more than once has no effect.
+   */
+  synchronized void dispose() {
+    disposed = true;
+    if (retainedSnapshots == 0) {
+      deleteRegionFiles();
+    }
+  }
+
+  private void deleteRegionFiles() {
+    if (directory == null) {
+      return;
+    }
+    for (FileChannel channel : regionChannels.values()) {
+      try {
+        channel.close();
+      } catch (IOException exception) {
+        DungeonLogger.warning("Failed to close a region file in " + directory + ": " + exception.getMessage());
+      }
+    }
+    regionChannels.clear();
+    try {
+      try (DirectoryStream<Path> regionFiles = Files.newDirectoryStream(directory)) {
+        for (Path regionFile : regionFiles) {
+          Files.delete(regionFile);
+        }
+      }
+      Files.delete(directory);
+    } catch (IOException exception) {
+      DungeonLogger.warning("Failed to delete the region files in " + directory + ": " + exception.getMessage());
+    }
+    directory = null;
+  }
+
+  /**
+   * Adds a chunk that is paged out from the start, keeping its encoded bytes in memory until it is paged in.
+   */
+  void putUnparsedChunk(long key, @NotNull byte[] bytes) {
+    pagedChunks.put(key, new PagedChunk(bytes));
+  }
+
+  /**
+   * Writes a chunk to its region file. Returns false, leaving the chunk resident, if it could not be written.
+   */
+  boolean pageOut(long key, @NotNull Location[] chunk) {
+    try {
+      writeChunk(key, makeCodec().encode(chunk));
+      world.unscheduleChunk(chunk);
+      pageOuts++;
+      return true;
+    } catch (IOException exception) {
+      DungeonLogger.logSevere(exception);
+      return false;
+    }
+  }
+
+  /**
+   * Reads back a chunk that was paged out. Throws an IllegalStateException if the chunk is not paged out.
+   */
+  @NotNull
+  Location[] pageIn(long key) {
+    PagedChunk pagedChunk = pagedChunks.get(key);
+    if (pagedChunk == null) {
+      throw new IllegalStateException("the chunk " + key + " is not paged out.");
+    }
+    try {
+      final Location[] chunk = makeCodec().decode(key, readChunk(key, pagedChunk), null);
+      pagedChunks.remove(key);
+      if (pagedChunk.bytes == null) {
+        freeBlock(getRegionKey(key), pagedChunk.position, pagedChunk.capacity);
+      }
+      pageIns++;
+      return chunk;
+    } catch (IOException exception) {
+      throw new IllegalStateException("failed to page in the chunk " + key + ".", exception);
+    }
+  }
+
+  private ChunkCodec makeCodec() {
+    return new ChunkCodec(world, world.getChunkSide());
+  }
+
+  /**
+   * Returns the key of the region of a chunk, which packs the coordinates of the region as those of a chunk.
+   */
+  private static long getRegionKey(long key) {
+    int regionX = ChunkStore.toChunkCoordinate(ChunkStore.unpackChunkX(key), REGION_SIDE);
+    int regionY = ChunkStore.toChunkCoordinate(ChunkStore.unpackChunkY(key), REGION_SIDE);
+    return ChunkStore.packChunkKey(regionX, regionY, ChunkStore.unpackZ(key));
+  }
+
+  /**
+   * Returns the channel of the region file of a chunk, creating the file the first time a chunk of its region is paged
+   * out.
+   */
+  private synchronized FileChannel getRegionChannel(long key) throws IOException {
+    if (disposed) {
+      throw new IOException("the region files of the pager were deleted.");
+    }
+    long regionKey = getRegionKey(key);
+    FileChannel channel = regionChannels.get(regionKey);
+    if (channel == null) {
+      if (directory == null) {
+        directory = Files.createTempDirectory("dungeon-chunks");
+        directory.toFile().deleteOnExit();
+      }
+      int regionX = ChunkStore.unpackChunkX(regionKey);
+      int regionY = ChunkStore.unpackChunkY(regionKey);
+      int z = ChunkStore.unpackZ(regionKey);
+      Path regionFile = directory.resolve("region." + regionX + "." + regionY + "." + z + ".dat");
+      channel = FileChannel.open(regionFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      regionFile.toFile().deleteOnExit();
+      regionChannels.put(regionKey, channel);
+    }
+    return channel;
+  }
+
+  /**
+   * Writes the bytes of a chunk to its region file, in the first free block of the region they fit in or, if there is
+   * none, at the end of the file.
+   */
+  private void writeChunk(long key, byte[] bytes) throws IOException {
+    FileChannel channel = getRegionChannel(key);
+    long position = takeBlock(getRegionKey(key), bytes.length);
+    if (position == -1) {
+      position = channel.size();
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+    pagedChunks.put(key, new PagedChunk(position, bytes.length, bytes.length));
+  }
+
+  /**
+   * Takes the specified amount of bytes from the first free block of a region that has enough space, returning its
+   * position, or -1 if no free block of the region is big enough.
+   */
+  private synchronized long takeBlock(long regionKey, int length) {
+    List<FreeBlock> blocks = freeBlocks.get(regionKey);
+    if (blocks != null) {
+      for (int i = 0; i < blocks.size(); i++) {
+        FreeBlock block = blocks.get(i);
+        if (block.capacity >= length) {
+          long position = block.position;
+          if (block.capacity == length) {
+            blocks.remove(i);
+          } else {
+            block.position += length;
+            block.capacity -= length;
+          }
+          return position;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the space of a chunk that was paged in to its region, holding it aside if captured saves are retained.
+   */
+  private synchronized void freeBlock(long regionKey, long position, int capacity) {
+    if (retainedSnapshots == 0) {
+      releaseBlock(regionKey, position, capacity);
+    } else {
+      List<FreeBlock> blocks = heldBlocks.get(regionKey);
+      if (blocks == null) {
+        blocks = new ArrayList<>();
+        heldBlocks.put(regionKey, blocks);
+      }
+      blocks.add(new FreeBlock(position, capacity));
+    }
+  }
+
+  /**
+   * Returns the space of a chunk to the free blocks of its region, merging it with the free blocks next to it so that
+   * bigger chunks can use it later.
+   */
+  private void releaseBlock(long regionKey, long position, int capacity) {
+    List<FreeBlock> blocks = freeBlocks.get(regionKey);
+    if (blocks == null) {
+      blocks = new ArrayList<>();
+      freeBlocks.put(regionKey, blocks);
+    }
+    // The blocks are sorted by position and never adjacent to each other.
+    int index = 0;
+    while (index < blocks.size() && blocks.get(index).position < position) {
+      index++;
+    }
+    FreeBlock previous = index > 0 ? blocks.get(index - 1) : null;
+    FreeBlock next = index < blocks.size() ? blocks.get(index) : null;
+    if (previous != null && previous.position + previous.capacity == position) {
+      previous.capacity += capacity;
+      if (next != null && previous.position + previous.capacity == next.position) {
+        previous.capacity += next.capacity;
+        blocks.remove(index);
+      }
+    } else if (next != null && position + capacity == next.position) {
+      next.position = position;
+      next.capacity += capacity;
+    } else {
+      blocks.add(index, new FreeBlock(position, capacity));
+    }
+  }
+
+  /**
+   * Returns how many bytes the region files take, including their free blocks.
+   */
+  synchronized long getRegionBytes() throws IOException {
+    long bytes = 0;
+    if (directory != null) {
+      try (DirectoryStream<Path> regionFiles = Files.newDirectoryStream(directory)) {
+        for (Path regionFile : regionFiles) {
+          bytes += Files.size(regionFile);
+        }
+      }
+    }
+    return bytes;
+  }
+
+  private CapturedChunk captureChunk(long key, PagedChunk pagedChunk) throws IOException {
+    if (pagedChunk.bytes != null) {
+      return new CapturedChunk(pagedChunk.bytes);
+    }
+    return new CapturedChunk(getRegionChannel(key), pagedChunk.position, pagedChunk.length);
+  }
+
+  private byte[] readChunk(long key, PagedChunk pagedChunk) throws IOException {
+    return captureChunk(key, pagedChunk).read();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ChunkPager with %d paged chunks (%d hits, %d misses, %d page-ins, %d page-outs)",
+        pagedChunks.size(), hits, misses, pageIns, pageOuts);
+  }
+
+  /**
+   * A contiguous range of unused bytes of a region file.
+   */
+  private static final class FreeBlock {
+
+    private long position;
+    private int capacity;
+
+    FreeBlock(long position, int capacity) {
+      this.position = position;
+      this.capacity = capacity;
+    }
+
+  }
+
+  /**
+   * Where the bytes of a paged out chunk are in its region file, or the bytes themselves if they were never written to
+   * one.
+   */
+  private static final class PagedChunk {
+
+    private final long position;
+    private final int length;
+    private final int capacity;
+    // Never modified, so saves may share them instead of copying them.
+    private final byte[] bytes;
+
+    PagedChunk(long position, int length, int capacity) {
+      this.position = position;
+      this.length = length;
+      this.capacity = capacity;
+      this.bytes = null;
+    }
+
+    PagedChunk(byte[] bytes) {
+      this.position = 0;
+      this.length = bytes.length;
+      this.capacity = 0;
+      this.bytes = bytes;
+    }
+
+  }
+
+}
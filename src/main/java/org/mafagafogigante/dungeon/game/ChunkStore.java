@@ -0,0 +1,355 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Stores the Locations of a World grouped in square chunks.
+ *
+ * <p>Every chunk of a z-level is a flat array of Locations, found through an open-addressing hash table keyed by the
+ * packed coordinates of the chunk. Looking up a Location takes a few arithmetic operations and allocates nothing.
+ *
+ * <p>The store also remembers when each chunk was last used, so that the least recently used chunks far from the Hero
+ * can be evicted to a {@link ChunkPager}.
+ */
+final class ChunkStore implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int COORDINATE_BITS = 30;
+  private static final int Z_BITS = 4;
+  private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+  private static final long Z_MASK = (1L << Z_BITS) - 1;
+  static final int MINIMUM_Z = -(1 << (Z_BITS - 1));
+  static final int MAXIMUM_Z = (1 << (Z_BITS - 1)) - 1;
+  static final int MINIMUM_CHUNK_COORDINATE = -(1 << (COORDINATE_BITS - 1));
+  static final int MAXIMUM_CHUNK_COORDINATE = (1 << (COORDINATE_BITS - 1)) - 1;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int chunkSide;
+  // A slot is free if and only if its chunk is null.
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private Location[][] chunks = new Location[INITIAL_CAPACITY][];
+  private long[] lastUses = new long[INITIAL_CAPACITY];
+  private long clock;
+  private int chunkCount;
+  private int locationCount;
+
+  ChunkStore(int chunkSide) {
+    if (chunkSide < 1) {
+      throw new IllegalArgumentException("chunkSide must be positive.");
+    }
+    this.chunkSide = chunkSide;
+  }
+
+  int getChunkSide() {
+    return chunkSide;
+  }
+
+  /**
+   * Returns the coordinate of the chunk that contains the provided coordinate, rounding towards negative infinity.
+   */
+  static int toChunkCoordinate(int coordinate, int chunkSide) {
+    int quotient = coordinate / chunkSide;
+    return coordinate % chunkSide < 0 ? quotient - 1 : quotient;
+  }
+
+  /**
+   * Packs the coordinates of a chunk into a single long.
+   *
+   * <p>Chunk coordinates are packed in 30 bits, so they must be in the range [-2^29, 2^29 - 1]. With chunks of side 4
+   * or more, this covers every int coordinate, but callers that pack coordinates with a side of 1, such as
+   * DungeonEntranceIndex, cannot use the whole int range.
+   *
+   * @throws IllegalArgumentException if a coordinate is outside of its range, as it would collide with another key
+   */
+  static long packChunkKey(int chunkX, int chunkY, int z) {
+    if (z < MINIMUM_Z || z > MAXIMUM_Z) {
+      throw new IllegalArgumentException("z must be in the range [" + MINIMUM_Z + ", " + MAXIMUM_Z + "].");
+    }
+    if (!isValidChunkCoordinate(chunkX) || !isValidChunkCoordinate(chunkY)) {
+      String range = "[" + MINIMUM_CHUNK_COORDINATE + ", " + MAXIMUM_CHUNK_COORDINATE + "]";
+      throw new IllegalArgumentException("chunk coordinates must be in the range " + range + ".");
+    }
+    long packed = (chunkX & COORDINATE_MASK) << (COORDINATE_BITS + Z_BITS);
+    packed |= (chunkY & COORDINATE_MASK) << Z_BITS;
+    return packed | (z & Z_MASK);
+  }
+
+  private static boolean isValidChunkCoordinate(int coordinate) {
+    return coordinate >= MINIMUM_CHUNK_COORDINATE && coordinate <= MAXIMUM_CHUNK_COORDINATE;
+  }
+
+  static int unpackChunkX(long key) {
+    return (int) (key << (Long.SIZE - 2 * COORDINATE_BITS - Z_BITS) >> (Long.SIZE - COORDINATE_BITS));
+  }
+
+  static int unpackChunkY(long key) {
+    return (int) (key << (Long.SIZE - COORDINATE_BITS - Z_BITS) >> (Long.SIZE - COORDINATE_BITS));
+  }
+
+  static int unpackZ(long key) {
+    return (int) (key << (Long.SIZE - Z_BITS) >> (Long.SIZE - Z_BITS));
+  }
+
+  /**
+   * Returns the key of the chunk that contains the specified coordinates.
+   */
+  long getChunkKey(int x, int y, int z) {
+    return packChunkKey(toChunkCoordinate(x, chunkSide), toChunkCoordinate(y, chunkSide), z);
+  }
+
+  /**
+   * The finalizer of MurmurHash3, which makes neighboring chunks land on distant slots of open-addressing tables.
+   */
+  static int hash(long key) {
+    long hash = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return (int) (hash ^ (hash >>> 33));
+  }
+
+  private int indexInChunk(int x, int y) {
+    int column = x % chunkSide;
+    int row = y % chunkSide;
+    if (column < 0) {
+      column += chunkSide;
+    }
+    if (row < 0) {
+      row += chunkSide;
+    }
+    return column * chunkSide + row;
+  }
+
+  /**
+   * Returns the slot of the chunk with the provided key, or the free slot where it would be inserted.
+   */
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (chunks[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  @Nullable
+  private Location[] getChunk(int x, int y, int z) {
+    int slot = findSlot(getChunkKey(x, y, z));
+    if (chunks[slot] != null) {
+      lastUses[slot] = ++clock;
+    }
+    return chunks[slot];
+  }
+
+  /**
+   * Returns the Location at the specified coordinates or null if there is no such Location.
+   */
+  @Nullable
+  Location get(int x, int y, int z) {
+    Location[] chunk = getChunk(x, y, z);
+    return chunk == null ? null : chunk[indexInChunk(x, y)];
+  }
+
+  boolean contains(int x, int y, int z) {
+    return get(x, y, z) != null;
+  }
+
+  /**
+   * Returns the chunk with the provided key or null if it is not stored, without counting this as a use of the chunk.
+   */
+  @Nullable
+  Location[] peekChunk(long key) {
+    return chunks[findSlot(key)];
+  }
+
+  /**
+   * Returns the keys of all the stored chunks.
+   */
+  long[] getChunkKeys() {
+    long[] chunkKeys = new long[chunkCount];
+    int count = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (chunks[slot] != null) {
+        chunkKeys[count++] = keys[slot];
+      }
+    }
+    return chunkKeys;
+  }
+
+  /**
+   * Stores a Location at its Point. Throws an IllegalStateException if there already is a Location at that Point.
+   */
+  void put(@NotNull Location location) {
+    Point point = location.getPoint();
+    long key = getChunkKey(point.getX(), point.getY(), point.getZ());
+    int slot = findSlot(key);
+    if (chunks[slot] == null) {
+      slot = insertChunk(key, new Location[chunkSide * chunkSide]);
+    }
+    Location[] chunk = chunks[slot];
+    lastUses[slot] = ++clock;
+    int index = indexInChunk(point.getX(), point.getY());
+    if (chunk[index] != null) {
+      throw new IllegalStateException("tried to repeatedly add a location to " + point + ".");
+    }
+    chunk[index] = location;
+    locationCount++;
+  }
+
+  /**
+   * Stores a whole chunk that was previously evicted. Throws an IllegalStateException if the chunk is already stored.
+   */
+  void putChunk(long key, @NotNull Location[] chunk) {
+    if (chunk.length != chunkSide * chunkSide) {
+      throw new IllegalArgumentException("chunk does not have " + chunkSide * chunkSide + " locations.");
+    }
+    if (chunks[findSlot(key)] != null) {
+      throw new IllegalStateException("tried to repeatedly add the chunk " + key + ".");
+    }
+    // Insert before indexing lastUses, as the insertion may replace the array.
+    int slot = insertChunk(key, chunk);
+    lastUses[slot] = ++clock;
+    locationCount += countLocations(chunk);
+  }
+
+  /**
+   * Inserts a chunk whose key is not in the table, returning the slot where it ended up.
+   */
+  private int insertChunk(long key, Location[] chunk) {
+    chunkCount++;
+    // Keep the load factor at or below one half so that probe sequences stay short.
+    if (2 * chunkCount > keys.length) {
+      resize(2 * keys.length);
+    }
+    int slot = findSlot(key);
+    keys[slot] = key;
+    chunks[slot] = chunk;
+    return slot;
+  }
+
+  private static int countLocations(Location[] chunk) {
+    int count = 0;
+    for (Location location : chunk) {
+      if (location != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Removes the chunk in the specified slot by shifting back the chunks that follow it in its probe sequence, which
+   * keeps every chunk reachable without leaving tombstones behind.
+   */
+  private void removeSlot(int slot) {
+    locationCount -= countLocations(chunks[slot]);
+    chunkCount--;
+    chunks[slot] = null;
+    int mask = keys.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (chunks[next] != null) {
+      int ideal = hash(keys[next]) & mask;
+      // The chunk may fill the hole only if the hole is between its ideal slot and its current slot.
+      if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        chunks[hole] = chunks[next];
+        lastUses[hole] = lastUses[next];
+        chunks[next] = null;
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+  }
+
+  /**
+   * Evicts the least recently used chunks to the provided pager until at most maximumChunks chunks remain, never
+   * evicting chunks whose horizontal chunk distance to the chunk of the specified coordinates is smaller than or equal
+   * to radius. Returns how many chunks were evicted.
+   *
+   * <p>The victims are selected in a single pass over the table. As every use of a chunk gets a new tick of the clock,
+   * the victims are exactly the evictable chunks last used no later than the n-th smallest last use among them.
+   */
+  int evictLeastRecentlyUsed(int x, int y, int radius, int maximumChunks, @NotNull ChunkPager pager) {
+    int excess = chunkCount - maximumChunks;
+    if (excess <= 0) {
+      return 0;
+    }
+    int centerX = toChunkCoordinate(x, chunkSide);
+    int centerY = toChunkCoordinate(y, chunkSide);
+    long[] candidateKeys = new long[chunkCount];
+    long[] candidateUses = new long[chunkCount];
+    int candidates = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (chunks[slot] != null) {
+        int distanceX = Math.abs(unpackChunkX(keys[slot]) - centerX);
+        int distanceY = Math.abs(unpackChunkY(keys[slot]) - centerY);
+        if (Math.max(distanceX, distanceY) > radius) {
+          candidateKeys[candidates] = keys[slot];
+          candidateUses[candidates] = lastUses[slot];
+          candidates++;
+        }
+      }
+    }
+    if (candidates == 0) {
+      return 0;
+    }
+    long[] sortedUses = Arrays.copyOf(candidateUses, candidates);
+    Arrays.sort(sortedUses);
+    long lastVictimUse = sortedUses[Math.min(excess, candidates) - 1];
+    int evicted = 0;
+    for (int i = 0; i < candidates; i++) {
+      if (candidateUses[i] <= lastVictimUse) {
+        // Removing slots moves other chunks, so the slot of each victim is looked up again.
+        int slot = findSlot(candidateKeys[i]);
+        if (!pager.pageOut(candidateKeys[i], chunks[slot])) {
+          break;
+        }
+        removeSlot(slot);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  private void resize(int capacity) {
+    final long[] oldKeys = keys;
+    final Location[][] oldChunks = chunks;
+    final long[] oldLastUses = lastUses;
+    keys = new long[capacity];
+    chunks = new Location[capacity][];
+    lastUses = new long[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldChunks[i] != null) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        chunks[slot] = oldChunks[i];
+        lastUses[slot] = oldLastUses[i];
+      }
+    }
+  }
+
+  /**
+   * Returns how many Locations are stored.
+   */
+  int size() {
+    return locationCount;
+  }
+
+  /**
+   * Returns how many chunks are stored.
+   */
+  int getChunkCount() {
+    return chunkCount;
+  }
+
+  @Override
+  public String toString() {
+    return "ChunkStore with " + locationCount + " locations in " + chunkCount + " chunks";
+  }
+
+}
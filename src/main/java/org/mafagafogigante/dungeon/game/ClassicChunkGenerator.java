@@ -0,0 +1,95 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.game.LocationPreset.Type;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The original chunk generator, which makes blobs of land presets and keeps track of rivers and dungeon entrances.
+ *
+ * <p>Every chunk is generated with its own SeededRandom, derived from the seed of the World and the coordinates of the
+ * chunk, so that the random rolls made for a chunk do not depend on which chunks were generated before it. The rivers
+ * and the dungeon entrances, however, are accumulated as chunks are generated, so chunks cannot be generated in
+ * isolation.
+ *
+ * <p>The rivers are a function of the seed and of how far they were expanded, so only the dungeon entrances are written
+ * as generation state.
+ */
+final class ClassicChunkGenerator implements ChunkGenerator {
+
+  private static final long serialVersionUID = 1L;
+  // Distinguish the streams derived from the seed of the World so that they never coincide.
+  private static final long RIVER_STREAM = 1;
+  private static final long CHUNK_STREAM = 2;
+
+  private final long seed;
+  private final RiverGenerator riverGenerator;
+  private final DungeonDistributor dungeonDistributor = new DungeonDistributor();
+  private final DungeonCreator dungeonCreator = new DungeonCreator();
+
+  ClassicChunkGenerator(long seed) {
+    this.seed = seed;
+    this.riverGenerator = new RiverGenerator(SeededRandom.deriveSeed(seed, RIVER_STREAM));
+  }
+
+  /**
+   * Makes the SeededRandom used to generate the chunk that starts at the provided coordinates.
+   */
+  private SeededRandom makeChunkRandom(int xStart, int yStart) {
+    return new SeededRandom(SeededRandom.deriveSeed(seed, CHUNK_STREAM, xStart, yStart));
+  }
+
+  @Override
+  public void writeGenerationState(@NotNull DataOutput output, boolean addedOnly) throws IOException {
+    dungeonDistributor.writeEntrances(output, addedOnly);
+  }
+
+  @Override
+  public void readGenerationState(@NotNull DataInput input) throws IOException {
+    dungeonDistributor.readEntrances(input);
+  }
+
+  @Override
+  public void generateChunk(@NotNull WorldGenerator generator, int xStart, int yStart, int chunkSide) {
+    World world = generator.getWorld();
+    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
+    WeightedSampler<LocationPreset> riverSampler = locationPresetStore.getSampler(Type.RIVER);
+    WeightedSampler<LocationPreset> bridgeSampler = locationPresetStore.getSampler(Type.BRIDGE);
+    WeightedSampler<LocationPreset> riversideSampler = locationPresetStore.getSampler(Type.RIVERSIDE);
+    WeightedSampler<LocationPreset> landSampler = locationPresetStore.getSampler(Type.LAND);
+    riverGenerator.expand(xStart, chunkSide);
+    Point currentPoint;
+    LocationPreset currentLocationPreset = null;
+    int remainingLocationsOfCurrentPreset = 0;
+    SeededRandom random = makeChunkRandom(xStart, yStart);
+    for (int x = xStart; x < xStart + chunkSide; x++) {
+      for (int y = yStart; y < yStart + chunkSide; y++) {
+        currentPoint = new Point(x, y, 0);
+        if (!generator.hasGeneratedLocationAt(currentPoint)) {
+          if (riverGenerator.isRiver(currentPoint)) {
+            generator.addLocation(new Location(riverSampler.sample(random), world, currentPoint, random));
+          } else if (riverGenerator.isBridge(currentPoint)) {
+            generator.addLocation(new Location(bridgeSampler.sample(random), world, currentPoint, random));
+          } else if (riverGenerator.isRiverside(currentPoint)) {
+            generator.addLocation(new Location(riversideSampler.sample(random), world, currentPoint, random));
+          } else if (dungeonDistributor.rollForDungeon(currentPoint, random)) {
+            dungeonDistributor.registerDungeonEntrance(currentPoint);
+            dungeonCreator.createDungeon(generator, currentPoint, random);
+          } else {
+            if (currentLocationPreset == null || remainingLocationsOfCurrentPreset == 0) {
+              currentLocationPreset = landSampler.sample(random);
+              remainingLocationsOfCurrentPreset = currentLocationPreset.getBlobSize();
+            }
+            generator.addLocation(new Location(currentLocationPreset, world, currentPoint, random));
+            remainingLocationsOfCurrentPreset--;
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -1,21 +1,19 @@
 package org.mafagafogigante.dungeon.game;
 
 import org.mafagafogigante.dungeon.game.LocationPreset.Type;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
-import java.util.List;
 
 /**
- * A class that know how to create dungeons.
+ * A class that know how to create dungeons. It is up to the caller to decide where dungeons go and to keep them apart.
  */
 class DungeonCreator implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final Percentage HORIZONTAL_EXPANSION_PROBABILITY = Percentage.fromString("50%");
 
   /**
@@ -24,30 +22,23 @@ class DungeonCreator implements Serializable {
    * <p>Currently a 5x1 So that we can make dungeons like this: R=R=R (where R is a room and = is a corridor).
    */
   private static final MinimumBoundingRectangle minimumBoundingRectangle = new MinimumBoundingRectangle(5, 1);
-  private final DungeonDistributor distributor;
-
-  public DungeonCreator(DungeonDistributor distributor) {
-    this.distributor = distributor;
-  }
 
   public static MinimumBoundingRectangle getMinimumBoundingRectangle() {
     return minimumBoundingRectangle;
   }
 
-  private static LocationPreset getRandomLocationPreset(Type type) {
-    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
-    List<LocationPreset> entrancePresets = locationPresetStore.getLocationPresetsByType(type);
-    return Random.select(entrancePresets);
+  private static LocationPreset getRandomLocationPreset(Type type, SeededRandom random) {
+    return LocationPresetStore.getDefaultLocationPresetStore().getSampler(type).sample(random);
   }
 
   /**
-   * Creates a dungeon placing the entrance at the specified point. The world should not have a location at the
+   * Creates a dungeon placing the entrance at the specified point. The generator should not have made a location at the
    * specified point.
    */
-  public void createDungeon(@NotNull World world, @NotNull Point entrance) {
-    Point mainRoomPoint = createEntrance(world, entrance);
-    Location mainRoomLocation = createMainRoom(world, mainRoomPoint);
-    finishDungeon(world, mainRoomPoint, mainRoomLocation);
+  public void createDungeon(@NotNull WorldGenerator generator, @NotNull Point entrance, @NotNull SeededRandom random) {
+    Point mainRoomPoint = createEntrance(generator, entrance, random);
+    Location mainRoomLocation = createMainRoom(generator, mainRoomPoint, random);
+    finishDungeon(generator, mainRoomPoint, mainRoomLocation, random);
   }
 
   /**
@@ -55,30 +46,36 @@ class DungeonCreator implements Serializable {
    *
    * <p>Returns the point where the main dungeon room should be.
    */
-  private Point createEntrance(@NotNull World world, @NotNull Point entrance) {
+  private Point createEntrance(@NotNull WorldGenerator generator, @NotNull Point entrance,
+      @NotNull SeededRandom random) {
+    World world = generator.getWorld();
     // The entrance.
-    if (world.alreadyHasLocationAt(entrance)) {
+    if (generator.hasGeneratedLocationAt(entrance)) {
       throw new IllegalStateException("world has location at the specified entrance.");
     }
-    Location dungeonEntrance = new Location(getRandomLocationPreset(Type.DUNGEON_ENTRANCE), world, entrance);
-    world.addLocation(dungeonEntrance, entrance);
-    distributor.registerDungeonEntrance(entrance);
+    LocationPreset entrancePreset = getRandomLocationPreset(Type.DUNGEON_ENTRANCE, random);
+    Location dungeonEntrance = new Location(entrancePreset, world, entrance, random);
+    generator.addLocation(dungeonEntrance);
     // The stairway.
     Point stairwayPoint = new Point(entrance, Direction.DOWN);
     // Note that all DUNGEON_STAIRWAY presets are blocked towards North, East, South, and West.
-    Location stairwayLocation = new Location(getRandomLocationPreset(Type.DUNGEON_STAIRWAY), world, stairwayPoint);
-    world.addLocation(stairwayLocation, stairwayPoint);
+    LocationPreset stairwayPreset = getRandomLocationPreset(Type.DUNGEON_STAIRWAY, random);
+    Location stairwayLocation = new Location(stairwayPreset, world, stairwayPoint, random);
+    generator.addLocation(stairwayLocation);
     return new Point(stairwayPoint, Direction.DOWN);
   }
 
   @NotNull
-  private Location createMainRoom(@NotNull World world, Point mainRoomPoint) {
+  private Location createMainRoom(@NotNull WorldGenerator generator, Point mainRoomPoint,
+      @NotNull SeededRandom random) {
+    World world = generator.getWorld();
     // Note that all DUNGEON_ROOM presets are open on all directions. It is up to the code to properly block them.
-    Location dungeonRoom = new Location(getRandomLocationPreset(Type.DUNGEON_ROOM), world, mainRoomPoint);
+    LocationPreset roomPreset = getRandomLocationPreset(Type.DUNGEON_ROOM, random);
+    Location dungeonRoom = new Location(roomPreset, world, mainRoomPoint, random);
     dungeonRoom.getBlockedEntrances().block(Direction.NORTH);
     dungeonRoom.getBlockedEntrances().block(Direction.DOWN);
     dungeonRoom.getBlockedEntrances().block(Direction.SOUTH);
-    world.addLocation(dungeonRoom, mainRoomPoint); // The main room. All dungeons have one.
+    generator.addLocation(dungeonRoom); // The main room. All dungeons have one.
     return dungeonRoom;
   }
 
@@ -88,41 +85,45 @@ class DungeonCreator implements Serializable {
    * <p>If this method does not make a corridor to east or west, it blocks that entrance in the main room to prevent
    * glitches.
    */
-  private void finishDungeon(@NotNull World world, Point mainRoomPoint, Location mainRoomLocation) {
+  private void finishDungeon(@NotNull WorldGenerator generator, Point mainRoomPoint, Location mainRoomLocation,
+      @NotNull SeededRandom random) {
     // UPDATING THIS LOGIC MAY REQUIRE YOU TO UPDATE THE minimumBoundingRectangle variable.
-    if (Random.roll(HORIZONTAL_EXPANSION_PROBABILITY)) {
-      expandTowards(world, mainRoomPoint, Direction.EAST);
+    if (random.roll(HORIZONTAL_EXPANSION_PROBABILITY)) {
+      expandTowards(generator, mainRoomPoint, Direction.EAST, random);
     } else {
       mainRoomLocation.getBlockedEntrances().block(Direction.EAST);
     }
-    if (Random.roll(HORIZONTAL_EXPANSION_PROBABILITY)) {
-      expandTowards(world, mainRoomPoint, Direction.WEST);
+    if (random.roll(HORIZONTAL_EXPANSION_PROBABILITY)) {
+      expandTowards(generator, mainRoomPoint, Direction.WEST, random);
     } else {
       mainRoomLocation.getBlockedEntrances().block(Direction.WEST);
     }
   }
 
-  private void expandTowards(@NotNull World world, @NotNull Point origin, Direction direction) {
+  private void expandTowards(@NotNull WorldGenerator generator, @NotNull Point origin, Direction direction,
+      @NotNull SeededRandom random) {
+    World world = generator.getWorld();
     Point corridorPoint = new Point(origin, direction);
-    if (world.alreadyHasLocationAt(corridorPoint)) {
+    if (generator.hasGeneratedLocationAt(corridorPoint)) {
       DungeonLogger.warning("Found an existing location when attempting to expand a Dungeon at " + corridorPoint + ".");
     }
     // Note that all DUNGEON_CORRIDOR presets have blocked UP and DOWN. It is up to the code to properly block the rest.
-    Location corridorLocation = new Location(getRandomLocationPreset(Type.DUNGEON_CORRIDOR), world, corridorPoint);
+    LocationPreset corridorPreset = getRandomLocationPreset(Type.DUNGEON_CORRIDOR, random);
+    Location corridorLocation = new Location(corridorPreset, world, corridorPoint, random);
     corridorLocation.getBlockedEntrances().block(Direction.NORTH);
     corridorLocation.getBlockedEntrances().block(Direction.SOUTH);
-    world.addLocation(corridorLocation, corridorPoint);
+    generator.addLocation(corridorLocation);
     Point roomPoint = new Point(corridorPoint, direction);
-    if (world.alreadyHasLocationAt(roomPoint)) {
+    if (generator.hasGeneratedLocationAt(roomPoint)) {
       DungeonLogger.warning("Found an existing location when attempting to expand a Dungeon at " + roomPoint + ".");
     }
-    Location roomLocation = new Location(getRandomLocationPreset(Type.DUNGEON_ROOM), world, roomPoint);
+    Location roomLocation = new Location(getRandomLocationPreset(Type.DUNGEON_ROOM, random), world, roomPoint, random);
     roomLocation.getBlockedEntrances().block(Direction.UP);
     roomLocation.getBlockedEntrances().block(Direction.NORTH);
     roomLocation.getBlockedEntrances().block(Direction.DOWN);
     roomLocation.getBlockedEntrances().block(Direction.SOUTH);
     roomLocation.getBlockedEntrances().block(direction);
-    world.addLocation(roomLocation, roomPoint);
+    generator.addLocation(roomLocation);
   }
 
 }
@@ -1,30 +1,92 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
 import org.mafagafogigante.dungeon.util.Percentage;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A class that is responsible for distributing dungeons.
+ *
+ * <p>Where the entrances are depends on the order in which chunks were generated, so they are saved as a list of
+ * points. Incremental saves only write the entrances registered since the entrances were last written.
  */
 class DungeonDistributor implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final Percentage dungeonProbability = Percentage.fromString("2%");
   private static final MinimumBoundingRectangle biggestDungeonPossible = DungeonCreator.getMinimumBoundingRectangle();
 
-  private final Set<Point> entrances = new HashSet<>();
+  private transient DungeonEntranceIndex entrances = new DungeonEntranceIndex(biggestDungeonPossible);
+  // The entrances registered since the entrances were last written.
+  private transient List<Point> addedEntrances = new ArrayList<>();
 
   public DungeonDistributor() {
   }
 
+  private static void writePoints(DataOutput output, Collection<Point> points) throws IOException {
+    VariableLengthCoding.writeUnsigned(output, points.size());
+    for (Point point : points) {
+      VariableLengthCoding.writeSigned(output, point.getX());
+      VariableLengthCoding.writeSigned(output, point.getY());
+      VariableLengthCoding.writeSigned(output, point.getZ());
+    }
+  }
+
+  private List<Point> getEntrancePoints() {
+    List<Point> points = new ArrayList<>(entrances.size());
+    entrances.addPointsTo(points);
+    return points;
+  }
+
+  private void writeObject(ObjectOutputStream outputStream) throws IOException {
+    outputStream.defaultWriteObject();
+    writePoints(outputStream, getEntrancePoints());
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    entrances = new DungeonEntranceIndex(biggestDungeonPossible);
+    addedEntrances = new ArrayList<>();
+    readEntrances(inputStream);
+  }
+
+  /**
+   * Writes either all the entrances or only those registered since the entrances were last written. Either way, no
+   * entrance is considered registered since then afterwards.
+   */
+  void writeEntrances(@NotNull DataOutput output, boolean addedOnly) throws IOException {
+    writePoints(output, addedOnly ? addedEntrances : getEntrancePoints());
+    addedEntrances.clear();
+  }
+
+  /**
+   * Reads entrances written by writeEntrances, registering them.
+   */
+  void readEntrances(@NotNull DataInput input) throws IOException {
+    int count = VariableLengthCoding.readUnsignedInt(input);
+    for (int i = 0; i < count; i++) {
+      int x = VariableLengthCoding.readSignedInt(input);
+      int y = VariableLengthCoding.readSignedInt(input);
+      int z = VariableLengthCoding.readSignedInt(input);
+      entrances.add(x, y, z);
+    }
+  }
+
   /**
    * Makes a list with all the Points that should not contain a dungeon entrance.
+   *
+   * <p>This is the definition of the zone checked by {@link DungeonEntranceIndex#hasEntranceNear(int, int, int)}.
    */
   static List<Point> makeNoEntrancesZonePointList(Point point, MinimumBoundingRectangle minimumBoundingRectangle) {
     /*
@@ -61,29 +123,21 @@ class DungeonDistributor implements Serializable {
   /**
    * Randomly decides whether or not a point should have a dungeon entrance if it is isolated enough.
    */
-  public boolean rollForDungeon(Point point) {
-    return isIsolatedEnough(point) && Random.roll(dungeonProbability);
+  public boolean rollForDungeon(Point point, SeededRandom random) {
+    return isIsolatedEnough(point) && random.roll(dungeonProbability);
   }
 
   public void registerDungeonEntrance(Point point) {
-    if (entrances.contains(point)) {
-      throw new IllegalStateException("point " + point.toString() + " is already registered");
-    } else {
-      entrances.add(point);
-    }
+    entrances.add(point.getX(), point.getY(), point.getZ());
+    addedEntrances.add(point);
   }
 
   /**
-   * Tests if there is no dungeon entrances in the 5x5 square centered at the provided point. Therefore, currently it is
-   * only safe to make dungeons that are at most 3x3 and centered at the entrance.
+   * Tests if there are no dungeon entrances in the zone around the provided point in which the biggest dungeon possible
+   * could be. This check does not allocate.
    */
-  private boolean isIsolatedEnough(Point point) {
-    for (Point pointToCheck : makeNoEntrancesZonePointList(point, biggestDungeonPossible)) {
-      if (entrances.contains(pointToCheck)) {
-        return false;
-      }
-    }
-    return true;
+  boolean isIsolatedEnough(Point point) {
+    return !entrances.hasEntranceNear(point.getX(), point.getY(), point.getZ());
   }
 
 }
@@ -0,0 +1,162 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * A spatial index of dungeon entrances.
+ *
+ * <p>Entrances are bucketed in cells as big as the minimum bounding rectangle of the biggest dungeon, so the zone that
+ * must not have any other entrance around an entrance never spans more than three by three cells. Cells are found
+ * through an open-addressing hash table keyed by their packed coordinates and store the coordinates of their entrances
+ * in a flat int array. Neither queries nor insertions into existing cells allocate.
+ */
+final class DungeonEntranceIndex implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int width;
+  private final int height;
+  private final int cellWidth;
+  private final int cellHeight;
+  // A slot is free if and only if its cell is null. Cells are {x, y, x, y, ...} and may have unused trailing space.
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private int[][] cells = new int[INITIAL_CAPACITY][];
+  private int[] cellSizes = new int[INITIAL_CAPACITY];
+  private int cellCount;
+  private int size;
+
+  DungeonEntranceIndex(@NotNull MinimumBoundingRectangle rectangle) {
+    this.width = rectangle.getWidth();
+    this.height = rectangle.getHeight();
+    this.cellWidth = Math.max(1, width);
+    this.cellHeight = Math.max(1, height);
+  }
+
+  private long getCellKey(int x, int y, int z) {
+    return ChunkStore.packChunkKey(ChunkStore.toChunkCoordinate(x, cellWidth),
+        ChunkStore.toChunkCoordinate(y, cellHeight), z);
+  }
+
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    int slot = ChunkStore.hash(key) & mask;
+    while (cells[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Evaluates whether or not there is an entrance at the specified coordinates.
+   */
+  boolean contains(int x, int y, int z) {
+    int slot = findSlot(getCellKey(x, y, z));
+    int[] cell = cells[slot];
+    if (cell != null) {
+      for (int i = 0; i < cellSizes[slot]; i += 2) {
+        if (cell[i] == x && cell[i + 1] == y) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Evaluates whether or not there is an entrance other than the one at the specified coordinates within the minimum
+   * bounding rectangle of this index horizontally and within the same z-level.
+   */
+  boolean hasEntranceNear(int x, int y, int z) {
+    int cellX = ChunkStore.toChunkCoordinate(x, cellWidth);
+    int cellY = ChunkStore.toChunkCoordinate(y, cellHeight);
+    for (int i = cellX - 1; i <= cellX + 1; i++) {
+      for (int j = cellY - 1; j <= cellY + 1; j++) {
+        int slot = findSlot(ChunkStore.packChunkKey(i, j, z));
+        int[] cell = cells[slot];
+        if (cell != null) {
+          for (int k = 0; k < cellSizes[slot]; k += 2) {
+            int distanceX = Math.abs(cell[k] - x);
+            int distanceY = Math.abs(cell[k + 1] - y);
+            if (distanceX <= width && distanceY <= height && (distanceX != 0 || distanceY != 0)) {
+              return true;
+            }
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds an entrance. Throws an IllegalStateException if there already is an entrance at the specified coordinates.
+   */
+  void add(int x, int y, int z) {
+    if (contains(x, y, z)) {
+      throw new IllegalStateException("point " + new Point(x, y, z) + " is already registered");
+    }
+    long key = getCellKey(x, y, z);
+    int slot = findSlot(key);
+    if (cells[slot] == null) {
+      cellCount++;
+      // Keep the load factor at or below one half so that probe sequences stay short.
+      if (2 * cellCount > keys.length) {
+        resize(2 * keys.length);
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+      // Isolated entrances are never in the same cell, so most cells will only ever hold one entrance.
+      cells[slot] = new int[2];
+    } else if (cellSizes[slot] == cells[slot].length) {
+      int[] cell = new int[2 * cells[slot].length];
+      System.arraycopy(cells[slot], 0, cell, 0, cellSizes[slot]);
+      cells[slot] = cell;
+    }
+    cells[slot][cellSizes[slot]] = x;
+    cells[slot][cellSizes[slot] + 1] = y;
+    cellSizes[slot] += 2;
+    size++;
+  }
+
+  private void resize(int capacity) {
+    final long[] oldKeys = keys;
+    final int[][] oldCells = cells;
+    final int[] oldCellSizes = cellSizes;
+    keys = new long[capacity];
+    cells = new int[capacity][];
+    cellSizes = new int[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldCells[i] != null) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        cells[slot] = oldCells[i];
+        cellSizes[slot] = oldCellSizes[i];
+      }
+    }
+  }
+
+  /**
+   * Adds the points of all the entrances of this index to a collection, in no particular order.
+   */
+  void addPointsTo(@NotNull Collection<Point> points) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (cells[slot] != null) {
+        int z = ChunkStore.unpackZ(keys[slot]);
+        for (int i = 0; i < cellSizes[slot]; i += 2) {
+          points.add(new Point(cells[slot][i], cells[slot][i + 1], z));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns how many entrances are in this index.
+   */
+  int size() {
+    return size;
+  }
+
+}
@@ -16,6 +16,10 @@ public final class Engine {
 
   private static final int BATTLE_TURN_DURATION = 30;
 
+  // How many refresh batches are open and whether time passed while they were. Only used by the thread of the game.
+  private static int openRefreshBatches;
+  private static boolean refreshPending;
+
   private Engine() { // Ensure that this class cannot be instantiated.
     throw new AssertionError();
   }
@@ -41,9 +45,39 @@ public final class Engine {
     effectivelyUpdate(seconds);
   }
 
+  /**
+   * Opens a refresh batch. Until it is closed, refreshing the game is deferred and rolling the date forward only
+   * advances the clock, so that an action of many steps refreshes the game once instead of once per step.
+   *
+   * @return a RefreshBatch that must be closed when the action ends
+   */
+  public static RefreshBatch beginRefreshBatch() {
+    openRefreshBatches++;
+    return new RefreshBatch();
+  }
+
+  /**
+   * Closes a refresh batch, refreshing the game and checking if any achievements were unlocked if it was the outermost
+   * open batch and the game changed while it was open.
+   */
+  static void closeRefreshBatch() {
+    if (openRefreshBatches == 0) {
+      throw new IllegalStateException("there is no open refresh batch.");
+    }
+    openRefreshBatches--;
+    if (openRefreshBatches == 0 && refreshPending) {
+      refreshPending = false;
+      silentRefresh();
+      refreshAchievements();
+      notifyGameStateModification();
+    }
+  }
+
   /**
    * Effectively updates the game. Rolls time forward before silently refreshing the game.
    *
+   * <p>If a refresh batch is open, the refresh is deferred until it is closed.
+   *
    * @param seconds how many seconds to roll the date forward, nonnegative
    */
   private static void effectivelyUpdate(long seconds) {
@@ -53,8 +87,12 @@ public final class Engine {
     if (seconds > 0) {
       Game.getGameState().getWorld().rollDate(seconds);
     }
-    silentRefresh();
-    notifyGameStateModification();
+    if (openRefreshBatches > 0) {
+      refreshPending = true;
+    } else {
+      silentRefresh();
+      notifyGameStateModification();
+    }
   }
 
   /**
@@ -70,6 +108,7 @@ public final class Engine {
   private static void silentRefresh() {
     refreshSpawners();
     refreshItems();
+    refreshScheduledLocations();
   }
 
   /**
@@ -78,6 +117,24 @@ public final class Engine {
   public static void endTurn() {
     silentRefresh();
     refreshAchievements();
+    prefetchHeroSurroundings();
+    pageOutDistantChunks();
+  }
+
+  /**
+   * Pages out the chunks that are far from the Hero if there are too many chunks in memory.
+   */
+  private static void pageOutDistantChunks() {
+    GameState gameState = Game.getGameState();
+    gameState.getWorld().pageOutDistantChunks(gameState.getHero().getLocation().getPoint());
+  }
+
+  /**
+   * Schedules the generation of the chunks around the Hero, so that walking into them does not wait for generation.
+   */
+  static void prefetchHeroSurroundings() {
+    GameState gameState = Game.getGameState();
+    gameState.getWorld().prefetchAround(gameState.getHero().getLocation().getPoint());
   }
 
   /**
@@ -90,10 +147,18 @@ public final class Engine {
   /**
    * Refreshes all the items in the location the Hero is at.
    */
-  private static void refreshItems() {
+  static void refreshItems() {
     Game.getGameState().getHero().getLocation().refreshItems();
   }
 
+  /**
+   * Refreshes the Locations elsewhere in the world whose spawners, items or creatures are due to change. Only the
+   * Locations that are due are visited.
+   */
+  private static void refreshScheduledLocations() {
+    Game.getGameState().getWorld().runScheduledChanges();
+  }
+
   /**
    * Iterates over all achievements, trying to unlock yet to be unlocked achievements.
    */
@@ -113,14 +178,17 @@ public final class Engine {
       Writer.write(new DungeonString("You cannot attempt suicide."));
       return;
     }
-    while (hero.getHealth().isAlive() && foe.getHealth().isAlive()) {
-      hero.hit(foe);
-      Engine.rollDateAndRefresh(BATTLE_TURN_DURATION);
-      // No contract specifies that calling hit on the Hero will not kill it, so check both creatures again.
-      // Additionally, rolling the date forward may kill the hero in the future.
-      if (hero.getHealth().isAlive() && foe.getHealth().isAlive()) {
-        foe.hit(hero);
-        Engine.rollDateAndRefresh(BATTLE_TURN_DURATION);
+    // Nothing that happens to the location during the battle changes its outcome, so refresh the game once at the end.
+    try (RefreshBatch batch = beginRefreshBatch()) {
+      while (hero.getHealth().isAlive() && foe.getHealth().isAlive()) {
+        hero.hit(foe);
+        batch.rollDate(BATTLE_TURN_DURATION);
+        // No contract specifies that calling hit on the Hero will not kill it, so check both creatures again.
+        // Additionally, rolling the date forward may kill the hero in the future.
+        if (hero.getHealth().isAlive() && foe.getHealth().isAlive()) {
+          foe.hit(hero);
+          batch.rollDate(BATTLE_TURN_DURATION);
+        }
       }
     }
     Creature survivor = hero.getHealth().isAlive() ? hero : foe;
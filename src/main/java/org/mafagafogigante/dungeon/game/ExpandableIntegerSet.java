@@ -1,31 +1,51 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NavigableSet;
-import java.util.TreeSet;
+import java.util.Arrays;
 
 /**
  * A sorted set of integers that can be expanded from both ends.
+ *
+ * <p>Each end is expanded with its own random stream, so the contents of the set are a function of its seed alone and
+ * do not depend on the order in which its ends are expanded.
+ *
+ * <p>The integers are kept sorted in the middle of an int array that has free space at both ends, which is doubled
+ * when either end runs out of it. Queries use binary search and, unless the set has to be expanded, nothing allocates.
  */
 class ExpandableIntegerSet implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
+  private static final int INITIAL_CAPACITY = 16;
   private final int minimumDifference;
   private final int maximumDifference;
+  private final SeededRandom upwardsRandom;
+  private final SeededRandom downwardsRandom;
 
-  private final NavigableSet<Integer> set = new TreeSet<>();
+  // The integers of the set are the sorted values in [first, end).
+  private int[] values = new int[INITIAL_CAPACITY];
+  private int first = INITIAL_CAPACITY / 2;
+  private int end = first;
 
   /**
-   * Make a new ExpandableIntegerSet.
+   * Make a new ExpandableIntegerSet with a random seed.
    *
    * @param minimumDifference the minimum difference between integers, positive
    * @param maximumDifference the maximum difference between integers, bigger than {@code minimumDifference}
    */
   public ExpandableIntegerSet(int minimumDifference, int maximumDifference) {
+    this(minimumDifference, maximumDifference, Random.nextLong());
+  }
+
+  /**
+   * Make a new ExpandableIntegerSet.
+   *
+   * @param minimumDifference the minimum difference between integers, positive
+   * @param maximumDifference the maximum difference between integers, bigger than {@code minimumDifference}
+   * @param seed the seed from which all the integers of this set are derived
+   */
+  public ExpandableIntegerSet(int minimumDifference, int maximumDifference, long seed) {
     if (minimumDifference < 1) {
       throw new IllegalArgumentException("minimumDifference must be positive");
     } else if (minimumDifference >= maximumDifference) {
@@ -34,55 +54,93 @@ class ExpandableIntegerSet implements Serializable {
       this.minimumDifference = minimumDifference;
       this.maximumDifference = maximumDifference;
     }
-    initialize();
+    this.upwardsRandom = new SeededRandom(SeededRandom.deriveSeed(seed, 1));
+    this.downwardsRandom = new SeededRandom(SeededRandom.deriveSeed(seed, -1));
+    initialize(new SeededRandom(seed));
   }
 
   /**
    * Generate the first integer of the set. This method should not be invoked twice.
    */
-  private void initialize() {
-    if (!set.isEmpty()) {
+  private void initialize(SeededRandom random) {
+    if (first != end) {
       throw new IllegalStateException("set already has an element.");
     } else {
-      set.add(Random.nextInteger(minimumDifference));
+      values[end++] = random.nextInteger(minimumDifference);
     }
   }
 
   /**
    * Expand the set of integers towards an integer a until there is an integer bigger than or equal to value.
-   *
-   * @return a list with all new integers.
    */
-  List<Integer> expand(int value) {
-    if (set.isEmpty()) {
+  void expand(int value) {
+    expand(value, null);
+  }
+
+  /**
+   * Expand the set of integers towards an integer a until there is an integer bigger than or equal to value, notifying
+   * the provided listener, if any, of every new integer.
+   */
+  void expand(int value, @Nullable ExpansionListener listener) {
+    if (first == end) {
       throw new IllegalStateException("the set is empty.");
     }
-    ArrayList<Integer> integerList = new ArrayList<>();
-    int integer = set.last();
+    int integer = values[end - 1];
     while (value >= integer) {
-      integer += Random.nextInteger(minimumDifference, maximumDifference);
-      integerList.add(integer);
-      set.add(integer);
+      integer += upwardsRandom.nextInteger(minimumDifference, maximumDifference);
+      if (end == values.length) {
+        grow();
+      }
+      values[end++] = integer;
+      if (listener != null) {
+        listener.integerAdded(integer);
+      }
     }
-    integer = set.first();
+    integer = values[first];
     while (value <= integer) {
-      integer -= Random.nextInteger(minimumDifference, maximumDifference);
-      integerList.add(integer);
-      set.add(integer);
+      integer -= downwardsRandom.nextInteger(minimumDifference, maximumDifference);
+      if (first == 0) {
+        grow();
+      }
+      values[--first] = integer;
+      if (listener != null) {
+        listener.integerAdded(integer);
+      }
     }
-    return integerList;
+  }
+
+  /**
+   * Doubles the capacity of the array, centering the integers in it so that both ends have the same free space.
+   */
+  private void grow() {
+    int size = end - first;
+    int[] grown = new int[2 * values.length];
+    int grownFirst = (grown.length - size) / 2;
+    System.arraycopy(values, first, grown, grownFirst, size);
+    values = grown;
+    first = grownFirst;
+    end = grownFirst + size;
   }
 
   /**
    * @return true if {@code value} is in the set.
    */
   boolean contains(int value) {
-    return set.contains(value);
+    return Arrays.binarySearch(values, first, end, value) >= 0;
   }
 
   @Override
   public String toString() {
-    return "ExpandableIntegerSet currently of " + set;
+    return "ExpandableIntegerSet currently of " + Arrays.toString(Arrays.copyOfRange(values, first, end));
+  }
+
+  /**
+   * Gets notified of the integers added to an ExpandableIntegerSet when it is expanded.
+   */
+  interface ExpansionListener {
+
+    void integerAdded(int integer);
+
   }
 
 }
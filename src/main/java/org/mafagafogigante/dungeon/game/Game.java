@@ -34,6 +34,7 @@ public class Game {
   public static void main(String[] args) {
     final StopWatch stopWatch = new StopWatch();
     DungeonLogger.info("Started initializing Dungeon " + Version.getCurrentVersion() + ".");
+    ResourcePreloader.start();
     invokeOnEventDispatchThreadAndWait(new Runnable() {
       @Override
       public void run() {
@@ -116,19 +117,28 @@ public class Game {
   public static void setGameState(GameState state) {
     if (getGameState() != null) {
       DungeonLogger.warning("Called setGameState without unsetting the old game state.");
+      getGameState().getWorld().dispose();
     }
     if (state == null) {
       throw new IllegalArgumentException("passed null to setGameState.");
     }
     gameState = state;
     DungeonLogger.info("Set the GameState field in Game to a GameState.");
+    gameState.getWorld().setChunkPrefetching(true);
+    Engine.prefetchHeroSurroundings();
     // This is a new GameState that must be refreshed in order to have spawned creatures at the beginning.
     Engine.refresh();
     Writer.write(new DungeonString("\n")); // Improves readability.
     gameState.getHero().look();
   }
 
+  /**
+   * Sets the GameState field to null, disposing of the World of the GameState it had, which is no longer used.
+   */
   public static void unsetGameState() {
+    if (gameState != null) {
+      gameState.getWorld().dispose();
+    }
     DungeonLogger.info("Set the GameState field in Game to null.");
     gameState = null;
   }
@@ -153,6 +163,7 @@ public class Game {
         setGameState(getAfterDeathGameState());
       } else {
         Engine.endTurn();
+        Loader.autosave(getGameState());
       }
     }
     DungeonLogger.logCommandRenderingReport(issuedCommand.toString(), "finished renderTurn", stopWatch);
@@ -198,6 +209,7 @@ public class Game {
     if (getGameState() != null && !getGameState().isSaved()) {
       Loader.saveGame(getGameState());
     }
+    Loader.waitForPendingSaves();
     logInstanceClosing();
     System.exit(0);
   }
@@ -8,11 +8,13 @@ import org.mafagafogigante.dungeon.io.ResourceNameResolver;
 import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.stats.Statistics;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public class GameState implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final CommandHistory commandHistory;
   private final World world;
   private final Statistics statistics = new Statistics();
@@ -20,7 +22,17 @@ public class GameState implements Serializable {
   private Point heroPosition;
   private Version gameVersion = Version.getCurrentVersion();
 
-  private transient boolean saved = false;
+  // Volatile because saves are written, and may fail, on another thread.
+  private transient volatile boolean saved = false;
+  // Identify the save that this GameState was last written to or read from, whose journal may receive its changes.
+  private transient volatile String saveName;
+  private transient long saveId;
+  // The sections of serialized objects of the last save or journal record captured, indexed like the sections of the
+  // SaveFormat. The next journal record leaves out those that are the same.
+  private transient byte[][] lastWrittenSections;
+  // How many Ids the IdTable of the World had when the last save or journal record was captured. The Id section of the
+  // next journal record starts there.
+  private transient int capturedIdCount;
 
   /**
    * Constructs a new GameState.
@@ -78,6 +90,38 @@ public class GameState implements Serializable {
     this.saved = saved;
   }
 
+  public String getSaveName() {
+    return saveName;
+  }
+
+  public void setSaveName(String saveName) {
+    this.saveName = saveName;
+  }
+
+  long getSaveId() {
+    return saveId;
+  }
+
+  void setSaveId(long saveId) {
+    this.saveId = saveId;
+  }
+
+  byte[][] getLastWrittenSections() {
+    return lastWrittenSections;
+  }
+
+  void setLastWrittenSections(byte[][] lastWrittenSections) {
+    this.lastWrittenSections = lastWrittenSections;
+  }
+
+  int getCapturedIdCount() {
+    return capturedIdCount;
+  }
+
+  void setCapturedIdCount(int capturedIdCount) {
+    this.capturedIdCount = capturedIdCount;
+  }
+
   public Version getGameVersion() {
     return gameVersion;
   }
@@ -86,4 +130,11 @@ public class GameState implements Serializable {
     this.gameVersion = version;
   }
 
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    // Whoever reads a GameState from a save binds it to that save.
+    saveName = null;
+    saveId = 0;
+  }
+
 }
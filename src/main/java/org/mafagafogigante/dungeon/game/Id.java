@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 /**
@@ -13,7 +11,7 @@ import java.io.Serializable;
  */
 public final class Id implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final String id;
 
   /**
@@ -0,0 +1,80 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An append-only table that assigns a small index to every Id it is given, so that binary encodings can refer to Ids
+ * by index instead of repeating their strings.
+ *
+ * <p>Indices never change once assigned, so anything encoded with this table can be decoded with it as long as it
+ * exists. The table is saved with the World it belongs to.
+ */
+public final class IdTable implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // Written by writeObject and rebuilt by readObject, as only the strings need to be saved.
+  private transient List<Id> ids = new ArrayList<>();
+  private transient Map<Id, Integer> indices = new HashMap<>();
+
+  /**
+   * Returns the index of the provided Id, assigning it the next index if it is not in this table yet.
+   */
+  public synchronized int getIndex(@NotNull Id id) {
+    Integer index = indices.get(id);
+    if (index == null) {
+      index = ids.size();
+      ids.add(id);
+      indices.put(id, index);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the Id with the specified index. Throws an IllegalArgumentException if no Id has that index.
+   */
+  @NotNull
+  public synchronized Id getId(int index) {
+    if (index < 0 || index >= ids.size()) {
+      throw new IllegalArgumentException("there is no Id with index " + index + ".");
+    }
+    return ids.get(index);
+  }
+
+  public synchronized int size() {
+    return ids.size();
+  }
+
+  private synchronized void writeObject(ObjectOutputStream outputStream) throws IOException {
+    outputStream.defaultWriteObject();
+    outputStream.writeInt(ids.size());
+    for (Id id : ids) {
+      outputStream.writeUTF(id.toString());
+    }
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    ids = new ArrayList<>();
+    indices = new HashMap<>();
+    int size = inputStream.readInt();
+    for (int i = 0; i < size; i++) {
+      getIndex(new Id(inputStream.readUTF()));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IdTable with " + size() + " Ids";
+  }
+
+}
@@ -1,5 +1,6 @@
 package org.mafagafogigante.dungeon.game;
 
+import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.entity.Entity;
 import org.mafagafogigante.dungeon.entity.Luminosity;
 import org.mafagafogigante.dungeon.entity.TagSet;
@@ -7,14 +8,16 @@ import org.mafagafogigante.dungeon.entity.creatures.Creature;
 import org.mafagafogigante.dungeon.entity.items.Item;
 import org.mafagafogigante.dungeon.entity.items.ItemFactory;
 import org.mafagafogigante.dungeon.entity.items.LocationInventory;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Percentage;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
@@ -22,12 +25,14 @@ import java.util.Map.Entry;
  */
 public class Location implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Id id;
   private final Name name;
   private final LocationDescription description;
   private final BlockedEntrances blockedEntrances;
   private final List<Creature> creatures;
+  // How many creatures of each Id are in this Location, so that spawners do not count them every time.
+  private final Map<Id, Integer> creatureCounts;
   private final List<Spawner> spawners;
   private final TagSet<Tag> tagSet;
   private final LocationInventory items;
@@ -42,8 +47,32 @@ public class Location implements Serializable {
    *
    * @param preset the LocationPreset object
    * @param world the World object
+   * @param random the SeededRandom used to roll the items and the spawners of this location
    */
-  public Location(@NotNull LocationPreset preset, @NotNull World world, @NotNull Point point) {
+  public Location(@NotNull LocationPreset preset, @NotNull World world, @NotNull Point point,
+      @NotNull SeededRandom random) {
+    this(preset, world, point);
+    for (SpawnerPreset spawner : preset.getSpawners()) {
+      spawners.add(new Spawner(spawner, this, random));
+    }
+    ItemFactory itemFactory = getWorld().getItemFactory();
+    for (Entry<Id, Percentage> entry : preset.getItems()) {
+      if (random.roll(entry.getValue())) {
+        Id id = entry.getKey();
+        if (itemFactory.canMakeItem(id)) {
+          // The Location is not in the World yet, so adding items must not mark its chunk as dirty.
+          items.addItem(itemFactory.makeItem(id, world.getWorldDate(), random));
+        }
+      }
+    }
+  }
+
+  /**
+   * Constructs a location for the specified world based on the provided preset, without spawners, creatures or items.
+   *
+   * <p>Used to restore saved locations, whose spawners, creatures and items are added afterwards.
+   */
+  Location(@NotNull LocationPreset preset, @NotNull World world, @NotNull Point point) {
     this.id = preset.getId();
     this.name = preset.getName();
     this.description = preset.getDescription();
@@ -52,21 +81,10 @@ public class Location implements Serializable {
     this.blockedEntrances = preset.getBlockedEntrances();
     this.lightPermittivity = preset.getLightPermittivity();
     this.creatures = new ArrayList<>();
+    this.creatureCounts = new HashMap<>();
     this.spawners = new ArrayList<>(preset.getSpawners().size());
-    for (SpawnerPreset spawner : preset.getSpawners()) {
-      spawners.add(new Spawner(spawner, this));
-    }
     this.tagSet = TagSet.copyTagSet(preset.getTagSet());
     this.items = new LocationInventory();
-    ItemFactory itemFactory = getWorld().getItemFactory();
-    for (Entry<Id, Percentage> entry : preset.getItems()) {
-      if (Random.roll(entry.getValue())) {
-        Id id = entry.getKey();
-        if (itemFactory.canMakeItem(id)) {
-          this.addItem(itemFactory.makeItem(id, world.getWorldDate()));
-        }
-      }
-    }
   }
 
   public Id getId() {
@@ -81,12 +99,26 @@ public class Location implements Serializable {
     return description;
   }
 
+  List<Spawner> getSpawners() {
+    return spawners;
+  }
+
+  void addSpawner(@NotNull Spawner spawner) {
+    spawners.add(spawner);
+  }
+
   /**
-   * Refreshes all the Spawners of this location.
+   * Refreshes all the Spawners of this location. The chunk of this location is only marked as dirty if a spawner
+   * changed, as this is done every turn for the location of the Hero.
    */
   void refreshSpawners() {
+    world.copySharedChunks(point);
+    boolean changed = false;
     for (Spawner spawner : spawners) {
-      spawner.refresh();
+      changed |= spawner.refresh();
+    }
+    if (changed) {
+      world.markDirty(point);
     }
   }
 
@@ -109,8 +141,11 @@ public class Location implements Serializable {
     return new Luminosity(new Percentage(Math.min(fromEntities.toDouble() + fromTheWorld.toDouble(), 1.0)));
   }
 
+  /**
+   * Returns an unmodifiable view of the creatures in this Location. Use addCreature and removeCreature to change them.
+   */
   public List<Creature> getCreatures() {
-    return creatures;
+    return Collections.unmodifiableList(creatures);
   }
 
   public LocationInventory getInventory() {
@@ -136,16 +171,11 @@ public class Location implements Serializable {
   }
 
   /**
-   * Returns the number of creatures in this Location.
+   * Returns the number of creatures with the specified Id in this Location.
    */
   int getCreatureCount(Id id) {
-    int count = 0;
-    for (Creature creature : creatures) {
-      if (creature.getId().equals(id)) {
-        count++;
-      }
-    }
-    return count;
+    Integer count = creatureCounts.get(id);
+    return count == null ? 0 : count;
   }
 
   /**
@@ -155,27 +185,67 @@ public class Location implements Serializable {
    * @param creature a Creature object
    */
   public void addCreature(Creature creature) {
+    world.copySharedChunks(point);
+    restoreCreature(creature);
+    world.markDirty(point);
+    world.scheduleChange(this, getNextChangeTime(creature));
+  }
+
+  /**
+   * Adds a Creature to this Location without marking its chunk as dirty. Used to restore saved locations.
+   */
+  void restoreCreature(Creature creature) {
     creature.setLocation(this);
     creatures.add(creature);
+    Integer count = creatureCounts.get(creature.getId());
+    creatureCounts.put(creature.getId(), count == null ? 1 : count + 1);
   }
 
+  /**
+   * Adds an Item to this Location, scheduling this Location to be refreshed when the Item decomposes.
+   */
   public void addItem(Item item) {
+    world.copySharedChunks(point);
     items.addItem(item);
+    world.markDirty(point);
+    world.scheduleChange(this, item.getDecompositionTime());
   }
 
+  /**
+   * Adds an Item to this Location without marking its chunk as dirty. Used to restore saved locations.
+   */
+  void restoreItem(Item item) {
+    items.addItem(item);
+  }
+
+  /**
+   * Removes an Item from this Location.
+   */
   public void removeItem(Item item) {
+    world.copySharedChunks(point);
     items.removeItem(item);
+    world.markDirty(point);
   }
 
   /**
    * Removes a creature of this Location.
    */
   public void removeCreature(Creature creature) {
+    world.copySharedChunks(point);
     for (Spawner spawner : spawners) {
       spawner.notifyKill(creature);
     }
     // The creature must be removed after the spawns are notified.
-    creatures.remove(creature);
+    if (creatures.remove(creature)) {
+      int count = creatureCounts.get(creature.getId());
+      if (count == 1) {
+        creatureCounts.remove(creature.getId());
+      } else {
+        creatureCounts.put(creature.getId(), count - 1);
+      }
+    }
+    world.markDirty(point);
+    world.scheduleChange(this, getNextSpawnTime());
   }
 
   public World getWorld() {
@@ -199,13 +269,55 @@ public class Location implements Serializable {
 
   /**
    * Refreshes all the items in this location's inventory and all the items in the inventories of the creatures in this
-   * location.
+   * location. The chunk of this location is only marked as dirty if an item was removed.
    */
   void refreshItems() {
-    getInventory().refreshItems();
+    world.copySharedChunks(point);
+    Date date = world.getWorldDate();
+    boolean removed = getInventory().refreshItems(date);
     for (Creature creature : creatures) {
-      creature.getInventory().refreshItems();
+      removed |= creature.getInventory().refreshItems(date);
+    }
+    if (removed) {
+      world.markDirty(point);
+    }
+  }
+
+  /**
+   * Brings this Location up to the date of its World, spawning the creatures that are due and removing the items that
+   * decomposed and the conditions that expired.
+   */
+  void refresh() {
+    world.copySharedChunks(point);
+    refreshSpawners();
+    refreshItems();
+    for (Creature creature : creatures) {
+      creature.refreshConditions();
+    }
+  }
+
+  /**
+   * Returns the world time, in milliseconds, at which this Location next changes by itself because a spawner is due,
+   * an item decomposes or a condition of a creature expires. Returns Long.MAX_VALUE if nothing here changes by itself.
+   */
+  long getNextChangeTime() {
+    long time = Math.min(getNextSpawnTime(), items.getNextDecompositionTime());
+    for (Creature creature : creatures) {
+      time = Math.min(time, getNextChangeTime(creature));
+    }
+    return time;
+  }
+
+  private static long getNextChangeTime(Creature creature) {
+    return Math.min(creature.getInventory().getNextDecompositionTime(), creature.getNextConditionExpiration());
+  }
+
+  private long getNextSpawnTime() {
+    long time = Long.MAX_VALUE;
+    for (Spawner spawner : spawners) {
+      time = Math.min(time, spawner.getNextSpawnTime());
     }
+    return time;
   }
 
   @Override
@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.Color;
@@ -12,7 +10,7 @@ import java.io.Serializable;
  */
 public class LocationDescription implements Examinable, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final char symbol;
   private final Color color;
   private String info = "You don't discover anything.";
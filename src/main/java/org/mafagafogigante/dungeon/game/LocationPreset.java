@@ -25,6 +25,7 @@ public final class LocationPreset {
   private TagSet<Tag> tagSet;
   private Percentage lightPermittivity;
   private int blobSize;
+  private double frequency;
   private LocationDescription description;
 
   LocationPreset(Id id, Type type, Name name) {
@@ -113,6 +114,20 @@ public final class LocationPreset {
     return blobSize;
   }
 
+  /**
+   * Returns the relative frequency with which this preset is selected among the presets of the same type.
+   */
+  double getFrequency() {
+    return frequency;
+  }
+
+  void setFrequency(double frequency) {
+    if (frequency < 0) {
+      throw new IllegalArgumentException("frequency should be nonnegative.");
+    }
+    this.frequency = frequency;
+  }
+
   void setBlobSize(int blobSize) {
     this.blobSize = blobSize;
   }
@@ -3,6 +3,7 @@ package org.mafagafogigante.dungeon.game;
 import org.mafagafogigante.dungeon.game.LocationPreset.Type;
 import org.mafagafogigante.dungeon.io.DungeonResource;
 import org.mafagafogigante.dungeon.io.JsonObjectFactory;
+import org.mafagafogigante.dungeon.io.JsonObjectStream;
 import org.mafagafogigante.dungeon.io.ResourceNameResolver;
 import org.mafagafogigante.dungeon.io.TagSetParser;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
@@ -14,6 +15,7 @@ import com.eclipsesource.json.JsonValue;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,14 +24,21 @@ import java.util.Set;
 /**
  * A class that stores and provides easy retrieval of a set of LocationPresets. Application code should access this
  * class through the public getDefaultLocationPresetStore() method.
+ *
+ * <p>For each type of preset, a WeightedSampler that selects presets according to their frequencies is built once,
+ * after all presets are loaded.
  */
 public final class LocationPresetStore {
 
+  // Presets without a frequency, such as those of older content, are as likely to be picked as presets of frequency 1.
+  private static final double DEFAULT_FREQUENCY = 1.0;
+
   private static final LocationPresetStore defaultLocationPresetStore = new LocationPresetStore();
   private static boolean defaultLocationPresetStoreIsUninitialized = true;
 
   private final Map<Id, LocationPreset> idLocationPresetMap = new HashMap<>();
   private final Map<Type, List<LocationPreset>> typeLocationPresetMap = new HashMap<>();
+  private final Map<Type, WeightedSampler<LocationPreset>> typeSamplerMap = new EnumMap<>(Type.class);
 
   private LocationPresetStore() {
   }
@@ -40,8 +49,10 @@ public final class LocationPresetStore {
 
   /**
    * Returns the default LocationPresetStore, initializing it if it hasn't already been initialized.
+   *
+   * <p>Synchronized because chunks may be generated by the chunk prefetcher as well as by the game.
    */
-  public static LocationPresetStore getDefaultLocationPresetStore() {
+  public static synchronized LocationPresetStore getDefaultLocationPresetStore() {
     if (defaultLocationPresetStoreIsUninitialized) {
       defaultLocationPresetStore.loadLocationPresets();
       defaultLocationPresetStoreIsUninitialized = false;
@@ -49,50 +60,67 @@ public final class LocationPresetStore {
     return defaultLocationPresetStore;
   }
 
-  private void loadLocationPresets() {
-    String filename = ResourceNameResolver.resolveName(DungeonResource.LOCATIONS);
-    JsonObject jsonObject = JsonObjectFactory.makeJsonObject(filename);
-    for (JsonValue jsonValue : jsonObject.get("locations").asArray()) {
-      JsonObject presetObject = jsonValue.asObject();
-      Id id = new Id(presetObject.get("id").asString());
-      Type type = Type.valueOf(presetObject.get("type").asString());
-      Name name = NameFactory.fromJsonObject(presetObject.get("name").asObject());
-      LocationPreset preset = new LocationPreset(id, type, name);
-      char symbol = presetObject.get("symbol").asString().charAt(0);
-      preset.setDescription(new LocationDescription(symbol, colorFromJsonArray(presetObject.get("color").asArray())));
-      preset.getDescription().setInfo(presetObject.get("info").asString());
-      preset.setBlobSize(presetObject.get("blobSize").asInt());
-      preset.setLightPermittivity(presetObject.get("lightPermittivity").asDouble());
-      preset.setTagSet(new TagSetParser<>(Location.Tag.class, presetObject.get("tags")).parse());
-      if (presetObject.get("spawners") != null) {
-        for (JsonValue spawnerValue : presetObject.get("spawners").asArray()) {
-          JsonObject spawner = spawnerValue.asObject();
-          String spawnerId = spawner.get("id").asString();
-          JsonObject population = spawner.get("population").asObject();
-          int minimumPopulation = population.get("minimum").asInt();
-          int maximumPopulation = population.get("maximum").asInt();
-          int delay = spawner.get("delay").asInt();
-          preset.addSpawner(new SpawnerPreset(spawnerId, minimumPopulation, maximumPopulation, delay));
-        }
+  private static LocationPreset makeLocationPreset(JsonObject presetObject) {
+    Id id = new Id(presetObject.get("id").asString());
+    Type type = Type.valueOf(presetObject.get("type").asString());
+    Name name = NameFactory.fromJsonObject(presetObject.get("name").asObject());
+    LocationPreset preset = new LocationPreset(id, type, name);
+    char symbol = presetObject.get("symbol").asString().charAt(0);
+    preset.setDescription(new LocationDescription(symbol, colorFromJsonArray(presetObject.get("color").asArray())));
+    preset.getDescription().setInfo(presetObject.get("info").asString());
+    preset.setBlobSize(presetObject.get("blobSize").asInt());
+    preset.setFrequency(presetObject.getDouble("frequency", DEFAULT_FREQUENCY));
+    preset.setLightPermittivity(presetObject.get("lightPermittivity").asDouble());
+    preset.setTagSet(new TagSetParser<>(Location.Tag.class, presetObject.get("tags")).parse());
+    if (presetObject.get("spawners") != null) {
+      for (JsonValue spawnerValue : presetObject.get("spawners").asArray()) {
+        JsonObject spawner = spawnerValue.asObject();
+        String spawnerId = spawner.get("id").asString();
+        JsonObject population = spawner.get("population").asObject();
+        int minimumPopulation = population.get("minimum").asInt();
+        int maximumPopulation = population.get("maximum").asInt();
+        int delay = spawner.get("delay").asInt();
+        preset.addSpawner(new SpawnerPreset(spawnerId, minimumPopulation, maximumPopulation, delay));
       }
-      if (presetObject.get("items") != null) {
-        for (JsonValue itemValue : presetObject.get("items").asArray()) {
-          JsonObject item = itemValue.asObject();
-          String itemId = item.get("id").asString();
-          double probability = item.get("probability").asDouble();
-          preset.addItem(itemId, probability);
-        }
+    }
+    if (presetObject.get("items") != null) {
+      for (JsonValue itemValue : presetObject.get("items").asArray()) {
+        JsonObject item = itemValue.asObject();
+        String itemId = item.get("id").asString();
+        double probability = item.get("probability").asDouble();
+        preset.addItem(itemId, probability);
+      }
+    }
+    if (presetObject.get("blockedEntrances") != null) {
+      for (JsonValue abbreviation : presetObject.get("blockedEntrances").asArray()) {
+        preset.block(Direction.fromAbbreviation(abbreviation.asString()));
       }
-      if (presetObject.get("blockedEntrances") != null) {
-        for (JsonValue abbreviation : presetObject.get("blockedEntrances").asArray()) {
-          preset.block(Direction.fromAbbreviation(abbreviation.asString()));
-        }
+    }
+    return preset;
+  }
+
+  private void loadLocationPresets() {
+    String filename = ResourceNameResolver.resolveName(DungeonResource.LOCATIONS);
+    try (JsonObjectStream stream = JsonObjectFactory.makeJsonObjectStream(filename, "locations")) {
+      while (stream.hasNext()) {
+        addLocationPreset(makeLocationPreset(stream.next()));
       }
-      addLocationPreset(preset);
     }
+    makeSamplers();
     DungeonLogger.info("Loaded " + getSize() + " location presets.");
   }
 
+  private void makeSamplers() {
+    for (Map.Entry<Type, List<LocationPreset>> entry : typeLocationPresetMap.entrySet()) {
+      List<LocationPreset> presets = entry.getValue();
+      double[] frequencies = new double[presets.size()];
+      for (int i = 0; i < presets.size(); i++) {
+        frequencies[i] = presets.get(i).getFrequency();
+      }
+      typeSamplerMap.put(entry.getKey(), new WeightedSampler<>(presets, frequencies));
+    }
+  }
+
   /**
    * Adds a LocationPreset to the store. Throws an IllegalArgumentException if there is already a preset registered with
    * the same Id.
@@ -112,10 +140,29 @@ public final class LocationPresetStore {
     return idLocationPresetMap.values();
   }
 
+  /**
+   * Returns the preset with the specified Id or null if there is no such preset.
+   */
+  LocationPreset getLocationPreset(Id id) {
+    return idLocationPresetMap.get(id);
+  }
+
   List<LocationPreset> getLocationPresetsByType(Type type) {
     return typeLocationPresetMap.get(type);
   }
 
+  /**
+   * Returns the sampler that selects presets of the specified type according to their frequencies. Throws an
+   * IllegalArgumentException if there are no presets of the specified type.
+   */
+  WeightedSampler<LocationPreset> getSampler(Type type) {
+    WeightedSampler<LocationPreset> sampler = typeSamplerMap.get(type);
+    if (sampler == null) {
+      throw new IllegalArgumentException("there are no presets of the type " + type + ".");
+    }
+    return sampler;
+  }
+
   private int getSize() {
     return idLocationPresetMap.size();
   }
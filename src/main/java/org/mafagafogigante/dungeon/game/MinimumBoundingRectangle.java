@@ -1,12 +1,10 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 public class MinimumBoundingRectangle implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final int width;
   private final int height;
 
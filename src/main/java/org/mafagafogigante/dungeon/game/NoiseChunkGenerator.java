@@ -0,0 +1,175 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.game.LocationPreset.Type;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+
+/**
+ * A stateless chunk generator that derives everything about a point from the seed of the World and the coordinates of
+ * the point.
+ *
+ * <p>Rivers, bridges and dungeon entrances are placed at most once per cell of a coarse grid, at an offset hashed from
+ * the coordinates of the cell, which keeps them apart without remembering where the others are. Land presets come from
+ * cellular noise: each point takes the preset of the nearest of a set of jittered feature points, which makes coherent
+ * blobs. Any chunk can therefore be generated in isolation, in time proportional to its size, and always comes out the
+ * same.
+ */
+final class NoiseChunkGenerator implements ChunkGenerator {
+
+  private static final long serialVersionUID = 1L;
+
+  // Distinguish the streams derived from the seed of the World so that they never coincide.
+  private static final long RIVER_STREAM = 1;
+  private static final long BRIDGE_STREAM = 2;
+  private static final long DUNGEON_STREAM = 3;
+  private static final long FEATURE_STREAM = 4;
+  private static final long PRESET_STREAM = 5;
+  private static final long LOCATION_STREAM = 6;
+
+  // Rivers do not appear in -10 < x < 10. Every cell of RIVER_CELL_WIDTH columns has a river in one of its first
+  // RIVER_OFFSETS columns, so rivers are between 7 and 11 columns apart.
+  private static final int RIVER_START = 10;
+  private static final int RIVER_CELL_WIDTH = 9;
+  private static final int RIVER_OFFSETS = 3;
+  // Every river has a bridge in one of the first BRIDGE_OFFSETS rows of each cell of BRIDGE_CELL_HEIGHT rows.
+  private static final int BRIDGE_CELL_HEIGHT = 12;
+  private static final int BRIDGE_OFFSETS = 8;
+  private static final double DUNGEON_PROBABILITY = 0.4;
+  private static final int BLOB_CELL_SIDE = 4;
+
+  private final long seed;
+  private final DungeonCreator dungeonCreator = new DungeonCreator();
+
+  NoiseChunkGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the nonnegative remainder of the division of a by b.
+   */
+  private static int modulo(long a, int b) {
+    return (int) ((a >>> 1) % b);
+  }
+
+  /**
+   * Returns the uniformly distributed double in [0, 1) that corresponds to a hash.
+   */
+  private static double toUnit(long hash) {
+    return (hash >>> 11) * 0x1.0p-53;
+  }
+
+  private long hash(long stream, int a, int b) {
+    return SeededRandom.deriveSeed(seed, stream, a, b);
+  }
+
+  boolean isRiver(int x) {
+    if (Math.abs(x) < RIVER_START) {
+      return false;
+    }
+    int cell = ChunkStore.toChunkCoordinate(x, RIVER_CELL_WIDTH);
+    return x == cell * RIVER_CELL_WIDTH + modulo(hash(RIVER_STREAM, cell, 0), RIVER_OFFSETS);
+  }
+
+  boolean isBridge(int x, int y) {
+    if (!isRiver(x)) {
+      return false;
+    }
+    int cell = ChunkStore.toChunkCoordinate(y, BRIDGE_CELL_HEIGHT);
+    return y == cell * BRIDGE_CELL_HEIGHT + modulo(hash(BRIDGE_STREAM, x, cell), BRIDGE_OFFSETS);
+  }
+
+  boolean isRiverside(int x) {
+    return !isRiver(x) && (isRiver(x - 1) || isRiver(x + 1));
+  }
+
+  /**
+   * Evaluates whether or not there is a dungeon entrance at the specified point of the surface.
+   *
+   * <p>The candidate of each cell is in its first half in both directions, so candidates of neighboring cells are
+   * always further apart than the minimum bounding rectangle of the biggest dungeon.
+   */
+  boolean isDungeonEntrance(int x, int y) {
+    MinimumBoundingRectangle rectangle = DungeonCreator.getMinimumBoundingRectangle();
+    int halfWidth = rectangle.getWidth() + 1;
+    int halfHeight = rectangle.getHeight() + 1;
+    int cellX = ChunkStore.toChunkCoordinate(x, 2 * halfWidth);
+    int cellY = ChunkStore.toChunkCoordinate(y, 2 * halfHeight);
+    long hash = hash(DUNGEON_STREAM, cellX, cellY);
+    int candidateX = cellX * 2 * halfWidth + modulo(hash, halfWidth);
+    int candidateY = cellY * 2 * halfHeight + modulo(Long.rotateLeft(hash, 32), halfHeight);
+    if (x != candidateX || y != candidateY || isRiver(x) || isRiverside(x)) {
+      return false;
+    }
+    return toUnit(SeededRandom.deriveSeed(hash)) < DUNGEON_PROBABILITY;
+  }
+
+  /**
+   * Returns the land preset of the specified point, which is the preset of the nearest feature point.
+   */
+  LocationPreset getLandPreset(int x, int y) {
+    int cellX = ChunkStore.toChunkCoordinate(x, BLOB_CELL_SIDE);
+    int cellY = ChunkStore.toChunkCoordinate(y, BLOB_CELL_SIDE);
+    long nearestDistance = Long.MAX_VALUE;
+    int nearestX = cellX;
+    int nearestY = cellY;
+    for (int i = cellX - 1; i <= cellX + 1; i++) {
+      for (int j = cellY - 1; j <= cellY + 1; j++) {
+        long hash = hash(FEATURE_STREAM, i, j);
+        long distanceX = i * BLOB_CELL_SIDE + modulo(hash, BLOB_CELL_SIDE) - x;
+        long distanceY = j * BLOB_CELL_SIDE + modulo(Long.rotateLeft(hash, 32), BLOB_CELL_SIDE) - y;
+        long distance = distanceX * distanceX + distanceY * distanceY;
+        if (distance < nearestDistance) {
+          nearestDistance = distance;
+          nearestX = i;
+          nearestY = j;
+        }
+      }
+    }
+    return LocationPresetStore.getDefaultLocationPresetStore().getSampler(Type.LAND)
+        .sample(hash(PRESET_STREAM, nearestX, nearestY));
+  }
+
+  /**
+   * Writes nothing, as this generator does not accumulate any state.
+   */
+  @Override
+  public void writeGenerationState(@NotNull DataOutput output, boolean addedOnly) {
+  }
+
+  @Override
+  public void readGenerationState(@NotNull DataInput input) {
+  }
+
+  @Override
+  public void generateChunk(@NotNull WorldGenerator generator, int xStart, int yStart, int chunkSide) {
+    World world = generator.getWorld();
+    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
+    for (int x = xStart; x < xStart + chunkSide; x++) {
+      for (int y = yStart; y < yStart + chunkSide; y++) {
+        Point point = new Point(x, y, 0);
+        if (!generator.hasGeneratedLocationAt(point)) {
+          SeededRandom random = new SeededRandom(hash(LOCATION_STREAM, x, y));
+          if (isDungeonEntrance(x, y)) {
+            dungeonCreator.createDungeon(generator, point, random);
+          } else {
+            LocationPreset preset;
+            if (isBridge(x, y)) {
+              preset = locationPresetStore.getSampler(Type.BRIDGE).sample(random);
+            } else if (isRiver(x)) {
+              preset = locationPresetStore.getSampler(Type.RIVER).sample(random);
+            } else if (isRiverside(x)) {
+              preset = locationPresetStore.getSampler(Type.RIVERSIDE).sample(random);
+            } else {
+              preset = getLandPreset(x, y);
+            }
+            generator.addLocation(new Location(preset, world, point, random));
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.EnchantmentFactory;
+import org.mafagafogigante.dungeon.entity.creatures.CorpseItemPresetFactory;
+import org.mafagafogigante.dungeon.entity.creatures.CreatureFactory;
+import org.mafagafogigante.dungeon.entity.creatures.JsonCreaturePresetFactory;
+import org.mafagafogigante.dungeon.entity.items.ItemFactory;
+import org.mafagafogigante.dungeon.entity.items.ItemPreset;
+import org.mafagafogigante.dungeon.entity.items.JsonItemPresetFactory;
+import org.mafagafogigante.dungeon.io.DungeonResource;
+import org.mafagafogigante.dungeon.io.ResourceNameResolver;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.util.StopWatch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The presets of creatures, items and enchantments, which are parsed from the resource files once per process and
+ * shared by every World.
+ *
+ * <p>The registry is immutable, so Worlds only hold the state that changes as they are played, such as the uniqueness
+ * restrictions of their ItemFactory. Factories that are deserialized take their presets from the default registry
+ * instead of from the save.
+ */
+public final class PresetRegistry {
+
+  private static volatile PresetRegistry defaultRegistry;
+
+  private final CreatureFactory creatureFactory;
+  private final Map<Id, ItemPreset> itemPresets;
+  private final EnchantmentFactory enchantmentFactory;
+
+  private PresetRegistry() {
+    final StopWatch stopWatch = new StopWatch();
+    String creaturesFilename = ResourceNameResolver.resolveName(DungeonResource.CREATURES);
+    creatureFactory = new CreatureFactory(new JsonCreaturePresetFactory(creaturesFilename));
+    String itemsFilename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
+    Map<Id, ItemPreset> presets = new HashMap<>();
+    addAllPresets(presets, new JsonItemPresetFactory(itemsFilename).getItemPresets());
+    addAllPresets(presets, new CorpseItemPresetFactory(creatureFactory).getItemPresets());
+    itemPresets = Collections.unmodifiableMap(presets);
+    enchantmentFactory = new EnchantmentFactory(ResourceNameResolver.resolveName(DungeonResource.ENCHANTMENTS));
+    DungeonLogger.info("Loaded the preset registry in " + stopWatch.toString() + ".");
+  }
+
+  /**
+   * Retrieves the registry of the application, parsing the resource files if this is the first time it is used.
+   */
+  @NotNull
+  public static PresetRegistry getDefaultRegistry() {
+    if (defaultRegistry == null) {
+      synchronized (PresetRegistry.class) {
+        if (defaultRegistry == null) {
+          defaultRegistry = new PresetRegistry();
+        }
+      }
+    }
+    return defaultRegistry;
+  }
+
+  private static void addAllPresets(Map<Id, ItemPreset> map, Collection<ItemPreset> presets) {
+    for (ItemPreset preset : presets) {
+      if (map.put(preset.getId(), preset) != null) {
+        throw new IllegalArgumentException("registry already contains a preset with the Id " + preset.getId() + ".");
+      }
+    }
+  }
+
+  /**
+   * Returns the CreatureFactory shared by every World, which is immutable.
+   */
+  @NotNull
+  public CreatureFactory getCreatureFactory() {
+    return creatureFactory;
+  }
+
+  /**
+   * Returns an unmodifiable map of the item presets, including the presets of corpses.
+   */
+  @NotNull
+  public Map<Id, ItemPreset> getItemPresets() {
+    return itemPresets;
+  }
+
+  @NotNull
+  public EnchantmentFactory getEnchantmentFactory() {
+    return enchantmentFactory;
+  }
+
+  /**
+   * Makes an ItemFactory that shares the presets of this registry and has its own uniqueness restrictions.
+   */
+  @NotNull
+  public ItemFactory makeItemFactory() {
+    return new ItemFactory(enchantmentFactory, itemPresets);
+  }
+
+}
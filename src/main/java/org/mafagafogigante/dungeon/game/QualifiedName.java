@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
@@ -9,7 +7,7 @@ import java.util.List;
 
 public class QualifiedName extends Name implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Name name;
   private final List<String> prefixes;
   private final List<String> suffixes;
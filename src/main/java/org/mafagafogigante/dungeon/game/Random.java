@@ -9,10 +9,20 @@ import java.util.List;
 /**
  * Random class that encapsulates the single Random object shared by the whole application. The reason for this is that
  * other parts of the code should not be able to call some of Random public methods, such as setSeed.
+ *
+ * <p>Code whose results should be reproducible, such as world generation, should use a {@link SeededRandom} derived
+ * from the seed of its World instead.
  */
 public class Random {
 
-  private static final java.util.Random RANDOM = new java.util.Random();
+  private static final SeededRandom RANDOM = new SeededRandom(SeededRandom.deriveSeed(System.nanoTime()));
+
+  /**
+   * Returns the SeededRandom shared by the whole application.
+   */
+  public static SeededRandom getSharedRandom() {
+    return RANDOM;
+  }
 
   /**
    * Simulates a random roll.
@@ -21,7 +31,7 @@ public class Random {
    * @return a boolean indicating if the roll was successful or not.
    */
   public static boolean roll(Percentage chance) {
-    return chance.toDouble() > RANDOM.nextDouble();
+    return RANDOM.roll(chance);
   }
 
   /**
@@ -31,7 +41,7 @@ public class Random {
    * @return a boolean indicating if the roll was successful or not.
    */
   public static boolean roll(double chance) {
-    return roll(new Percentage(chance));
+    return RANDOM.roll(chance);
   }
 
   /**
@@ -43,6 +53,13 @@ public class Random {
     return RANDOM.nextBoolean();
   }
 
+  /**
+   * Returns a pseudorandom, uniformly distributed long. Useful as a seed for a new {@link SeededRandom}.
+   */
+  public static long nextLong() {
+    return RANDOM.nextLong();
+  }
+
   /**
    * Returns a pseudorandom, uniformly distributed int value between 0 (inclusive) and the specified value (exclusive).
    *
@@ -50,7 +67,7 @@ public class Random {
    * @return an int in the range [0, n)
    */
   public static int nextInteger(int n) {
-    return RANDOM.nextInt(n);
+    return RANDOM.nextInteger(n);
   }
 
   /**
@@ -60,10 +77,7 @@ public class Random {
    * @return an int in the range [minimum, n)
    */
   public static int nextInteger(int minimum, int n) {
-    if (minimum >= n) {
-      throw new IllegalArgumentException("minimum must be less than n");
-    }
-    return minimum + nextInteger(n - minimum);
+    return RANDOM.nextInteger(minimum, n);
   }
 
   /**
@@ -74,10 +88,7 @@ public class Random {
    * @return an element of list or null
    */
   public static <T> T select(@NotNull List<T> list) {
-    if (list.isEmpty()) {
-      throw new IllegalArgumentException("list is empty.");
-    }
-    return list.get(nextInteger(list.size()));
+    return RANDOM.select(list);
   }
 
 }
@@ -0,0 +1,56 @@
+package org.mafagafogigante.dungeon.game;
+
+/**
+ * A time transaction of an action that takes several steps, such as a battle or a night of sleep. Made by
+ * {@link Engine#beginRefreshBatch()}.
+ *
+ * <p>While a batch is open, rolling the date forward only advances the clock of the World. The game is refreshed, and
+ * the achievements are evaluated, once when the outermost open batch is closed. Steps whose outcome depends on the
+ * World being up to date, such as checking whether an item decomposed while it was being picked up, should call
+ * {@link #refreshItems()} first.
+ *
+ * <p>Meant to be used in a try-with-resources statement, so that the batch is closed even if the action fails.
+ */
+public final class RefreshBatch implements AutoCloseable {
+
+  private boolean closed;
+
+  RefreshBatch() {
+  }
+
+  /**
+   * Rolls the world date forward without refreshing the game.
+   *
+   * @param seconds how many seconds to roll the date forward, a positive integer
+   */
+  public void rollDate(long seconds) {
+    ensureOpen();
+    Engine.rollDateAndRefresh(seconds);
+  }
+
+  /**
+   * Removes the decomposed items of the location the Hero is at, including those carried by its creatures.
+   */
+  public void refreshItems() {
+    ensureOpen();
+    Engine.refreshItems();
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("the refresh batch is closed.");
+    }
+  }
+
+  /**
+   * Closes this batch. If it is the outermost open batch and time passed, the game is refreshed.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      Engine.closeRefreshBatch();
+    }
+  }
+
+}
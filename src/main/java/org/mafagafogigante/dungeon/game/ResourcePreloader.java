@@ -0,0 +1,152 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.achievements.AchievementStoreFactory;
+import org.mafagafogigante.dungeon.entity.creatures.EffectFactory;
+import org.mafagafogigante.dungeon.gui.GameWindow;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.util.StopWatch;
+import org.mafagafogigante.dungeon.util.library.Libraries;
+import org.mafagafogigante.dungeon.wiki.WikiSearcher;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Uninstantiable class that loads the resources of the game on a pool of threads as soon as the game starts, so that
+ * they are read while the window is made and while each other are read.
+ *
+ * <p>Every resource is still obtained through its own lazy accessor, which either finds it loaded or waits for the
+ * thread that is loading it. Therefore a resource is only waited for where it is first needed, and the game starts in
+ * about the time of the slowest resource instead of the sum of all of them.
+ */
+public final class ResourcePreloader {
+
+  private static boolean started;
+  private static int remaining;
+  private static StopWatch stopWatch;
+  private static String slowestResource;
+  private static long slowestNanoseconds;
+
+  private ResourcePreloader() {
+    throw new AssertionError();
+  }
+
+  private static List<Resource> makeResources() {
+    List<Resource> resources = new ArrayList<>();
+    resources.add(new Resource("font") {
+      @Override
+      void load() {
+        GameWindow.getWindowFont();
+      }
+    });
+    resources.add(new Resource("presets") {
+      @Override
+      void load() {
+        PresetRegistry.getDefaultRegistry();
+      }
+    });
+    resources.add(new Resource("locations") {
+      @Override
+      void load() {
+        LocationPresetStore.getDefaultLocationPresetStore();
+      }
+    });
+    resources.add(new Resource("achievements") {
+      @Override
+      void load() {
+        AchievementStoreFactory.getDefaultStore();
+      }
+    });
+    resources.add(new Resource("wiki") {
+      @Override
+      void load() {
+        WikiSearcher.loadWiki();
+      }
+    });
+    resources.add(new Resource("libraries") {
+      @Override
+      void load() {
+        Libraries.getDreamLibrary();
+      }
+    });
+    resources.add(new Resource("effects") {
+      @Override
+      void load() {
+        EffectFactory.getDefaultFactory();
+      }
+    });
+    return resources;
+  }
+
+  /**
+   * Starts loading every resource of the game in the background. Only the first call has any effect.
+   */
+  public static synchronized void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    List<Resource> resources = makeResources();
+    remaining = resources.size();
+    stopWatch = new StopWatch();
+    int threads = Math.max(1, Math.min(resources.size(), Runtime.getRuntime().availableProcessors()));
+    ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      @Override
+      public Thread newThread(@NotNull Runnable runnable) {
+        Thread thread = new Thread(runnable, "Resource Preloader");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    for (Resource resource : resources) {
+      executor.execute(resource);
+    }
+    // The threads finish once the queue is empty.
+    executor.shutdown();
+  }
+
+  private static synchronized void finished(String name, long nanoseconds) {
+    if (nanoseconds > slowestNanoseconds) {
+      slowestResource = name;
+      slowestNanoseconds = nanoseconds;
+    }
+    remaining--;
+    if (remaining == 0) {
+      String format = "Preloaded all resources in %s. The slowest was %s, which took %d ms.";
+      long slowestMilliseconds = slowestNanoseconds / 1000000;
+      DungeonLogger.info(String.format(format, stopWatch.toString(), slowestResource, slowestMilliseconds));
+    }
+  }
+
+  private abstract static class Resource implements Runnable {
+
+    private final String name;
+
+    Resource(String name) {
+      this.name = name;
+    }
+
+    abstract void load();
+
+    @Override
+    public void run() {
+      StopWatch resourceStopWatch = new StopWatch();
+      try {
+        load();
+        DungeonLogger.info("Preloaded " + name + " in " + resourceStopWatch.toString() + ".");
+      } catch (RuntimeException | ExceptionInInitializerError exception) {
+        // The game fails where the resource is needed, so only log the cause here.
+        DungeonLogger.warning("Failed to preload " + name + ".");
+        DungeonLogger.logSevere(exception);
+      }
+      finished(name, resourceStopWatch.getElapsedNanoseconds());
+    }
+
+  }
+
+}
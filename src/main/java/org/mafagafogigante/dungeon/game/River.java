@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 /**
@@ -9,7 +7,7 @@ import java.io.Serializable;
  */
 class River implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final int MIN_BRIDGE_DIST = 4;
   private static final int MAX_BRIDGE_DIST = 20;
 
@@ -17,9 +15,11 @@ class River implements Serializable {
 
   /**
    * Make a river.
+   *
+   * @param seed the seed from which the bridges of this river are derived
    */
-  River() {
-    bridges = new ExpandableIntegerSet(MIN_BRIDGE_DIST, MAX_BRIDGE_DIST);
+  River(long seed) {
+    bridges = new ExpandableIntegerSet(MIN_BRIDGE_DIST, MAX_BRIDGE_DIST, seed);
   }
 
   /**
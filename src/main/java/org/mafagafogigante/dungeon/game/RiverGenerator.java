@@ -1,44 +1,68 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.util.IntegerMap;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.HashMap;
 
 /**
  * The component of WorldGenerator that generates rivers.
+ *
+ * <p>The lines and the bridges of the rivers are a function of the seed alone, so only the range of lines that was
+ * expanded is serialized and the rivers are made again when this generator is deserialized.
  */
-final class RiverGenerator implements Serializable {
+final class RiverGenerator implements Serializable, ExpandableIntegerSet.ExpansionListener {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final int MIN_DIST_RIVER = 6;
   private static final int MAX_DIST_RIVER = 11;
   private static final int START = 10; // Rivers do not appear in x > 10 || x < 10.
-  private final ExpandableIntegerSet lines;
-  private final HashMap<Integer, River> rivers;
+  private final long seed;
+  // The lowest and the highest values towards which the lines were expanded.
+  private int lowestExpansion;
+  private int highestExpansion;
+  private transient ExpandableIntegerSet lines;
+  private transient IntegerMap<River> rivers;
 
-  public RiverGenerator() {
-    lines = new ExpandableIntegerSet(MIN_DIST_RIVER, MAX_DIST_RIVER);
-    rivers = new HashMap<>();
+  /**
+   * Makes a new RiverGenerator. Rivers and their bridges are derived from the provided seed alone.
+   */
+  public RiverGenerator(long seed) {
+    this.seed = seed;
+    lines = new ExpandableIntegerSet(MIN_DIST_RIVER, MAX_DIST_RIVER, seed);
+    rivers = new IntegerMap<>();
   }
 
   /**
-   * Expand the river set to ensure that all points whose x coordinate is in the range {@code [point.x - chunkSide,
-   * point.x + chunkSide]} will either correspond to a river or to a location that anticipates a river.
+   * Expand the river set to ensure that all points whose x coordinate is in the range {@code [x - chunkSide, x +
+   * chunkSide]} will either correspond to a river or to a location that anticipates a river.
    *
-   * @param point the point from which the expansion starts
+   * @param x the x coordinate from which the expansion starts
    * @param chunkSide the current chunk side
    */
-  void expand(Point point, int chunkSide) {
-    for (int river : lines.expand(point.getX() - chunkSide)) {
-      if (river <= -START) {
-        rivers.put(river, new River());
-      }
-    }
-    for (int river : lines.expand(point.getX() + chunkSide)) {
-      if (river >= START) {
-        rivers.put(river, new River());
-      }
+  void expand(int x, int chunkSide) {
+    lines.expand(x - chunkSide, this);
+    lines.expand(x + chunkSide, this);
+    lowestExpansion = Math.min(lowestExpansion, x - chunkSide);
+    highestExpansion = Math.max(highestExpansion, x + chunkSide);
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    lines = new ExpandableIntegerSet(MIN_DIST_RIVER, MAX_DIST_RIVER, seed);
+    rivers = new IntegerMap<>();
+    lines.expand(lowestExpansion, this);
+    lines.expand(highestExpansion, this);
+  }
+
+  /**
+   * Makes the River of a new line, unless the line is too close to the origin.
+   */
+  @Override
+  public void integerAdded(int line) {
+    if (line <= -START || line >= START) {
+      rivers.put(line, new River(SeededRandom.deriveSeed(seed, line)));
     }
   }
 
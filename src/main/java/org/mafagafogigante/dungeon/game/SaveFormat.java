@@ -0,0 +1,764 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.creatures.Hero;
+import org.mafagafogigante.dungeon.entity.items.Item;
+import org.mafagafogigante.dungeon.entity.items.ItemCodec;
+import org.mafagafogigante.dungeon.io.CompressionCodec;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
+import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.stats.ExplorationStatistics;
+import org.mafagafogigante.dungeon.stats.Statistics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Uninstantiable SaveFormat class that writes and reads saved games.
+ *
+ * <p>A save starts with a header made of a magic number, the version of this format, the version of the game that
+ * wrote the save, a random identifier of the save, the identifier of the {@link CompressionCodec} of the body and the
+ * length of the body before compression. The body, which is everything after the header, is made of a byte with the
+ * flags of the sections that follow it, of the statistics, World, Hero, state, exploration, generator and Id sections,
+ * and of one section per chunk of the World.
+ *
+ * <p>The statistics, World, Hero and state sections are the serialized Statistics, World, Hero and GameState, each
+ * without the objects of the other sections and without the parts that grow with the World. The World section has the
+ * date of the World, the Hero section starts with the point of the Hero and has the Items of the Hero encoded by an
+ * {@link ItemCodec}, and the state section has what is left of the GameState, such as the command history. The
+ * serialized classes have fixed serial version UIDs, so saves only break when one of them changes in an
+ * incompatible way or when the version of this format changes. Either way, reading the save throws an {@link
+ * UnsupportedVersionException}. The exploration section has the entries of the {@link
+ * ExplorationStatistics} and the generator section has the points of the chunks and Locations that were generated and
+ * the dungeon entrances, both in a compact binary form. The Id section has the Ids of the IdTable of the World from a
+ * given index on. The chunk sections are the chunks encoded by a {@link ChunkCodec}, which refer to presets by the
+ * indices of their Ids in the IdTable instead of embedding them. Resident chunks are shared with the World when they
+ * are captured and only encoded when the save is written or when the World is about to change them, so the Id section
+ * is encoded after them. Chunks that are paged out are copied into the save without being decoded, and are only read
+ * from their region files when the save is written.
+ *
+ * <p>A save may be followed by a journal, which starts with its own magic number, the version of this format and the
+ * identifier of the save it belongs to, and is followed by records appended by incremental saves. A record is laid out
+ * like a body, but only has the sections that changed since the previous save or record: the sections of serialized
+ * objects that are not the same as the last ones written, the exploration entries that were created or changed, the
+ * points that were generated, the dungeon entrances that were registered, the Ids that were added to the IdTable and
+ * the chunks that changed. Every record ends with a checksum, so that a record cut short by a crash is detected and
+ * ignored along with anything after it.
+ */
+public final class SaveFormat {
+
+  // The ASCII codes of "DGNS".
+  static final int MAGIC = 0x44474E53;
+  // The ASCII codes of "DGNJ".
+  static final int JOURNAL_MAGIC = 0x44474E4A;
+  // The magic number and version of a Java serialization stream, which is how saves were written before this format.
+  static final int SERIALIZED_SAVE_MAGIC = 0xACED0005;
+  static final int FORMAT_VERSION = 8;
+  // The sections that a body or a journal record may have before its chunk sections, in the order in which they are
+  // written. The first byte of a body or of a record has the bit 1 << section set for each section that it has.
+  static final int STATISTICS_SECTION = 0;
+  static final int WORLD_SECTION = 1;
+  static final int HERO_SECTION = 2;
+  static final int STATE_SECTION = 3;
+  static final int EXPLORATION_SECTION = 4;
+  static final int GENERATOR_SECTION = 5;
+  static final int ID_SECTION = 6;
+  static final int SECTION_COUNT = 7;
+  private static final int ALL_SECTIONS = (1 << SECTION_COUNT) - 1;
+  // How far from the chunk of the Hero, in chunks, the chunks decoded by a lazy read are.
+  private static final int LAZY_READ_RADIUS = 1;
+
+  private SaveFormat() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Captures a whole save of a GameState, which must not be changed by another thread meanwhile.
+   *
+   * <p>Capturing only serializes the sections that do not grow with the World, as the chunks and the points of the
+   * generator are encoded when the snapshot is written, so it is meant to be done by the thread of the game between
+   * turns. The save gets a new identifier, so journals written for previous saves do not apply to it.
+   */
+  @NotNull
+  public static SaveSnapshot captureSave(@NotNull GameState state) throws IOException {
+    World world = state.getWorld();
+    // Prevent the chunk prefetcher from adding Locations or registering items while the World is captured.
+    synchronized (world.getGenerationLock()) {
+      world.takeGeneratedLocations();
+      // Every chunk is captured, so none of them is dirty afterwards.
+      world.takeDirtyChunkKeys();
+      long[] residentKeys = world.getResidentChunkKeys();
+      ChunkPager pager = world.getChunkPager();
+      long[] keys = Arrays.copyOf(residentKeys, residentKeys.length + pager.getPagedChunkCount());
+      final CapturedChunk[] chunks = Arrays.copyOf(captureChunks(state, residentKeys), keys.length);
+      pager.capturePagedChunks(keys, chunks, residentKeys.length);
+      byte[][] sections = serializeObjectSections(state);
+      state.setLastWrittenSections(sections.clone());
+      sections[EXPLORATION_SECTION] = encodeExplorationEntries(state, false);
+      WorldGenerator.CapturedGenerationState generationState = world.getGenerator().captureGenerationState(false);
+      long saveId = Random.nextLong();
+      state.setSaveId(saveId);
+      // The Id section of a whole save has every Id, as it is the first section that gives them.
+      state.setCapturedIdCount(world.getIdTable().size());
+      return new SaveSnapshot(false, saveId, state, sections, generationState, 0, keys, chunks, pager);
+    }
+  }
+
+  /**
+   * Captures a journal record with the sections of a GameState that changed since it was last captured.
+   *
+   * <p>The statistics, World, Hero and state sections are only in the record if they are not the same as the last ones
+   * captured. The exploration and generator sections only have what was added or changed since they were last captured,
+   * and are left out if there are none. So the size of a record is proportional to what changed, not to the size of the
+   * World.
+   *
+   * <p>If the record is never written, what changed is no longer known, so the next save must be whole.
+   */
+  @NotNull
+  public static SaveSnapshot captureJournalRecord(@NotNull GameState state) throws IOException {
+    World world = state.getWorld();
+    synchronized (world.getGenerationLock()) {
+      world.takeGeneratedLocations();
+      long[] keys = world.takeDirtyChunkKeys();
+      final CapturedChunk[] chunks = captureChunks(state, keys);
+      byte[][] sections = serializeObjectSections(state);
+      byte[][] lastWrittenSections = state.getLastWrittenSections();
+      state.setLastWrittenSections(sections.clone());
+      for (int section = STATISTICS_SECTION; section <= STATE_SECTION; section++) {
+        if (lastWrittenSections != null && Arrays.equals(sections[section], lastWrittenSections[section])) {
+          sections[section] = null;
+        }
+      }
+      if (state.getStatistics().getExplorationStatistics().hasChangedEntries()) {
+        sections[EXPLORATION_SECTION] = encodeExplorationEntries(state, true);
+      }
+      WorldGenerator.CapturedGenerationState generationState = null;
+      if (world.getGenerator().hasAddedGenerationState()) {
+        generationState = world.getGenerator().captureGenerationState(true);
+      }
+      // The Ids added since the previous capture were added by it, by the encoding of its chunks or by the game.
+      int firstId = state.getCapturedIdCount();
+      state.setCapturedIdCount(world.getIdTable().size());
+      return new SaveSnapshot(true, state.getSaveId(), state, sections, generationState, firstId, keys, chunks,
+          world.getChunkPager());
+    }
+  }
+
+  private static byte[] encodeExplorationEntries(GameState state, boolean changedOnly) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    state.getStatistics().getExplorationStatistics().writeEntries(output, changedOnly);
+    output.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Shares the resident chunks with the specified keys with the World, which are encoded when the snapshot is written
+   * or before the World changes them, and records where the bytes of the paged out ones are, which are only read when
+   * the snapshot is written, so that capturing neither encodes chunks nor waits for the disk.
+   *
+   * <p>The chunk of the Hero is copied right away, as the next turn most likely changes its creatures in ways that
+   * Locations do not see, such as by fighting them.
+   */
+  private static CapturedChunk[] captureChunks(GameState state, long[] keys) throws IOException {
+    World world = state.getWorld();
+    ChunkCodec codec = new ChunkCodec(world, world.getChunkSide());
+    long heroChunkKey = world.getChunkKey(state.getHero().getLocation().getPoint());
+    CapturedChunk[] chunks = new CapturedChunk[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      if (world.isChunkResident(keys[i])) {
+        chunks[i] = new CapturedChunk(codec, world.getResidentChunk(keys[i]));
+        if (keys[i] == heroChunkKey) {
+          chunks[i].copy();
+        } else {
+          world.shareChunk(keys[i], chunks[i]);
+        }
+      } else {
+        chunks[i] = world.getChunkPager().capturePagedChunk(keys[i]);
+      }
+    }
+    return chunks;
+  }
+
+  /**
+   * Encodes the Id section with the Ids of the provided IdTable from the specified index on.
+   */
+  static byte[] encodeIds(@NotNull IdTable idTable, int firstId) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    int size = idTable.size();
+    VariableLengthCoding.writeUnsigned(output, firstId);
+    VariableLengthCoding.writeUnsigned(output, size - firstId);
+    for (int index = firstId; index < size; index++) {
+      output.writeUTF(idTable.getId(index).toString());
+    }
+    output.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Adds the Ids of an Id section to the provided IdTable. Throws an IOException if they do not agree with the Ids that
+   * the table already has.
+   */
+  private static void readIds(DataInputStream input, IdTable idTable) throws IOException {
+    int firstId = VariableLengthCoding.readUnsignedInt(input);
+    int count = VariableLengthCoding.readUnsignedInt(input);
+    for (int index = firstId; index < firstId + count; index++) {
+      Id id = new Id(input.readUTF());
+      boolean known = index < idTable.size();
+      if (known ? !idTable.getId(index).equals(id) : index != idTable.size() || idTable.getIndex(id) != index) {
+        throw new IOException("the Ids of the saved game are corrupted.");
+      }
+    }
+  }
+
+  /**
+   * Writes a whole save of a GameState to the provided stream, which is not closed, without compressing it.
+   */
+  public static void write(@NotNull GameState state, @NotNull OutputStream outputStream) throws IOException {
+    write(state, outputStream, CompressionCodec.NONE);
+  }
+
+  /**
+   * Writes a whole save of a GameState to the provided stream, which is not closed, compressing its body with the
+   * specified codec.
+   */
+  public static void write(@NotNull GameState state, @NotNull OutputStream outputStream,
+      @NotNull CompressionCodec codec) throws IOException {
+    captureSave(state).writeTo(outputStream, codec);
+  }
+
+  /**
+   * Writes the header of a journal for the save with the specified identifier.
+   */
+  public static void writeJournalHeader(long saveId, @NotNull OutputStream outputStream) throws IOException {
+    DataOutputStream output = new DataOutputStream(outputStream);
+    output.writeInt(JOURNAL_MAGIC);
+    output.writeInt(FORMAT_VERSION);
+    output.writeLong(saveId);
+    output.flush();
+  }
+
+  /**
+   * Writes the header of a journal for the save that the provided GameState was last written to or read from.
+   */
+  public static void writeJournalHeader(@NotNull GameState state, @NotNull OutputStream outputStream)
+      throws IOException {
+    writeJournalHeader(state.getSaveId(), outputStream);
+  }
+
+  /**
+   * Reads the header of a journal, returning the identifier of the save it belongs to.
+   */
+  public static long readJournalHeader(@NotNull InputStream inputStream) throws IOException {
+    DataInputStream journal = new DataInputStream(inputStream);
+    if (journal.readInt() != JOURNAL_MAGIC) {
+      throw new IOException("the journal of the saved game is corrupted.");
+    }
+    readFormatVersion(journal);
+    return journal.readLong();
+  }
+
+  /**
+   * Appends a journal record with the sections of the provided GameState that changed since it was last saved. Returns
+   * how many chunks were written.
+   */
+  public static int writeJournalRecord(@NotNull GameState state, @NotNull OutputStream outputStream)
+      throws IOException {
+    SaveSnapshot record = captureJournalRecord(state);
+    record.writeTo(outputStream);
+    return record.getChunkCount();
+  }
+
+  /**
+   * Reads a GameState written by write. Throws an IOException if the stream does not have a valid save.
+   */
+  @NotNull
+  public static GameState read(@NotNull InputStream inputStream) throws IOException {
+    return read(inputStream, null);
+  }
+
+  /**
+   * Reads a GameState written by write and then updated by the records of its journal.
+   *
+   * @param inputStream the stream with the save
+   * @param journalStream the stream with the journal of the save, or null if it has no journal
+   */
+  @NotNull
+  public static GameState read(@NotNull InputStream inputStream, @Nullable InputStream journalStream)
+      throws IOException {
+    return read(readHeader(inputStream), inputStream, journalStream, false);
+  }
+
+  /**
+   * Reads the body of a save whose header was read by readHeader and then applies the records of its journal.
+   *
+   * <p>Throws an IOException if the save is not valid. A journal that belongs to another save is ignored, and so are a
+   * record cut short and anything after it.
+   *
+   * <p>A lazy read only decodes the chunks around the Hero, which makes the time it takes before the game can go on
+   * independent of how much of the World was explored. The other chunks are left paged out as the bytes read from the
+   * save and are decoded by the World the first time one of their Locations is needed.
+   *
+   * @param header the header of the save
+   * @param inputStream the stream with the save, right after its header
+   * @param journalStream the stream with the journal of the save, or null if it has no journal
+   * @param lazy whether only the chunks around the Hero are decoded
+   */
+  @NotNull
+  public static GameState read(@NotNull SaveHeader header, @NotNull InputStream inputStream,
+      @Nullable InputStream journalStream, boolean lazy) throws IOException {
+    BodySections sections = new BodySections();
+    // Later sections of a chunk replace the earlier ones.
+    Map<Long, byte[]> chunks = new LinkedHashMap<>();
+    try (DataInputStream body = new DataInputStream(header.getCodec().newDecompressingStream(inputStream))) {
+      if (readSections(body, sections) != ALL_SECTIONS) {
+        throw new IOException("the saved game is missing some of its sections.");
+      }
+      readChunkSections(body, chunks);
+    }
+    if (journalStream != null) {
+      readJournal(journalStream, header.getSaveId(), sections, chunks);
+    }
+    DataInputStream heroInput = new DataInputStream(new ByteArrayInputStream(sections.objectSections[HERO_SECTION]));
+    final Point heroPoint = new Point(VariableLengthCoding.readSignedInt(heroInput),
+        VariableLengthCoding.readSignedInt(heroInput), VariableLengthCoding.readSignedInt(heroInput));
+    GameState state;
+    try {
+      state = deserializeObjectSections(sections, heroInput);
+    } catch (InvalidClassException exception) {
+      String message = "the class " + exception.classname + " changed since the saved game was written.";
+      throw new UnsupportedVersionException(message, !isFromNewerVersion(header), exception);
+    }
+    // It is unknown which sections were the last ones written, so the next journal record must have all of them.
+    state.setLastWrittenSections(null);
+    World world = state.getWorld();
+    state.setCapturedIdCount(world.getIdTable().size());
+    ExplorationStatistics explorationStatistics = state.getStatistics().getExplorationStatistics();
+    for (byte[] exploration : sections.explorationSections) {
+      explorationStatistics.readEntries(new DataInputStream(new ByteArrayInputStream(exploration)));
+    }
+    for (byte[] generator : sections.generatorSections) {
+      world.getGenerator().readGenerationState(new DataInputStream(new ByteArrayInputStream(generator)));
+    }
+    Hero hero = state.getHero();
+    ChunkCodec codec = new ChunkCodec(world, world.getChunkSide());
+    long heroChunkKey = world.getChunkKey(heroPoint);
+    int decodedCount = 0;
+    for (Map.Entry<Long, byte[]> entry : chunks.entrySet()) {
+      if (!lazy || isNear(entry.getKey(), heroChunkKey)) {
+        world.putChunk(entry.getKey(), codec.decode(entry.getKey(), entry.getValue(), hero));
+        decodedCount++;
+      } else {
+        world.getChunkPager().putUnparsedChunk(entry.getKey(), entry.getValue());
+      }
+    }
+    if (lazy) {
+      String format = "Decoded %d chunks around the Hero and left %d to be decoded when needed.";
+      DungeonLogger.fine(String.format(format, decodedCount, chunks.size() - decodedCount));
+    }
+    if (hero.getLocation() == null) {
+      throw new IOException("the saved game does not have the Location of the Hero.");
+    }
+    state.setSaveId(header.getSaveId());
+    return state;
+  }
+
+  private static boolean isFromNewerVersion(SaveHeader header) {
+    try {
+      return new Version(header.getGameVersion()).compareTo(Version.getCurrentVersion()) > 0;
+    } catch (Version.VersionFormatException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks whether a chunk is within LAZY_READ_RADIUS chunks of another one, in the same z-level.
+   */
+  private static boolean isNear(long key, long centerKey) {
+    int distanceX = Math.abs(ChunkStore.unpackChunkX(key) - ChunkStore.unpackChunkX(centerKey));
+    int distanceY = Math.abs(ChunkStore.unpackChunkY(key) - ChunkStore.unpackChunkY(centerKey));
+    boolean sameLevel = ChunkStore.unpackZ(key) == ChunkStore.unpackZ(centerKey);
+    return sameLevel && distanceX <= LAZY_READ_RADIUS && distanceY <= LAZY_READ_RADIUS;
+  }
+
+  /**
+   * Reads the header of a save, leaving the provided stream at the start of the body of the save. Throws an
+   * IOException if the stream does not start with a valid header, which is an UnsupportedVersionException if the save
+   * was written by a version of the game that used another format.
+   */
+  @NotNull
+  public static SaveHeader readHeader(@NotNull InputStream inputStream) throws IOException {
+    DataInputStream input = new DataInputStream(inputStream);
+    int magic = input.readInt();
+    if (magic == SERIALIZED_SAVE_MAGIC) {
+      throw new UnsupportedVersionException("the saved game was written by an older version of the game.", true);
+    } else if (magic != MAGIC) {
+      throw new IOException("the stream does not have a saved game.");
+    }
+    readFormatVersion(input);
+    String gameVersion = input.readUTF();
+    long saveId = input.readLong();
+    int codecIdentifier = input.readUnsignedByte();
+    CompressionCodec codec = CompressionCodec.fromIdentifier(codecIdentifier);
+    if (codec == null) {
+      throw new IOException("the compression codec " + codecIdentifier + " is not supported.");
+    }
+    return new SaveHeader(gameVersion, saveId, codec, VariableLengthCoding.readUnsigned(input));
+  }
+
+  private static void readFormatVersion(DataInputStream input) throws IOException {
+    int formatVersion = input.readInt();
+    if (formatVersion != FORMAT_VERSION) {
+      String message = "the save format version " + formatVersion + " is not supported.";
+      throw new UnsupportedVersionException(message, formatVersion < FORMAT_VERSION);
+    }
+  }
+
+  /**
+   * Reads the flags of the sections of a body or of a journal record and the sections that they flag, which replace the
+   * sections of serialized objects read before or are added after the exploration and generator sections read before.
+   * Returns the flags.
+   */
+  private static int readSections(DataInputStream input, BodySections sections) throws IOException {
+    int flags = input.readUnsignedByte();
+    if ((flags & ~ALL_SECTIONS) != 0) {
+      throw new IOException("the saved game has unknown sections.");
+    }
+    for (int section = 0; section < SECTION_COUNT; section++) {
+      if ((flags & (1 << section)) != 0) {
+        if (section == EXPLORATION_SECTION) {
+          sections.explorationSections.add(readSection(input));
+        } else if (section == GENERATOR_SECTION) {
+          sections.generatorSections.add(readSection(input));
+        } else if (section == ID_SECTION) {
+          sections.idSections.add(readSection(input));
+        } else {
+          sections.objectSections[section] = readSection(input);
+        }
+      }
+    }
+    return flags;
+  }
+
+  private static void readChunkSections(DataInputStream input, Map<Long, byte[]> chunks) throws IOException {
+    int chunkCount = VariableLengthCoding.readUnsignedInt(input);
+    for (int i = 0; i < chunkCount; i++) {
+      long key = input.readLong();
+      chunks.put(key, readSection(input));
+    }
+  }
+
+  /**
+   * Applies the records of a journal to the sections of its save.
+   */
+  private static void readJournal(InputStream journalStream, long saveId, BodySections sections,
+      Map<Long, byte[]> chunks) throws IOException {
+    DataInputStream journal = new DataInputStream(new BufferedInputStream(journalStream));
+    if (readJournalHeader(journal) != saveId) {
+      DungeonLogger.warning("Ignored a journal that belongs to another save.");
+      return;
+    }
+    while (true) {
+      journal.mark(1);
+      if (journal.read() == -1) {
+        return;
+      }
+      journal.reset();
+      byte[] record;
+      try {
+        record = readSection(journal);
+        CRC32 checksum = new CRC32();
+        checksum.update(record);
+        if (journal.readInt() != (int) checksum.getValue()) {
+          DungeonLogger.warning("Ignored a journal record with a wrong checksum and everything after it.");
+          return;
+        }
+      } catch (EOFException truncated) {
+        DungeonLogger.warning("Ignored a journal record that was cut short.");
+        return;
+      }
+      DataInputStream recordInput = new DataInputStream(new ByteArrayInputStream(record));
+      readSections(recordInput, sections);
+      readChunkSections(recordInput, chunks);
+    }
+  }
+
+  static void writeSection(DataOutput output, byte[] section) throws IOException {
+    VariableLengthCoding.writeUnsigned(output, section.length);
+    output.write(section);
+  }
+
+  private static byte[] readSection(DataInputStream input) throws IOException {
+    byte[] section = new byte[VariableLengthCoding.readUnsignedInt(input)];
+    input.readFully(section);
+    return section;
+  }
+
+  /**
+   * Serializes the Statistics, the World, the Hero and the GameState into sections of their own, so that each of them
+   * is only journaled when it changes. Returns an array indexed by section in which the other sections are null.
+   */
+  private static byte[][] serializeObjectSections(GameState state) throws IOException {
+    Statistics statistics = state.getStatistics();
+    Map<Object, SectionReference> references = new IdentityHashMap<>();
+    references.put(statistics, SectionReference.STATISTICS);
+    references.put(statistics.getWorldStatistics(), SectionReference.WORLD_STATISTICS);
+    references.put(state.getWorld(), SectionReference.WORLD);
+    references.put(state.getHero(), SectionReference.HERO);
+    IdTable idTable = state.getWorld().getIdTable();
+    byte[][] sections = new byte[SECTION_COUNT][];
+    sections[STATISTICS_SECTION] = serializeSection(statistics, STATISTICS_SECTION, references, idTable,
+        new ByteArrayOutputStream());
+    ByteArrayOutputStream heroBytes = new ByteArrayOutputStream();
+    // The Location of the Hero is left out of the serialized Hero, but a lazy read needs to know where it was.
+    Point heroPoint = state.getHero().getLocation().getPoint();
+    DataOutputStream heroOutput = new DataOutputStream(heroBytes);
+    VariableLengthCoding.writeSigned(heroOutput, heroPoint.getX());
+    VariableLengthCoding.writeSigned(heroOutput, heroPoint.getY());
+    VariableLengthCoding.writeSigned(heroOutput, heroPoint.getZ());
+    heroOutput.flush();
+    sections[HERO_SECTION] = serializeSection(state.getHero(), HERO_SECTION, references, idTable, heroBytes);
+    sections[STATE_SECTION] = serializeSection(state, STATE_SECTION, references, idTable,
+        new ByteArrayOutputStream());
+    sections[WORLD_SECTION] = serializeSection(state.getWorld(), WORLD_SECTION, references, idTable,
+        new ByteArrayOutputStream());
+    return sections;
+  }
+
+  private static byte[] serializeSection(Object object, int section, Map<Object, SectionReference> references,
+      IdTable idTable, ByteArrayOutputStream bytes) throws IOException {
+    try (ObjectOutputStream stream = new CoreOutputStream(bytes, section, references, idTable)) {
+      stream.writeObject(object);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Deserializes the sections written by serializeObjectSections, reading the Hero from the provided stream, which
+   * must be right after the point of the Hero. The IdTable of the World is filled by the Id sections before the Hero is
+   * read, as its Items refer to it.
+   */
+  private static GameState deserializeObjectSections(BodySections bodySections, InputStream heroInput)
+      throws IOException {
+    byte[][] sections = bodySections.objectSections;
+    Map<SectionReference, Object> references = new EnumMap<>(SectionReference.class);
+    Statistics statistics = deserializeSection(new ByteArrayInputStream(sections[STATISTICS_SECTION]),
+        Statistics.class, references);
+    references.put(SectionReference.STATISTICS, statistics);
+    references.put(SectionReference.WORLD_STATISTICS, statistics.getWorldStatistics());
+    World world = deserializeSection(new ByteArrayInputStream(sections[WORLD_SECTION]), World.class, references);
+    for (byte[] ids : bodySections.idSections) {
+      readIds(new DataInputStream(new ByteArrayInputStream(ids)), world.getIdTable());
+    }
+    references.put(SectionReference.WORLD, world);
+    Hero hero = deserializeSection(heroInput, Hero.class, references);
+    // The Items of the Hero that were encoded by the ItemCodec were written without their inventory.
+    for (Item item : hero.getInventory().getItems()) {
+      item.setInventory(hero.getInventory());
+    }
+    references.put(SectionReference.HERO, hero);
+    return deserializeSection(new ByteArrayInputStream(sections[STATE_SECTION]), GameState.class, references);
+  }
+
+  private static <T> T deserializeSection(InputStream input, Class<T> type, Map<SectionReference, Object> references)
+      throws IOException {
+    try (ObjectInputStream stream = new CoreInputStream(input, references)) {
+      return type.cast(stream.readObject());
+    } catch (ClassNotFoundException | ClassCastException exception) {
+      throw new IOException("the saved game is corrupted.", exception);
+    }
+  }
+
+  /**
+   * Thrown when a save cannot be read because it was written by another version of the game, in a format or with
+   * classes that this version no longer reads.
+   */
+  public static final class UnsupportedVersionException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+    private final boolean older;
+
+    UnsupportedVersionException(@NotNull String message, boolean older) {
+      super(message);
+      this.older = older;
+    }
+
+    UnsupportedVersionException(@NotNull String message, boolean older, @NotNull Throwable cause) {
+      super(message, cause);
+      this.older = older;
+    }
+
+    /**
+     * Returns whether the save was written by an older version of the game rather than by a newer one.
+     */
+    public boolean isOlder() {
+      return older;
+    }
+
+  }
+
+  /**
+   * The sections of a body that come before its chunk sections, updated by the records of its journal.
+   */
+  private static final class BodySections {
+
+    // Indexed by section, only the last of each is used.
+    private final byte[][] objectSections = new byte[STATE_SECTION + 1][];
+    // Applied in order, as later entries and points replace or are added to the earlier ones.
+    private final List<byte[]> explorationSections = new ArrayList<>();
+    private final List<byte[]> generatorSections = new ArrayList<>();
+    private final List<byte[]> idSections = new ArrayList<>();
+
+  }
+
+  /**
+   * Stands for an object serialized in an earlier section in the sections that refer to it.
+   */
+  private enum SectionReference {
+
+    STATISTICS(STATISTICS_SECTION), WORLD_STATISTICS(STATISTICS_SECTION), WORLD(WORLD_SECTION), HERO(HERO_SECTION);
+
+    private final int section;
+
+    SectionReference(int section) {
+      this.section = section;
+    }
+
+  }
+
+  /**
+   * Serializes a section of a GameState leaving out its Locations, which are written in the chunk sections, the parts
+   * of it that are written in the exploration, generator and Id sections, and the objects of the other sections.
+   *
+   * <p>The ChunkStore of the World is replaced by an empty one, and references to Locations from outside the chunks,
+   * such as the Location of the Hero, are dropped. They are restored when the chunks are decoded. The IdTable, the
+   * ExplorationStatistics, the WorldGenerator and the DungeonDistributor are replaced by empty ones, which are filled
+   * by the Id, exploration and generator sections. The objects of earlier sections are replaced by references to them.
+   * As sections are read in order, referring to the object of a later section is an error. The Items of the Hero are
+   * encoded by the ItemCodec when they can be, so they are written as the indices of the Ids of their presets rather
+   * than as serialized Items.
+   */
+  private static final class CoreOutputStream extends ObjectOutputStream {
+
+    private final int section;
+    private final Map<Object, SectionReference> references;
+    private final IdTable idTable;
+
+    CoreOutputStream(OutputStream out, int section, Map<Object, SectionReference> references, IdTable idTable)
+        throws IOException {
+      super(out);
+      this.section = section;
+      this.references = references;
+      this.idTable = idTable;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object object) throws IOException {
+      SectionReference reference = references.get(object);
+      if (reference != null && reference.section < section) {
+        return reference;
+      } else if (reference != null && reference.section > section) {
+        throw new InvalidObjectException("section " + section + " refers to the later section " + reference.section);
+      } else if (object instanceof ChunkStore) {
+        return new ChunkStore(((ChunkStore) object).getChunkSide());
+      } else if (object instanceof IdTable) {
+        return new IdTable();
+      } else if (object instanceof ExplorationStatistics) {
+        return new ExplorationStatistics();
+      } else if (object instanceof WorldGenerator) {
+        return ((WorldGenerator) object).makeEmptyCopy();
+      } else if (object instanceof DungeonDistributor) {
+        return new DungeonDistributor();
+      } else if (object instanceof Location) {
+        return null;
+      } else if (section == HERO_SECTION && object instanceof Item && ItemCodec.canEncode((Item) object)) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        ItemCodec.encode((Item) object, output, idTable);
+        output.flush();
+        return new EncodedItem(bytes.toByteArray());
+      }
+      return object;
+    }
+
+  }
+
+  /**
+   * Stands for an Item of the Hero encoded by the ItemCodec.
+   */
+  private static final class EncodedItem implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final byte[] bytes;
+
+    EncodedItem(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+  }
+
+  /**
+   * Deserializes a section written by a CoreOutputStream, resolving the references to the objects of earlier sections.
+   */
+  private static final class CoreInputStream extends ObjectInputStream {
+
+    private final Map<SectionReference, Object> references;
+
+    CoreInputStream(InputStream in, Map<SectionReference, Object> references) throws IOException {
+      super(in);
+      this.references = references;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object object) throws IOException {
+      if (object instanceof SectionReference) {
+        Object referenced = references.get(object);
+        if (referenced == null) {
+          throw new InvalidObjectException("the saved game refers to a section that was not read.");
+        }
+        return referenced;
+      } else if (object instanceof EncodedItem) {
+        World world = (World) references.get(SectionReference.WORLD);
+        if (world == null) {
+          throw new InvalidObjectException("the saved game has an Item that was read before the World.");
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(((EncodedItem) object).bytes));
+        try {
+          return ItemCodec.decode(input, world.getIdTable(), world.getItemFactory());
+        } catch (IllegalArgumentException exception) {
+          throw new IOException("an Item of the saved game is corrupted.", exception);
+        }
+      }
+      return object;
+    }
+
+  }
+
+}
@@ -0,0 +1,52 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.io.CompressionCodec;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The uncompressed header of a save, which can be read by {@link SaveFormat#readHeader} without reading the rest of
+ * the save.
+ */
+public final class SaveHeader {
+
+  private final String gameVersion;
+  private final long saveId;
+  private final CompressionCodec codec;
+  private final long bodyLength;
+
+  SaveHeader(@NotNull String gameVersion, long saveId, @NotNull CompressionCodec codec, long bodyLength) {
+    this.gameVersion = gameVersion;
+    this.saveId = saveId;
+    this.codec = codec;
+    this.bodyLength = bodyLength;
+  }
+
+  /**
+   * Returns the version of the game that wrote the save.
+   */
+  @NotNull
+  public String getGameVersion() {
+    return gameVersion;
+  }
+
+  public long getSaveId() {
+    return saveId;
+  }
+
+  /**
+   * Returns the codec that the body of the save, which is everything after the header, is compressed with.
+   */
+  @NotNull
+  public CompressionCodec getCodec() {
+    return codec;
+  }
+
+  /**
+   * Returns the length of the body of the save before it was compressed.
+   */
+  public long getBodyLength() {
+    return bodyLength;
+  }
+
+}
@@ -0,0 +1,267 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.creatures.Hero;
+import org.mafagafogigante.dungeon.io.CompressionCodec;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The encoded sections of a save or of a journal record, captured from a GameState by {@link SaveFormat}.
+ *
+ * <p>Snapshots can be written by another thread while the game goes on changing the GameState they were captured from.
+ * Their sections are bytes that no one modifies, and their resident chunks are shared with the World, which copies
+ * them before it changes them, so the thread that writes a snapshot only encodes chunks and the game waits for it at
+ * most while it encodes a chunk that the game is about to change. The Id section is encoded after the chunks, as
+ * encoding them may add Ids to the IdTable. The chunks that were paged out are not read when the snapshot is captured,
+ * but when it is written. Until then, the snapshot retains the region files of its {@link ChunkPager}, so a snapshot
+ * must be released, which writing it does, for the pager to reuse the space of the chunks paged in meanwhile and for
+ * the World to stop copying its chunks.
+ */
+public final class SaveSnapshot {
+
+  private final boolean journalRecord;
+  private final long saveId;
+  private final String gameVersion;
+  private final String worldDate;
+  private final String heroSummary;
+  // The sections that come before the chunks, indexed like the sections of the SaveFormat, which are null if a journal
+  // record leaves them out. The generator and Id sections are only set when the snapshot is written.
+  private final byte[][] sections;
+  // Null if a journal record leaves the generator section out.
+  private final WorldGenerator.CapturedGenerationState generationState;
+  private final World world;
+  // The index of the first Id of the Id section.
+  private final int firstId;
+  private final long[] chunkKeys;
+  private final CapturedChunk[] chunks;
+  // Null once the snapshot is released.
+  private ChunkPager pager;
+
+  SaveSnapshot(boolean journalRecord, long saveId, @NotNull GameState state, @NotNull byte[][] sections,
+      @Nullable WorldGenerator.CapturedGenerationState generationState, int firstId, @NotNull long[] chunkKeys,
+      @NotNull CapturedChunk[] chunks, @NotNull ChunkPager pager) {
+    if (chunkKeys.length != chunks.length) {
+      throw new IllegalArgumentException("there must be one key for each chunk.");
+    }
+    if (sections.length != SaveFormat.SECTION_COUNT) {
+      throw new IllegalArgumentException("there must be an entry for each section.");
+    }
+    if (!journalRecord && (Arrays.asList(sections).subList(0, SaveFormat.GENERATOR_SECTION).contains(null) ||
+        generationState == null)) {
+      throw new IllegalArgumentException("a whole save must have every section.");
+    }
+    if (!journalRecord && firstId != 0) {
+      throw new IllegalArgumentException("a whole save must have every Id.");
+    }
+    this.journalRecord = journalRecord;
+    this.saveId = saveId;
+    this.gameVersion = state.getGameVersion().toString();
+    this.worldDate = state.getWorld().getWorldDate().toString();
+    this.heroSummary = summarizeHero(state.getHero());
+    this.sections = sections;
+    this.generationState = generationState;
+    this.world = state.getWorld();
+    this.firstId = firstId;
+    this.chunkKeys = chunkKeys;
+    this.chunks = chunks;
+    this.pager = pager;
+    pager.retainRegionFiles();
+  }
+
+  private static String summarizeHero(Hero hero) {
+    String healthState = hero.getHealth().getHealthState().toString();
+    Location location = hero.getLocation();
+    return location == null ? healthState : healthState + " at " + location.getName().getSingular();
+  }
+
+  /**
+   * Whether this snapshot is a journal record, which is appended to the journal of its save, or a whole save.
+   */
+  public boolean isJournalRecord() {
+    return journalRecord;
+  }
+
+  /**
+   * Returns the identifier of the save, which a journal must have in its header to receive this record.
+   */
+  public long getSaveId() {
+    return saveId;
+  }
+
+  /**
+   * Returns the version of the game that this snapshot was captured by.
+   */
+  @NotNull
+  public String getGameVersion() {
+    return gameVersion;
+  }
+
+  /**
+   * Returns the date of the World when this snapshot was captured.
+   */
+  @NotNull
+  public String getWorldDate() {
+    return worldDate;
+  }
+
+  /**
+   * Returns a short description of the Hero when this snapshot was captured, such as "Healthy at Forest".
+   */
+  @NotNull
+  public String getHeroSummary() {
+    return heroSummary;
+  }
+
+  public int getChunkCount() {
+    return chunks.length;
+  }
+
+  /**
+   * Evaluates whether or not this snapshot has the specified section of the SaveFormat.
+   */
+  boolean hasSection(int section) {
+    if (section == SaveFormat.GENERATOR_SECTION) {
+      return generationState != null;
+    }
+    return sections[section] != null;
+  }
+
+  /**
+   * Returns the flags of the sections that this snapshot has before its chunks, which only include the Id section once
+   * it was encoded by writeSnapshot.
+   */
+  private int getSectionFlags() {
+    int flags = 0;
+    for (int section = 0; section < sections.length; section++) {
+      if (hasSection(section)) {
+        flags |= 1 << section;
+      }
+    }
+    return flags;
+  }
+
+  /**
+   * Returns the length of the body of this snapshot, which is everything after the header, before it is compressed.
+   * It is only known once the snapshot was written, as its shared chunks are encoded then.
+   */
+  public long getBodyLength() {
+    long length = 1;
+    for (byte[] section : sections) {
+      length += getSectionLength(section);
+    }
+    length += VariableLengthCoding.getUnsignedLength(chunks.length);
+    for (CapturedChunk chunk : chunks) {
+      length += Long.SIZE / Byte.SIZE + getSectionLength(chunk.getLength());
+    }
+    return length;
+  }
+
+  private static long getSectionLength(int length) {
+    return VariableLengthCoding.getUnsignedLength(length) + length;
+  }
+
+  private static long getSectionLength(byte[] section) {
+    return section == null ? 0 : getSectionLength(section.length);
+  }
+
+  /**
+   * Lets the pager the chunks were captured from reuse the space of the chunks paged in since the capture and stops
+   * sharing the chunks with the World. Afterwards, this snapshot can no longer be written. Releasing a snapshot more
+   * than once has no effect.
+   */
+  public synchronized void release() {
+    if (pager != null) {
+      for (int i = 0; i < chunks.length; i++) {
+        world.unshareChunk(chunkKeys[i], chunks[i]);
+      }
+      pager.releaseRegionFiles();
+      pager = null;
+    }
+  }
+
+  /**
+   * Writes this snapshot to the provided stream, which is not closed, without compressing it.
+   */
+  public void writeTo(@NotNull OutputStream outputStream) throws IOException {
+    writeTo(outputStream, CompressionCodec.NONE);
+  }
+
+  /**
+   * Writes this snapshot to the provided stream, which is not closed, and releases it. Throws an IllegalStateException
+   * if the snapshot was already released.
+   *
+   * <p>The body of a whole save is compressed with the specified codec. Journal records are never compressed, as they
+   * are small and appended to the journal one at a time.
+   */
+  public void writeTo(@NotNull OutputStream outputStream, @NotNull CompressionCodec codec) throws IOException {
+    synchronized (this) {
+      if (pager == null) {
+        throw new IllegalStateException("the snapshot was already released.");
+      }
+    }
+    try {
+      writeSnapshot(outputStream, codec);
+    } finally {
+      release();
+    }
+  }
+
+  private void writeSnapshot(OutputStream outputStream, CompressionCodec codec) throws IOException {
+    // Encode the shared chunks first, as the length of the body and the Id section depend on them.
+    for (CapturedChunk chunk : chunks) {
+      chunk.copy();
+    }
+    if (generationState != null) {
+      sections[SaveFormat.GENERATOR_SECTION] = generationState.encode();
+    }
+    IdTable idTable = world.getIdTable();
+    if (!journalRecord || idTable.size() > firstId) {
+      sections[SaveFormat.ID_SECTION] = SaveFormat.encodeIds(idTable, firstId);
+    }
+    DataOutputStream output = new DataOutputStream(outputStream);
+    if (journalRecord) {
+      ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+      writeSections(new DataOutputStream(recordBytes));
+      byte[] record = recordBytes.toByteArray();
+      CRC32 checksum = new CRC32();
+      checksum.update(record);
+      SaveFormat.writeSection(output, record);
+      output.writeInt((int) checksum.getValue());
+    } else {
+      output.writeInt(SaveFormat.MAGIC);
+      output.writeInt(SaveFormat.FORMAT_VERSION);
+      output.writeUTF(gameVersion);
+      output.writeLong(saveId);
+      output.writeByte(codec.getIdentifier());
+      VariableLengthCoding.writeUnsigned(output, getBodyLength());
+      try (DataOutputStream body = new DataOutputStream(codec.newCompressingStream(output))) {
+        writeSections(body);
+      }
+    }
+    output.flush();
+  }
+
+  private void writeSections(DataOutputStream output) throws IOException {
+    output.writeByte(getSectionFlags());
+    for (byte[] section : sections) {
+      if (section != null) {
+        SaveFormat.writeSection(output, section);
+      }
+    }
+    VariableLengthCoding.writeUnsigned(output, chunks.length);
+    for (int i = 0; i < chunks.length; i++) {
+      output.writeLong(chunkKeys[i]);
+      SaveFormat.writeSection(output, chunks[i].read());
+    }
+  }
+
+}
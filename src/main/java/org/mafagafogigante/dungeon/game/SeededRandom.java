@@ -0,0 +1,128 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.util.Percentage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A pseudorandom number generator created from an explicit seed.
+ *
+ * <p>Unlike the generator behind {@link Random}, instances of this class are meant to be owned by a single task, such
+ * as the generation of a chunk, so that what they produce depends only on their seed and not on the order in which the
+ * rest of the application consumes random numbers.
+ */
+public final class SeededRandom implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private final java.util.Random random;
+
+  public SeededRandom(long seed) {
+    this.random = new java.util.Random(seed);
+  }
+
+  /**
+   * Derives a new seed from a seed and a sequence of components, such as the coordinates of a chunk.
+   *
+   * <p>The result is a pure function of its arguments and differs when the order of the components changes.
+   */
+  public static long deriveSeed(long seed, long... components) {
+    long result = mix(seed);
+    for (long component : components) {
+      result = mix((result + GOLDEN_GAMMA) ^ mix(component));
+    }
+    return result;
+  }
+
+  /**
+   * The finalizer of SplitMix64, which spreads every input bit over the whole output.
+   */
+  private static long mix(long value) {
+    long result = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+    return result ^ (result >>> 31);
+  }
+
+  /**
+   * Simulates a random roll.
+   *
+   * @param chance the probability of a true result.
+   * @return a boolean indicating if the roll was successful or not.
+   */
+  public boolean roll(Percentage chance) {
+    return chance.toDouble() > random.nextDouble();
+  }
+
+  /**
+   * Simulates a random roll.
+   *
+   * @param chance the probability of a true result. Must be nonnegative and smaller than or equal to 1.
+   * @return a boolean indicating if the roll was successful or not.
+   */
+  public boolean roll(double chance) {
+    return roll(new Percentage(chance));
+  }
+
+  /**
+   * Returns a pseudorandom, uniformly distributed boolean.
+   */
+  public boolean nextBoolean() {
+    return random.nextBoolean();
+  }
+
+  /**
+   * Returns a pseudorandom, uniformly distributed double value between 0 (inclusive) and 1 (exclusive).
+   */
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  /**
+   * Returns a pseudorandom, uniformly distributed long.
+   */
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  /**
+   * Returns a pseudorandom, uniformly distributed int value between 0 (inclusive) and the specified value (exclusive).
+   *
+   * @param n the bound on the random number to be returned, must be positive
+   * @return an int in the range [0, n)
+   */
+  public int nextInteger(int n) {
+    return random.nextInt(n);
+  }
+
+  /**
+   * Returns a pseudorandom, uniformly distributed int value between minimum (inclusive) and n (exclusive).
+   *
+   * @param n the bound on the random number to be returned, must be positive
+   * @return an int in the range [minimum, n)
+   */
+  public int nextInteger(int minimum, int n) {
+    if (minimum >= n) {
+      throw new IllegalArgumentException("minimum must be less than n");
+    }
+    return minimum + nextInteger(n - minimum);
+  }
+
+  /**
+   * Selects a random element from a List.
+   *
+   * @param list a List object, not empty, not null
+   * @param <T> the type of elements held in the List
+   * @return an element of list or null
+   */
+  public <T> T select(@NotNull List<T> list) {
+    if (list.isEmpty()) {
+      throw new IllegalArgumentException("list is empty.");
+    }
+    return list.get(nextInteger(list.size()));
+  }
+
+}
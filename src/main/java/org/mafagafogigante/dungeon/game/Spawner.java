@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.game;
 
 import org.mafagafogigante.dungeon.entity.creatures.Creature;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 import java.io.Serializable;
@@ -11,7 +10,7 @@ import java.io.Serializable;
  */
 class Spawner implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Id id;
   private final int populationLimit;
   private final int spawnDelay;
@@ -19,33 +18,92 @@ class Spawner implements Serializable {
   // A change can be either the spawn of a creature or the end of the population limit.
   private long lastChange;
 
-  public Spawner(SpawnerPreset preset, Location location) {
+  public Spawner(SpawnerPreset preset, Location location, SeededRandom random) {
     id = preset.id;
-    populationLimit = Random.nextInteger(preset.minimumPopulation, preset.maximumPopulation + 1);
+    populationLimit = random.nextInteger(preset.minimumPopulation, preset.maximumPopulation + 1);
     spawnDelay = preset.spawnDelay;
     this.location = location;
     lastChange = getWorldCreationTime();
   }
 
+  /**
+   * Constructs a Spawner with the specified state. Used to restore saved Spawners.
+   */
+  Spawner(Id id, int populationLimit, int spawnDelay, Location location, long lastChange) {
+    this.id = id;
+    this.populationLimit = populationLimit;
+    this.spawnDelay = spawnDelay;
+    this.location = location;
+    this.lastChange = lastChange;
+  }
+
+  Id getId() {
+    return id;
+  }
+
+  int getPopulationLimit() {
+    return populationLimit;
+  }
+
+  int getSpawnDelay() {
+    return spawnDelay;
+  }
+
+  long getLastChange() {
+    return lastChange;
+  }
+
   /**
    * Refresh the spawner, spawning all creatures that should have spawned since the last spawn.
    *
-   * <p>Only spawners in locations whose creatures are visible to the player should be refreshed.
+   * <p>How many creatures are due is computed at once, so refreshing after a long time is as cheap as refreshing every
+   * turn: at most the missing population is spawned, no matter how many spawn delays have passed.
+   *
+   * @return whether any creature was due, in which case this spawner changed even if the creature could not be made
    */
-  public void refresh() {
-    long worldTime = getWorldTime();
-    while (worldTime - lastChange >= spawnDelay && location.getCreatureCount(id) < populationLimit) {
-      World world = location.getWorld();
+  public boolean refresh() {
+    int spawns = countDueSpawns(getWorldTime());
+    if (spawns == 0) {
+      return false;
+    }
+    World world = location.getWorld();
+    for (int i = 0; i < spawns; i++) {
       Creature creature = world.getCreatureFactory().makeCreature(id, world);
-      if (creature != null) {
-        location.addCreature(creature);
-      } else {
+      if (creature == null) {
         DungeonLogger.warning("Could not find the creature preset for " + id + ".");
+        break;
       }
-      // Simulate that the creature was spawned just when it should have been.
-      // Do not prevent this modification if making the creature was unsuccessful to avoid an infinite loop.
-      lastChange += spawnDelay;
+      location.addCreature(creature);
+    }
+    // Simulate that the creatures were spawned just when they should have been.
+    // Do not prevent this modification if making a creature was unsuccessful to avoid spawning it over and over.
+    lastChange += (long) spawns * spawnDelay;
+    return true;
+  }
+
+  /**
+   * Returns how many creatures should have spawned between the last change and the specified world time.
+   */
+  private int countDueSpawns(long worldTime) {
+    int missing = populationLimit - location.getCreatureCount(id);
+    if (missing <= 0 || worldTime - lastChange < spawnDelay) {
+      return 0;
+    }
+    if (spawnDelay <= 0) {
+      return missing;
+    }
+    return (int) Math.min(missing, (worldTime - lastChange) / spawnDelay);
+  }
+
+  /**
+   * Returns the world time, in milliseconds, at which this Spawner next spawns a creature, or Long.MAX_VALUE if its
+   * population is at the limit.
+   */
+  long getNextSpawnTime() {
+    if (location.getCreatureCount(id) >= populationLimit) {
+      return Long.MAX_VALUE;
     }
+    return lastChange + spawnDelay;
   }
 
   /**
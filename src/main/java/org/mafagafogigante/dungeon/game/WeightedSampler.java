@@ -0,0 +1,112 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable sampler that selects elements with probabilities proportional to their weights in constant time.
+ *
+ * <p>Uses the alias method of Vose: the weights are spread over as many columns as there are elements, each column
+ * holding at most two elements, its own and an alias. Sampling picks a column uniformly and then one of its two
+ * elements with a biased coin.
+ */
+final class WeightedSampler<T> {
+
+  private final List<T> elements;
+  private final double[] probabilities;
+  private final int[] aliases;
+
+  /**
+   * Builds a sampler for the provided elements. Weights must be nonnegative and at least one must be positive.
+   */
+  WeightedSampler(@NotNull List<T> elements, @NotNull double[] weights) {
+    if (elements.isEmpty()) {
+      throw new IllegalArgumentException("elements is empty.");
+    }
+    if (elements.size() != weights.length) {
+      throw new IllegalArgumentException("there should be exactly one weight for each element.");
+    }
+    double sum = 0;
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("weights should be finite and nonnegative.");
+      }
+      sum += weight;
+    }
+    if (sum == 0) {
+      throw new IllegalArgumentException("at least one weight should be positive.");
+    }
+    this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+    int size = weights.length;
+    probabilities = new double[size];
+    aliases = new int[size];
+    // Scale the weights so that their mean is one and split the columns into those under and over the mean.
+    double[] scaled = new double[size];
+    int[] small = new int[size];
+    int[] large = new int[size];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < size; i++) {
+      scaled[i] = weights[i] * size / sum;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    // Fill each column under the mean with the excess of a column over the mean.
+    while (smallCount > 0 && largeCount > 0) {
+      int lesser = small[--smallCount];
+      int greater = large[--largeCount];
+      probabilities[lesser] = scaled[lesser];
+      aliases[lesser] = greater;
+      scaled[greater] = scaled[greater] + scaled[lesser] - 1;
+      if (scaled[greater] < 1) {
+        small[smallCount++] = greater;
+      } else {
+        large[largeCount++] = greater;
+      }
+    }
+    // Whatever remains is one up to rounding errors.
+    while (largeCount > 0) {
+      probabilities[large[--largeCount]] = 1;
+    }
+    while (smallCount > 0) {
+      probabilities[small[--smallCount]] = 1;
+    }
+  }
+
+  /**
+   * Returns the elements of this sampler, in the order in which they were provided.
+   */
+  List<T> getElements() {
+    return elements;
+  }
+
+  /**
+   * Selects an element using the provided column, in the range [0, size), and coin, in the range [0, 1).
+   */
+  private T sample(int column, double coin) {
+    return elements.get(coin < probabilities[column] ? column : aliases[column]);
+  }
+
+  /**
+   * Selects an element using two draws from the provided SeededRandom.
+   */
+  T sample(@NotNull SeededRandom random) {
+    return sample(random.nextInteger(elements.size()), random.nextDouble());
+  }
+
+  /**
+   * Selects an element using the bits of a uniformly distributed hash, so that equal hashes select equal elements.
+   */
+  T sample(long hash) {
+    int column = (int) ((hash >>> 1) % elements.size());
+    double coin = (Long.rotateLeft(hash, 32) >>> 11) * 0x1.0p-53;
+    return sample(column, coin);
+  }
+
+}
@@ -2,18 +2,9 @@ package org.mafagafogigante.dungeon.game;
 
 import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.date.DungeonTimeUnit;
-import org.mafagafogigante.dungeon.entity.EnchantmentFactory;
-import org.mafagafogigante.dungeon.entity.creatures.CorpseItemPresetFactory;
 import org.mafagafogigante.dungeon.entity.creatures.CreatureFactory;
-import org.mafagafogigante.dungeon.entity.creatures.CreaturePresetFactory;
-import org.mafagafogigante.dungeon.entity.creatures.JsonCreaturePresetFactory;
 import org.mafagafogigante.dungeon.entity.creatures.Observer;
 import org.mafagafogigante.dungeon.entity.items.ItemFactory;
-import org.mafagafogigante.dungeon.entity.items.ItemPresetFactory;
-import org.mafagafogigante.dungeon.entity.items.JsonItemPresetFactory;
-import org.mafagafogigante.dungeon.io.DungeonResource;
-import org.mafagafogigante.dungeon.io.ResourceNameResolver;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.stats.WorldStatistics;
 import org.mafagafogigante.dungeon.world.Sky;
@@ -22,49 +13,93 @@ import org.mafagafogigante.dungeon.world.Weather;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A complete world, with a generator, entity factories, a map, a date, and statistics.
+ *
+ * <p>Every World has a seed from which its terrain and its weather are derived.
+ *
+ * <p>Only the chunks near the Hero are guaranteed to be kept in memory. The others may be paged out to disk at the end
+ * of a turn and are paged back in when any of their Locations is requested.
  */
 public class World implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
-  private final WorldGenerator generator = new WorldGenerator(this);
+  private static final long serialVersionUID = 1L;
+  private static final long WEATHER_STREAM = 1;
+
+  private final long seed;
+  private final WorldGenerator generator;
 
   // Each world should have its own factories because their limitations and characteristics are not meant to be shared.
   private final CreatureFactory creatureFactory;
   private final ItemFactory itemFactory;
 
-  private final Map<Point, Location> locations = new HashMap<>();
+  private final ChunkStore locations = new ChunkStore(WorldGenerator.DEFAULT_CHUNK_SIDE);
+  // Not serialized, as its region files do not outlive the session. Its limits are written by writeObject instead.
+  private transient ChunkPager pager = new ChunkPager(this);
+  // Assigns the indices by which encoded chunks refer to the Ids of presets.
+  private final IdTable idTable = new IdTable();
+  // The keys of the chunks that changed since the World was last saved. Only used by the thread of the game.
+  private transient Set<Long> dirtyChunkKeys = new HashSet<>();
+  // Made when first needed from the resident chunks, as it is not saved. Only used by the thread of the game.
+  private transient WorldScheduler scheduler;
+  // The chunks captured by SaveSnapshots that were not written yet, by key, which are copied before they change.
+  // Guarded by itself, as the thread that writes the snapshots removes them.
+  private transient Map<Long, List<CapturedChunk>> sharedChunks = new HashMap<>();
 
   private final WorldStatistics worldStatistics;
 
   private final Date worldCreationDate = new Date(1, 1, 1);
   private final Sky sky = SkyFactory.makeDarrowmereSky();
-  private Date worldDate = new Date(2055, 6, 2, 6, 10, 0);
-  private final Weather weather = new Weather(worldDate);
+  // Volatile because Locations may be generated, and their items dated, by the chunk prefetcher.
+  private volatile Date worldDate = new Date(2055, 6, 2, 6, 10, 0);
+  private final Weather weather;
 
   /**
-   * Creates a new World.
+   * Creates a new World with a random seed.
    *
    * @param statistics a WorldStatistics object on which this World will record its status
    */
   public World(WorldStatistics statistics) {
-    worldStatistics = statistics;
+    this(statistics, Random.nextLong());
+  }
 
-    String creaturesFilename = ResourceNameResolver.resolveName(DungeonResource.CREATURES);
-    CreaturePresetFactory creaturePresetFactory = new JsonCreaturePresetFactory(creaturesFilename);
-    creatureFactory = new CreatureFactory(creaturePresetFactory);
+  /**
+   * Creates a new World with the default chunk generator. Worlds created with the same seed have the same terrain and
+   * weather.
+   *
+   * @param statistics a WorldStatistics object on which this World will record its status
+   * @param seed the seed of this World
+   */
+  public World(WorldStatistics statistics, long seed) {
+    this(statistics, seed, ChunkGeneratorType.CLASSIC);
+  }
 
-    String itemsFilename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
-    String enchantmentsFilename = ResourceNameResolver.resolveName(DungeonResource.ENCHANTMENTS);
-    ItemPresetFactory jsonItemPresetFactory = new JsonItemPresetFactory(itemsFilename);
-    ItemPresetFactory corpseItemPresetFactory = new CorpseItemPresetFactory(creatureFactory);
-    EnchantmentFactory enchantmentFactory = new EnchantmentFactory(enchantmentsFilename);
-    itemFactory = new ItemFactory(enchantmentFactory, jsonItemPresetFactory, corpseItemPresetFactory);
+  /**
+   * Creates a new World. Worlds created with the same seed and chunk generator have the same terrain and weather.
+   *
+   * @param statistics a WorldStatistics object on which this World will record its status
+   * @param seed the seed of this World
+   * @param chunkGeneratorType the strategy used to generate the chunks of this World
+   */
+  public World(WorldStatistics statistics, long seed, ChunkGeneratorType chunkGeneratorType) {
+    this.seed = seed;
+    worldStatistics = statistics;
+    generator = new WorldGenerator(this, chunkGeneratorType.makeChunkGenerator(seed));
+    weather = new Weather(worldDate, new SeededRandom(SeededRandom.deriveSeed(seed, WEATHER_STREAM)));
+    PresetRegistry presetRegistry = PresetRegistry.getDefaultRegistry();
+    creatureFactory = presetRegistry.getCreatureFactory();
+    itemFactory = presetRegistry.makeItemFactory();
   }
 
   /**
@@ -82,6 +117,14 @@ public class World implements Serializable {
     return creatureFactory;
   }
 
+  public WorldStatistics getWorldStatistics() {
+    return worldStatistics;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
   Date getWorldCreationDate() {
     return worldCreationDate;
   }
@@ -94,9 +137,6 @@ public class World implements Serializable {
    * Adds a Location to this World.
    */
   void addLocation(Location locationObject, Point coordinates) {
-    if (locations.containsKey(coordinates)) {
-      throw new IllegalStateException("tried to repeatedly add a location to " + coordinates + ".");
-    }
     if (!locationObject.getWorld().equals(this)) {
       World world = locationObject.getWorld();
       throw new IllegalStateException("tried to add location with World field " + world + " to " + this + ".");
@@ -105,10 +145,23 @@ public class World implements Serializable {
       Point point = locationObject.getPoint();
       throw new IllegalStateException("tried to add location with Point field " + point + " to " + coordinates + ".");
     }
-    locations.put(coordinates, locationObject);
+    pageIn(coordinates.getX(), coordinates.getY(), coordinates.getZ());
+    copySharedChunks(coordinates);
+    locations.put(locationObject);
+    markDirty(coordinates);
+    getScheduler().schedule(locationObject);
     worldStatistics.addLocation(locationObject.getName().getSingular());
   }
 
+  /**
+   * Adds all the Locations that the generator made since they were last taken, either synchronously or in advance.
+   */
+  void takeGeneratedLocations() {
+    for (Location location : generator.takeGeneratedLocations()) {
+      addLocation(location, location.getPoint());
+    }
+  }
+
   /**
    * Gets the Location in the specified Point. If the Location in the Point has not yet been created, the world
    * generator will do it.
@@ -118,10 +171,274 @@ public class World implements Serializable {
    */
   @NotNull
   public Location getLocation(@NotNull Point point) {
-    if (!locations.containsKey(point)) {
-      generator.expand(point);
+    return getLocation(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Gets the Location at the specified coordinates. If the Location has not yet been created, the world generator will
+   * do it. Unless generation is needed, this method does not allocate.
+   */
+  @NotNull
+  public Location getLocation(int x, int y, int z) {
+    Location location = locations.get(x, y, z);
+    if (location != null) {
+      pager.recordHit();
+    } else {
+      pager.recordMiss();
+      takeGeneratedLocations();
+      location = pageIn(x, y, z) ? locations.get(x, y, z) : null;
+      if (location == null) {
+        generator.expand(x, y);
+        takeGeneratedLocations();
+        location = locations.get(x, y, z);
+        if (location == null) {
+          throw new IllegalStateException("world has no location at (" + x + ", " + y + ", " + z + ").");
+        }
+      }
+    }
+    return location;
+  }
+
+  /**
+   * Pages in the chunk that contains the specified coordinates if it is paged out. Returns whether or not it was.
+   */
+  private boolean pageIn(int x, int y, int z) {
+    long key = locations.getChunkKey(x, y, z);
+    if (!pager.isPagedOut(key)) {
+      return false;
+    }
+    Location[] chunk = pager.pageIn(key);
+    locations.putChunk(key, chunk);
+    getScheduler().scheduleAll(chunk);
+    return true;
+  }
+
+  /**
+   * Pages out the least recently used chunks that are far enough from the specified point while there are more resident
+   * chunks than allowed.
+   *
+   * <p>This should only be called between commands, as Locations held by anyone other than the World become stale once
+   * their chunk is paged out.
+   */
+  public void pageOutDistantChunks(@NotNull Point point) {
+    int radius = pager.getResidencyRadius();
+    int maximum = pager.getMaximumResidentChunks();
+    int evicted = locations.evictLeastRecentlyUsed(point.getX(), point.getY(), radius, maximum, pager);
+    if (evicted != 0) {
+      DungeonLogger.fine("Paged out " + evicted + " chunks. " + pager + ".");
+    }
+  }
+
+  /**
+   * Sets how many chunks may be kept in memory and how far from the Hero, in chunks, a chunk must be to be paged out.
+   */
+  public void setChunkResidencyLimits(int residencyRadius, int maximumResidentChunks) {
+    pager.setLimits(residencyRadius, maximumResidentChunks);
+  }
+
+  /**
+   * Returns the object that pages chunks in and out of memory, which also counts residency hits and misses.
+   */
+  ChunkPager getChunkPager() {
+    return pager;
+  }
+
+  /**
+   * Returns how many chunks are currently kept in memory.
+   */
+  int getResidentChunkCount() {
+    return locations.getChunkCount();
+  }
+
+  int getChunkSide() {
+    return locations.getChunkSide();
+  }
+
+  IdTable getIdTable() {
+    return idTable;
+  }
+
+  /**
+   * Returns the keys of all the chunks that are currently kept in memory.
+   */
+  long[] getResidentChunkKeys() {
+    return locations.getChunkKeys();
+  }
+
+  /**
+   * Returns the resident chunk with the provided key. Throws an IllegalStateException if the chunk is not resident.
+   */
+  @NotNull
+  Location[] getResidentChunk(long key) {
+    Location[] chunk = locations.peekChunk(key);
+    if (chunk == null) {
+      throw new IllegalStateException("the chunk " + key + " is not resident.");
+    }
+    return chunk;
+  }
+
+  boolean isChunkResident(long key) {
+    return locations.peekChunk(key) != null;
+  }
+
+  /**
+   * Returns the key of the chunk that contains the specified point.
+   */
+  long getChunkKey(@NotNull Point point) {
+    return locations.getChunkKey(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Records that the Location at the specified point changed, so that its chunk is written by the next incremental
+   * save.
+   */
+  void markDirty(@NotNull Point point) {
+    dirtyChunkKeys.add(getChunkKey(point));
+  }
+
+  int getDirtyChunkCount() {
+    return dirtyChunkKeys.size();
+  }
+
+  /**
+   * Returns the keys of the chunks that changed since this method was last called and forgets them.
+   */
+  long[] takeDirtyChunkKeys() {
+    long[] keys = new long[dirtyChunkKeys.size()];
+    int count = 0;
+    for (long key : dirtyChunkKeys) {
+      keys[count++] = key;
+    }
+    dirtyChunkKeys.clear();
+    return keys;
+  }
+
+  /**
+   * Adds a whole chunk of Locations to this World, such as a chunk that was loaded from a save.
+   */
+  void putChunk(long key, @NotNull Location[] chunk) {
+    locations.putChunk(key, chunk);
+    getScheduler().scheduleAll(chunk);
+  }
+
+  private WorldScheduler getScheduler() {
+    if (scheduler == null) {
+      scheduler = new WorldScheduler();
+      for (long key : locations.getChunkKeys()) {
+        scheduler.scheduleAll(getResidentChunk(key));
+      }
+    }
+    return scheduler;
+  }
+
+  /**
+   * Ensures that the specified Location is refreshed no later than the specified world time, in milliseconds.
+   */
+  void scheduleChange(@NotNull Location location, long time) {
+    getScheduler().scheduleBy(location, time);
+  }
+
+  /**
+   * Forgets the scheduled changes of the Locations of a chunk that was paged out.
+   */
+  void unscheduleChunk(@NotNull Location[] chunk) {
+    getScheduler().unscheduleAll(chunk);
+  }
+
+  /**
+   * Refreshes the resident Locations whose spawners, items or creatures are due to change at the current date.
+   *
+   * @return how many Locations were refreshed
+   */
+  int runScheduledChanges() {
+    return getScheduler().runDueEvents(worldDate.getTime());
+  }
+
+  /**
+   * Returns how many resident Locations have a scheduled change.
+   */
+  int getScheduledLocationCount() {
+    return getScheduler().getScheduledCount();
+  }
+
+  WorldGenerator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Returns the object whose lock is held while chunks are generated, which must also be held to see a consistent
+   * World while chunks are being prefetched.
+   */
+  Object getGenerationLock() {
+    return generator;
+  }
+
+  /**
+   * Shares a captured chunk with this World until it is unshared, so that it is copied before it changes.
+   */
+  void shareChunk(long key, @NotNull CapturedChunk chunk) {
+    synchronized (sharedChunks) {
+      List<CapturedChunk> chunks = sharedChunks.get(key);
+      if (chunks == null) {
+        chunks = new ArrayList<>(1);
+        sharedChunks.put(key, chunks);
+      }
+      chunks.add(chunk);
+    }
+  }
+
+  /**
+   * Stops sharing a captured chunk with this World, after its snapshot was written or discarded.
+   */
+  void unshareChunk(long key, @NotNull CapturedChunk chunk) {
+    synchronized (sharedChunks) {
+      List<CapturedChunk> chunks = sharedChunks.get(key);
+      if (chunks != null && chunks.remove(chunk) && chunks.isEmpty()) {
+        sharedChunks.remove(key);
+      }
     }
-    return locations.get(point);
+  }
+
+  /**
+   * Copies the captured chunks shared with this World that have the Location at the specified point, which must be done
+   * before that Location changes, so that the snapshots that captured them do not see the change.
+   */
+  void copySharedChunks(@NotNull Point point) {
+    List<CapturedChunk> chunks;
+    synchronized (sharedChunks) {
+      if (sharedChunks.isEmpty()) {
+        return;
+      }
+      chunks = sharedChunks.remove(getChunkKey(point));
+    }
+    if (chunks != null) {
+      for (CapturedChunk chunk : chunks) {
+        chunk.copy();
+      }
+    }
+  }
+
+  /**
+   * Enables or disables the generation of the chunks around the Hero ahead of time, on a background thread.
+   */
+  public void setChunkPrefetching(boolean prefetching) {
+    generator.setPrefetching(prefetching);
+  }
+
+  /**
+   * Schedules the generation of the chunks around the specified point if chunk prefetching is enabled.
+   */
+  public void prefetchAround(@NotNull Point point) {
+    generator.prefetchAround(point);
+  }
+
+  /**
+   * Stops generating chunks in advance and deletes the region files of the chunks that were paged out. Should be called
+   * when this World is replaced by another one, after which it must no longer be used.
+   */
+  public void dispose() {
+    generator.setPrefetching(false);
+    pager.dispose();
   }
 
   /**
@@ -153,22 +470,63 @@ public class World implements Serializable {
    * Checks if there is a location at the specified point. Invoking this method may trigger world expansion.
    */
   public boolean hasLocationAt(Point point) {
-    if (alreadyHasLocationAt(point)) {
+    return hasLocationAt(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Checks if there is a location at the specified coordinates. Invoking this method may trigger world expansion.
+   */
+  public boolean hasLocationAt(int x, int y, int z) {
+    if (alreadyHasLocationAt(x, y, z)) {
       return true;
     } else {
-      if (point.getZ() == 0) {
-        generator.expand(point);
+      if (z == 0) {
+        generator.expand(x, y);
+        takeGeneratedLocations();
       }
-      return alreadyHasLocationAt(point);
+      return locations.contains(x, y, z);
     }
   }
 
   /**
-   * Checks if there is already a location at the specified point. This method should only be called from World and
-   * WorldGenerator.
+   * Checks if there is already a location at the specified point, including locations generated in advance. Invoking
+   * this method never triggers world expansion.
    */
   public boolean alreadyHasLocationAt(Point point) {
-    return locations.containsKey(point);
+    return alreadyHasLocationAt(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Checks if there is already a location at the specified coordinates, including locations generated in advance.
+   * Invoking this method never triggers world expansion.
+   */
+  public boolean alreadyHasLocationAt(int x, int y, int z) {
+    if (locations.contains(x, y, z)) {
+      return true;
+    }
+    takeGeneratedLocations();
+    pageIn(x, y, z);
+    return locations.contains(x, y, z);
+  }
+
+  /**
+   * Serializes this World while holding the lock of its generator so that chunks being prefetched, and the items they
+   * register in the ItemFactory, are either entirely written or not written at all.
+   */
+  private void writeObject(ObjectOutputStream outputStream) throws IOException {
+    synchronized (generator) {
+      outputStream.defaultWriteObject();
+      outputStream.writeInt(pager.getResidencyRadius());
+      outputStream.writeInt(pager.getMaximumResidentChunks());
+    }
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    pager = new ChunkPager(this);
+    pager.setLimits(inputStream.readInt(), inputStream.readInt());
+    dirtyChunkKeys = new HashSet<>();
+    sharedChunks = new HashMap<>();
   }
 
 }
@@ -1,91 +1,368 @@
 package org.mafagafogigante.dungeon.game;
 
-import org.mafagafogigante.dungeon.game.LocationPreset.Type;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * The world generator. This class should be instantiated by a World object.
+ *
+ * <p>This class keeps track of which chunks were generated and delegates what goes into each chunk to a
+ * {@link ChunkGenerator}.
+ *
+ * <p>Generated locations are not added to the World directly. They are queued until the World takes them, which lets
+ * chunks be generated ahead of time by a background thread without the World's location map ever being accessed by
+ * more than one thread. All generation happens while holding the lock of this object.
+ *
+ * <p>Saves write the points of the generated chunks and Locations and the generation state of the ChunkGenerator apart
+ * from the rest of the generator. Incremental saves only write what was added since it was last written, which this
+ * class and the ChunkGenerator keep track of.
  */
 class WorldGenerator implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
-  private static final int DEFAULT_CHUNK_SIDE = 5;
+  private static final long serialVersionUID = 1L;
+  static final int DEFAULT_CHUNK_SIDE = 5;
+  // How many chunks away from the chunk of the Hero are generated in advance when prefetching is enabled.
+  private static final int PREFETCH_RADIUS = 2;
+  // Generation is serialized by the lock of the generator, so more than one worker would not make prefetching faster.
+  private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(@NotNull Runnable runnable) {
+      Thread thread = new Thread(runnable, "Chunk Prefetcher");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
 
   private final World world;
-  private final RiverGenerator riverGenerator;
-  private final DungeonDistributor dungeonDistributor = new DungeonDistributor();
-  private final DungeonCreator dungeonCreator = new DungeonCreator(dungeonDistributor);
+  private final ChunkGenerator chunkGenerator;
   private final int chunkSide;
+  // Written by writeObject as runs of consecutive points, which is much more compact than serializing every Point.
+  private transient Set<Point> expandedChunks = new HashSet<>();
+  private transient Set<Point> generatedPoints = new HashSet<>();
+  // The points of the sets above in the order in which they were added, which are much faster to copy when they are
+  // captured than the sets.
+  private transient List<Point> expandedChunkList = new ArrayList<>();
+  private transient List<Point> generatedPointList = new ArrayList<>();
+  // The points added to the sets above since the points were last captured.
+  private transient List<Point> addedExpandedChunks = new ArrayList<>();
+  private transient List<Point> addedGeneratedPoints = new ArrayList<>();
+  // Locations of the chunk being generated. Dungeons still modify their rooms after adding them, so these are only
+  // published after the whole chunk is finished. Not serialized, as the World takes them before it is saved.
+  private transient List<Location> pendingLocations = new ArrayList<>();
+  // Locations that were generated but not yet taken by the World.
+  private transient Queue<Location> generatedLocations = new ConcurrentLinkedQueue<>();
+
+  private transient volatile boolean prefetching;
+  private transient Point lastPrefetchCenter;
 
-  WorldGenerator(World world) {
+  WorldGenerator(@NotNull World world, @NotNull ChunkGenerator chunkGenerator) {
     this.world = world;
-    this.riverGenerator = new RiverGenerator();
+    this.chunkGenerator = chunkGenerator;
     this.chunkSide = WorldGenerator.DEFAULT_CHUNK_SIDE;
   }
 
   /**
-   * Retrieves a random LocationPreset whose type is "Land".
+   * Writes a set of points as runs of points that only differ by consecutive y coordinates.
+   */
+  private static void writePoints(DataOutput outputStream, Collection<Point> points) throws IOException {
+    List<Point> sortedPoints = new ArrayList<>(points);
+    Collections.sort(sortedPoints, new Comparator<Point>() {
+      @Override
+      public int compare(Point a, Point b) {
+        if (a.getZ() != b.getZ()) {
+          return Integer.compare(a.getZ(), b.getZ());
+        } else if (a.getX() != b.getX()) {
+          return Integer.compare(a.getX(), b.getX());
+        }
+        return Integer.compare(a.getY(), b.getY());
+      }
+    });
+    List<Point> runStarts = new ArrayList<>();
+    List<Integer> runLengths = new ArrayList<>();
+    for (Point point : sortedPoints) {
+      int last = runStarts.size() - 1;
+      Point start = last == -1 ? null : runStarts.get(last);
+      boolean sameColumn = start != null && start.getZ() == point.getZ() && start.getX() == point.getX();
+      if (sameColumn && start.getY() + runLengths.get(last) == point.getY()) {
+        runLengths.set(last, runLengths.get(last) + 1);
+      } else {
+        runStarts.add(point);
+        runLengths.add(1);
+      }
+    }
+    VariableLengthCoding.writeUnsigned(outputStream, runStarts.size());
+    for (int i = 0; i < runStarts.size(); i++) {
+      VariableLengthCoding.writeSigned(outputStream, runStarts.get(i).getX());
+      VariableLengthCoding.writeSigned(outputStream, runStarts.get(i).getY());
+      VariableLengthCoding.writeSigned(outputStream, runStarts.get(i).getZ());
+      VariableLengthCoding.writeUnsigned(outputStream, runLengths.get(i));
+    }
+  }
+
+  private static void readPoints(DataInput inputStream, Set<Point> points, List<Point> pointList) throws IOException {
+    int runs = VariableLengthCoding.readUnsignedInt(inputStream);
+    for (int i = 0; i < runs; i++) {
+      int x = VariableLengthCoding.readSignedInt(inputStream);
+      int y = VariableLengthCoding.readSignedInt(inputStream);
+      int z = VariableLengthCoding.readSignedInt(inputStream);
+      int length = VariableLengthCoding.readUnsignedInt(inputStream);
+      for (int j = 0; j < length; j++) {
+        Point point = new Point(x, y + j, z);
+        if (points.add(point)) {
+          pointList.add(point);
+        }
+      }
+    }
+  }
+
+  private synchronized void writeObject(ObjectOutputStream outputStream) throws IOException {
+    outputStream.defaultWriteObject();
+    writePoints(outputStream, expandedChunks);
+    writePoints(outputStream, generatedPoints);
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    expandedChunks = new HashSet<>();
+    generatedPoints = new HashSet<>();
+    expandedChunkList = new ArrayList<>();
+    generatedPointList = new ArrayList<>();
+    readPoints(inputStream, expandedChunks, expandedChunkList);
+    readPoints(inputStream, generatedPoints, generatedPointList);
+    addedExpandedChunks = new ArrayList<>();
+    addedGeneratedPoints = new ArrayList<>();
+    pendingLocations = new ArrayList<>();
+    generatedLocations = new ConcurrentLinkedQueue<>();
+  }
+
+  private Object readResolve() throws ObjectStreamException {
+    // Prefetching is enabled again by whoever loads the World.
+    prefetching = false;
+    lastPrefetchCenter = null;
+    return this;
+  }
+
+  World getWorld() {
+    return world;
+  }
+
+  /**
+   * Makes a generator for the same World with the same ChunkGenerator that has not generated any chunk. Saves serialize
+   * it in place of this generator, as they write the points of this generator by writeGenerationState.
+   */
+  WorldGenerator makeEmptyCopy() {
+    return new WorldGenerator(world, chunkGenerator);
+  }
+
+  /**
+   * Returns whether any chunk or Location was generated since the generation state was last written. The ChunkGenerator
+   * only adds to its own state while generating a chunk, so nothing was added to it either if this returns false.
+   */
+  synchronized boolean hasAddedGenerationState() {
+    return !addedExpandedChunks.isEmpty() || !addedGeneratedPoints.isEmpty();
+  }
+
+  /**
+   * Captures the points of the generated chunks and Locations and the state of the ChunkGenerator, either all of it or
+   * only what was added since it was last captured. Either way, nothing is considered added afterwards.
    *
-   * @return a LocationPreset
+   * <p>The points are only copied, as sorting them into runs takes much longer, and are encoded by the returned object.
    */
-  private static LocationPreset getRandomLandLocationPreset() {
-    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
-    return Random.select(locationPresetStore.getLocationPresetsByType(Type.LAND));
+  @NotNull
+  synchronized CapturedGenerationState captureGenerationState(boolean addedOnly) throws IOException {
+    ByteArrayOutputStream chunkGeneratorState = new ByteArrayOutputStream();
+    DataOutputStream chunkGeneratorOutput = new DataOutputStream(chunkGeneratorState);
+    chunkGenerator.writeGenerationState(chunkGeneratorOutput, addedOnly);
+    chunkGeneratorOutput.flush();
+    CapturedGenerationState state = new CapturedGenerationState(
+        new ArrayList<>(addedOnly ? addedExpandedChunks : expandedChunkList),
+        new ArrayList<>(addedOnly ? addedGeneratedPoints : generatedPointList), chunkGeneratorState.toByteArray());
+    addedExpandedChunks.clear();
+    addedGeneratedPoints.clear();
+    return state;
   }
 
-  private Location createRandomRiverLocation(@NotNull final Point point) {
-    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
-    return new Location(Random.select(locationPresetStore.getLocationPresetsByType(Type.RIVER)), world, point);
+  /**
+   * Reads generation state encoded by a CapturedGenerationState, adding it to the state of this generator.
+   */
+  synchronized void readGenerationState(@NotNull DataInput input) throws IOException {
+    readPoints(input, expandedChunks, expandedChunkList);
+    readPoints(input, generatedPoints, generatedPointList);
+    chunkGenerator.readGenerationState(input);
   }
 
-  private Location createRandomBridgeLocation(@NotNull final Point point) {
-    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
-    return new Location(Random.select(locationPresetStore.getLocationPresetsByType(Type.BRIDGE)), world, point);
+  /**
+   * Returns the closest multiple of chunkSide that is smaller than or equal to the provided coordinate.
+   *
+   * <p>For instance, if chunkSide == 5, then -2 becomes -5 and 1 becomes 0.
+   */
+  private int getChunkStart(int coordinate) {
+    return coordinate < 0 ? chunkSide * (((coordinate + 1) / chunkSide) - 1) : chunkSide * (coordinate / chunkSide);
   }
 
-  private Location createRiversideLocation(@NotNull final Point point) {
-    LocationPresetStore locationPresetStore = LocationPresetStore.getDefaultLocationPresetStore();
-    return new Location(Random.select(locationPresetStore.getLocationPresetsByType(Type.RIVERSIDE)), world, point);
+  /**
+   * Evaluates whether or not this generator has already made a Location at the specified point.
+   */
+  synchronized boolean hasGeneratedLocationAt(@NotNull Point point) {
+    return generatedPoints.contains(point);
   }
 
+  /**
+   * Registers a newly generated Location, which is queued until the World takes it once its chunk is finished.
+   */
+  synchronized void addLocation(@NotNull Location location) {
+    if (!generatedPoints.add(location.getPoint())) {
+      throw new IllegalStateException("tried to repeatedly generate a location at " + location.getPoint() + ".");
+    }
+    generatedPointList.add(location.getPoint());
+    addedGeneratedPoints.add(location.getPoint());
+    pendingLocations.add(location);
+  }
+
+  /**
+   * Removes and returns all the Locations that were generated since this method was last called.
+   *
+   * <p>This method does not block, even if a chunk is being generated in the background.
+   */
+  @NotNull
+  List<Location> takeGeneratedLocations() {
+    List<Location> locations = new ArrayList<>();
+    Location location = generatedLocations.poll();
+    while (location != null) {
+      locations.add(location);
+      location = generatedLocations.poll();
+    }
+    return locations;
+  }
+
+  /**
+   * Generates the chunk that contains the specified point, if it has not been generated yet.
+   */
   public void expand(Point point) {
-    riverGenerator.expand(point, chunkSide);
-    Point currentPoint;
-    LocationPreset currentLocationPreset = null;
-    int remainingLocationsOfCurrentPreset = 0;
-    int pX = point.getX();
-    int pY = point.getY();
-    // Get the closest smaller chunkSide multiple of x and y.
-    // For instance, if chunkSide == 5, x == -2 and y == 1, then it makes xStart == -5 and yStart == 0.
-    int xStart = pX < 0 ? chunkSide * (((pX + 1) / chunkSide) - 1) : chunkSide * (pX / chunkSide);
-    int yStart = pY < 0 ? chunkSide * (((pY + 1) / chunkSide) - 1) : chunkSide * (pY / chunkSide);
-    for (int x = xStart; x < xStart + chunkSide; x++) {
-      for (int y = yStart; y < yStart + chunkSide; y++) {
-        currentPoint = new Point(x, y, 0);
-        if (!world.alreadyHasLocationAt(currentPoint)) {
-          if (riverGenerator.isRiver(currentPoint)) {
-            world.addLocation(createRandomRiverLocation(currentPoint), currentPoint);
-          } else if (riverGenerator.isBridge(currentPoint)) {
-            world.addLocation(createRandomBridgeLocation(currentPoint), currentPoint);
-          } else if (riverGenerator.isRiverside(currentPoint)) {
-            world.addLocation(createRiversideLocation(currentPoint), currentPoint);
-          } else if (dungeonDistributor.rollForDungeon(currentPoint)) {
-            dungeonCreator.createDungeon(world, currentPoint);
-          } else {
-            if (currentLocationPreset == null || remainingLocationsOfCurrentPreset == 0) {
-              currentLocationPreset = getRandomLandLocationPreset();
-              remainingLocationsOfCurrentPreset = currentLocationPreset.getBlobSize();
-            }
-            world.addLocation(new Location(currentLocationPreset, world, currentPoint), currentPoint);
-            remainingLocationsOfCurrentPreset--;
+    expand(point.getX(), point.getY());
+  }
+
+  /**
+   * Generates the chunk that contains the specified coordinates, if it has not been generated yet.
+   */
+  synchronized void expand(int x, int y) {
+    int xStart = getChunkStart(x);
+    int yStart = getChunkStart(y);
+    Point chunk = new Point(xStart, yStart, 0);
+    if (expandedChunks.add(chunk)) {
+      expandedChunkList.add(chunk);
+      addedExpandedChunks.add(chunk);
+      chunkGenerator.generateChunk(this, xStart, yStart, chunkSide);
+      generatedLocations.addAll(pendingLocations);
+      pendingLocations.clear();
+    }
+  }
+
+  /**
+   * Enables or disables the generation of chunks in advance.
+   */
+  void setPrefetching(boolean prefetching) {
+    this.prefetching = prefetching;
+  }
+
+  /**
+   * If prefetching is enabled, schedules the generation of the chunks around the specified point in the background.
+   *
+   * <p>Consecutive calls for points in the same chunk schedule nothing.
+   */
+  void prefetchAround(@NotNull Point point) {
+    if (!prefetching) {
+      return;
+    }
+    final Point center = new Point(getChunkStart(point.getX()), getChunkStart(point.getY()), 0);
+    if (center.equals(lastPrefetchCenter)) {
+      return;
+    }
+    lastPrefetchCenter = center;
+    PREFETCH_EXECUTOR.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          prefetchChunksAround(center);
+        } catch (RuntimeException exception) {
+          DungeonLogger.logSevere(exception);
+        }
+      }
+    });
+  }
+
+  /**
+   * Generates the chunks around the chunk that starts at the provided point, from the nearest to the farthest.
+   *
+   * <p>The lock is acquired for one chunk at a time so that synchronous requests do not wait for the whole ring.
+   */
+  private void prefetchChunksAround(Point center) {
+    for (int distance = 0; distance <= PREFETCH_RADIUS && prefetching; distance++) {
+      for (int i = -distance; i <= distance; i++) {
+        for (int j = -distance; j <= distance; j++) {
+          if (Math.max(Math.abs(i), Math.abs(j)) == distance) {
+            expand(center.getX() + i * chunkSide, center.getY() + j * chunkSide);
           }
         }
       }
     }
   }
 
+  /**
+   * The generation state captured from a WorldGenerator, which is encoded when a snapshot is written rather than when
+   * it is captured. Points are never modified, so they are shared instead of copied.
+   */
+  static final class CapturedGenerationState {
+
+    private final List<Point> expandedChunks;
+    private final List<Point> generatedPoints;
+    private final byte[] chunkGeneratorState;
+
+    private CapturedGenerationState(List<Point> expandedChunks, List<Point> generatedPoints,
+        byte[] chunkGeneratorState) {
+      this.expandedChunks = expandedChunks;
+      this.generatedPoints = generatedPoints;
+      this.chunkGeneratorState = chunkGeneratorState;
+    }
+
+    /**
+     * Encodes the captured points and the state of the ChunkGenerator, which readGenerationState reads.
+     */
+    @NotNull
+    byte[] encode() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream output = new DataOutputStream(bytes);
+      writePoints(output, expandedChunks);
+      writePoints(output, generatedPoints);
+      output.write(chunkGeneratorState);
+      output.flush();
+      return bytes.toByteArray();
+    }
+
+  }
+
 }
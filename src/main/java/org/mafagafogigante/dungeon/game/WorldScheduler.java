@@ -0,0 +1,133 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The discrete-event scheduler of a World. Keeps the resident Locations that change by themselves, because a spawner is
+ * due, an item decomposes or a condition of a creature expires, in a priority queue ordered by the world time of their
+ * next change.
+ *
+ * <p>Running the scheduler pops only the Locations that are due, so Locations away from the Hero keep spawning
+ * creatures and losing decomposed items without the World being scanned every turn. Each Location has at most one live
+ * event. An event that is replaced or whose Location is paged out is cancelled and discarded when it reaches the head
+ * of the queue.
+ */
+final class WorldScheduler {
+
+  private static final Comparator<Event> EVENT_COMPARATOR = new Comparator<Event>() {
+    @Override
+    public int compare(Event first, Event second) {
+      return Long.compare(first.time, second.time);
+    }
+  };
+
+  private final PriorityQueue<Event> queue = new PriorityQueue<>(11, EVENT_COMPARATOR);
+  private final Map<Location, Event> events = new IdentityHashMap<>();
+
+  /**
+   * Schedules the next change of a Location, replacing the event it had.
+   */
+  void schedule(@NotNull Location location) {
+    unschedule(location);
+    push(location, location.getNextChangeTime());
+  }
+
+  /**
+   * Schedules the next change of every Location of a chunk.
+   */
+  void scheduleAll(@NotNull Location[] chunk) {
+    for (Location location : chunk) {
+      if (location != null) {
+        schedule(location);
+      }
+    }
+  }
+
+  /**
+   * Ensures that a Location is refreshed no later than the specified time. Cheaper than schedule because the next
+   * change of the Location is not computed again.
+   */
+  void scheduleBy(@NotNull Location location, long time) {
+    Event event = events.get(location);
+    if (event == null || time < event.time) {
+      unschedule(location);
+      push(location, time);
+    }
+  }
+
+  /**
+   * Cancels the event of a Location, if it has one.
+   */
+  void unschedule(@NotNull Location location) {
+    Event event = events.remove(location);
+    if (event != null) {
+      // The queue keeps the event until it reaches the head, but it should not keep the Location.
+      event.location = null;
+    }
+  }
+
+  /**
+   * Cancels the events of every Location of a chunk.
+   */
+  void unscheduleAll(@NotNull Location[] chunk) {
+    for (Location location : chunk) {
+      if (location != null) {
+        unschedule(location);
+      }
+    }
+  }
+
+  private void push(Location location, long time) {
+    if (time != Long.MAX_VALUE) {
+      Event event = new Event(location, time);
+      events.put(location, event);
+      queue.add(event);
+    }
+  }
+
+  /**
+   * Refreshes every Location whose next change is not after the specified time and schedules their following changes.
+   *
+   * @param time the current world time, in milliseconds
+   * @return how many Locations were refreshed
+   */
+  int runDueEvents(long time) {
+    int refreshed = 0;
+    while (!queue.isEmpty() && queue.peek().time <= time) {
+      Location location = queue.poll().location;
+      if (location != null) {
+        events.remove(location);
+        location.refresh();
+        // A refreshed Location never changes again at the same time, this just ensures that the loop ends.
+        push(location, Math.max(location.getNextChangeTime(), time + 1));
+        refreshed++;
+      }
+    }
+    return refreshed;
+  }
+
+  /**
+   * Returns how many Locations have a scheduled change.
+   */
+  int getScheduledCount() {
+    return events.size();
+  }
+
+  private static final class Event {
+
+    private final long time;
+    private Location location;
+
+    Event(Location location, long time) {
+      this.location = location;
+      this.time = time;
+    }
+
+  }
+
+}
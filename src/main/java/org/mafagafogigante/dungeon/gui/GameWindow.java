@@ -81,6 +81,14 @@ public class GameWindow extends JFrame {
     return COLUMNS;
   }
 
+  /**
+   * Returns the font of the window, which is loaded when this class is initialized. May be called before any window is
+   * made, from any thread, to load the font in advance.
+   */
+  public static Font getWindowFont() {
+    return FONT;
+  }
+
   /**
    * Returns the monospaced font used by the game interface.
    */
@@ -167,8 +175,22 @@ public class GameWindow extends JFrame {
       @Override
       public void actionPerformed(ActionEvent event) {
         if (acceptingNextCommand) {
-          clearTextPane();
-          Loader.saveGame(Game.getGameState());
+          // Saving is captured like a turn, off the Event Dispatch Thread and while no command runs.
+          acceptingNextCommand = false;
+          SwingWorker<Void, Void> saver = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+              try {
+                clearTextPane();
+                Loader.saveGame(Game.getGameState());
+              } catch (Throwable throwable) {
+                logExecutionExceptionAndExit(throwable);
+              }
+              acceptingNextCommand = true;
+              return null;
+            }
+          };
+          saver.execute();
         }
       }
     });
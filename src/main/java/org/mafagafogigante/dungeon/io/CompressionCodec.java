@@ -0,0 +1,200 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The codecs that saved games may be compressed with, each identified in the save by a byte.
+ *
+ * <p>Every codec streams, so that compressing or decompressing a save never holds all of it in memory. The streams
+ * returned by the codecs do not close the streams they wrap, so that a file can have an uncompressed header followed
+ * by a compressed body and that the body can be finished before the file is synced.
+ */
+public enum CompressionCodec {
+
+  NONE(0) {
+    @Override
+    OutputStream wrap(OutputStream out) {
+      return out;
+    }
+
+    @Override
+    InputStream unwrap(InputStream in) {
+      return in;
+    }
+  },
+
+  DEFLATE(1) {
+    @Override
+    OutputStream wrap(OutputStream out) {
+      return new DeflateOutputStream(out);
+    }
+
+    @Override
+    InputStream unwrap(InputStream in) {
+      return new InflateInputStream(in);
+    }
+  },
+
+  LZ(2) {
+    @Override
+    OutputStream wrap(OutputStream out) {
+      return new LzOutputStream(out);
+    }
+
+    @Override
+    InputStream unwrap(InputStream in) {
+      return new LzInputStream(in);
+    }
+  };
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final byte identifier;
+
+  CompressionCodec(int identifier) {
+    this.identifier = (byte) identifier;
+  }
+
+  /**
+   * Returns the codec with the specified identifier or null if there is no such codec.
+   */
+  @Nullable
+  public static CompressionCodec fromIdentifier(int identifier) {
+    for (CompressionCodec codec : values()) {
+      if (codec.identifier == identifier) {
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the codec with the specified name, ignoring case, or null if there is no such codec.
+   */
+  @Nullable
+  public static CompressionCodec fromName(@NotNull String name) {
+    for (CompressionCodec codec : values()) {
+      if (codec.name().equalsIgnoreCase(name)) {
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  public byte getIdentifier() {
+    return identifier;
+  }
+
+  abstract OutputStream wrap(OutputStream out);
+
+  abstract InputStream unwrap(InputStream in);
+
+  /**
+   * Returns a buffered stream that compresses what is written to it into the provided stream.
+   *
+   * <p>Closing the returned stream writes the end of the compressed data without closing the provided stream.
+   */
+  @NotNull
+  public OutputStream newCompressingStream(@NotNull OutputStream out) {
+    return new BufferedOutputStream(wrap(new UnclosableOutputStream(out)), BUFFER_SIZE);
+  }
+
+  /**
+   * Returns a stream that decompresses what this codec compressed into the provided stream.
+   *
+   * <p>Closing the returned stream releases the resources of the codec without closing the provided stream.
+   */
+  @NotNull
+  public InputStream newDecompressingStream(@NotNull InputStream in) {
+    return unwrap(new UnclosableInputStream(in));
+  }
+
+  @Override
+  public String toString() {
+    return name().toLowerCase(Locale.ENGLISH);
+  }
+
+  private static final class UnclosableOutputStream extends FilterOutputStream {
+
+    UnclosableOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(@NotNull byte[] bytes, int offset, int length) throws IOException {
+      out.write(bytes, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+
+  }
+
+  private static final class UnclosableInputStream extends FilterInputStream {
+
+    UnclosableInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public void close() {
+    }
+
+  }
+
+  /**
+   * A DeflaterOutputStream that ends its Deflater when closed.
+   */
+  private static final class DeflateOutputStream extends DeflaterOutputStream {
+
+    DeflateOutputStream(OutputStream out) {
+      super(out, new Deflater(Deflater.DEFAULT_COMPRESSION), BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        def.end();
+      }
+    }
+
+  }
+
+  /**
+   * An InflaterInputStream that ends its Inflater when closed.
+   */
+  private static final class InflateInputStream extends InflaterInputStream {
+
+    InflateInputStream(InputStream in) {
+      super(in, new Inflater(), BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        inf.end();
+      }
+    }
+
+  }
+
+}
@@ -32,4 +32,14 @@ public class Converter {
     return String.format("%.1f %siB", significand, prefix);
   }
 
+  /**
+   * Converts a number of bytes processed in a number of nanoseconds to a human readable throughput.
+   *
+   * @return a String
+   */
+  public static String throughputToHuman(long bytes, long nanoseconds) {
+    long bytesPerSecond = (long) (bytes / (Math.max(nanoseconds, 1) / 1e9));
+    return bytesToHuman(bytesPerSecond) + "/s";
+  }
+
 }
@@ -6,7 +6,7 @@ public enum DungeonResource {
   ENCHANTMENTS("enchantments.json"), HINTS("hints.json"), ITEMS("items.json"), LOCATIONS("locations.json"),
   POEMS("poems.json"), PREFACE("preface.json"), TUTORIAL("tutorial.json"), WIKI("wiki.json");
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   private final String filename;
 
@@ -0,0 +1,427 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonObject.Member;
+import com.eclipsesource.json.JsonValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * The JSON resources of the game compiled into a single binary bundle that is decoded much faster than the JSON is
+ * parsed. The bundle is written by {@link JsonBundleCompiler} when the game is packaged.
+ *
+ * <p>The bundle starts with a magic number and the version of its format, followed by a table of every string that
+ * appears in the resources, by the number of resources and by the resources themselves. Each resource has its name,
+ * the size in bytes and the CRC32 of the JSON it was compiled from, the length of its encoding and its encoding. A JSON
+ * value is encoded as a tag byte that may be followed by a signed integer, a double, the index of a string or the
+ * elements of an array or of an object. The size and the checksum let the game notice that a JSON file was modified
+ * after the bundle was compiled, even if the modification did not change the size of the file.
+ */
+final class JsonBundle {
+
+  static final String BUNDLE_NAME = "resources.bundle";
+
+  // The ASCII codes of "DGNB".
+  private static final int MAGIC = 0x44474E42;
+  private static final int FORMAT_VERSION = 3;
+  private static final Charset STRING_CHARSET = Charset.forName("UTF-8");
+  private static final Pattern INTEGER_PATTERN = Pattern.compile("-?[0-9]{1,18}");
+
+  private static final int NULL_TAG = 0;
+  private static final int FALSE_TAG = 1;
+  private static final int TRUE_TAG = 2;
+  private static final int INTEGER_TAG = 3;
+  private static final int DOUBLE_TAG = 4;
+  private static final int STRING_TAG = 5;
+  private static final int ARRAY_TAG = 6;
+  private static final int OBJECT_TAG = 7;
+
+  private final ByteBuffer buffer;
+  private final String[] strings;
+  private final Map<String, Resource> resources = new HashMap<>();
+
+  private JsonBundle(ByteBuffer buffer, String[] strings) {
+    this.buffer = buffer;
+    this.strings = strings;
+  }
+
+  /**
+   * Parses the specified JSON resources and writes them as a bundle.
+   *
+   * @param sources the bytes of every JSON resource by the name of the resource
+   * @param out the stream the bundle is written to, which is not closed
+   */
+  static void write(@NotNull Map<String, byte[]> sources, @NotNull OutputStream out) throws IOException {
+    Map<String, Integer> stringIndices = new LinkedHashMap<>();
+    ByteArrayOutputStream encodings = new ByteArrayOutputStream();
+    DataOutputStream encodingOutput = new DataOutputStream(encodings);
+    for (Map.Entry<String, byte[]> source : sources.entrySet()) {
+      JsonValue value = parse(source.getValue());
+      ByteArrayOutputStream encoding = new ByteArrayOutputStream();
+      writeValue(new DataOutputStream(encoding), value, stringIndices);
+      writeString(encodingOutput, source.getKey());
+      VariableLengthCoding.writeUnsigned(encodingOutput, source.getValue().length);
+      encodingOutput.writeInt((int) checksum(source.getValue()));
+      VariableLengthCoding.writeUnsigned(encodingOutput, encoding.size());
+      encoding.writeTo(encodingOutput);
+    }
+    DataOutputStream output = new DataOutputStream(out);
+    output.writeInt(MAGIC);
+    output.writeInt(FORMAT_VERSION);
+    VariableLengthCoding.writeUnsigned(output, stringIndices.size());
+    for (String string : stringIndices.keySet()) {
+      writeString(output, string);
+    }
+    VariableLengthCoding.writeUnsigned(output, sources.size());
+    encodingOutput.flush();
+    encodings.writeTo(output);
+    output.flush();
+  }
+
+  /**
+   * Returns the CRC32 of the specified bytes.
+   */
+  static long checksum(@NotNull byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  /**
+   * Parses JSON from its bytes in the default charset of the game.
+   */
+  static JsonValue parse(@NotNull byte[] bytes) throws IOException {
+    try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), DungeonCharset.DEFAULT_CHARSET)) {
+      return Json.parse(reader);
+    }
+  }
+
+  private static void writeString(DataOutputStream output, String string) throws IOException {
+    byte[] bytes = string.getBytes(STRING_CHARSET);
+    VariableLengthCoding.writeUnsigned(output, bytes.length);
+    output.write(bytes);
+  }
+
+  private static void writeValue(DataOutputStream output, JsonValue value, Map<String, Integer> stringIndices)
+      throws IOException {
+    if (value.isNull()) {
+      output.writeByte(NULL_TAG);
+    } else if (value.isBoolean()) {
+      output.writeByte(value.asBoolean() ? TRUE_TAG : FALSE_TAG);
+    } else if (value.isNumber()) {
+      // Numbers are written as integers if their JSON is an integer so that asInt and asLong keep working on them.
+      String text = value.toString();
+      if (INTEGER_PATTERN.matcher(text).matches()) {
+        output.writeByte(INTEGER_TAG);
+        VariableLengthCoding.writeSigned(output, Long.parseLong(text));
+      } else {
+        output.writeByte(DOUBLE_TAG);
+        output.writeDouble(value.asDouble());
+      }
+    } else if (value.isString()) {
+      output.writeByte(STRING_TAG);
+      VariableLengthCoding.writeUnsigned(output, indexOf(value.asString(), stringIndices));
+    } else if (value.isArray()) {
+      JsonArray array = value.asArray();
+      output.writeByte(ARRAY_TAG);
+      VariableLengthCoding.writeUnsigned(output, array.size());
+      for (JsonValue element : array) {
+        writeValue(output, element, stringIndices);
+      }
+    } else {
+      JsonObject object = value.asObject();
+      output.writeByte(OBJECT_TAG);
+      VariableLengthCoding.writeUnsigned(output, object.size());
+      for (Member member : object) {
+        VariableLengthCoding.writeUnsigned(output, indexOf(member.getName(), stringIndices));
+        writeValue(output, member.getValue(), stringIndices);
+      }
+    }
+  }
+
+  private static int indexOf(String string, Map<String, Integer> stringIndices) {
+    Integer index = stringIndices.get(string);
+    if (index == null) {
+      index = stringIndices.size();
+      stringIndices.put(string, index);
+    }
+    return index;
+  }
+
+  /**
+   * Reads a bundle from a buffer, which must not be modified afterwards. Only the strings and the table of resources
+   * are decoded, the resources are decoded when they are requested.
+   */
+  @NotNull
+  static JsonBundle read(@NotNull ByteBuffer buffer) throws IOException {
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("the resource bundle is corrupted.");
+      }
+      int formatVersion = buffer.getInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("the resource bundle format version " + formatVersion + " is not supported.");
+      }
+      String[] strings = new String[VariableLengthCoding.readUnsignedInt(buffer)];
+      for (int i = 0; i < strings.length; i++) {
+        strings[i] = readString(buffer);
+      }
+      JsonBundle bundle = new JsonBundle(buffer, strings);
+      int count = VariableLengthCoding.readUnsignedInt(buffer);
+      for (int i = 0; i < count; i++) {
+        String name = readString(buffer);
+        long sourceSize = VariableLengthCoding.readUnsigned(buffer);
+        long sourceChecksum = buffer.getInt() & 0xFFFFFFFFL;
+        int length = VariableLengthCoding.readUnsignedInt(buffer);
+        if (length > buffer.remaining()) {
+          throw new IOException("the resource bundle is truncated.");
+        }
+        bundle.resources.put(name, new Resource(sourceSize, sourceChecksum, buffer.position()));
+        buffer.position(buffer.position() + length);
+      }
+      return bundle;
+    } catch (BufferUnderflowException underflow) {
+      throw new IOException("the resource bundle is truncated.");
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) throws IOException {
+    int length = VariableLengthCoding.readUnsignedInt(buffer);
+    if (length > buffer.remaining()) {
+      throw new IOException("the resource bundle is truncated.");
+    }
+    String string;
+    if (buffer.hasArray()) {
+      string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, STRING_CHARSET);
+      buffer.position(buffer.position() + length);
+    } else {
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      string = new String(bytes, STRING_CHARSET);
+    }
+    return string;
+  }
+
+  /**
+   * Returns whether the bundle has the resource with the specified name compiled from JSON of the specified size. As
+   * the size can be looked up without reading the JSON, this is checked before the checksum.
+   */
+  boolean matchesSize(@NotNull String name, long sourceSize) {
+    Resource resource = resources.get(name);
+    return resource != null && resource.sourceSize == sourceSize;
+  }
+
+  /**
+   * Returns whether the bundle has the resource with the specified name compiled from JSON of the specified size and
+   * CRC32.
+   */
+  boolean contains(@NotNull String name, long sourceSize, long sourceChecksum) {
+    Resource resource = resources.get(name);
+    return resource != null && resource.sourceSize == sourceSize && resource.sourceChecksum == sourceChecksum;
+  }
+
+  /**
+   * Returns the names of the resources in this bundle.
+   */
+  @NotNull
+  List<String> getNames() {
+    return new ArrayList<>(resources.keySet());
+  }
+
+  /**
+   * Decodes the resource with the specified name into a new JsonValue.
+   *
+   * @throws IllegalArgumentException if there is no such resource
+   */
+  @NotNull
+  JsonValue decode(@NotNull String name) throws IOException {
+    Resource resource = resources.get(name);
+    if (resource == null) {
+      throw new IllegalArgumentException(name + " is not in the resource bundle.");
+    }
+    ByteBuffer view = buffer.duplicate();
+    view.position(resource.offset);
+    try {
+      return readValue(view);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException corrupted) {
+      throw new IOException("the resource bundle is corrupted.");
+    }
+  }
+
+  /**
+   * Returns a cursor over the elements of an array of the resource with the specified name, which decodes them one at a
+   * time, so that the elements of a big array are never all in memory at once.
+   *
+   * @param name the name of the resource
+   * @param arrayName the name of the array, which must be a member of the top level object of the resource
+   * @throws IllegalArgumentException if there is no such resource or array
+   */
+  @NotNull
+  ArrayCursor openArray(@NotNull String name, @NotNull String arrayName) throws IOException {
+    Resource resource = resources.get(name);
+    if (resource == null) {
+      throw new IllegalArgumentException(name + " is not in the resource bundle.");
+    }
+    ByteBuffer view = buffer.duplicate();
+    view.position(resource.offset);
+    try {
+      if (view.get() != OBJECT_TAG) {
+        throw new IllegalArgumentException(name + " is not an object.");
+      }
+      int members = VariableLengthCoding.readUnsignedInt(view);
+      for (int i = 0; i < members; i++) {
+        String memberName = strings[VariableLengthCoding.readUnsignedInt(view)];
+        if (memberName.equals(arrayName)) {
+          if (view.get() != ARRAY_TAG) {
+            throw new IllegalArgumentException(arrayName + " of " + name + " is not an array.");
+          }
+          return new ArrayCursor(view, VariableLengthCoding.readUnsignedInt(view));
+        }
+        skipValue(view);
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException corrupted) {
+      throw new IOException("the resource bundle is corrupted.");
+    }
+    throw new IllegalArgumentException(name + " does not have " + arrayName + ".");
+  }
+
+  private static void skipValue(ByteBuffer view) throws IOException {
+    int tag = view.get();
+    switch (tag) {
+      case NULL_TAG:
+      case FALSE_TAG:
+      case TRUE_TAG:
+        break;
+      case INTEGER_TAG:
+        VariableLengthCoding.readSigned(view);
+        break;
+      case DOUBLE_TAG:
+        view.getDouble();
+        break;
+      case STRING_TAG:
+        VariableLengthCoding.readUnsignedInt(view);
+        break;
+      case ARRAY_TAG:
+        int elements = VariableLengthCoding.readUnsignedInt(view);
+        for (int i = 0; i < elements; i++) {
+          skipValue(view);
+        }
+        break;
+      case OBJECT_TAG:
+        int members = VariableLengthCoding.readUnsignedInt(view);
+        for (int i = 0; i < members; i++) {
+          VariableLengthCoding.readUnsignedInt(view);
+          skipValue(view);
+        }
+        break;
+      default:
+        throw new IOException("the resource bundle has an invalid tag.");
+    }
+  }
+
+  private JsonValue readValue(ByteBuffer view) throws IOException {
+    int tag = view.get();
+    switch (tag) {
+      case NULL_TAG:
+        return Json.NULL;
+      case FALSE_TAG:
+        return Json.FALSE;
+      case TRUE_TAG:
+        return Json.TRUE;
+      case INTEGER_TAG:
+        return Json.value(VariableLengthCoding.readSigned(view));
+      case DOUBLE_TAG:
+        return Json.value(view.getDouble());
+      case STRING_TAG:
+        return Json.value(strings[VariableLengthCoding.readUnsignedInt(view)]);
+      case ARRAY_TAG:
+        JsonArray array = new JsonArray();
+        int elements = VariableLengthCoding.readUnsignedInt(view);
+        for (int i = 0; i < elements; i++) {
+          array.add(readValue(view));
+        }
+        return array;
+      case OBJECT_TAG:
+        JsonObject object = new JsonObject();
+        int members = VariableLengthCoding.readUnsignedInt(view);
+        for (int i = 0; i < members; i++) {
+          String name = strings[VariableLengthCoding.readUnsignedInt(view)];
+          object.add(name, readValue(view));
+        }
+        return object;
+      default:
+        throw new IOException("the resource bundle has an invalid tag.");
+    }
+  }
+
+  /**
+   * The elements of an array of a resource that were not decoded yet.
+   */
+  final class ArrayCursor {
+
+    private final ByteBuffer view;
+    private int remaining;
+
+    private ArrayCursor(ByteBuffer view, int remaining) {
+      this.view = view;
+      this.remaining = remaining;
+    }
+
+    boolean hasNext() {
+      return remaining > 0;
+    }
+
+    /**
+     * Decodes the next element of the array.
+     *
+     * @throws IllegalStateException if there are no more elements
+     */
+    @NotNull
+    JsonValue next() throws IOException {
+      if (remaining == 0) {
+        throw new IllegalStateException("there are no more elements.");
+      }
+      remaining--;
+      try {
+        return readValue(view);
+      } catch (BufferUnderflowException | IndexOutOfBoundsException corrupted) {
+        throw new IOException("the resource bundle is corrupted.");
+      }
+    }
+
+  }
+
+  private static final class Resource {
+
+    private final long sourceSize;
+    private final long sourceChecksum;
+    private final int offset;
+
+    Resource(long sourceSize, long sourceChecksum, int offset) {
+      this.sourceSize = sourceSize;
+      this.sourceChecksum = sourceChecksum;
+      this.offset = offset;
+    }
+
+  }
+
+}
@@ -0,0 +1,89 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.schema.JsonRule;
+import org.mafagafogigante.dungeon.schema.SchemaViolation;
+import org.mafagafogigante.dungeon.schema.rules.CompiledJsonSchema;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the JSON resources of the game into a {@link JsonBundle}. Run by the bundle profile of the build when the
+ * game is packaged.
+ *
+ * <p>Takes the directory that holds the resources, which is also where the bundle is written. Every resource is
+ * validated against its schema in {@link ResourceSchemas} first, and nothing is written if any of them is invalid.
+ */
+public final class JsonBundleCompiler {
+
+  private JsonBundleCompiler() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Compiles the resources in the directory passed as the only argument.
+   *
+   * @throws IllegalStateException if any resource does not follow its schema
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("pass the directory that holds the resources.");
+    }
+    File directory = new File(args[0]);
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    long sourceLength = 0;
+    for (DungeonResource resource : DungeonResource.values()) {
+      byte[] bytes = Files.readAllBytes(new File(directory, resource.getFilename()).toPath());
+      sources.put(resource.getFilename(), bytes);
+      sourceLength += bytes.length;
+    }
+    validate(sources);
+    File bundle = new File(directory, JsonBundle.BUNDLE_NAME);
+    try (OutputStream output = new BufferedOutputStream(new FileOutputStream(bundle))) {
+      JsonBundle.write(sources, output);
+    }
+    String format = "Compiled %d resources of %d bytes into %s of %d bytes.";
+    DungeonLogger.info(String.format(format, sources.size(), sourceLength, bundle.getName(), bundle.length()));
+  }
+
+  /**
+   * Validates every resource that has a schema, throwing an IllegalStateException that lists every violation if any.
+   */
+  static void validate(Map<String, byte[]> sources) throws IOException {
+    byte[] items = sources.get(DungeonResource.ITEMS.getFilename());
+    List<Id> itemIds = ResourceSchemas.extractIds(JsonBundle.parse(items).asObject());
+    StringBuilder builder = new StringBuilder();
+    int violationCount = 0;
+    for (DungeonResource resource : DungeonResource.values()) {
+      JsonRule rule = ResourceSchemas.makeRule(resource, itemIds);
+      if (rule == null) {
+        continue;
+      }
+      byte[] bytes = sources.get(resource.getFilename());
+      try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), DungeonCharset.DEFAULT_CHARSET)) {
+        for (SchemaViolation violation : CompiledJsonSchema.compile(rule).validate(reader)) {
+          builder.append('\n').append(resource.getFilename()).append(' ').append(violation);
+          violationCount++;
+        }
+      }
+    }
+    if (violationCount != 0) {
+      String message = "the resources have " + violationCount + " violations, so they were not compiled:" + builder;
+      DungeonLogger.warning(message);
+      throw new IllegalStateException(message);
+    }
+  }
+
+}
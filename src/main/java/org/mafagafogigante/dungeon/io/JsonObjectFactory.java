@@ -1,16 +1,42 @@
 package org.mafagafogigante.dungeon.io;
 
-import com.eclipsesource.json.Json;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+
 import com.eclipsesource.json.JsonObject;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.Reader;
+import java.nio.ByteBuffer;
 
+/**
+ * Makes JsonObjects from the JSON resources of the game.
+ *
+ * <p>If the game was packaged with a {@link JsonBundle}, resources are decoded from it instead of parsed. A JSON file
+ * whose size or CRC32 no longer matches the file it was compiled from, such as a file changed by a modder, is parsed
+ * instead. The size is looked up first, and the checksum is only computed if it matches.
+ */
 public class JsonObjectFactory {
 
   private static final String JSON_EXTENSION = ".json";
 
+  @Nullable
+  private static JsonBundle loadBundle() {
+    try {
+      ByteBuffer buffer = ResourceStreamFactory.readBuffer(JsonBundle.BUNDLE_NAME);
+      if (buffer == null) {
+        DungeonLogger.fine("There is no resource bundle, so the JSON resources will be parsed.");
+        return null;
+      }
+      return JsonBundle.read(buffer);
+    } catch (IOException exception) {
+      DungeonLogger.warning("Could not read the resource bundle, so the JSON resources will be parsed.");
+      DungeonLogger.logSevere(exception);
+      return null;
+    }
+  }
+
   /**
    * Makes a new JsonObject from the resource file pointed to by the specified filename.
    *
@@ -22,14 +48,86 @@ public class JsonObjectFactory {
     if (!filename.endsWith(JSON_EXTENSION)) {
       throw new IllegalFilenameExtensionException("filename must end with " + JSON_EXTENSION + ".");
     }
-    // Using a BufferedReader here does not improve performance as the library is already buffered.
-    try (Reader reader = ResourceStreamFactory.getInputStreamReader(filename)) {
-      return Json.parse(reader).asObject();
+    try {
+      JsonBundle bundle = getMatchingBundle(filename);
+      if (bundle != null) {
+        try {
+          return bundle.decode(filename).asObject();
+        } catch (IOException exception) {
+          DungeonLogger.warning("Could not decode " + filename + " from the resource bundle, so it was parsed.");
+        }
+      }
+      byte[] bytes = ResourceStreamFactory.readBytes(filename);
+      if (bytes == null) {
+        throw new FileNotFoundException(filename + " is not a resource.");
+      }
+      return JsonBundle.parse(bytes).asObject();
     } catch (IOException fatal) {
       throw new RuntimeException(fatal);
     }
   }
 
+  /**
+   * Returns the resource bundle if it has the resource with the specified name as it is now, otherwise returns null.
+   */
+  @Nullable
+  private static JsonBundle getMatchingBundle(String filename) throws IOException {
+    JsonBundle bundle = BundleHolder.BUNDLE;
+    if (bundle == null) {
+      return null;
+    }
+    long size = ResourceStreamFactory.getSize(filename);
+    if (!bundle.matchesSize(filename, size) ||
+        !bundle.contains(filename, size, ResourceStreamFactory.getChecksum(filename))) {
+      DungeonLogger.info(filename + " does not match the resource bundle, so it was parsed.");
+      return null;
+    }
+    return bundle;
+  }
+
+  /**
+   * Makes a new JsonObjectStream that reads the objects of an array of the resource file pointed to by the specified
+   * filename. The objects are decoded from the resource bundle one at a time if the resource matches it, otherwise the
+   * resource is parsed as the stream is read.
+   *
+   * @param filename the name of the JSON file, must end with .json, not null
+   * @param arrayName the name of the array, which must be a member of the top level object, not null
+   * @throws IllegalFilenameExtensionException if the provided filename does not end with .json
+   */
+  public static JsonObjectStream makeJsonObjectStream(@NotNull String filename, @NotNull String arrayName) {
+    if (!filename.endsWith(JSON_EXTENSION)) {
+      throw new IllegalFilenameExtensionException("filename must end with " + JSON_EXTENSION + ".");
+    }
+    JsonReader reader;
+    try {
+      JsonBundle bundle = getMatchingBundle(filename);
+      if (bundle != null) {
+        try {
+          return new JsonObjectStream(filename, bundle.openArray(filename, arrayName));
+        } catch (IOException exception) {
+          DungeonLogger.warning("Could not decode " + filename + " from the resource bundle, so it was parsed.");
+        }
+      }
+      reader = new JsonReader(ResourceStreamFactory.getInputStreamReader(filename));
+    } catch (IOException fatal) {
+      throw new RuntimeException(fatal);
+    }
+    try {
+      return new JsonObjectStream(filename, reader, arrayName);
+    } catch (RuntimeException failure) {
+      closeQuietly(reader);
+      throw failure;
+    }
+  }
+
+  private static void closeQuietly(JsonReader reader) {
+    try {
+      reader.close();
+    } catch (IOException ignored) {
+      // The exception that made the stream fail is more relevant.
+    }
+  }
+
   public static class IllegalFilenameExtensionException extends IllegalArgumentException {
 
     IllegalFilenameExtensionException(@NotNull String string) {
@@ -38,4 +136,13 @@ public class JsonObjectFactory {
 
   }
 
+  /**
+   * Holds the bundle so that it is read when the first resource is made, by a single thread.
+   */
+  private static final class BundleHolder {
+
+    private static final JsonBundle BUNDLE = loadBundle();
+
+  }
+
 }
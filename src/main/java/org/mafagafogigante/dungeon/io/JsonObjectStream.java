@@ -0,0 +1,104 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the objects of an array of a JSON resource one at a time, so that only the object being read is kept in
+ * memory instead of the whole resource. Made by {@link JsonObjectFactory#makeJsonObjectStream(String, String)}.
+ *
+ * <p>The objects are either parsed from the JSON or, if the resource matches the {@link JsonBundle}, decoded from it.
+ *
+ * <p>As with makeJsonObject, failing to read the resource is fatal and thrown as a RuntimeException.
+ */
+public final class JsonObjectStream implements Closeable {
+
+  private final String filename;
+  // Exactly one of these is not null.
+  private final JsonReader reader;
+  private final JsonBundle.ArrayCursor cursor;
+
+  /**
+   * Makes a stream that reads the array with the specified name, which must be a member of the top level object.
+   */
+  JsonObjectStream(@NotNull String filename, @NotNull JsonReader reader, @NotNull String arrayName) {
+    this.filename = filename;
+    this.reader = reader;
+    this.cursor = null;
+    try {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (arrayName.equals(reader.nextName())) {
+          reader.beginArray();
+          return;
+        }
+        reader.skipValue();
+      }
+    } catch (IOException fatal) {
+      throw new RuntimeException(fatal);
+    }
+    throw new IllegalArgumentException(filename + " does not have " + arrayName + ".");
+  }
+
+  /**
+   * Makes a stream that decodes the elements of an array of the resource bundle.
+   */
+  JsonObjectStream(@NotNull String filename, @NotNull JsonBundle.ArrayCursor cursor) {
+    this.filename = filename;
+    this.reader = null;
+    this.cursor = cursor;
+  }
+
+  /**
+   * Returns whether the array has another object.
+   */
+  public boolean hasNext() {
+    if (cursor != null) {
+      return cursor.hasNext();
+    }
+    try {
+      return reader.hasNext();
+    } catch (IOException fatal) {
+      throw new RuntimeException(fatal);
+    }
+  }
+
+  /**
+   * Reads the next object of the array.
+   */
+  @NotNull
+  public JsonObject next() {
+    try {
+      if (cursor != null) {
+        JsonValue value = cursor.next();
+        if (!value.isObject()) {
+          throw new IllegalStateException("an element of " + filename + " is not an object.");
+        }
+        return value.asObject();
+      }
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+        throw new IllegalStateException(reader.getPath() + " of " + filename + " is not an object.");
+      }
+      return reader.nextValue().asObject();
+    } catch (IOException fatal) {
+      throw new RuntimeException(fatal);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (reader == null) {
+      return;
+    }
+    try {
+      reader.close();
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+}
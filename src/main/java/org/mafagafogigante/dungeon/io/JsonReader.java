@@ -0,0 +1,579 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * A pull reader of JSON that reads a document one token at a time, so that a document of any size is read while
+ * holding little more than the token being read.
+ *
+ * <p>Objects and arrays are read by calling the begin method of the container, reading its elements while hasNext
+ * returns true and calling its end method. Calling a method that does not correspond to the next token throws an
+ * IllegalStateException. Malformed JSON makes the reader throw an IOException with the line and the column where it
+ * was found.
+ */
+public final class JsonReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int INITIAL_DEPTH = 32;
+  private static final Pattern INTEGER_PATTERN = Pattern.compile("-?[0-9]{1,18}");
+
+  // The kinds of scope that the stack holds.
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private final Reader in;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder builder = new StringBuilder();
+  private int position;
+  private int limit;
+  // How many characters were read before the first character of the buffer.
+  private long offset;
+  private int line = 1;
+  private long lineStart;
+
+  private int[] stack = new int[INITIAL_DEPTH];
+  private String[] pathNames = new String[INITIAL_DEPTH];
+  private int[] pathIndices = new int[INITIAL_DEPTH];
+  private int stackSize;
+
+  private JsonToken peeked;
+  // The name, string, number or boolean of the peeked token as it appears in the document.
+  private String peekedText;
+
+  public JsonReader(@NotNull Reader in) {
+    this.in = in;
+    push(EMPTY_DOCUMENT);
+  }
+
+  private static boolean isDigit(int character) {
+    return character >= '0' && character <= '9';
+  }
+
+  /**
+   * Makes a JsonValue from the text of a number. Integers are kept as integers so that asInt and asLong work on them.
+   */
+  private static JsonValue makeNumber(String text) {
+    if (INTEGER_PATTERN.matcher(text).matches()) {
+      return Json.value(Long.parseLong(text));
+    } else {
+      return Json.value(Double.parseDouble(text));
+    }
+  }
+
+  private void push(int scope) {
+    if (stackSize == stack.length) {
+      stack = Arrays.copyOf(stack, stackSize * 2);
+      pathNames = Arrays.copyOf(pathNames, stackSize * 2);
+      pathIndices = Arrays.copyOf(pathIndices, stackSize * 2);
+    }
+    stack[stackSize] = scope;
+    pathNames[stackSize] = null;
+    pathIndices[stackSize] = 0;
+    stackSize++;
+  }
+
+  private int nextChar() throws IOException {
+    if (position == limit) {
+      offset += limit;
+      position = 0;
+      limit = Math.max(0, in.read(buffer, 0, BUFFER_SIZE));
+      if (limit == 0) {
+        return -1;
+      }
+    }
+    char character = buffer[position++];
+    if (character == '\n') {
+      line++;
+      lineStart = offset + position;
+    }
+    return character;
+  }
+
+  /**
+   * Unreads the last character returned by nextChar, which must not have been the end of the document.
+   */
+  private void pushBack() {
+    position--;
+    if (buffer[position] == '\n') {
+      line--;
+    }
+  }
+
+  private int nextNonWhitespace() throws IOException {
+    int character;
+    do {
+      character = nextChar();
+    } while (character == ' ' || character == '\t' || character == '\n' || character == '\r');
+    return character;
+  }
+
+  private IOException syntaxError(String message) {
+    long column = offset + position - lineStart;
+    return new IOException(message + " at line " + line + ", column " + column + ".");
+  }
+
+  /**
+   * Returns the type of the next token without consuming it.
+   */
+  @NotNull
+  public JsonToken peek() throws IOException {
+    if (peeked != null) {
+      return peeked;
+    }
+    int scope = stack[stackSize - 1];
+    if (scope == EMPTY_ARRAY || scope == NONEMPTY_ARRAY) {
+      int character = nextNonWhitespace();
+      if (character == ']') {
+        peeked = JsonToken.END_ARRAY;
+        return peeked;
+      }
+      if (scope == NONEMPTY_ARRAY) {
+        if (character != ',') {
+          throw syntaxError("expected ',' or ']'");
+        }
+      } else if (character != -1) {
+        pushBack();
+      }
+      stack[stackSize - 1] = NONEMPTY_ARRAY;
+      peeked = readValueToken();
+    } else if (scope == EMPTY_OBJECT || scope == NONEMPTY_OBJECT) {
+      int character = nextNonWhitespace();
+      if (character == '}') {
+        peeked = JsonToken.END_OBJECT;
+        return peeked;
+      }
+      if (scope == NONEMPTY_OBJECT) {
+        if (character != ',') {
+          throw syntaxError("expected ',' or '}'");
+        }
+        character = nextNonWhitespace();
+      }
+      if (character != '"') {
+        throw syntaxError("expected a name");
+      }
+      peekedText = readString();
+      stack[stackSize - 1] = DANGLING_NAME;
+      peeked = JsonToken.NAME;
+    } else if (scope == DANGLING_NAME) {
+      if (nextNonWhitespace() != ':') {
+        throw syntaxError("expected ':'");
+      }
+      stack[stackSize - 1] = NONEMPTY_OBJECT;
+      peeked = readValueToken();
+    } else if (scope == EMPTY_DOCUMENT) {
+      stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+      peeked = readValueToken();
+    } else {
+      if (nextNonWhitespace() != -1) {
+        throw syntaxError("expected the end of the document");
+      }
+      peeked = JsonToken.END_DOCUMENT;
+    }
+    return peeked;
+  }
+
+  private JsonToken readValueToken() throws IOException {
+    int character = nextNonWhitespace();
+    switch (character) {
+      case '{':
+        return JsonToken.BEGIN_OBJECT;
+      case '[':
+        return JsonToken.BEGIN_ARRAY;
+      case '"':
+        peekedText = readString();
+        return JsonToken.STRING;
+      case 't':
+        readLiteral("rue");
+        peekedText = "true";
+        return JsonToken.BOOLEAN;
+      case 'f':
+        readLiteral("alse");
+        peekedText = "false";
+        return JsonToken.BOOLEAN;
+      case 'n':
+        readLiteral("ull");
+        return JsonToken.NULL;
+      case -1:
+        throw syntaxError("unexpected end of the document");
+      default:
+        if (character == '-' || isDigit(character)) {
+          peekedText = readNumber(character);
+          return JsonToken.NUMBER;
+        }
+        throw syntaxError("unexpected character '" + (char) character + "'");
+    }
+  }
+
+  private void readLiteral(String rest) throws IOException {
+    for (int i = 0; i < rest.length(); i++) {
+      if (nextChar() != rest.charAt(i)) {
+        throw syntaxError("invalid literal");
+      }
+    }
+  }
+
+  /**
+   * Reads the characters of a string after its opening quotation mark, up to and including its closing one.
+   */
+  private String readString() throws IOException {
+    builder.setLength(0);
+    while (true) {
+      // Plain characters are copied from the buffer in runs.
+      int start = position;
+      while (position < limit) {
+        char character = buffer[position];
+        if (character == '"' || character == '\\' || character < 0x20) {
+          break;
+        }
+        position++;
+      }
+      builder.append(buffer, start, position - start);
+      int character = nextChar();
+      if (character == '"') {
+        return builder.toString();
+      } else if (character == '\\') {
+        builder.append(readEscape());
+      } else if (character == -1) {
+        throw syntaxError("unterminated string");
+      } else if (character < 0x20) {
+        throw syntaxError("control character in a string");
+      } else {
+        builder.append((char) character);
+      }
+    }
+  }
+
+  private char readEscape() throws IOException {
+    int character = nextChar();
+    switch (character) {
+      case '"':
+      case '\\':
+      case '/':
+        return (char) character;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(nextChar(), 16);
+          if (digit < 0) {
+            throw syntaxError("invalid unicode escape");
+          }
+          value = value << 4 | digit;
+        }
+        return (char) value;
+      default:
+        throw syntaxError("invalid escape sequence");
+    }
+  }
+
+  private String readNumber(int first) throws IOException {
+    builder.setLength(0);
+    int character = first;
+    if (character == '-') {
+      builder.append('-');
+      character = nextChar();
+    }
+    if (character == '0') {
+      builder.append('0');
+      character = nextChar();
+    } else if (isDigit(character)) {
+      character = appendDigits(character);
+    } else {
+      throw syntaxError("expected a digit");
+    }
+    if (character == '.') {
+      builder.append('.');
+      character = nextChar();
+      if (!isDigit(character)) {
+        throw syntaxError("expected a digit");
+      }
+      character = appendDigits(character);
+    }
+    if (character == 'e' || character == 'E') {
+      builder.append((char) character);
+      character = nextChar();
+      if (character == '+' || character == '-') {
+        builder.append((char) character);
+        character = nextChar();
+      }
+      if (!isDigit(character)) {
+        throw syntaxError("expected a digit");
+      }
+      character = appendDigits(character);
+    }
+    if (character != -1) {
+      pushBack();
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Appends a digit and the digits that follow it, returning the first character that is not a digit.
+   */
+  private int appendDigits(int first) throws IOException {
+    int character = first;
+    do {
+      builder.append((char) character);
+      character = nextChar();
+    } while (isDigit(character));
+    return character;
+  }
+
+  private void expect(JsonToken token) throws IOException {
+    if (peek() != token) {
+      throw new IllegalStateException("expected " + token + " but was " + peeked + " at " + getPath() + ".");
+    }
+  }
+
+  /**
+   * Forgets the peeked token after a whole value was read.
+   */
+  private void consumeValue() {
+    peeked = null;
+    int scope = stack[stackSize - 1];
+    if (scope == EMPTY_ARRAY || scope == NONEMPTY_ARRAY) {
+      pathIndices[stackSize - 1]++;
+    }
+  }
+
+  /**
+   * Consumes the beginning of an object.
+   */
+  public void beginObject() throws IOException {
+    expect(JsonToken.BEGIN_OBJECT);
+    peeked = null;
+    push(EMPTY_OBJECT);
+  }
+
+  /**
+   * Consumes the end of the current object.
+   */
+  public void endObject() throws IOException {
+    expect(JsonToken.END_OBJECT);
+    stackSize--;
+    consumeValue();
+  }
+
+  /**
+   * Consumes the beginning of an array.
+   */
+  public void beginArray() throws IOException {
+    expect(JsonToken.BEGIN_ARRAY);
+    peeked = null;
+    push(EMPTY_ARRAY);
+  }
+
+  /**
+   * Consumes the end of the current array.
+   */
+  public void endArray() throws IOException {
+    expect(JsonToken.END_ARRAY);
+    stackSize--;
+    consumeValue();
+  }
+
+  /**
+   * Returns whether the current object or array has another element.
+   */
+  public boolean hasNext() throws IOException {
+    JsonToken token = peek();
+    return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+  }
+
+  /**
+   * Reads the name of the next member of the current object.
+   */
+  @NotNull
+  public String nextName() throws IOException {
+    expect(JsonToken.NAME);
+    peeked = null;
+    pathNames[stackSize - 1] = peekedText;
+    return peekedText;
+  }
+
+  /**
+   * Reads a string.
+   */
+  @NotNull
+  public String nextString() throws IOException {
+    expect(JsonToken.STRING);
+    consumeValue();
+    return peekedText;
+  }
+
+  /**
+   * Reads a number as it appears in the document.
+   */
+  @NotNull
+  public String nextNumber() throws IOException {
+    expect(JsonToken.NUMBER);
+    consumeValue();
+    return peekedText;
+  }
+
+  /**
+   * Reads a number as a double.
+   */
+  public double nextDouble() throws IOException {
+    return Double.parseDouble(nextNumber());
+  }
+
+  /**
+   * Reads a number that must be an int, throwing a NumberFormatException if it is not.
+   */
+  public int nextInt() throws IOException {
+    return Integer.parseInt(nextNumber());
+  }
+
+  /**
+   * Reads a number that must be a long, throwing a NumberFormatException if it is not.
+   */
+  public long nextLong() throws IOException {
+    return Long.parseLong(nextNumber());
+  }
+
+  /**
+   * Reads a boolean.
+   */
+  public boolean nextBoolean() throws IOException {
+    expect(JsonToken.BOOLEAN);
+    consumeValue();
+    return "true".equals(peekedText);
+  }
+
+  /**
+   * Consumes a null.
+   */
+  public void nextNull() throws IOException {
+    expect(JsonToken.NULL);
+    consumeValue();
+  }
+
+  /**
+   * Reads the next value, including everything in it if it is an object or an array, and discards it.
+   */
+  public void skipValue() throws IOException {
+    int depth = 0;
+    do {
+      switch (peek()) {
+        case BEGIN_OBJECT:
+          beginObject();
+          depth++;
+          break;
+        case BEGIN_ARRAY:
+          beginArray();
+          depth++;
+          break;
+        case END_OBJECT:
+          if (depth == 0) {
+            throw new IllegalStateException("expected a value but was END_OBJECT at " + getPath() + ".");
+          }
+          endObject();
+          depth--;
+          break;
+        case END_ARRAY:
+          if (depth == 0) {
+            throw new IllegalStateException("expected a value but was END_ARRAY at " + getPath() + ".");
+          }
+          endArray();
+          depth--;
+          break;
+        case NAME:
+          nextName();
+          break;
+        case END_DOCUMENT:
+          throw new IllegalStateException("expected a value but was END_DOCUMENT.");
+        default:
+          consumeValue();
+          break;
+      }
+    } while (depth > 0);
+  }
+
+  /**
+   * Reads the next value into a JsonValue, which is only as large as the value itself.
+   */
+  @NotNull
+  public JsonValue nextValue() throws IOException {
+    switch (peek()) {
+      case BEGIN_OBJECT:
+        JsonObject object = new JsonObject();
+        beginObject();
+        while (hasNext()) {
+          String name = nextName();
+          object.add(name, nextValue());
+        }
+        endObject();
+        return object;
+      case BEGIN_ARRAY:
+        JsonArray array = new JsonArray();
+        beginArray();
+        while (hasNext()) {
+          array.add(nextValue());
+        }
+        endArray();
+        return array;
+      case STRING:
+        return Json.value(nextString());
+      case NUMBER:
+        return makeNumber(nextNumber());
+      case BOOLEAN:
+        return Json.value(nextBoolean());
+      case NULL:
+        nextNull();
+        return Json.NULL;
+      default:
+        throw new IllegalStateException("expected a value but was " + peeked + " at " + getPath() + ".");
+    }
+  }
+
+  /**
+   * Returns the path to the current position in the document, such as $.items[2].name.
+   */
+  @NotNull
+  public String getPath() {
+    StringBuilder path = new StringBuilder("$");
+    for (int i = 1; i < stackSize; i++) {
+      int scope = stack[i];
+      if (scope == EMPTY_ARRAY || scope == NONEMPTY_ARRAY) {
+        path.append('[').append(pathIndices[i]).append(']');
+      } else {
+        path.append('.');
+        if (pathNames[i] != null) {
+          path.append(pathNames[i]);
+        }
+      }
+    }
+    return path.toString();
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+}
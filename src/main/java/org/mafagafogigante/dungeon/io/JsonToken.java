@@ -0,0 +1,10 @@
+package org.mafagafogigante.dungeon.io;
+
+/**
+ * The tokens that a {@link JsonReader} reads.
+ */
+public enum JsonToken {
+
+  BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+
+}
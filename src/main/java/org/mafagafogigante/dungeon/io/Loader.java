@@ -3,6 +3,9 @@ package org.mafagafogigante.dungeon.io;
 import org.mafagafogigante.dungeon.game.DungeonString;
 import org.mafagafogigante.dungeon.game.Game;
 import org.mafagafogigante.dungeon.game.GameState;
+import org.mafagafogigante.dungeon.game.SaveFormat;
+import org.mafagafogigante.dungeon.game.SaveHeader;
+import org.mafagafogigante.dungeon.game.SaveSnapshot;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 import org.mafagafogigante.dungeon.util.Messenger;
 import org.mafagafogigante.dungeon.util.StopWatch;
@@ -10,22 +13,15 @@ import org.mafagafogigante.dungeon.util.StopWatch;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JOptionPane;
 
@@ -36,10 +32,17 @@ public final class Loader {
 
   private static final File SAVES_FOLDER = new File("saves/");
   private static final String SAVE_EXTENSION = ".dungeon";
-  private static final String VERSION_EXTENSION = ".version";
+  private static final String JOURNAL_EXTENSION = ".journal";
   private static final String DEFAULT_SAVE_NAME = "default" + SAVE_EXTENSION;
   private static final String SAVE_CONFIRM = "Do you want to save the game?";
   private static final String LOAD_CONFIRM = "Do you want to load the game?";
+  private static final int DEFAULT_AUTOSAVE_INTERVAL = 5;
+  private static final SaveCatalog CATALOG = new SaveCatalog(SAVES_FOLDER);
+
+  // In minutes, zero if autosaving is disabled.
+  private static volatile int autosaveInterval = DEFAULT_AUTOSAVE_INTERVAL;
+  private static volatile long lastSaveTime = System.nanoTime();
+  private static volatile CompressionCodec compressionCodec = CompressionCodec.LZ;
 
   private Loader() { // Ensure that this class cannot be instantiated.
     throw new AssertionError();
@@ -56,10 +59,10 @@ public final class Loader {
   }
 
   /**
-   * Checks if any file in the saves folder ends with the save extension.
+   * Checks if the save catalog has any save.
    */
   public static boolean checkForSave() {
-    return !getSavedFiles().isEmpty();
+    return !CATALOG.isEmpty();
   }
 
   /**
@@ -164,7 +167,7 @@ public final class Loader {
       saveName = arguments[0];
     }
     if (saveFileDoesNotExist(saveName) || confirmOperation(SAVE_CONFIRM)) {
-      saveFile(gameState, saveName);
+      saveFile(gameState, saveName, true);
     }
   }
 
@@ -189,18 +192,14 @@ public final class Loader {
   }
 
   /**
-   * Returns a File object for the corresponding version file for a specified save file.
+   * Returns a File object for the corresponding journal file for a specified save file.
    *
    * @param saveFile the save file
    * @return a File object
    */
-  private static File createVersionFileFromSaveFile(File saveFile) {
+  private static File createJournalFileFromSaveFile(File saveFile) {
     String path = saveFile.getPath();
-    if (!path.endsWith(SAVE_EXTENSION)) {
-      throw new IllegalArgumentException("save file does not end with the default extension");
-    }
-    String versionFilePath = path.substring(0, path.length() - SAVE_EXTENSION.length()) + VERSION_EXTENSION;
-    return new File(versionFilePath);
+    return new File(path.substring(0, path.length() - SAVE_EXTENSION.length()) + JOURNAL_EXTENSION);
   }
 
   /**
@@ -210,23 +209,36 @@ public final class Loader {
    * @return a GameState or {@code null} if something goes wrong.
    */
   private static GameState loadFile(File file) {
+    // The file may still be being written.
+    waitForPendingSaves();
     StopWatch stopWatch = new StopWatch();
+    File journalFile = createJournalFileFromSaveFile(file);
     try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file));
-         ObjectInputStream objectInputStream = new ObjectInputStream(in)) {
-      GameState loadedGameState = (GameState) objectInputStream.readObject();
+        InputStream journal = journalFile.isFile() ? new FileInputStream(journalFile) : null) {
+      SaveHeader header = SaveFormat.readHeader(in);
+      GameState loadedGameState = SaveFormat.read(header, in, journal, true);
       loadedGameState.setSaved(true); // It is saved, we just loaded it (needed as it now defaults to false).
+      loadedGameState.setSaveName(file.getName());
       // Update the GameState version if required.
       if (loadedGameState.getGameVersion().compareTo(Version.getCurrentVersion()) < 0) {
         loadedGameState.setGameVersion(Version.getCurrentVersion());
       }
-      String sizeString = Converter.bytesToHuman(file.length());
-      DungeonLogger.info(String.format("Loaded %s in %s.", sizeString, stopWatch.toString()));
+      String sizeString = Converter.bytesToHuman(file.length() + journalFile.length());
+      String compression = describeCompression(header.getCodec(), header.getBodyLength(), file.length(),
+          stopWatch.getElapsedNanoseconds());
+      DungeonLogger.info(String.format("Loaded %s (%s) in %s.", sizeString, compression, stopWatch.toString()));
       Writer.write(String.format("Successfully loaded the game (read %s from %s).", sizeString, file.getName()));
       return loadedGameState;
+    } catch (SaveFormat.UnsupportedVersionException exception) {
+      String age = exception.isOlder() ? "an older" : "a newer";
+      Writer.write(String.format("Could not load %s as it was saved by %s version of the game.", file.getName(), age));
+      DungeonLogger.warning("Could not load " + file.getName() + " as " + exception.getMessage());
+      return null;
     } catch (FileNotFoundException bad) { // The filed was moved or deleted.
+      CATALOG.remove(file.getName());
       Writer.write("Could not find the specified saved game.");
       return null;
-    } catch (ClassNotFoundException | IOException exception) {
+    } catch (IOException exception) {
       Writer.write("Could not load the saved game.");
       DungeonLogger.logSevere(exception);
       return null;
@@ -234,94 +246,159 @@ public final class Loader {
   }
 
   /**
-   * Serializes the specified {@code GameState} state to a file.
+   * Writes the specified {@code GameState} state to a file in the format defined by {@link SaveFormat}.
+   *
+   * <p>The GameState is captured right away, which is all the game waits for, and written by the {@link SaveWriter}.
+   * Capturing leaves the chunks to be encoded by the SaveWriter, so it must be done between turns, when nothing else
+   * changes the GameState.
+   *
+   * <p>If the GameState was last written to or read from the same file, only what changed since then is appended to
+   * the journal of the file. Once the journal grows larger than the file, it is folded into a new save.
    *
    * @param state a GameState
    * @param name the name of the file
+   * @param verbose whether or not the result is written to the screen
    */
-  private static void saveFile(GameState state, String name) {
+  private static void saveFile(GameState state, String name, boolean verbose) {
     StopWatch stopWatch = new StopWatch();
     File saveFile = createSaveFileFromName(name);
-    File versionFile = createVersionFileFromSaveFile(saveFile);
+    File journalFile = createJournalFileFromSaveFile(saveFile);
     ensureSavesFolderExists();
-    try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(saveFile));
-         ObjectOutputStream objectOutputStream = new ObjectOutputStream(out)) {
-      objectOutputStream.writeObject(state);
-      state.setSaved(true);
-      String sizeString = Converter.bytesToHuman(saveFile.length());
-      Charset charset = DungeonCharset.DEFAULT_CHARSET;
-      try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(versionFile), charset)) {
-        writer.write(state.getGameVersion().toString());
-        writer.append(System.lineSeparator());
+    boolean incremental = saveFile.getName().equals(state.getSaveName()) && saveFile.isFile();
+    try {
+      SaveSnapshot snapshot;
+      if (incremental && journalFile.length() < saveFile.length()) {
+        snapshot = SaveFormat.captureJournalRecord(state);
+      } else {
+        snapshot = SaveFormat.captureSave(state);
+        state.setSaveName(saveFile.getName());
       }
-      DungeonLogger.info(String.format("Saved %s in %s.", sizeString, stopWatch.toString()));
-      Writer.write(String.format("Successfully saved the game (wrote %s to %s).", sizeString, saveFile.getName()));
+      state.setSaved(true);
+      lastSaveTime = System.nanoTime();
+      DungeonLogger.info(String.format("Captured the game with %d chunks in %s.", snapshot.getChunkCount(), stopWatch));
+      SaveWriter.submit(state, snapshot, compressionCodec, saveFile, journalFile, CATALOG, verbose);
     } catch (IOException exception) {
+      // Whatever changed since the last save may no longer be known, so the next save must be whole.
+      state.setSaveName(null);
       Writer.write("Could not save the game.");
       DungeonLogger.logSevere(exception);
     }
   }
 
-  private static void ensureSavesFolderExists() {
-    if (!SAVES_FOLDER.exists()) {
-      if (!SAVES_FOLDER.mkdir()) {
-        Messenger.printFailedToCreateDirectoryMessage(SAVES_FOLDER.getName());
+  /**
+   * Waits until every save is written to disk.
+   */
+  public static void waitForPendingSaves() {
+    SaveWriter.waitForPendingWrites();
+  }
+
+  /**
+   * Saves the specified GameState without any output if it changed and the autosave interval passed since the last
+   * save.
+   *
+   * <p>The GameState is saved to the file it was last written to or read from, or to the default save file if it was
+   * never saved and there is no default save file to overwrite.
+   */
+  public static void autosave(GameState state) {
+    long interval = autosaveInterval;
+    if (interval == 0 || state.isSaved() || System.nanoTime() - lastSaveTime < TimeUnit.MINUTES.toNanos(interval)) {
+      return;
+    }
+    String saveName = state.getSaveName();
+    if (saveName == null) {
+      if (!saveFileDoesNotExist(DEFAULT_SAVE_NAME)) {
+        return;
       }
+      saveName = DEFAULT_SAVE_NAME;
     }
+    saveFile(state, saveName, false);
   }
 
   /**
-   * Returns a list of abstract pathnames denoting the files in the saves folder that end with a valid extension sorted
-   * in natural order.
+   * Writes the autosave interval or, if an argument was provided, sets the interval to that many minutes.
+   *
+   * <p>An interval of zero disables autosaving.
    */
-  @NotNull
-  static List<File> getSavedFiles() {
-    File[] fileArray = SAVES_FOLDER.listFiles(DungeonFilenameFilters.getExtensionFilter());
-    if (fileArray == null) {
-      fileArray = new File[0];
+  public static void parseAutosaveCommand(String[] arguments) {
+    if (arguments.length != 0) {
+      try {
+        int minutes = Integer.parseInt(arguments[0]);
+        if (minutes < 0) {
+          Writer.write("The autosave interval cannot be negative.");
+          return;
+        }
+        autosaveInterval = minutes;
+      } catch (NumberFormatException exception) {
+        Writer.write(arguments[0] + " is not a number of minutes.");
+        return;
+      }
+    }
+    if (autosaveInterval == 0) {
+      Writer.write("Autosaving is disabled.");
+    } else {
+      Writer.write("The game is autosaved every " + autosaveInterval + " minutes if it changed.");
     }
-    List<File> fileList = new ArrayList<>(Arrays.asList(fileArray));
-    for (Iterator<File> fileIterator = fileList.iterator(); fileIterator.hasNext(); ) {
-      File file = fileIterator.next();
-      if (!file.isFile()) {
-        fileIterator.remove();
+  }
+
+  /**
+   * Writes the codec that saves are compressed with or, if an argument was provided, sets the codec to the one with
+   * that name.
+   *
+   * <p>The codec of a save is in its header, so saves compressed with any codec can be loaded.
+   */
+  public static void parseCompressionCommand(String[] arguments) {
+    if (arguments.length != 0) {
+      CompressionCodec codec = CompressionCodec.fromName(arguments[0]);
+      if (codec == null) {
+        String codecs = Arrays.toString(CompressionCodec.values());
+        Writer.write(arguments[0] + " is not a compression codec. Try one of " + codecs + ".");
+        return;
       }
+      compressionCodec = codec;
     }
-    Collections.sort(fileList, new FileLastModifiedComparator());
-    return fileList;
+    Writer.write("Saves are compressed with " + compressionCodec + ".");
   }
 
-  @NotNull
-  static List<Version> getSavedFilesVersions(List<File> savedFiles) {
-    List<Version> versionList = new ArrayList<>();
-    char[] versionBuffer = new char[32];
-    for (File saveFile : savedFiles) {
-      File versionFile = createVersionFileFromSaveFile(saveFile);
-      Charset charset = DungeonCharset.DEFAULT_CHARSET;
-      try (InputStreamReader reader = new InputStreamReader(new FileInputStream(versionFile), charset)) {
-        int end = reader.read(versionBuffer);
-        while (end > 1 && Character.isWhitespace(versionBuffer[end - 1])) {
-          end--;
-        }
-        versionList.add(new Version(new String(versionBuffer, 0, end)));
-      } catch (FileNotFoundException exception) {
-        versionList.add(null);
-      } catch (IOException fatal) {
-        DungeonLogger.logSevere(fatal);
+  /**
+   * Describes the compression of a save for the log, with its codec, its compression ratio and the throughput of its
+   * uncompressed body.
+   *
+   * @param codec the codec of the save
+   * @param bodyLength the length of the body of the save before compression
+   * @param storedLength the length of the save as stored
+   * @param nanoseconds how long processing the save took
+   */
+  static String describeCompression(CompressionCodec codec, long bodyLength, long storedLength, long nanoseconds) {
+    double ratio = (double) bodyLength / Math.max(storedLength, 1);
+    String throughput = Converter.throughputToHuman(bodyLength, nanoseconds);
+    return String.format(Locale.ENGLISH, "%s, %.2f:1, %s", codec, ratio, throughput);
+  }
+
+  private static void ensureSavesFolderExists() {
+    if (!SAVES_FOLDER.exists()) {
+      if (!SAVES_FOLDER.mkdir()) {
+        Messenger.printFailedToCreateDirectoryMessage(SAVES_FOLDER.getName());
       }
     }
-    return versionList;
+  }
+
+  /**
+   * Returns the entries of the save catalog sorted from the newest to the oldest save.
+   */
+  @NotNull
+  static List<SaveCatalog.Entry> getSaveCatalogEntries() {
+    return CATALOG.getEntries();
   }
 
   /**
    * Returns the most recently saved file. As a precondition, there must be at least one save file.
    */
   private static File getMostRecentlySavedFile() {
-    List<File> fileList = getSavedFiles();
-    if (fileList.isEmpty()) {
+    List<SaveCatalog.Entry> entries = getSaveCatalogEntries();
+    if (entries.isEmpty()) {
       throw new IllegalStateException("called getMostRecentlySavedFile() but there are no save files.");
     }
-    return fileList.get(0);
+    return new File(SAVES_FOLDER, entries.get(0).getName());
   }
 
 }
@@ -0,0 +1,184 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An InputStream that decompresses what was written by an {@link LzOutputStream}, holding at most one block at a time.
+ *
+ * <p>Throws an EOFException if the underlying stream ends before the end of the compressed stream and an IOException if
+ * a block is corrupted.
+ */
+final class LzInputStream extends FilterInputStream {
+
+  private static final int NIBBLE_MAXIMUM = 15;
+
+  private final DataInputStream input;
+  private final byte[] block = new byte[LzOutputStream.BLOCK_SIZE];
+  private byte[] compressed = new byte[0];
+  private int length;
+  private int position;
+  private boolean ended;
+
+  LzInputStream(@NotNull InputStream in) {
+    super(in);
+    this.input = new DataInputStream(in);
+  }
+
+  private static IOException corrupted() {
+    return new IOException("the compressed stream is corrupted.");
+  }
+
+  /**
+   * Decompresses a block of the specified compressed length into the block buffer, which must receive exactly length
+   * bytes.
+   */
+  private void decompressBlock(int compressedLength) throws IOException {
+    int source = 0;
+    int destination = 0;
+    while (source < compressedLength) {
+      int token = compressed[source++] & 0xFF;
+      int literalLength = token >>> 4;
+      if (literalLength == NIBBLE_MAXIMUM) {
+        int current;
+        do {
+          if (source == compressedLength) {
+            throw corrupted();
+          }
+          current = compressed[source++] & 0xFF;
+          literalLength += current;
+        } while (current == 255);
+      }
+      if (literalLength > compressedLength - source || literalLength > length - destination) {
+        throw corrupted();
+      }
+      System.arraycopy(compressed, source, block, destination, literalLength);
+      source += literalLength;
+      destination += literalLength;
+      if (source == compressedLength) {
+        break;
+      }
+      if (compressedLength - source < 2) {
+        throw corrupted();
+      }
+      final int offset = (compressed[source] & 0xFF) | (compressed[source + 1] & 0xFF) << 8;
+      source += 2;
+      int matchLength = token & NIBBLE_MAXIMUM;
+      if (matchLength == NIBBLE_MAXIMUM) {
+        int current;
+        do {
+          if (source == compressedLength) {
+            throw corrupted();
+          }
+          current = compressed[source++] & 0xFF;
+          matchLength += current;
+        } while (current == 255);
+      }
+      matchLength += LzOutputStream.MINIMUM_MATCH;
+      if (offset == 0 || offset > destination || matchLength > length - destination) {
+        throw corrupted();
+      }
+      // The match may overlap the bytes it produces, so it is copied one byte at a time.
+      int reference = destination - offset;
+      for (int i = 0; i < matchLength; i++) {
+        block[destination++] = block[reference++];
+      }
+    }
+    if (destination != length) {
+      throw corrupted();
+    }
+  }
+
+  /**
+   * Reads the next block, returning false if the stream ended.
+   */
+  private boolean readBlock() throws IOException {
+    if (ended) {
+      return false;
+    }
+    int blockLength = VariableLengthCoding.readUnsignedInt(input);
+    if (blockLength == 0) {
+      ended = true;
+      return false;
+    }
+    if (blockLength > LzOutputStream.BLOCK_SIZE) {
+      throw corrupted();
+    }
+    length = blockLength;
+    position = 0;
+    int type = input.readUnsignedByte();
+    if (type == LzOutputStream.STORED_BLOCK) {
+      input.readFully(block, 0, length);
+    } else if (type == LzOutputStream.COMPRESSED_BLOCK) {
+      int compressedLength = VariableLengthCoding.readUnsignedInt(input);
+      if (compressedLength > LzOutputStream.maximumCompressedLength(length)) {
+        throw corrupted();
+      }
+      if (compressed.length < compressedLength) {
+        compressed = new byte[compressedLength];
+      }
+      input.readFully(compressed, 0, compressedLength);
+      decompressBlock(compressedLength);
+    } else {
+      throw corrupted();
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position == length && !readBlock()) {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(@NotNull byte[] bytes, int offset, int count) throws IOException {
+    if (count == 0) {
+      return 0;
+    }
+    if (position == length && !readBlock()) {
+      return -1;
+    }
+    int chunk = Math.min(count, length - position);
+    System.arraycopy(block, position, bytes, offset, chunk);
+    position += chunk;
+    return chunk;
+  }
+
+  @Override
+  public long skip(long count) throws IOException {
+    long skipped = 0;
+    while (skipped < count && (position < length || readBlock())) {
+      int chunk = (int) Math.min(count - skipped, length - position);
+      position += chunk;
+      skipped += chunk;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return length - position;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void mark(int limit) {
+  }
+
+  @Override
+  public void reset() throws IOException {
+    throw new IOException("mark and reset are not supported.");
+  }
+
+}
@@ -0,0 +1,199 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * An OutputStream that compresses what is written to it with a fast LZ77 codec in the style of LZ4.
+ *
+ * <p>The data is split into blocks of at most {@code BLOCK_SIZE} bytes that are compressed independently, so that
+ * neither this stream nor {@link LzInputStream} ever holds more than a block. Every block starts with its length before
+ * compression and a type, which is followed by the stored bytes or by the length of the compressed bytes and the
+ * compressed bytes themselves. A block is stored when compressing it does not make it shorter. The stream ends with a
+ * block of length zero, so that a stream cut short is detected when it is read.
+ *
+ * <p>A compressed block is a sequence of tokens. The high nibble of a token is the number of literals that follow it
+ * and the low nibble is the length of the match that follows the literals minus the minimum match length. A nibble of
+ * fifteen is continued by bytes that are added to it until one of them is not 255. The literals are followed by the
+ * offset of the match as two little-endian bytes. The last token of a block only has literals.
+ */
+final class LzOutputStream extends FilterOutputStream {
+
+  static final int BLOCK_SIZE = 1 << 16;
+  static final int MINIMUM_MATCH = 4;
+  static final int STORED_BLOCK = 0;
+  static final int COMPRESSED_BLOCK = 1;
+
+  private static final int HASH_BITS = 14;
+  private static final int HASH_MULTIPLIER = -1640531535;
+  private static final int NIBBLE_MAXIMUM = 15;
+
+  private final DataOutputStream output;
+  private final byte[] block = new byte[BLOCK_SIZE];
+  private final byte[] compressed = new byte[maximumCompressedLength(BLOCK_SIZE)];
+  private final int[] table = new int[1 << HASH_BITS];
+  private int length;
+  private boolean finished;
+
+  LzOutputStream(@NotNull OutputStream out) {
+    super(out);
+    this.output = new DataOutputStream(out);
+  }
+
+  static int maximumCompressedLength(int length) {
+    return length + length / 255 + 16;
+  }
+
+  private static int readInt(byte[] bytes, int index) {
+    return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8 | (bytes[index + 2] & 0xFF) << 16 |
+        (bytes[index + 3] & 0xFF) << 24;
+  }
+
+  private static int hash(int value) {
+    return (value * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_BITS);
+  }
+
+  private static int writeLength(byte[] destination, int index, int length) {
+    int remaining = length;
+    while (remaining >= 255) {
+      destination[index++] = (byte) 255;
+      remaining -= 255;
+    }
+    destination[index++] = (byte) remaining;
+    return index;
+  }
+
+  private static int writeSequence(byte[] destination, int index, byte[] source, int literalStart, int literalLength,
+      int offset, int matchLength) {
+    int literalNibble = Math.min(literalLength, NIBBLE_MAXIMUM);
+    int matchNibble = offset == 0 ? 0 : Math.min(matchLength - MINIMUM_MATCH, NIBBLE_MAXIMUM);
+    destination[index++] = (byte) (literalNibble << 4 | matchNibble);
+    if (literalNibble == NIBBLE_MAXIMUM) {
+      index = writeLength(destination, index, literalLength - NIBBLE_MAXIMUM);
+    }
+    System.arraycopy(source, literalStart, destination, index, literalLength);
+    index += literalLength;
+    if (offset != 0) {
+      destination[index++] = (byte) offset;
+      destination[index++] = (byte) (offset >>> 8);
+      if (matchNibble == NIBBLE_MAXIMUM) {
+        index = writeLength(destination, index, matchLength - MINIMUM_MATCH - NIBBLE_MAXIMUM);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Compresses the first length bytes of the block into the compressed buffer, returning the compressed length.
+   */
+  private int compressBlock() {
+    Arrays.fill(table, -1);
+    int compressedLength = 0;
+    int anchor = 0;
+    int position = 0;
+    while (position <= length - MINIMUM_MATCH) {
+      int sequence = readInt(block, position);
+      int slot = hash(sequence);
+      int reference = table[slot];
+      table[slot] = position;
+      if (reference >= 0 && readInt(block, reference) == sequence) {
+        int matchLength = MINIMUM_MATCH;
+        while (position + matchLength < length && block[reference + matchLength] == block[position + matchLength]) {
+          matchLength++;
+        }
+        compressedLength = writeSequence(compressed, compressedLength, block, anchor, position - anchor,
+            position - reference, matchLength);
+        position += matchLength;
+        anchor = position;
+      } else {
+        position++;
+      }
+    }
+    return writeSequence(compressed, compressedLength, block, anchor, length - anchor, 0, 0);
+  }
+
+  private void writeBlock() throws IOException {
+    if (length == 0) {
+      return;
+    }
+    VariableLengthCoding.writeUnsigned(output, length);
+    int compressedLength = compressBlock();
+    if (compressedLength < length) {
+      output.writeByte(COMPRESSED_BLOCK);
+      VariableLengthCoding.writeUnsigned(output, compressedLength);
+      output.write(compressed, 0, compressedLength);
+    } else {
+      output.writeByte(STORED_BLOCK);
+      output.write(block, 0, length);
+    }
+    length = 0;
+  }
+
+  private void ensureNotFinished() throws IOException {
+    if (finished) {
+      throw new IOException("write beyond the end of the stream.");
+    }
+  }
+
+  @Override
+  public void write(int value) throws IOException {
+    ensureNotFinished();
+    if (length == BLOCK_SIZE) {
+      writeBlock();
+    }
+    block[length++] = (byte) value;
+  }
+
+  @Override
+  public void write(@NotNull byte[] bytes, int offset, int count) throws IOException {
+    ensureNotFinished();
+    int written = 0;
+    while (written < count) {
+      if (length == BLOCK_SIZE) {
+        writeBlock();
+      }
+      int chunk = Math.min(count - written, BLOCK_SIZE - length);
+      System.arraycopy(bytes, offset + written, block, length, chunk);
+      length += chunk;
+      written += chunk;
+    }
+  }
+
+  /**
+   * Writes the buffered bytes as a block and flushes the underlying stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (!finished) {
+      writeBlock();
+    }
+    output.flush();
+  }
+
+  /**
+   * Writes the buffered bytes and the end of the stream without closing the underlying stream.
+   */
+  void finish() throws IOException {
+    if (!finished) {
+      writeBlock();
+      VariableLengthCoding.writeUnsigned(output, 0);
+      finished = true;
+    }
+    output.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      finish();
+    } finally {
+      out.close();
+    }
+  }
+
+}
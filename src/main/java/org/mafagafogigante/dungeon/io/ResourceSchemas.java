@@ -0,0 +1,385 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.entity.creatures.AttackAlgorithmId;
+import org.mafagafogigante.dungeon.entity.creatures.Creature;
+import org.mafagafogigante.dungeon.entity.items.Item;
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.game.LocationPreset;
+import org.mafagafogigante.dungeon.schema.JsonRule;
+import org.mafagafogigante.dungeon.schema.rules.JsonRuleFactory;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uninstantiable ResourceSchemas class that makes the JsonRules that the JSON resources of the game must follow.
+ *
+ * <p>The rules are checked by the tests and by {@link JsonBundleCompiler}, which refuses to compile invalid resources.
+ */
+final class ResourceSchemas {
+
+  private static final String ID_FIELD = "id";
+  private static final String TYPE_FIELD = "type";
+  private static final String NAME_FIELD = "name";
+  private static final String INFO_FIELD = "info";
+  private static final String TEXT_FIELD = "text";
+  private static final String TAGS_FIELD = "tags";
+  private static final String COUNT_FIELD = "count";
+  private static final String QUERY_FIELD = "query";
+  private static final String PARTS_FIELD = "parts";
+  private static final String ITEMS_FIELD = "items";
+  private static final String SPELL_FIELD = "spell";
+  private static final String TITLE_FIELD = "title";
+  private static final String COLOR_FIELD = "color";
+  private static final String DELAY_FIELD = "delay";
+  private static final String DROPS_FIELD = "drops";
+  private static final String POEMS_FIELD = "poems";
+  private static final String AUTHOR_FIELD = "author";
+  private static final String FORMAT_FIELD = "format";
+  private static final String HEALTH_FIELD = "health";
+  private static final String ATTACK_FIELD = "attack";
+  private static final String WEAPON_FIELD = "weapon";
+  private static final String RARITY_FIELD = "rarity";
+  private static final String UNIQUE_FIELD = "unique";
+  private static final String WEIGHT_FIELD = "weight";
+  private static final String DAMAGE_FIELD = "damage";
+  private static final String PLURAL_FIELD = "plural";
+  private static final String SYMBOL_FIELD = "symbol";
+  private static final String CONTENT_FIELD = "content";
+  private static final String CURRENT_FIELD = "current";
+  private static final String MAXIMUM_FIELD = "maximum";
+  private static final String MINIMUM_FIELD = "minimum";
+  private static final String SEE_ALSO_FIELD = "seeAlso";
+  private static final String STRINGS_FIELD = "strings";
+  private static final String HIT_RATE_FIELD = "hitRate";
+  private static final String ARTICLES_FIELD = "articles";
+  private static final String SINGULAR_FIELD = "singular";
+  private static final String SPAWNERS_FIELD = "spawners";
+  private static final String TUTORIAL_FIELD = "tutorial";
+  private static final String BLOB_SIZE_FIELD = "blobSize";
+  private static final String CREATURES_FIELD = "creatures";
+  private static final String DISCOVERY_FIELD = "discovery";
+  private static final String FREQUENCY_FIELD = "frequency";
+  private static final String INTEGRITY_FIELD = "integrity";
+  private static final String INVENTORY_FIELD = "inventory";
+  private static final String LOCATIONS_FIELD = "locations";
+  private static final String NUTRITION_FIELD = "nutrition";
+  private static final String PART_OF_DAY_FIELD = "partOfDay";
+  private static final String POPULATION_FIELD = "population";
+  private static final String LUMINOSITY_FIELD = "luminosity";
+  private static final String VISIBILITY_FIELD = "visibility";
+  private static final String PROBABILITY_FIELD = "probability";
+  private static final String ACHIEVEMENTS_FIELD = "achievements";
+  private static final String ENCHANTMENTS_FIELD = "enchantments";
+  private static final String CAUSE_OF_DEATH_FIELD = "causeOfDeath";
+  private static final String DRINKABLE_DOSES_FIELD = "drinkableDoses";
+  private static final String BLOCKED_ENTRANCES_FIELD = "blockedEntrances";
+  private static final String DRINKABLE_HEALING_FIELD = "drinkableHealing";
+  private static final String DRINKABLE_EFFECTS_FIELD = "drinkableEffects";
+  private static final String VISITED_LOCATIONS_FIELD = "visitedLocations";
+  private static final String ATTACK_ALGORITHM_ID_FIELD = "attackAlgorithmID";
+  private static final String LIGHT_PERMITTIVITY_FIELD = "lightPermittivity";
+  private static final String BATTLE_REQUIREMENTS_FIELD = "battleRequirements";
+  private static final String INVENTORY_ITEM_LIMIT_FIELD = "inventoryItemLimit";
+  private static final String KILLS_BY_LOCATION_ID_FIELD = "killsByLocationID";
+  private static final String DECOMPOSITION_PERIOD_FIELD = "decompositionPeriod";
+  private static final String INVENTORY_WEIGHT_LIMIT_FIELD = "inventoryWeightLimit";
+  private static final String MAXIMUM_NUMBER_OF_VISITS_FIELD = "maximumNumberOfVisits";
+  private static final String EXPLORATION_REQUIREMENTS_FIELD = "explorationRequirements";
+  private static final String INTEGRITY_DECREMENT_ON_HIT_FIELD = "integrityDecrementOnHit";
+  private static final String INTEGRITY_DECREMENT_ON_EAT_FIELD = "integrityDecrementOnEat";
+  private static final String INTEGRITY_DECREMENT_PER_DOSE_FIELD = "integrityDecrementPerDose";
+  private static final String FOREST_FIELD = "FOREST";
+  private static final String DESERT_FIELD = "DESERT";
+  private static final String RIVERSIDE_FIELD = "RIVERSIDE";
+  private static final String GRAVEYARD_FIELD = "GRAVEYARD";
+  private static final String STONE_BRIDGE_FIELD = "STONE_BRIDGE";
+  private static final String TIMBER_BRIDGE_FIELD = "TIMBER_BRIDGE";
+  private static final int COLOR_MIN = 0;
+  private static final int COLOR_MAX = 255;
+  private static final int COLOR_ARRAY_SIZE = 3;
+  private static final int BLOB_SIZE_MIN = 0;
+  private static final int BLOB_SIZE_MAX = 100;
+  private static final double FREQUENCY_MIN = 0.0;
+  private static final double FREQUENCY_MAX = 100.0;
+  private static final int SYMBOL_STRING_LENGTH = 1;
+  private static final double PROBABILITY_MIN = 0.0;
+  private static final double PROBABILITY_MAX = 1.0;
+  private static final double PERMITTIVITY_MIN = 0.0;
+  private static final double PERMITTIVITY_MAX = 1.0;
+  private static final int BLOCKED_ENTRANCE_STRING_LENGTH = 1;
+
+  private ResourceSchemas() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Makes the rule of a resource, or returns null if the resource has no schema.
+   *
+   * @param resource the resource
+   * @param itemIds the Ids of the items, which are the only items that locations may have
+   */
+  @Nullable
+  static JsonRule makeRule(@NotNull DungeonResource resource, @NotNull Collection<Id> itemIds) {
+    switch (resource) {
+      case ACHIEVEMENTS:
+        return makeAchievementsFileRule();
+      case CREATURES:
+        return makeCreaturesFileRule();
+      case DREAMS:
+      case HINTS:
+        return makeStringsFileRule();
+      case ITEMS:
+        return makeItemsFileRule();
+      case LOCATIONS:
+        return makeLocationsFileRule(itemIds);
+      case POEMS:
+        return makePoemsFileRule();
+      case PREFACE:
+        return makeSingleStringFileRule(FORMAT_FIELD);
+      case TUTORIAL:
+        return makeSingleStringFileRule(TUTORIAL_FIELD);
+      case WIKI:
+        return makeWikiFileRule();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the Ids of the objects of the only array of the provided resource, such as the Ids of the items.
+   */
+  @NotNull
+  static List<Id> extractIds(@NotNull JsonObject object) {
+    if (object.names().size() != 1) {
+      throw new IllegalArgumentException("the object must have a single member.");
+    }
+    List<Id> ids = new ArrayList<>();
+    for (JsonValue value : object.get(object.names().get(0)).asArray()) {
+      ids.add(new Id(value.asObject().get(ID_FIELD).asString()));
+    }
+    return ids;
+  }
+
+  private static JsonRule makeFileRule(String arrayName, JsonRule elementRule) {
+    Map<String, JsonRule> fileRules = new HashMap<>();
+    fileRules.put(arrayName, JsonRuleFactory.makeVariableArrayRule(elementRule));
+    return JsonRuleFactory.makeObjectRule(fileRules);
+  }
+
+  private static JsonRule makeSingleStringFileRule(String fieldName) {
+    Map<String, JsonRule> fileRules = new HashMap<>();
+    fileRules.put(fieldName, JsonRuleFactory.makeStringRule());
+    return JsonRuleFactory.makeObjectRule(fileRules);
+  }
+
+  private static JsonRule makeStringsFileRule() {
+    return makeFileRule(STRINGS_FIELD, JsonRuleFactory.makeStringRule());
+  }
+
+  private static JsonRule makeNameRule() {
+    Map<String, JsonRule> nameRules = new HashMap<>();
+    nameRules.put(SINGULAR_FIELD, JsonRuleFactory.makeStringRule());
+    nameRules.put(PLURAL_FIELD, JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makeStringRule()));
+    return JsonRuleFactory.makeObjectRule(nameRules);
+  }
+
+  private static JsonRule makeAchievementsFileRule() {
+    JsonRule optionalIntegerRule = JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makeIntegerRule());
+    Map<String, JsonRule> killsByLocationIdRules = new HashMap<>();
+    killsByLocationIdRules.put(FOREST_FIELD, optionalIntegerRule);
+    Map<String, JsonRule> maximumNumberOfVisitsRules = new HashMap<>();
+    maximumNumberOfVisitsRules.put(STONE_BRIDGE_FIELD, optionalIntegerRule);
+    maximumNumberOfVisitsRules.put(TIMBER_BRIDGE_FIELD, optionalIntegerRule);
+    maximumNumberOfVisitsRules.put(GRAVEYARD_FIELD, optionalIntegerRule);
+    Map<String, JsonRule> visitedLocationsRules = new HashMap<>();
+    visitedLocationsRules.put(DESERT_FIELD, optionalIntegerRule);
+    visitedLocationsRules.put(RIVERSIDE_FIELD, optionalIntegerRule);
+    visitedLocationsRules.put(GRAVEYARD_FIELD, optionalIntegerRule);
+    Map<String, JsonRule> discoveryRules = new HashMap<>();
+    discoveryRules.put(PARTS_FIELD, JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeStringRule()));
+    discoveryRules.put(COUNT_FIELD, JsonRuleFactory.makeIntegerRule());
+    Map<String, JsonRule> explorationRequirementsRules = new HashMap<>();
+    JsonRule killsByLocationIdRule = JsonRuleFactory.makeObjectRule(killsByLocationIdRules);
+    JsonRule optionalKillsByLocationIdRule = JsonRuleFactory.makeOptionalRule(killsByLocationIdRule);
+    explorationRequirementsRules.put(KILLS_BY_LOCATION_ID_FIELD, optionalKillsByLocationIdRule);
+    JsonRule maximumNumberOfVisitsRule = JsonRuleFactory.makeObjectRule(maximumNumberOfVisitsRules);
+    JsonRule optionalMaximumNumberOfVisitsRule = JsonRuleFactory.makeOptionalRule(maximumNumberOfVisitsRule);
+    explorationRequirementsRules.put(MAXIMUM_NUMBER_OF_VISITS_FIELD, optionalMaximumNumberOfVisitsRule);
+    JsonRule visitedLocationsRule = JsonRuleFactory.makeObjectRule(visitedLocationsRules);
+    explorationRequirementsRules.put(VISITED_LOCATIONS_FIELD, JsonRuleFactory.makeOptionalRule(visitedLocationsRule));
+    JsonRule discoveryRule = JsonRuleFactory.makeObjectRule(discoveryRules);
+    explorationRequirementsRules.put(DISCOVERY_FIELD, JsonRuleFactory.makeOptionalRule(discoveryRule));
+    JsonRule explorationRequirementsRule = JsonRuleFactory.makeObjectRule(explorationRequirementsRules);
+    JsonRule stringRule = JsonRuleFactory.makeStringRule();
+    Map<String, JsonRule> achievementRules = new HashMap<>();
+    achievementRules.put(ID_FIELD, JsonRuleFactory.makeIdRule());
+    achievementRules.put(NAME_FIELD, stringRule);
+    achievementRules.put(INFO_FIELD, stringRule);
+    achievementRules.put(TEXT_FIELD, stringRule);
+    JsonRule battleRequirementsRule = JsonRuleFactory.makeVariableArrayRule(makeBattleRequirementRule());
+    achievementRules.put(BATTLE_REQUIREMENTS_FIELD, JsonRuleFactory.makeOptionalRule(battleRequirementsRule));
+    achievementRules.put(EXPLORATION_REQUIREMENTS_FIELD, JsonRuleFactory.makeOptionalRule(explorationRequirementsRule));
+    return makeFileRule(ACHIEVEMENTS_FIELD, JsonRuleFactory.makeObjectRule(achievementRules));
+  }
+
+  private static JsonRule makeBattleRequirementRule() {
+    Map<String, JsonRule> causeOfDeathRules = new HashMap<>();
+    causeOfDeathRules.put(ID_FIELD, JsonRuleFactory.makeIdRule());
+    causeOfDeathRules.put(TYPE_FIELD, JsonRuleFactory.makeUppercaseStringRule());
+    Map<String, JsonRule> queryRules = new HashMap<>();
+    JsonRule optionalStringRule = JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makeStringRule());
+    queryRules.put(ID_FIELD, optionalStringRule);
+    queryRules.put(TYPE_FIELD, optionalStringRule);
+    queryRules.put(PART_OF_DAY_FIELD, JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makeUppercaseStringRule()));
+    JsonRule causeOfDeathRule = JsonRuleFactory.makeObjectRule(causeOfDeathRules);
+    queryRules.put(CAUSE_OF_DEATH_FIELD, JsonRuleFactory.makeOptionalRule(causeOfDeathRule));
+    Map<String, JsonRule> battleRequirementRules = new HashMap<>();
+    battleRequirementRules.put(COUNT_FIELD, JsonRuleFactory.makeIntegerRule());
+    battleRequirementRules.put(QUERY_FIELD, JsonRuleFactory.makeObjectRule(queryRules));
+    return JsonRuleFactory.makeObjectRule(battleRequirementRules);
+  }
+
+  private static JsonRule makeCreaturesFileRule() {
+    Map<String, JsonRule> creatureRules = new HashMap<>();
+    JsonRule idRule = JsonRuleFactory.makeIdRule();
+    JsonRule percentRule = JsonRuleFactory.makePercentRule();
+    JsonRule integerRule = JsonRuleFactory.makeIntegerRule();
+    JsonRule optionalIntegerRule = JsonRuleFactory.makeOptionalRule(integerRule);
+    creatureRules.put(ID_FIELD, idRule);
+    creatureRules.put(TYPE_FIELD, JsonRuleFactory.makeStringRule());
+    creatureRules.put(NAME_FIELD, makeNameRule());
+    JsonRule tagsRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeEnumJsonRule(Creature.Tag.class));
+    creatureRules.put(TAGS_FIELD, JsonRuleFactory.makeOptionalRule(tagsRule));
+    creatureRules.put(INVENTORY_ITEM_LIMIT_FIELD, optionalIntegerRule);
+    creatureRules.put(INVENTORY_WEIGHT_LIMIT_FIELD, optionalIntegerRule);
+    JsonRule inventoryRule = JsonRuleFactory.makeVariableArrayRule(idRule);
+    creatureRules.put(INVENTORY_FIELD, JsonRuleFactory.makeOptionalRule(inventoryRule));
+    List<JsonRule> dropRules = new ArrayList<>(Arrays.asList(idRule, JsonRuleFactory.makeBoundDoubleRule(0.0, 1.0)));
+    JsonRule dropsRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeFixedArrayRule(dropRules));
+    creatureRules.put(DROPS_FIELD, JsonRuleFactory.makeOptionalRule(dropsRule));
+    creatureRules.put(LUMINOSITY_FIELD, JsonRuleFactory.makeOptionalRule(percentRule));
+    creatureRules.put(VISIBILITY_FIELD, percentRule);
+    creatureRules.put(WEIGHT_FIELD, JsonRuleFactory.makeBoundDoubleRule(Double.MIN_VALUE, Double.MAX_VALUE));
+    creatureRules.put(HEALTH_FIELD, integerRule);
+    creatureRules.put(ATTACK_FIELD, integerRule);
+    creatureRules.put(ATTACK_ALGORITHM_ID_FIELD, JsonRuleFactory.makeEnumJsonRule(AttackAlgorithmId.class));
+    creatureRules.put(WEAPON_FIELD, JsonRuleFactory.makeOptionalRule(idRule));
+    return makeFileRule(CREATURES_FIELD, JsonRuleFactory.makeObjectRule(creatureRules));
+  }
+
+  private static JsonRule makeItemsFileRule() {
+    Map<String, JsonRule> itemRules = new HashMap<>();
+    JsonRule idRule = JsonRuleFactory.makeIdRule();
+    JsonRule stringRule = JsonRuleFactory.makeStringRule();
+    final JsonRule percentRule = JsonRuleFactory.makePercentRule();
+    JsonRule integerRule = JsonRuleFactory.makeIntegerRule();
+    final JsonRule optionalIntegerRule = JsonRuleFactory.makeOptionalRule(integerRule);
+    itemRules.put(ID_FIELD, idRule);
+    itemRules.put(TYPE_FIELD, stringRule);
+    itemRules.put(NAME_FIELD, makeNameRule());
+    itemRules.put(RARITY_FIELD, idRule);
+    itemRules.put(TAGS_FIELD, JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeEnumJsonRule(Item.Tag.class)));
+    Map<String, JsonRule> enchantmentRules = new HashMap<>();
+    enchantmentRules.put(ID_FIELD, idRule);
+    enchantmentRules.put(PROBABILITY_FIELD, JsonRuleFactory.makeBoundDoubleRule(0.0, 1.0));
+    JsonRule enchantmentsRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeObjectRule(enchantmentRules));
+    itemRules.put(ENCHANTMENTS_FIELD, JsonRuleFactory.makeOptionalRule(enchantmentsRule));
+    itemRules.put(UNIQUE_FIELD, JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makeBooleanRule()));
+    Map<String, JsonRule> integrityRules = new HashMap<>();
+    integrityRules.put(CURRENT_FIELD, integerRule);
+    integrityRules.put(MAXIMUM_FIELD, integerRule);
+    itemRules.put(INTEGRITY_FIELD, JsonRuleFactory.makeObjectRule(integrityRules));
+    itemRules.put(WEIGHT_FIELD, JsonRuleFactory.makeBoundDoubleRule(Double.MIN_VALUE, 100));
+    itemRules.put(VISIBILITY_FIELD, percentRule);
+    itemRules.put(LUMINOSITY_FIELD, JsonRuleFactory.makeOptionalRule(percentRule));
+    itemRules.put(DECOMPOSITION_PERIOD_FIELD, JsonRuleFactory.makeOptionalRule(JsonRuleFactory.makePeriodRule()));
+    itemRules.put(DAMAGE_FIELD, integerRule);
+    itemRules.put(HIT_RATE_FIELD, percentRule);
+    itemRules.put(INTEGRITY_DECREMENT_ON_HIT_FIELD, integerRule);
+    itemRules.put(NUTRITION_FIELD, optionalIntegerRule);
+    itemRules.put(INTEGRITY_DECREMENT_ON_EAT_FIELD, optionalIntegerRule);
+    itemRules.put(DRINKABLE_DOSES_FIELD, optionalIntegerRule);
+    itemRules.put(DRINKABLE_HEALING_FIELD, optionalIntegerRule);
+    JsonRule arrayOfAnything = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeEmptyRule());
+    itemRules.put(DRINKABLE_EFFECTS_FIELD, JsonRuleFactory.makeOptionalRule(arrayOfAnything));
+    itemRules.put(INTEGRITY_DECREMENT_PER_DOSE_FIELD, optionalIntegerRule);
+    itemRules.put(TEXT_FIELD, JsonRuleFactory.makeOptionalRule(stringRule));
+    itemRules.put(SPELL_FIELD, JsonRuleFactory.makeOptionalRule(idRule));
+    return makeFileRule(ITEMS_FIELD, JsonRuleFactory.makeObjectRule(itemRules));
+  }
+
+  private static JsonRule makeLocationsFileRule(Collection<Id> itemIds) {
+    Map<String, JsonRule> locationRules = new HashMap<>();
+    locationRules.put(ID_FIELD, JsonRuleFactory.makeIdRule());
+    locationRules.put(TYPE_FIELD, JsonRuleFactory.makeEnumJsonRule(LocationPreset.Type.class));
+    Map<String, JsonRule> nameRules = new HashMap<>();
+    nameRules.put(SINGULAR_FIELD, JsonRuleFactory.makeStringRule());
+    locationRules.put(NAME_FIELD, JsonRuleFactory.makeObjectRule(nameRules));
+    JsonRule colorElementsRule =
+        JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeBoundIntegerRule(COLOR_MIN, COLOR_MAX));
+    JsonRule colorSizeRule = JsonRuleFactory.makeArraySizeRule(COLOR_ARRAY_SIZE);
+    locationRules.put(COLOR_FIELD, JsonRuleFactory.makeGroupRule(colorSizeRule, colorElementsRule));
+    locationRules.put(SYMBOL_FIELD, JsonRuleFactory.makeStringLengthRule(SYMBOL_STRING_LENGTH));
+    locationRules.put(INFO_FIELD, JsonRuleFactory.makeStringRule());
+    locationRules.put(BLOB_SIZE_FIELD, JsonRuleFactory.makeBoundIntegerRule(BLOB_SIZE_MIN, BLOB_SIZE_MAX));
+    JsonRule frequencyRule = JsonRuleFactory.makeBoundDoubleRule(FREQUENCY_MIN, FREQUENCY_MAX);
+    locationRules.put(FREQUENCY_FIELD, JsonRuleFactory.makeOptionalRule(frequencyRule));
+    JsonRule lightPermittivityRule = JsonRuleFactory.makeBoundDoubleRule(PERMITTIVITY_MIN, PERMITTIVITY_MAX);
+    locationRules.put(LIGHT_PERMITTIVITY_FIELD, lightPermittivityRule);
+    JsonRule blockedEntranceLengthRule = JsonRuleFactory.makeStringLengthRule(BLOCKED_ENTRANCE_STRING_LENGTH);
+    JsonRule blockedEntranceRule =
+        JsonRuleFactory.makeGroupRule(blockedEntranceLengthRule, JsonRuleFactory.makeUppercaseStringRule());
+    locationRules.put(BLOCKED_ENTRANCES_FIELD, JsonRuleFactory.makeVariableArrayRule(blockedEntranceRule));
+    locationRules.put(SPAWNERS_FIELD, makeSpawnersRule());
+    JsonRule tagsRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeIdRule());
+    locationRules.put(TAGS_FIELD, JsonRuleFactory.makeOptionalRule(tagsRule));
+    Map<String, JsonRule> itemRules = new HashMap<>();
+    itemRules.put(ID_FIELD, JsonRuleFactory.makeIdSetRule(itemIds));
+    itemRules.put(PROBABILITY_FIELD, JsonRuleFactory.makeBoundDoubleRule(PROBABILITY_MIN, PROBABILITY_MAX));
+    JsonRule itemsRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeObjectRule(itemRules));
+    locationRules.put(ITEMS_FIELD, JsonRuleFactory.makeOptionalRule(itemsRule));
+    return makeFileRule(LOCATIONS_FIELD, JsonRuleFactory.makeObjectRule(locationRules));
+  }
+
+  private static JsonRule makeSpawnersRule() {
+    Map<String, JsonRule> populationRules = new HashMap<>();
+    populationRules.put(MINIMUM_FIELD, JsonRuleFactory.makeIntegerRule());
+    populationRules.put(MAXIMUM_FIELD, JsonRuleFactory.makeIntegerRule());
+    Map<String, JsonRule> spawnerRules = new HashMap<>();
+    spawnerRules.put(ID_FIELD, JsonRuleFactory.makeIdRule());
+    spawnerRules.put(DELAY_FIELD, JsonRuleFactory.makeIntegerRule());
+    spawnerRules.put(POPULATION_FIELD, JsonRuleFactory.makeObjectRule(populationRules));
+    JsonRule spawnersRule = JsonRuleFactory.makeVariableArrayRule(JsonRuleFactory.makeObjectRule(spawnerRules));
+    return JsonRuleFactory.makeOptionalRule(spawnersRule);
+  }
+
+  private static JsonRule makePoemsFileRule() {
+    Map<String, JsonRule> poemRules = new HashMap<>();
+    JsonRule stringRule = JsonRuleFactory.makeStringRule();
+    poemRules.put(TITLE_FIELD, stringRule);
+    poemRules.put(AUTHOR_FIELD, stringRule);
+    poemRules.put(CONTENT_FIELD, stringRule);
+    return makeFileRule(POEMS_FIELD, JsonRuleFactory.makeObjectRule(poemRules));
+  }
+
+  private static JsonRule makeWikiFileRule() {
+    Map<String, JsonRule> articleRules = new HashMap<>();
+    JsonRule stringRule = JsonRuleFactory.makeStringRule();
+    articleRules.put(TITLE_FIELD, stringRule);
+    articleRules.put(CONTENT_FIELD, stringRule);
+    JsonRule seeAlsoRule = JsonRuleFactory.makeVariableArrayRule(stringRule);
+    articleRules.put(SEE_ALSO_FIELD, JsonRuleFactory.makeOptionalRule(seeAlsoRule));
+    return makeFileRule(ARTICLES_FIELD, JsonRuleFactory.makeObjectRule(articleRules));
+  }
+
+}
@@ -1,13 +1,156 @@
 package org.mafagafogigante.dungeon.io;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
 
 class ResourceStreamFactory {
 
   private static final ClassLoader CLASS_LOADER = Thread.currentThread().getContextClassLoader();
+  private static final int BUFFER_SIZE = 8192;
+  private static final String FILE_PROTOCOL = "file";
+
+  static InputStreamReader getInputStreamReader(String name) throws FileNotFoundException {
+    InputStream input = CLASS_LOADER.getResourceAsStream(name);
+    if (input == null) {
+      throw new FileNotFoundException(name + " is not a resource.");
+    }
+    return new InputStreamReader(input, DungeonCharset.DEFAULT_CHARSET);
+  }
+
+  /**
+   * Reads all the bytes of a resource, returning null if there is no such resource.
+   */
+  @Nullable
+  static byte[] readBytes(String name) throws IOException {
+    try (InputStream input = CLASS_LOADER.getResourceAsStream(name)) {
+      if (input == null) {
+        return null;
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        bytes.write(buffer, 0, count);
+      }
+      return bytes.toByteArray();
+    }
+  }
+
+  /**
+   * Returns the CRC32 of a resource. The CRC32 of a resource in a jar is taken from the metadata of the jar, so only
+   * resources that are not in a jar are read, in pieces so that they are never all in memory.
+   *
+   * @throws FileNotFoundException if there is no such resource
+   */
+  static long getChecksum(String name) throws IOException {
+    URL url = CLASS_LOADER.getResource(name);
+    if (url == null) {
+      throw new FileNotFoundException(name + " is not a resource.");
+    }
+    if (toFile(url) == null) {
+      URLConnection connection = url.openConnection();
+      if (connection instanceof JarURLConnection) {
+        JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+        if (entry != null && entry.getCrc() != -1) {
+          return entry.getCrc();
+        }
+      }
+    }
+    try (InputStream input = url.openStream()) {
+      CRC32 crc = new CRC32();
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        crc.update(buffer, 0, count);
+      }
+      return crc.getValue();
+    }
+  }
+
+  /**
+   * Returns the size in bytes of a resource without reading it, or -1 if it is unknown, such as when there is no such
+   * resource. The size of a resource in a jar is its uncompressed size.
+   */
+  static long getSize(String name) throws IOException {
+    URL url = CLASS_LOADER.getResource(name);
+    if (url == null) {
+      return -1;
+    }
+    File file = toFile(url);
+    if (file != null) {
+      return file.length();
+    }
+    URLConnection connection = url.openConnection();
+    if (connection instanceof JarURLConnection) {
+      JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+      return entry == null ? -1 : entry.getSize();
+    }
+    return -1;
+  }
+
+  /**
+   * Reads a resource into a buffer that is not on the heap, mapping the file of the resource into memory if it is not
+   * in a jar. Returns null if there is no such resource.
+   */
+  @Nullable
+  static ByteBuffer readBuffer(String name) throws IOException {
+    URL url = CLASS_LOADER.getResource(name);
+    if (url == null) {
+      return null;
+    }
+    File file = toFile(url);
+    if (file != null) {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+    long size = getSize(name);
+    if (size < 0 || size > Integer.MAX_VALUE) {
+      byte[] bytes = readBytes(name);
+      return bytes == null ? null : ByteBuffer.wrap(bytes);
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+    try (InputStream input = url.openStream(); ReadableByteChannel channel = Channels.newChannel(input)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) == -1) {
+          throw new IOException(name + " ended before its size.");
+        }
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
 
-  static InputStreamReader getInputStreamReader(String name) {
-    return new InputStreamReader(CLASS_LOADER.getResourceAsStream(name), DungeonCharset.DEFAULT_CHARSET);
+  /**
+   * Returns the file of a resource that is not in a jar, or null if the resource is in a jar.
+   */
+  @Nullable
+  private static File toFile(URL url) {
+    if (!FILE_PROTOCOL.equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException exception) {
+      return null;
+    }
   }
 
 }
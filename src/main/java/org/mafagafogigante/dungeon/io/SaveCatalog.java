@@ -0,0 +1,257 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.game.SaveFormat;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The catalog of the saves in a folder, kept in a single file of the folder so that listing the saves and finding the
+ * newest one does not touch every save.
+ *
+ * <p>The catalog file starts with a magic number and the version of its format, followed by the number of entries and
+ * by the entries themselves. It is replaced atomically whenever an entry changes. If the file is missing or corrupted,
+ * the catalog is rebuilt from the headers of the saves in the folder, which do not have the date of the World or the
+ * summary of the Hero. Saves written by versions of the game that used another save format are listed with the
+ * version "older" or "newer" in place of the version that wrote them, so that they are not just missing from the list.
+ * Saves put in the folder by something other than the game are only listed once the catalog is rebuilt, which deleting
+ * the catalog file forces.
+ */
+final class SaveCatalog {
+
+  static final String CATALOG_NAME = "catalog.index";
+
+  // The ASCII codes of "DGNC".
+  private static final int MAGIC = 0x44474E43;
+  private static final int FORMAT_VERSION = 2;
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+  private static final String SAVE_EXTENSION = ".dungeon";
+  private static final String JOURNAL_EXTENSION = ".journal";
+  static final String OLDER_VERSION = "older";
+  static final String NEWER_VERSION = "newer";
+  private static final Comparator<Entry> NEWEST_FIRST = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry left, Entry right) {
+      return Long.compare(right.getTimestamp(), left.getTimestamp());
+    }
+  };
+
+  private final File folder;
+  private final File file;
+  // Null until the catalog is first used.
+  private Map<String, Entry> entries;
+
+  SaveCatalog(@NotNull File folder) {
+    this.folder = folder;
+    this.file = new File(folder, CATALOG_NAME);
+  }
+
+  /**
+   * Returns the entries of the catalog sorted from the newest to the oldest save.
+   */
+  @NotNull
+  synchronized List<Entry> getEntries() {
+    ensureLoaded();
+    List<Entry> list = new ArrayList<>(entries.values());
+    Collections.sort(list, NEWEST_FIRST);
+    return list;
+  }
+
+  synchronized boolean isEmpty() {
+    ensureLoaded();
+    return entries.isEmpty();
+  }
+
+  /**
+   * Adds an entry to the catalog, replacing the entry of the same save if there is one, and writes the catalog.
+   */
+  synchronized void put(@NotNull Entry entry) throws IOException {
+    ensureLoaded();
+    entries.put(entry.getName(), entry);
+    write();
+  }
+
+  /**
+   * Removes the entry of a save that no longer exists from the catalog.
+   */
+  synchronized void remove(@NotNull String name) {
+    ensureLoaded();
+    if (entries.remove(name) != null) {
+      try {
+        write();
+      } catch (IOException exception) {
+        DungeonLogger.logSevere(exception);
+      }
+    }
+  }
+
+  private void ensureLoaded() {
+    if (entries != null) {
+      return;
+    }
+    entries = new HashMap<>();
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      read(input);
+      return;
+    } catch (FileNotFoundException missing) {
+      DungeonLogger.fine("There is no save catalog, so it will be rebuilt.");
+    } catch (IOException exception) {
+      DungeonLogger.warning("The save catalog is corrupted, so it will be rebuilt.");
+      entries.clear();
+    }
+    rebuild();
+  }
+
+  private void read(DataInputStream input) throws IOException {
+    if (input.readInt() != MAGIC) {
+      throw new IOException("the save catalog is corrupted.");
+    }
+    int formatVersion = input.readInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("the save catalog format version " + formatVersion + " is not supported.");
+    }
+    int count = VariableLengthCoding.readUnsignedInt(input);
+    for (int i = 0; i < count; i++) {
+      Entry entry = new Entry(input.readUTF(), input.readUTF(), VariableLengthCoding.readUnsigned(input),
+          input.readUTF(), input.readUTF(), input.readLong());
+      entries.put(entry.getName(), entry);
+    }
+  }
+
+  /**
+   * Rebuilds the catalog from the headers of the saves in the folder.
+   */
+  private void rebuild() {
+    File[] saves = folder.listFiles(DungeonFilenameFilters.getExtensionFilter());
+    if (saves == null) {
+      return;
+    }
+    for (File save : saves) {
+      if (!save.isFile()) {
+        continue;
+      }
+      String gameVersion;
+      try (InputStream input = new FileInputStream(save)) {
+        gameVersion = SaveFormat.readHeader(input).getGameVersion();
+      } catch (SaveFormat.UnsupportedVersionException exception) {
+        gameVersion = exception.isOlder() ? OLDER_VERSION : NEWER_VERSION;
+      } catch (IOException exception) {
+        DungeonLogger.warning("Left " + save.getName() + " out of the save catalog as it is not a valid save.");
+        continue;
+      }
+      String path = save.getPath();
+      File journal = new File(path.substring(0, path.length() - SAVE_EXTENSION.length()) + JOURNAL_EXTENSION);
+      long size = save.length() + journal.length();
+      entries.put(save.getName(), new Entry(save.getName(), gameVersion, size, "", "", save.lastModified()));
+    }
+    if (!entries.isEmpty()) {
+      try {
+        write();
+      } catch (IOException exception) {
+        DungeonLogger.logSevere(exception);
+      }
+    }
+  }
+
+  private void write() throws IOException {
+    File temporaryFile = new File(file.getPath() + TEMPORARY_EXTENSION);
+    try (FileOutputStream fileStream = new FileOutputStream(temporaryFile);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+      output.writeInt(MAGIC);
+      output.writeInt(FORMAT_VERSION);
+      VariableLengthCoding.writeUnsigned(output, entries.size());
+      for (Entry entry : entries.values()) {
+        output.writeUTF(entry.getName());
+        output.writeUTF(entry.getGameVersion());
+        VariableLengthCoding.writeUnsigned(output, entry.getSize());
+        output.writeUTF(entry.getWorldDate());
+        output.writeUTF(entry.getHeroSummary());
+        output.writeLong(entry.getTimestamp());
+      }
+      output.flush();
+      fileStream.getFD().sync();
+    }
+    SaveWriter.replace(temporaryFile, file);
+  }
+
+  /**
+   * The entry of a save in the catalog. The date of the World and the summary of the Hero are empty if they are not
+   * known.
+   */
+  static final class Entry {
+
+    private final String name;
+    private final String gameVersion;
+    private final long size;
+    private final String worldDate;
+    private final String heroSummary;
+    private final long timestamp;
+
+    /**
+     * Creates an entry.
+     *
+     * @param name the name of the save file
+     * @param gameVersion the version of the game that wrote the save
+     * @param size the size of the save and of its journal
+     * @param worldDate the date of the World when it was saved
+     * @param heroSummary the summary of the Hero when it was saved
+     * @param timestamp when the save was written, in milliseconds since the epoch
+     */
+    Entry(@NotNull String name, @NotNull String gameVersion, long size, @NotNull String worldDate,
+        @NotNull String heroSummary, long timestamp) {
+      this.name = name;
+      this.gameVersion = gameVersion;
+      this.size = size;
+      this.worldDate = worldDate;
+      this.heroSummary = heroSummary;
+      this.timestamp = timestamp;
+    }
+
+    @NotNull
+    String getName() {
+      return name;
+    }
+
+    @NotNull
+    String getGameVersion() {
+      return gameVersion;
+    }
+
+    long getSize() {
+      return size;
+    }
+
+    @NotNull
+    String getWorldDate() {
+      return worldDate;
+    }
+
+    @NotNull
+    String getHeroSummary() {
+      return heroSummary;
+    }
+
+    long getTimestamp() {
+      return timestamp;
+    }
+
+  }
+
+}
@@ -0,0 +1,234 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.game.GameState;
+import org.mafagafogigante.dungeon.game.SaveFormat;
+import org.mafagafogigante.dungeon.game.SaveSnapshot;
+import org.mafagafogigante.dungeon.logging.DungeonLogger;
+import org.mafagafogigante.dungeon.util.StopWatch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Uninstantiable SaveWriter class that writes captured saves to disk on a dedicated thread, so that the game does not
+ * wait for the disk. This is also the thread that encodes the chunks that the save shares with the World and reads the
+ * chunks that were paged out when the save was captured.
+ *
+ * <p>Saves are written in the order in which they were submitted. A whole save is written to a temporary file that
+ * replaces the save only after it was entirely written and synced, so a crash leaves either the old save or the new
+ * one. Journal records are appended to the journal, where a record cut short by a crash is ignored when the save is
+ * read, along with anything after it. So a record that fails to be appended is cut from the journal, and the records
+ * of the same save that were submitted after it are discarded, as they would be ignored as well and as each of them
+ * only has what changed since the previous one.
+ */
+final class SaveWriter {
+
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+  private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(@NotNull Runnable runnable) {
+      Thread thread = new Thread(runnable, "Save Writer");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+  // The identifiers of the saves whose journal failed to receive a record, only used by the thread of the executor.
+  // Whole saves get new identifiers, so their journals are never in this set.
+  private static final Set<Long> FAILED_JOURNALS = new HashSet<>();
+
+  private SaveWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Schedules the writing of a snapshot captured from the provided GameState.
+   *
+   * <p>If the writing fails, the GameState is marked as not saved and unbound from its save, so that its next save is
+   * whole. A journal record is not written, and fails too, if an earlier record of the same save failed.
+   *
+   * @param state the GameState the snapshot was captured from
+   * @param snapshot the snapshot
+   * @param codec the codec that the body of a whole save is compressed with
+   * @param saveFile the save file, which a whole save replaces
+   * @param journalFile the journal of the save file, which receives journal records and is deleted by whole saves
+   * @param catalog the catalog that receives the entry of the save once it is written
+   * @param verbose whether or not the result is written to the screen, otherwise it is only logged
+   */
+  static void submit(@NotNull final GameState state, @NotNull final SaveSnapshot snapshot,
+      @NotNull final CompressionCodec codec, @NotNull final File saveFile, @NotNull final File journalFile,
+      @NotNull final SaveCatalog catalog, final boolean verbose) {
+    EXECUTOR.execute(new Runnable() {
+      @Override
+      public void run() {
+        write(state, snapshot, codec, saveFile, journalFile, catalog, verbose);
+      }
+    });
+  }
+
+  /**
+   * Waits until every save submitted so far is written.
+   */
+  static void waitForPendingWrites() {
+    try {
+      EXECUTOR.submit(new Runnable() {
+        @Override
+        public void run() {
+        }
+      }).get();
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException exception) {
+      DungeonLogger.logSevere(exception);
+    }
+  }
+
+  private static void write(GameState state, SaveSnapshot snapshot, CompressionCodec codec, File saveFile,
+      File journalFile, SaveCatalog catalog, boolean verbose) {
+    StopWatch stopWatch = new StopWatch();
+    try {
+      File writtenFile;
+      long writtenBytes;
+      String compression;
+      if (snapshot.isJournalRecord()) {
+        if (FAILED_JOURNALS.contains(snapshot.getSaveId())) {
+          throw new IOException("discarded a record of " + journalFile.getName() + " as an earlier record failed.");
+        }
+        final long previousLength = journalFile.length();
+        appendRecord(snapshot, journalFile);
+        // A rebuilt catalog sorts saves by the modification time of the save file, which appending does not update.
+        if (!saveFile.setLastModified(System.currentTimeMillis())) {
+          DungeonLogger.warning("Failed to update the modification time of " + saveFile.getName() + ".");
+        }
+        writtenFile = journalFile;
+        writtenBytes = journalFile.length() - previousLength;
+        compression = "journal record";
+      } else {
+        writeSave(snapshot, codec, saveFile);
+        if (journalFile.exists() && !journalFile.delete()) {
+          // The journal belongs to the previous save and is ignored, but it must not receive records of this one.
+          throw new IOException("failed to delete " + journalFile.getName() + ".");
+        }
+        writtenFile = saveFile;
+        writtenBytes = saveFile.length();
+        long nanoseconds = stopWatch.getElapsedNanoseconds();
+        compression = Loader.describeCompression(codec, snapshot.getBodyLength(), writtenBytes, nanoseconds);
+      }
+      updateCatalog(snapshot, saveFile, journalFile, catalog);
+      String sizeString = Converter.bytesToHuman(writtenBytes);
+      String format = "Wrote %s with %d chunks (%s) to %s in %s.";
+      int chunkCount = snapshot.getChunkCount();
+      DungeonLogger.info(String.format(format, sizeString, chunkCount, compression, writtenFile.getName(), stopWatch));
+      if (verbose) {
+        Writer.write(String.format("Successfully saved the game (wrote %s to %s).", sizeString, writtenFile.getName()));
+      }
+    } catch (IOException exception) {
+      if (snapshot.isJournalRecord()) {
+        FAILED_JOURNALS.add(snapshot.getSaveId());
+      }
+      state.setSaved(false);
+      state.setSaveName(null);
+      Writer.write("Could not save the game.");
+      DungeonLogger.logSevere(exception);
+    } finally {
+      // Writing releases the snapshot, but a journal of another save fails before anything is written.
+      snapshot.release();
+    }
+  }
+
+  /**
+   * Appends a journal record, writing the header of the journal first if there is no journal yet. Throws an
+   * IOException, without writing anything, if the journal belongs to another save.
+   *
+   * <p>If appending fails, the journal is cut back to its previous length, or deleted if it was new, so that no part of
+   * the record is left in it.
+   */
+  private static void appendRecord(SaveSnapshot snapshot, File journalFile) throws IOException {
+    boolean newJournal = !journalFile.exists();
+    if (!newJournal) {
+      try (InputStream in = new BufferedInputStream(new FileInputStream(journalFile))) {
+        if (SaveFormat.readJournalHeader(in) != snapshot.getSaveId()) {
+          throw new IOException(journalFile.getName() + " belongs to another save.");
+        }
+      }
+    }
+    long previousLength = journalFile.length();
+    try (FileOutputStream fileStream = new FileOutputStream(journalFile, true);
+        BufferedOutputStream out = new BufferedOutputStream(fileStream)) {
+      if (newJournal) {
+        SaveFormat.writeJournalHeader(snapshot.getSaveId(), out);
+      }
+      snapshot.writeTo(out);
+      out.flush();
+      fileStream.getFD().sync();
+    } catch (IOException exception) {
+      try {
+        if (newJournal) {
+          Files.deleteIfExists(journalFile.toPath());
+        } else {
+          try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(previousLength);
+            channel.force(true);
+          }
+        }
+      } catch (IOException cutFailure) {
+        // Whatever is left is ignored when the save is read, and no record of the save is appended after it.
+        exception.addSuppressed(cutFailure);
+      }
+      throw exception;
+    }
+  }
+
+  private static void writeSave(SaveSnapshot snapshot, CompressionCodec codec, File saveFile) throws IOException {
+    File temporaryFile = new File(saveFile.getPath() + TEMPORARY_EXTENSION);
+    try (FileOutputStream fileStream = new FileOutputStream(temporaryFile);
+        BufferedOutputStream out = new BufferedOutputStream(fileStream)) {
+      snapshot.writeTo(out, codec);
+      out.flush();
+      fileStream.getFD().sync();
+    }
+    replace(temporaryFile, saveFile);
+  }
+
+  /**
+   * Updates the entry of a save in the catalog. As the save itself was written, a failure is only logged.
+   */
+  private static void updateCatalog(SaveSnapshot snapshot, File saveFile, File journalFile, SaveCatalog catalog) {
+    long size = saveFile.length() + journalFile.length();
+    try {
+      catalog.put(new SaveCatalog.Entry(saveFile.getName(), snapshot.getGameVersion(), size, snapshot.getWorldDate(),
+          snapshot.getHeroSummary(), System.currentTimeMillis()));
+    } catch (IOException exception) {
+      DungeonLogger.logSevere(exception);
+    }
+  }
+
+  /**
+   * Replaces a file by another atomically if the file system supports it.
+   */
+  static void replace(File source, File target) throws IOException {
+    try {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException exception) {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+}
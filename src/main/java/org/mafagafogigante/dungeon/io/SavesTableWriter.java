@@ -4,7 +4,6 @@ import org.mafagafogigante.dungeon.util.ColumnAlignment;
 import org.mafagafogigante.dungeon.util.Table;
 import org.mafagafogigante.dungeon.util.Utils;
 
-import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -20,36 +19,35 @@ public final class SavesTableWriter {
   }
 
   /**
-   * Writes a table of the files found on the saves folder to the screen.
+   * Writes a table of the saves in the save catalog to the screen.
    */
   public static void writeSavesFolderTable() {
-    List<File> files = Loader.getSavedFiles();
-    List<Version> versions = Loader.getSavedFilesVersions(files);
-    if (!files.isEmpty()) {
+    List<SaveCatalog.Entry> entries = Loader.getSaveCatalogEntries();
+    if (!entries.isEmpty()) {
       List<ColumnAlignment> columnAlignments = new ArrayList<>();
       columnAlignments.add(ColumnAlignment.LEFT);
       columnAlignments.add(ColumnAlignment.RIGHT);
       columnAlignments.add(ColumnAlignment.RIGHT);
       columnAlignments.add(ColumnAlignment.LEFT);
-      Table table = new Table("Name", "Size", "Version", "Last modified");
+      columnAlignments.add(ColumnAlignment.LEFT);
+      columnAlignments.add(ColumnAlignment.LEFT);
+      Table table = new Table("Name", "Size", "Version", "World date", "Hero", "Last modified");
       table.setColumnAlignments(columnAlignments);
       int fileCount = 0;
-      int byteCount = 0;
+      long byteCount = 0;
       final SimpleDateFormat lastModifiedFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-      for (int i = 0; i < files.size(); i++) {
-        File file = files.get(i);
-        Version version = versions.get(i);
+      for (SaveCatalog.Entry entry : entries) {
         fileCount += 1;
-        byteCount += file.length();
-        Date lastModified = new Date(file.lastModified());
+        byteCount += entry.getSize();
+        Date lastModified = new Date(entry.getTimestamp());
         String periodString = Utils.makePeriodString(System.currentTimeMillis() - lastModified.getTime()) + " ago";
         String lastModifiedString = String.format("%s (%s)", lastModifiedFormat.format(lastModified), periodString);
-        String versionString = version == null ? "N/A" : version.toString();
-        table.insertRow(file.getName(), Converter.bytesToHuman(file.length()), versionString, lastModifiedString);
+        table.insertRow(entry.getName(), Converter.bytesToHuman(entry.getSize()), entry.getGameVersion(),
+            orNotAvailable(entry.getWorldDate()), orNotAvailable(entry.getHeroSummary()), lastModifiedString);
       }
       if (fileCount > 1) {
         table.insertSeparator();
-        table.insertRow("Sum of these " + fileCount + " files", Converter.bytesToHuman((byteCount)), "", "");
+        table.insertRow("Sum of these " + fileCount + " files", Converter.bytesToHuman((byteCount)), "", "", "", "");
       }
       Writer.write(table);
     } else {
@@ -57,4 +55,8 @@ public final class SavesTableWriter {
     }
   }
 
+  private static String orNotAvailable(String value) {
+    return value.isEmpty() ? "N/A" : value;
+  }
+
 }
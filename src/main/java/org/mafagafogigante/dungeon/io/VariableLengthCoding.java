@@ -0,0 +1,136 @@
+package org.mafagafogigante.dungeon.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Uninstantiable VariableLengthCoding class that defines methods to write and read integers with as few bytes as their
+ * magnitude requires.
+ *
+ * <p>Every byte carries seven bits of the integer, least significant first, and has its highest bit set if more bytes
+ * follow. Signed integers are zigzag encoded first, so that integers of small magnitude are short whatever their sign.
+ */
+public final class VariableLengthCoding {
+
+  private static final int MAXIMUM_LONG_BYTES = 10;
+
+  private VariableLengthCoding() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes a long that is treated as unsigned.
+   */
+  public static void writeUnsigned(DataOutput output, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      output.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    output.writeByte((int) value);
+  }
+
+  /**
+   * Returns how many bytes writeUnsigned writes for the specified long.
+   */
+  public static int getUnsignedLength(long value) {
+    int length = 1;
+    while ((value & ~0x7FL) != 0) {
+      length++;
+      value >>>= 7;
+    }
+    return length;
+  }
+
+  /**
+   * Reads a long written by writeUnsigned.
+   */
+  public static long readUnsigned(DataInput input) throws IOException {
+    long value = 0;
+    for (int i = 0; i < MAXIMUM_LONG_BYTES; i++) {
+      int current = input.readUnsignedByte();
+      value |= (long) (current & 0x7F) << (7 * i);
+      if ((current & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("variable length integer is longer than " + MAXIMUM_LONG_BYTES + " bytes.");
+  }
+
+  /**
+   * Reads a long written by writeUnsigned from the position of a ByteBuffer.
+   */
+  public static long readUnsigned(ByteBuffer buffer) throws IOException {
+    long value = 0;
+    try {
+      for (int i = 0; i < MAXIMUM_LONG_BYTES; i++) {
+        int current = buffer.get() & 0xFF;
+        value |= (long) (current & 0x7F) << (7 * i);
+        if ((current & 0x80) == 0) {
+          return value;
+        }
+      }
+    } catch (BufferUnderflowException underflow) {
+      throw new IOException("variable length integer goes beyond the end of the buffer.");
+    }
+    throw new IOException("variable length integer is longer than " + MAXIMUM_LONG_BYTES + " bytes.");
+  }
+
+  /**
+   * Reads a long written by writeUnsigned that must be a nonnegative int.
+   */
+  public static int readUnsignedInt(DataInput input) throws IOException {
+    return toUnsignedInt(readUnsigned(input));
+  }
+
+  /**
+   * Reads a long written by writeUnsigned that must be a nonnegative int from the position of a ByteBuffer.
+   */
+  public static int readUnsignedInt(ByteBuffer buffer) throws IOException {
+    return toUnsignedInt(readUnsigned(buffer));
+  }
+
+  private static int toUnsignedInt(long value) throws IOException {
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IOException("expected a nonnegative int but got " + value + ".");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Writes a signed long.
+   */
+  public static void writeSigned(DataOutput output, long value) throws IOException {
+    writeUnsigned(output, (value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Reads a long written by writeSigned.
+   */
+  public static long readSigned(DataInput input) throws IOException {
+    long zigzag = readUnsigned(input);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  /**
+   * Reads a long written by writeSigned from the position of a ByteBuffer.
+   */
+  public static long readSigned(ByteBuffer buffer) throws IOException {
+    long zigzag = readUnsigned(buffer);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  /**
+   * Reads a long written by writeSigned that must be an int.
+   */
+  public static int readSignedInt(DataInput input) throws IOException {
+    long value = readSigned(input);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new IOException("expected an int but got " + value + ".");
+    }
+    return (int) value;
+  }
+
+}
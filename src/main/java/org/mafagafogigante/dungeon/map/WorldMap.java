@@ -18,8 +18,7 @@ class WorldMap {
   /**
    * Initializes the WorldMap with a proper IterationLimits object and a matrix of null objects.
    */
-  private WorldMap(int rows, int columns) {
-    Point center = Game.getGameState().getHero().getLocation().getPoint();
+  private WorldMap(@NotNull Point center, int rows, int columns) {
     this.limits = new IterationLimits(center, rows, columns);
     this.matrix = new WorldMapSymbol[rows][columns];
   }
@@ -33,18 +32,28 @@ class WorldMap {
     Point heroPosition = Game.getGameState().getHero().getLocation().getPoint();
     if (limited) {
       ExplorationStatistics explorationStatistics = Game.getGameState().getStatistics().getExplorationStatistics();
-      return renderWorldMap(new WorldMapSymbolFactory(world, heroPosition, explorationStatistics), rows, columns);
+      WorldMapSymbolFactory symbolFactory = new WorldMapSymbolFactory(world, heroPosition, explorationStatistics);
+      return renderWorldMap(symbolFactory, heroPosition, rows, columns);
     } else {
-      return renderWorldMap(new WorldMapSymbolFactory(world, heroPosition), rows, columns);
+      return makeWorldMap(world, heroPosition, rows, columns);
     }
   }
 
-  private static WorldMap renderWorldMap(WorldMapSymbolFactory symbolFactory, int rows, int columns) {
-    WorldMap map = new WorldMap(rows, columns);
+  /**
+   * Makes a WorldMap of the specified size, centered on the Hero position, that reveals all locations.
+   *
+   * <p>Unlike the other factory method, this one does not depend on the current GameState.
+   */
+  @NotNull
+  static WorldMap makeWorldMap(@NotNull World world, @NotNull Point heroPosition, int rows, int columns) {
+    return renderWorldMap(new WorldMapSymbolFactory(world, heroPosition), heroPosition, rows, columns);
+  }
+
+  private static WorldMap renderWorldMap(WorldMapSymbolFactory symbolFactory, Point center, int rows, int columns) {
+    WorldMap map = new WorldMap(center, rows, columns);
     for (int curY = map.limits.minY; curY >= map.limits.maxY; curY--) {
       for (int curX = map.limits.minX; curX <= map.limits.maxX; curX++) {
-        Point currentPosition = new Point(curX, curY, 0);
-        map.matrix[map.limits.minY - curY][curX - map.limits.minX] = symbolFactory.getSymbol(currentPosition);
+        map.matrix[map.limits.minY - curY][curX - map.limits.minX] = symbolFactory.getSymbol(curX, curY);
       }
     }
     return map;
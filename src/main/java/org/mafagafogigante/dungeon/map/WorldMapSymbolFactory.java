@@ -32,11 +32,14 @@ final class WorldMapSymbolFactory {
     this.explorationStatistics = explorationStatistics;
   }
 
-  WorldMapSymbol getSymbol(Point position) {
-    if (position.equals(heroPosition)) {
+  /**
+   * Returns the symbol of the surface Location at the specified coordinates.
+   */
+  WorldMapSymbol getSymbol(int x, int y) {
+    if (x == heroPosition.getX() && y == heroPosition.getY() && heroPosition.getZ() == 0) {
       return WorldMapSymbol.getHeroSymbol();
-    } else if (explorationStatistics == null || explorationStatistics.hasBeenSeen(position)) {
-      return WorldMapSymbol.makeSymbol(world.getLocation(position));
+    } else if (explorationStatistics == null || explorationStatistics.hasBeenSeen(new Point(x, y, 0))) {
+      return WorldMapSymbol.makeSymbol(world.getLocation(x, y, 0));
     } else {
       return WorldMapSymbol.getNotYetGeneratedSymbol();
     }
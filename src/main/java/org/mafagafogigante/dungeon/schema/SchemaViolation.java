@@ -0,0 +1,36 @@
+package org.mafagafogigante.dungeon.schema;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A value of a JSON document that does not satisfy its rule, identified by its path in the document.
+ */
+public final class SchemaViolation {
+
+  private final String path;
+  private final String message;
+
+  public SchemaViolation(@NotNull String path, @NotNull String message) {
+    this.path = path;
+    this.message = message;
+  }
+
+  /**
+   * Returns the path to the value, such as $.items[2].name.
+   */
+  @NotNull
+  public String getPath() {
+    return path;
+  }
+
+  @NotNull
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String toString() {
+    return path + ": " + message;
+  }
+
+}
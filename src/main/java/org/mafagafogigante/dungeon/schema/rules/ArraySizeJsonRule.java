@@ -11,6 +11,10 @@ class ArraySizeJsonRule extends ArrayJsonRule {
     this.arraySize = arraySize;
   }
 
+  int getArraySize() {
+    return arraySize;
+  }
+
   @Override
   public void validate(JsonValue value) {
     super.validate(value);
@@ -0,0 +1,301 @@
+package org.mafagafogigante.dungeon.schema.rules;
+
+import org.mafagafogigante.dungeon.io.JsonReader;
+import org.mafagafogigante.dungeon.io.JsonToken;
+import org.mafagafogigante.dungeon.schema.JsonRule;
+import org.mafagafogigante.dungeon.schema.SchemaViolation;
+
+import com.eclipsesource.json.JsonValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JsonRule compiled for validating documents as they are read by a {@link JsonReader}, in a single pass and without
+ * building the whole document in memory.
+ *
+ * <p>Compiling a rule removes the groups and the optional rules, so that every value of a document is checked against
+ * the plain list of object, array and scalar rules that apply to it. Objects and arrays are checked as they are read.
+ * Only the values checked by other rules, which are nearly always scalars, are built before being checked by their
+ * rules. Unlike JsonRule, which throws on the first invalid value, every violation of a document is collected with its
+ * path.
+ */
+public final class CompiledJsonSchema {
+
+  private final Slot root;
+
+  private CompiledJsonSchema(Slot root) {
+    this.root = root;
+  }
+
+  /**
+   * Compiles the specified rule.
+   */
+  @NotNull
+  public static CompiledJsonSchema compile(@NotNull JsonRule rule) {
+    return new CompiledJsonSchema(new Compiler().compileSlot(rule));
+  }
+
+  /**
+   * Reads a whole JSON document and returns all of its violations.
+   *
+   * @throws IOException if the document could not be read or is not valid JSON
+   */
+  @NotNull
+  public List<SchemaViolation> validate(@NotNull Reader reader) throws IOException {
+    JsonReader jsonReader = new JsonReader(reader);
+    List<SchemaViolation> violations = validate(jsonReader);
+    // Anything after the value is a syntax error.
+    jsonReader.peek();
+    return violations;
+  }
+
+  /**
+   * Reads the next value of the reader and returns all of its violations.
+   *
+   * @throws IOException if the value could not be read or is not valid JSON
+   */
+  @NotNull
+  public List<SchemaViolation> validate(@NotNull JsonReader reader) throws IOException {
+    List<SchemaViolation> violations = new ArrayList<>();
+    validateValue(reader, root.nodes, violations);
+    return violations;
+  }
+
+  private static void validateValue(JsonReader reader, List<Node> nodes, List<SchemaViolation> violations)
+      throws IOException {
+    if (nodes.isEmpty()) {
+      reader.skipValue();
+      return;
+    }
+    String path = reader.getPath();
+    if (hasRuleNode(nodes)) {
+      JsonValue value = reader.nextValue();
+      for (Node node : nodes) {
+        try {
+          node.rule.validate(value);
+        } catch (RuntimeException invalid) {
+          violations.add(new SchemaViolation(path, String.valueOf(invalid.getMessage())));
+        }
+      }
+      return;
+    }
+    JsonToken token = reader.peek();
+    if (token == JsonToken.BEGIN_OBJECT) {
+      for (Node node : nodes) {
+        if (node.kind != NodeKind.OBJECT) {
+          violations.add(new SchemaViolation(path, "an object is not an array."));
+        }
+      }
+      validateObject(reader, path, nodes, violations);
+    } else if (token == JsonToken.BEGIN_ARRAY) {
+      for (Node node : nodes) {
+        if (node.kind == NodeKind.OBJECT) {
+          violations.add(new SchemaViolation(path, "an array is not an object."));
+        }
+      }
+      validateArray(reader, path, nodes, violations);
+    } else {
+      JsonValue value = reader.nextValue();
+      for (Node node : nodes) {
+        String expected = node.kind == NodeKind.OBJECT ? "an object" : "an array";
+        violations.add(new SchemaViolation(path, value + " is not " + expected + "."));
+      }
+    }
+  }
+
+  private static boolean hasRuleNode(List<Node> nodes) {
+    for (Node node : nodes) {
+      if (node.kind == NodeKind.RULE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void validateObject(JsonReader reader, String path, List<Node> nodes,
+      List<SchemaViolation> violations) throws IOException {
+    Set<String> names = new HashSet<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      names.add(name);
+      List<Node> memberNodes = new ArrayList<>();
+      boolean hasRule = false;
+      for (Node node : nodes) {
+        if (node.kind == NodeKind.OBJECT && node.members.containsKey(name)) {
+          memberNodes.addAll(node.members.get(name).nodes);
+          hasRule = true;
+        }
+      }
+      if (hasRule) {
+        validateValue(reader, memberNodes, violations);
+      } else {
+        violations.add(new SchemaViolation(reader.getPath(), String.format("%s does not have a rule.", name)));
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    for (Node node : nodes) {
+      if (node.kind == NodeKind.OBJECT) {
+        for (Map.Entry<String, Slot> member : node.members.entrySet()) {
+          if (!member.getValue().acceptsMissing && !names.contains(member.getKey())) {
+            violations.add(new SchemaViolation(path + "." + member.getKey(), member.getKey() + " is missing."));
+          }
+        }
+      }
+    }
+  }
+
+  private static void validateArray(JsonReader reader, String path, List<Node> nodes,
+      List<SchemaViolation> violations) throws IOException {
+    int size = 0;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      List<Node> elementNodes = new ArrayList<>();
+      for (Node node : nodes) {
+        if (node.kind == NodeKind.VARIABLE_ARRAY) {
+          elementNodes.addAll(node.elements.get(0).nodes);
+        } else if (node.kind == NodeKind.FIXED_ARRAY && size < node.elements.size()) {
+          elementNodes.addAll(node.elements.get(size).nodes);
+        }
+      }
+      validateValue(reader, elementNodes, violations);
+      size++;
+    }
+    reader.endArray();
+    for (Node node : nodes) {
+      if (node.kind == NodeKind.FIXED_ARRAY && node.elements.size() != size) {
+        violations.add(new SchemaViolation(path, "Array is not of the right size."));
+      } else if (node.kind == NodeKind.ARRAY_SIZE && node.size != size) {
+        violations.add(new SchemaViolation(path, "array of " + size + " elements size is not valid."));
+      }
+    }
+  }
+
+  private enum NodeKind {
+    OBJECT, ARRAY, ARRAY_SIZE, VARIABLE_ARRAY, FIXED_ARRAY, RULE
+  }
+
+  /**
+   * A rule that is not a group nor optional. Objects and arrays are checked by the schema, other rules by themselves.
+   */
+  private static final class Node {
+
+    private final NodeKind kind;
+    private final JsonRule rule;
+    private final Map<String, Slot> members = new HashMap<>();
+    private final List<Slot> elements = new ArrayList<>();
+    private int size;
+
+    Node(NodeKind kind, JsonRule rule) {
+      this.kind = kind;
+      this.rule = rule;
+    }
+
+  }
+
+  /**
+   * The nodes that a value must satisfy and whether the value may be missing.
+   */
+  private static final class Slot {
+
+    private final List<Node> nodes;
+    private final boolean acceptsMissing;
+
+    Slot(List<Node> nodes, boolean acceptsMissing) {
+      this.nodes = Collections.unmodifiableList(nodes);
+      this.acceptsMissing = acceptsMissing;
+    }
+
+  }
+
+  private static final class Compiler {
+
+    private final Map<JsonRule, Slot> slots = new IdentityHashMap<>();
+    private final Map<JsonRule, Node> nodes = new IdentityHashMap<>();
+
+    private static boolean acceptsMissing(JsonRule rule) {
+      if (rule instanceof OptionalJsonRule || rule instanceof EmptyRule) {
+        return true;
+      } else if (rule instanceof GroupJsonRule) {
+        for (JsonRule child : ((GroupJsonRule) rule).getRules()) {
+          if (!acceptsMissing(child)) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+
+    Slot compileSlot(JsonRule rule) {
+      Slot slot = slots.get(rule);
+      if (slot == null) {
+        List<Node> slotNodes = new ArrayList<>();
+        expand(rule, slotNodes);
+        slot = new Slot(slotNodes, acceptsMissing(rule));
+        slots.put(rule, slot);
+      }
+      return slot;
+    }
+
+    private void expand(JsonRule rule, List<Node> slotNodes) {
+      if (rule instanceof GroupJsonRule) {
+        for (JsonRule child : ((GroupJsonRule) rule).getRules()) {
+          expand(child, slotNodes);
+        }
+      } else if (rule instanceof OptionalJsonRule) {
+        expand(((OptionalJsonRule) rule).getRule(), slotNodes);
+      } else if (!(rule instanceof EmptyRule)) {
+        Node node = compileNode(rule);
+        if (!slotNodes.contains(node)) {
+          slotNodes.add(node);
+        }
+      }
+    }
+
+    private Node compileNode(JsonRule rule) {
+      Node node = nodes.get(rule);
+      if (node != null) {
+        return node;
+      }
+      // Exact classes, as a subclass could check more than its superclass.
+      Class<?> ruleClass = rule.getClass();
+      if (ruleClass == ObjectJsonRule.class) {
+        node = new Node(NodeKind.OBJECT, rule);
+        for (Map.Entry<String, JsonRule> member : ((ObjectJsonRule) rule).getRules().entrySet()) {
+          node.members.put(member.getKey(), compileSlot(member.getValue()));
+        }
+      } else if (ruleClass == ArrayJsonRule.class) {
+        node = new Node(NodeKind.ARRAY, rule);
+      } else if (ruleClass == ArraySizeJsonRule.class) {
+        node = new Node(NodeKind.ARRAY_SIZE, rule);
+        node.size = ((ArraySizeJsonRule) rule).getArraySize();
+      } else if (ruleClass == VariableArrayJsonRule.class) {
+        node = new Node(NodeKind.VARIABLE_ARRAY, rule);
+        node.elements.add(compileSlot(((VariableArrayJsonRule) rule).getRule()));
+      } else if (ruleClass == FixedArrayJsonRule.class) {
+        node = new Node(NodeKind.FIXED_ARRAY, rule);
+        for (JsonRule element : ((FixedArrayJsonRule) rule).getRules()) {
+          node.elements.add(compileSlot(element));
+        }
+      } else {
+        node = new Node(NodeKind.RULE, rule);
+      }
+      nodes.put(rule, node);
+      return node;
+    }
+
+  }
+
+}
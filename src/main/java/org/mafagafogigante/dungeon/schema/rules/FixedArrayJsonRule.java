@@ -16,6 +16,10 @@ class FixedArrayJsonRule extends ArrayJsonRule {
     this.rules = new ArrayList<>(rules);
   }
 
+  List<JsonRule> getRules() {
+    return rules;
+  }
+
   @Override
   public void validate(JsonValue value) {
     super.validate(value);
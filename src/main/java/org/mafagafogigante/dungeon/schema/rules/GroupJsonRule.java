@@ -15,6 +15,10 @@ class GroupJsonRule implements JsonRule {
     this.rules = Arrays.asList(rules);
   }
 
+  List<JsonRule> getRules() {
+    return rules;
+  }
+
   @Override
   public void validate(JsonValue value) {
     for (JsonRule rule : rules) {
@@ -18,6 +18,10 @@ class ObjectJsonRule implements JsonRule {
     this.rules = rules;
   }
 
+  Map<String, JsonRule> getRules() {
+    return rules;
+  }
+
   @Override
   public void validate(JsonValue value) {
     if (!value.isObject()) {
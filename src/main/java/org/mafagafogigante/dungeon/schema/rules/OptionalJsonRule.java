@@ -12,6 +12,10 @@ class OptionalJsonRule implements JsonRule {
     this.rule = rule;
   }
 
+  JsonRule getRule() {
+    return rule;
+  }
+
   @Override
   public void validate(JsonValue value) {
     if (value != null) {
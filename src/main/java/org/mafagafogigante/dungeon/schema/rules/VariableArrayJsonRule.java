@@ -13,6 +13,10 @@ class VariableArrayJsonRule extends ArrayJsonRule {
     this.rule = rule;
   }
 
+  JsonRule getRule() {
+    return rule;
+  }
+
   @Override
   public void validate(JsonValue value) {
     super.validate(value);
@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.spells;
 import org.mafagafogigante.dungeon.entity.creatures.Hero;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Name;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Selectable;
 
 import java.io.Serializable;
@@ -13,7 +12,7 @@ import java.io.Serializable;
  */
 public abstract class Spell implements Selectable, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final SpellDefinition definition;
 
   Spell(String id, String name) {
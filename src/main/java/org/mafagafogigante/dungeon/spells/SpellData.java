@@ -12,6 +12,7 @@ import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Location;
 import org.mafagafogigante.dungeon.game.Point;
 import org.mafagafogigante.dungeon.game.Random;
+import org.mafagafogigante.dungeon.game.RefreshBatch;
 import org.mafagafogigante.dungeon.io.Writer;
 import org.mafagafogigante.dungeon.stats.CauseOfDeath;
 import org.mafagafogigante.dungeon.stats.TypeOfCauseOfDeath;
@@ -80,16 +81,19 @@ public final class SpellData {
         } else {
           selectedItems.addAll(HeroUtils.findItems(hero.getInventory().getItems(), targetMatcher));
         }
-        for (Item item : selectedItems) {
-          effectivelyOperate(hero, item);
+        try (RefreshBatch batch = Engine.beginRefreshBatch()) {
+          for (Item item : selectedItems) {
+            effectivelyOperate(hero, item, batch);
+          }
         }
       }
 
-      private void effectivelyOperate(Hero hero, Item item) {
+      private void effectivelyOperate(Hero hero, Item item, RefreshBatch batch) {
         if (!item.hasTag(Item.Tag.REPAIRABLE)) {
           Writer.write(item.getName().getSingular() + " is not repairable.");
         } else {
-          Engine.rollDateAndRefresh(SECONDS_TO_CAST_REPAIR); // Time passes before casting.
+          batch.rollDate(SECONDS_TO_CAST_REPAIR); // Time passes before casting.
+          batch.refreshItems();
           if (!hero.getInventory().hasItem(item)) { // If the item disappeared.
             Writer.write(item.getName().getSingular() + " disappeared before you finished casting.");
           } else {
@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.spells;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.Name;
 import org.mafagafogigante.dungeon.game.NameFactory;
-import org.mafagafogigante.dungeon.io.Version;
 
 import java.io.Serializable;
 
@@ -14,7 +13,7 @@ import java.io.Serializable;
  */
 final class SpellDefinition implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   public final Id id;
   // Use a name because in the future we may want to write stuff like "you casted 10 fireballs so far."
   public final Name name;
@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.stats;
 
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.PartOfDay;
-import org.mafagafogigante.dungeon.io.Version;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -13,7 +12,7 @@ import java.io.Serializable;
  */
 public final class BattleRecord implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Id id;
   private final String type;
   private final CauseOfDeath causeOfDeath;
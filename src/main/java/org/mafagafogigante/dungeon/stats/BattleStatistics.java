@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.stats;
 import org.mafagafogigante.dungeon.achievements.BattleStatisticsRequirement;
 import org.mafagafogigante.dungeon.entity.creatures.Creature;
 import org.mafagafogigante.dungeon.game.PartOfDay;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.CounterMap;
 
 import org.jetbrains.annotations.NotNull;
@@ -15,7 +14,7 @@ import java.io.Serializable;
  */
 public class BattleStatistics implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final CounterMap<BattleRecord> records = new CounterMap<>();
 
   /**
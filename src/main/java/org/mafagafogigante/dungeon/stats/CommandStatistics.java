@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.stats;
 
 import org.mafagafogigante.dungeon.commands.IssuedCommand;
-import org.mafagafogigante.dungeon.io.Version;
 
 import java.io.Serializable;
 
@@ -10,7 +9,7 @@ import java.io.Serializable;
  */
 final class CommandStatistics implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private int commands;
   private int chars;
   private int words;
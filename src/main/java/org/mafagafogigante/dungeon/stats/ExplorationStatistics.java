@@ -4,18 +4,35 @@ import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.PartOfDay;
 import org.mafagafogigante.dungeon.game.Point;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.io.VariableLengthCoding;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * ExplorationStatistics class that tracks the Hero's exploration progress.
+ *
+ * <p>Saves write the entries in a compact binary form instead of serializing them. Incremental saves only write the
+ * entries that changed since the entries were last written, which this class keeps track of.
  */
 public class ExplorationStatistics implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final HashMap<Point, ExplorationStatisticsEntry> entries;
+  // The points whose entries were created or changed since the entries were last written.
+  private transient Set<Point> changedPoints = new HashSet<>();
 
   public ExplorationStatistics() {
     this.entries = new HashMap<>();
@@ -32,6 +49,7 @@ public class ExplorationStatistics implements Serializable {
   public void createEntryIfNotExists(Point point, Id locationId, Date discoveredDate) {
     if (!hasBeenSeen(point)) {
       entries.put(point, new ExplorationStatisticsEntry(locationId, discoveredDate));
+      changedPoints.add(point);
     }
   }
 
@@ -43,6 +61,7 @@ public class ExplorationStatistics implements Serializable {
   public void addVisit(Point point, Id locationId, Date discoveredDate) {
     createEntryIfNotExists(point, locationId, discoveredDate);
     entries.get(point).addVisit();
+    changedPoints.add(point);
   }
 
   /**
@@ -53,6 +72,7 @@ public class ExplorationStatistics implements Serializable {
   public void addKill(Point point) {
     // Don't call createEntryIfNotExists as the player needs to visit a Point before killing anything in it.
     entries.get(point).addKill();
+    changedPoints.add(point);
   }
 
   /**
@@ -132,4 +152,60 @@ public class ExplorationStatistics implements Serializable {
     return count;
   }
 
+  /**
+   * Returns whether any entry was created or changed since the entries were last written.
+   */
+  public boolean hasChangedEntries() {
+    return !changedPoints.isEmpty();
+  }
+
+  /**
+   * Writes either all the entries or only those created or changed since the entries were last written. Either way,
+   * the entries are no longer considered changed afterwards.
+   */
+  public void writeEntries(@NotNull DataOutput output, boolean changedOnly) throws IOException {
+    List<Map.Entry<Point, ExplorationStatisticsEntry>> written = new ArrayList<>();
+    if (changedOnly) {
+      for (Point point : changedPoints) {
+        written.add(new AbstractMap.SimpleImmutableEntry<>(point, entries.get(point)));
+      }
+    } else {
+      written.addAll(entries.entrySet());
+    }
+    VariableLengthCoding.writeUnsigned(output, written.size());
+    for (Map.Entry<Point, ExplorationStatisticsEntry> entry : written) {
+      final Point point = entry.getKey();
+      final ExplorationStatisticsEntry value = entry.getValue();
+      VariableLengthCoding.writeSigned(output, point.getX());
+      VariableLengthCoding.writeSigned(output, point.getY());
+      VariableLengthCoding.writeSigned(output, point.getZ());
+      output.writeUTF(value.getLocationId().toString());
+      VariableLengthCoding.writeSigned(output, value.getDiscoveredDate().getTime());
+      VariableLengthCoding.writeUnsigned(output, value.getVisitCount());
+      VariableLengthCoding.writeUnsigned(output, value.getKillCount());
+    }
+    changedPoints.clear();
+  }
+
+  /**
+   * Reads entries written by writeEntries, which replace the entries of the same points.
+   */
+  public void readEntries(@NotNull DataInput input) throws IOException {
+    int count = VariableLengthCoding.readUnsignedInt(input);
+    for (int i = 0; i < count; i++) {
+      Point point = new Point(VariableLengthCoding.readSignedInt(input), VariableLengthCoding.readSignedInt(input),
+          VariableLengthCoding.readSignedInt(input));
+      Id locationId = new Id(input.readUTF());
+      Date discoveredDate = new Date(VariableLengthCoding.readSigned(input));
+      int visitCount = VariableLengthCoding.readUnsignedInt(input);
+      int killCount = VariableLengthCoding.readUnsignedInt(input);
+      entries.put(point, new ExplorationStatisticsEntry(locationId, discoveredDate, visitCount, killCount));
+    }
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+    inputStream.defaultReadObject();
+    changedPoints = new HashSet<>();
+  }
+
 }
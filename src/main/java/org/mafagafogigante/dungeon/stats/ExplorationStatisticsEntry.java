@@ -3,7 +3,6 @@ package org.mafagafogigante.dungeon.stats;
 import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.game.Id;
 import org.mafagafogigante.dungeon.game.PartOfDay;
-import org.mafagafogigante.dungeon.io.Version;
 
 import java.io.Serializable;
 
@@ -12,7 +11,7 @@ import java.io.Serializable;
  */
 class ExplorationStatisticsEntry implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Id locationId;
   private Date discoveredDate;
   private int visitCount;
@@ -23,6 +22,12 @@ class ExplorationStatisticsEntry implements Serializable {
     this.discoveredDate = discoveredDate;
   }
 
+  ExplorationStatisticsEntry(Id locationId, Date discoveredDate, int visitCount, int killCount) {
+    this(locationId, discoveredDate);
+    this.visitCount = visitCount;
+    this.killCount = killCount;
+  }
+
   public Id getLocationId() {
     return locationId;
   }
@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.stats;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 
 /**
@@ -9,7 +7,7 @@ import java.io.Serializable;
  */
 public final class HeroStatistics implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
 
   private long healingThroughEating;
   private long damageInflicted;
@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.stats;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.CounterMap;
 
 import java.io.Serializable;
@@ -10,7 +9,7 @@ import java.io.Serializable;
  */
 public final class WorldStatistics implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final CounterMap<String> spawnCounter = new CounterMap<>();
   private final CounterMap<String> locationCounter = new CounterMap<>();
   private int spawnCount;
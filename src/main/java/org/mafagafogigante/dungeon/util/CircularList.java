@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.util;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +12,7 @@ import java.util.List;
  */
 public final class CircularList<T> implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final int capacity;
   private final List<T> list;
   /**
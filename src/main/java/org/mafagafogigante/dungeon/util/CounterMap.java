@@ -1,7 +1,5 @@
 package org.mafagafogigante.dungeon.util;
 
-import org.mafagafogigante.dungeon.io.Version;
-
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -18,7 +16,7 @@ import java.util.Set;
  */
 public class CounterMap<K> implements Serializable, Iterable<K> {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   // The wrapped HashMap.
   private final HashMap<K, Integer> map = new HashMap<>();
 
@@ -0,0 +1,102 @@
+package org.mafagafogigante.dungeon.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * IntegerMap class that maps primitive ints to objects without boxing the keys.
+ *
+ * <p>Keys are stored in an open-addressing hash table with linear probing, so neither lookups nor updates of existing
+ * keys allocate. Null values are not allowed, which lets a null value mark a free slot. Entries cannot be removed.
+ */
+public final class IntegerMap<V> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] keys = new int[INITIAL_CAPACITY];
+  private Object[] values = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Constructs a new empty IntegerMap.
+   */
+  public IntegerMap() {
+  }
+
+  /**
+   * Scrambles the bits of a key so that consecutive keys land on distant slots.
+   */
+  private static int hash(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private int findSlot(int key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (values[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Returns the value mapped to the provided key or null if there is no such value.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    return (V) values[findSlot(key)];
+  }
+
+  public boolean containsKey(int key) {
+    return values[findSlot(key)] != null;
+  }
+
+  /**
+   * Maps the provided key to the provided value, replacing any value previously mapped to the key.
+   */
+  public void put(int key, @NotNull V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("value should not be null.");
+    }
+    int slot = findSlot(key);
+    if (values[slot] == null) {
+      size++;
+      // Keep the load factor at or below one half so that probe sequences stay short.
+      if (2 * size > keys.length) {
+        resize(2 * keys.length);
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+    }
+    values[slot] = value;
+  }
+
+  private void resize(int capacity) {
+    final int[] oldKeys = keys;
+    final Object[] oldValues = values;
+    keys = new int[capacity];
+    values = new Object[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("IntegerMap{size=%d}", size);
+  }
+
+}
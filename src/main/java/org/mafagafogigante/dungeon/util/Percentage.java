@@ -1,6 +1,5 @@
 package org.mafagafogigante.dungeon.util;
 
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.logging.DungeonLogger;
 
 import org.jetbrains.annotations.NotNull;
@@ -13,7 +12,7 @@ import java.util.Locale;
  */
 public class Percentage implements Comparable<Percentage>, Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private static final double ONE = 1.0;
   private static final double ZERO = 0.0;
 
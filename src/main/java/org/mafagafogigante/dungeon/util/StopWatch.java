@@ -32,6 +32,13 @@ public class StopWatch {
     return System.nanoTime() - time;
   }
 
+  /**
+   * Returns how many nanoseconds passed since the creation of this StopWatch.
+   */
+  public long getElapsedNanoseconds() {
+    return calculateTimeDifference();
+  }
+
   /**
    * Returns a String representation of the time difference between this method call and the creation of this StopWatch.
    * If the provided TimeUnit is not mapped to an abbreviation, null is returned.
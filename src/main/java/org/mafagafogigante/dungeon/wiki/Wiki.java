@@ -20,6 +20,8 @@ import java.util.Set;
 
 /**
  * Uninstantiable Wiki class that loads the Wiki when it is required.
+ *
+ * <p>The Wiki may be loaded by the resource preloader while the game searches it, so loading it is synchronized.
  */
 final class Wiki {
 
@@ -36,7 +38,7 @@ final class Wiki {
   private static void initialize() {
     // The field cannot be initialized in the field declaration as a comparison to null is used to determine whether or
     // not it has already been initialized.
-    articleList = new ArrayList<>();
+    List<Article> articles = new ArrayList<>();
     Map<Article, Collection<String>> seeAlsoMap = new HashMap<>();
     String filename = ResourceNameResolver.resolveName(DungeonResource.WIKI);
     JsonObject wikiJsonObject = JsonObjectFactory.makeJsonObject(filename);
@@ -49,16 +51,17 @@ final class Wiki {
           seeAlsoMap.get(article).add(referenceJsonValue.asString());
         }
       }
-      articleList.add(article);
+      articles.add(article);
     }
     // Validate the references and add them.
-    addReferences(seeAlsoMap);
+    addReferences(articles, seeAlsoMap);
+    articleList = articles;
   }
 
-  private static void addReferences(Map<Article, Collection<String>> seeAlsoMap) {
+  private static void addReferences(List<Article> articles, Map<Article, Collection<String>> seeAlsoMap) {
     // To speed up, make a set with all the valid article names.
     Set<String> validReferences = new HashSet<>();
-    for (Article article : articleList) {
+    for (Article article : articles) {
       validReferences.add(article.getName().getSingular());
     }
     for (Entry<Article, Collection<String>> entry : seeAlsoMap.entrySet()) {
@@ -82,7 +85,7 @@ final class Wiki {
   /**
    * Returns an unmodifiable view of the collection of articles.
    */
-  static Collection<Article> getArticles() {
+  static synchronized Collection<Article> getArticles() {
     if (articleList == null) {
       initialize();
     }
@@ -18,6 +18,13 @@ public final class WikiSearcher {
     throw new AssertionError();
   }
 
+  /**
+   * Loads the Wiki if it has not been loaded yet, so that the first search does not have to.
+   */
+  public static void loadWiki() {
+    Wiki.getArticles();
+  }
+
   /**
    * Searches the wiki and writes the matching contents to the screen. This method triggers the wiki initialization.
    *
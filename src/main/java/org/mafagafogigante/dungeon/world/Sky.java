@@ -1,7 +1,6 @@
 package org.mafagafogigante.dungeon.world;
 
 import org.mafagafogigante.dungeon.entity.creatures.Observer;
-import org.mafagafogigante.dungeon.io.Version;
 import org.mafagafogigante.dungeon.util.Utils;
 
 import java.io.Serializable;
@@ -14,7 +13,7 @@ import java.util.List;
  */
 public class Sky implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final Collection<AstronomicalBody> astronomicalBodies = new ArrayList<>();
 
   /**
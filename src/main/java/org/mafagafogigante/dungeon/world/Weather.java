@@ -3,7 +3,7 @@ package org.mafagafogigante.dungeon.world;
 import org.mafagafogigante.dungeon.date.Date;
 import org.mafagafogigante.dungeon.date.Duration;
 import org.mafagafogigante.dungeon.game.Random;
-import org.mafagafogigante.dungeon.io.Version;
+import org.mafagafogigante.dungeon.game.SeededRandom;
 import org.mafagafogigante.dungeon.util.CircularList;
 
 import org.jetbrains.annotations.NotNull;
@@ -17,7 +17,7 @@ import java.util.List;
  */
 public class Weather implements Serializable {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   // Eight hours.
   private static final Duration UPDATE_INTERVAL = new Duration(new Date(1, 1, 1, 1, 1, 1), new Date(1, 1, 1, 9, 1, 1));
 
@@ -25,12 +25,21 @@ public class Weather implements Serializable {
   private static final double TREND_FORCE = 0.6;
 
   private final CircularList<WeatherCondition> conditionHistory = new CircularList<>(2);
+  private final SeededRandom random;
   private Date lastWeatherUpdate;
 
   /**
    * Constructs a new Weather starting at the specified date.
    */
   public Weather(@NotNull Date date) {
+    this(date, new SeededRandom(Random.nextLong()));
+  }
+
+  /**
+   * Constructs a new Weather starting at the specified date that rolls its conditions with the provided SeededRandom.
+   */
+  public Weather(@NotNull Date date, @NotNull SeededRandom random) {
+    this.random = random;
     this.lastWeatherUpdate = date;
     rollNewCondition(date);
   }
@@ -54,19 +63,19 @@ public class Weather implements Serializable {
    */
   private void rollNewCondition(@NotNull Date date) {
     if (conditionHistory.isEmpty()) {
-      conditionHistory.add(Random.select(Arrays.asList(WeatherCondition.values())));
+      conditionHistory.add(random.select(Arrays.asList(WeatherCondition.values())));
     } else {
       final WeatherCondition lastCondition = conditionHistory.get(0);
       if (conditionHistory.size() == 1) {
         final List<WeatherCondition> list = Arrays.asList(lastCondition.getLighter(), lastCondition.getHeavier());
-        conditionHistory.add(Random.select(list));
+        conditionHistory.add(random.select(list));
       } else { // WeatherCondition history has at least two conditions.
         final WeatherCondition semiLastCondition = conditionHistory.get(1);
         // Try to force change in the same way so that extremes are more common.
         if (semiLastCondition.isLighterThan(lastCondition)) {
-          conditionHistory.add(Random.roll(TREND_FORCE) ? lastCondition.getHeavier() : lastCondition.getLighter());
+          conditionHistory.add(random.roll(TREND_FORCE) ? lastCondition.getHeavier() : lastCondition.getLighter());
         } else if (semiLastCondition.isHeavierThan(lastCondition)) {
-          conditionHistory.add(Random.roll(TREND_FORCE) ? lastCondition.getLighter() : lastCondition.getHeavier());
+          conditionHistory.add(random.roll(TREND_FORCE) ? lastCondition.getLighter() : lastCondition.getHeavier());
         } else { // The condition did not change, ensure change.
           // If an extreme condition follows the trend, it doesn't change, so conditions may not change.
           if (lastCondition.getLighter() == lastCondition) {
@@ -2,7 +2,6 @@ package org.mafagafogigante.dungeon.world;
 
 import org.mafagafogigante.dungeon.entity.creatures.Observer;
 import org.mafagafogigante.dungeon.game.World;
-import org.mafagafogigante.dungeon.io.Version;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -13,7 +12,7 @@ import java.io.Serializable;
  */
 public class WeatherConditionVisibilityCriterion implements Serializable, VisibilityCriterion {
 
-  private static final long serialVersionUID = Version.MAJOR;
+  private static final long serialVersionUID = 1L;
   private final WeatherCondition minimumCondition;
   private final WeatherCondition maximumCondition;
 
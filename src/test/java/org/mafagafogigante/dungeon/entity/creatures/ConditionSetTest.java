@@ -0,0 +1,112 @@
+package org.mafagafogigante.dungeon.entity.creatures;
+
+import org.mafagafogigante.dungeon.date.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConditionSetTest {
+
+  private static final StackingEffect STACKING_EFFECT = new StackingEffect();
+
+  @Test
+  public void removeExpiredShouldRemoveOnlyTheExpiredConditions() throws Exception {
+    ConditionSet conditions = new ConditionSet();
+    conditions.add(new AttackCondition(new Date(300), 3));
+    conditions.add(new AttackCondition(new Date(100), 1));
+    conditions.add(new AttackCondition(new Date(200), 2));
+    Assert.assertEquals(101, conditions.getNextExpirationTime());
+    Assert.assertEquals(16, conditions.modifyAttack(10));
+    conditions.removeExpired(new Date(100));
+    Assert.assertEquals(3, conditions.asList().size());
+    conditions.removeExpired(new Date(201));
+    Assert.assertEquals(1, conditions.asList().size());
+    Assert.assertEquals(301, conditions.getNextExpirationTime());
+    Assert.assertEquals(13, conditions.modifyAttack(10));
+    conditions.removeExpired(new Date(301));
+    Assert.assertTrue(conditions.asList().isEmpty());
+    Assert.assertEquals(Long.MAX_VALUE, conditions.getNextExpirationTime());
+    Assert.assertEquals(10, conditions.modifyAttack(10));
+  }
+
+  @Test
+  public void modifyAttackShouldNotReuseTheResultOfAnotherBase() throws Exception {
+    ConditionSet conditions = new ConditionSet();
+    conditions.add(new AttackCondition(new Date(100), 5));
+    Assert.assertEquals(15, conditions.modifyAttack(10));
+    Assert.assertEquals(25, conditions.modifyAttack(20));
+    conditions.add(new AttackCondition(new Date(100), 5));
+    Assert.assertEquals(30, conditions.modifyAttack(20));
+  }
+
+  @Test
+  public void addShouldReplaceTheFirstConditionToExpireWhenTheStackIsFull() throws Exception {
+    ConditionSet conditions = new ConditionSet();
+    conditions.add(new AttackCondition(new Date(200), 1, STACKING_EFFECT));
+    conditions.add(new AttackCondition(new Date(100), 2, STACKING_EFFECT));
+    conditions.add(new AttackCondition(new Date(300), 4, STACKING_EFFECT));
+    Assert.assertEquals(2, conditions.asList().size());
+    Assert.assertEquals(201, conditions.getNextExpirationTime());
+    Assert.assertEquals(5, conditions.modifyAttack(0));
+  }
+
+  private static final class StackingEffect extends Effect {
+
+    @Override
+    public void affect(Creature creature) {
+    }
+
+    @Override
+    public int getMaximumStack() {
+      return 2;
+    }
+
+  }
+
+  private static final class UnlimitedEffect extends Effect {
+
+    @Override
+    public void affect(Creature creature) {
+    }
+
+  }
+
+  private static final class AttackCondition extends Condition {
+
+    private final Date end;
+    private final int attackModifier;
+    private final Effect effect;
+
+    AttackCondition(Date end, int attackModifier) {
+      this(end, attackModifier, new UnlimitedEffect());
+    }
+
+    AttackCondition(Date end, int attackModifier, Effect effect) {
+      this.end = end;
+      this.attackModifier = attackModifier;
+      this.effect = effect;
+    }
+
+    @Override
+    Date getExpirationDate() {
+      return end;
+    }
+
+    @Override
+    Effect getEffect() {
+      return effect;
+    }
+
+    @Override
+    String getDescription() {
+      return "+" + attackModifier + " to attack";
+    }
+
+    @Override
+    int modifyAttack(int currentAttack) {
+      return currentAttack + attackModifier;
+    }
+
+  }
+
+}
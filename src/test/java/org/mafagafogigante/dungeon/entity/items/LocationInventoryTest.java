@@ -0,0 +1,55 @@
+package org.mafagafogigante.dungeon.entity.items;
+
+import org.mafagafogigante.dungeon.date.Date;
+import org.mafagafogigante.dungeon.date.DungeonTimeUnit;
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.game.World;
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocationInventoryTest {
+
+  private static final Date CREATION = new Date(2055, 6, 2);
+
+  private static ItemFactory makeItemFactory() {
+    return new World(new WorldStatistics(), 42).getItemFactory();
+  }
+
+  @Test
+  public void refreshItemsShouldRemoveOnlyTheDecomposedItems() throws Exception {
+    ItemFactory itemFactory = makeItemFactory();
+    LocationInventory inventory = new LocationInventory();
+    Item torch = itemFactory.makeItem(new Id("TORCH"), CREATION);
+    Item apple = itemFactory.makeItem(new Id("APPLE"), CREATION);
+    Item banana = itemFactory.makeItem(new Id("BANANA"), CREATION);
+    inventory.addItem(torch);
+    inventory.addItem(apple);
+    inventory.addItem(banana);
+    Assert.assertEquals(Long.MAX_VALUE, torch.getDecompositionTime());
+    Assert.assertEquals(banana.getDecompositionTime(), inventory.getNextDecompositionTime());
+    Assert.assertFalse(inventory.refreshItems(CREATION.plus(1, DungeonTimeUnit.DAY)));
+    Assert.assertEquals(3, inventory.getItemCount());
+    Assert.assertTrue(inventory.refreshItems(CREATION.plus(3, DungeonTimeUnit.DAY)));
+    Assert.assertFalse(inventory.hasItem(banana));
+    Assert.assertEquals(apple.getDecompositionTime(), inventory.getNextDecompositionTime());
+    inventory.refreshItems(CREATION.plus(1, DungeonTimeUnit.YEAR));
+    Assert.assertFalse(inventory.hasItem(apple));
+    Assert.assertTrue(inventory.hasItem(torch));
+    Assert.assertEquals(Long.MAX_VALUE, inventory.getNextDecompositionTime());
+  }
+
+  @Test
+  public void removedItemsShouldNotDecomposeInTheInventory() throws Exception {
+    ItemFactory itemFactory = makeItemFactory();
+    LocationInventory inventory = new LocationInventory();
+    Item banana = itemFactory.makeItem(new Id("BANANA"), CREATION);
+    inventory.addItem(banana);
+    inventory.removeItem(banana);
+    Assert.assertEquals(Long.MAX_VALUE, inventory.getNextDecompositionTime());
+    inventory.refreshItems(CREATION.plus(1, DungeonTimeUnit.YEAR));
+    Assert.assertEquals(0, inventory.getItemCount());
+  }
+
+}
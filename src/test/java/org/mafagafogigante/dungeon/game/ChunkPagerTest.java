@@ -0,0 +1,127 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ChunkPagerTest {
+
+  private static final int CHUNK_SIDE = 5;
+  private static final int ROUNDS = 50;
+
+  private static Location[] makeChunk(World world, int chunkX) {
+    Location[] chunk = new Location[CHUNK_SIDE * CHUNK_SIDE];
+    for (int x = 0; x < CHUNK_SIDE; x++) {
+      for (int y = 0; y < CHUNK_SIDE; y++) {
+        chunk[x * CHUNK_SIDE + y] = world.getLocation(chunkX * CHUNK_SIDE + x, y, 0);
+      }
+    }
+    return chunk;
+  }
+
+  @Test
+  public void regionFilesShouldNotGrowWhenChunksArePagedRepeatedly() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkPager pager = new ChunkPager(world);
+    long firstKey = ChunkStore.packChunkKey(0, 0, 0);
+    long secondKey = ChunkStore.packChunkKey(1, 0, 0);
+    Location[] first = makeChunk(world, 0);
+    Location[] second = makeChunk(world, 1);
+    long initialBytes = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      Assert.assertTrue(pager.pageOut(firstKey, first));
+      Assert.assertTrue(pager.pageOut(secondKey, second));
+      if (round == 0) {
+        initialBytes = pager.getRegionBytes();
+      }
+      first = pager.pageIn(firstKey);
+      second = pager.pageIn(secondKey);
+      // The first chunk grows every round, so it never fits in the space it had the round before.
+      first[0].restoreItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    }
+    // Without reusing free space, every round would append the first chunk to the region file again.
+    Assert.assertTrue(pager.getRegionBytes() < 4 * initialBytes);
+  }
+
+  @Test
+  public void pagedInChunksShouldBeEqualToThePagedOutChunks() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkPager pager = new ChunkPager(world);
+    long key = ChunkStore.packChunkKey(0, 0, 0);
+    Location[] chunk = makeChunk(world, 0);
+    for (int round = 0; round < 3; round++) {
+      Assert.assertTrue(pager.pageOut(key, chunk));
+      Assert.assertTrue(pager.isPagedOut(key));
+      Location[] pagedIn = pager.pageIn(key);
+      for (int i = 0; i < chunk.length; i++) {
+        Assert.assertEquals(chunk[i].getId(), pagedIn[i].getId());
+        Assert.assertEquals(chunk[i].getItemList().size(), pagedIn[i].getItemList().size());
+      }
+      chunk = pagedIn;
+    }
+  }
+
+  @Test
+  public void capturedChunksShouldBeReadableUntilTheRegionFilesAreReleased() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkPager pager = new ChunkPager(world);
+    long firstKey = ChunkStore.packChunkKey(0, 0, 0);
+    final long secondKey = ChunkStore.packChunkKey(1, 0, 0);
+    Assert.assertTrue(pager.pageOut(firstKey, makeChunk(world, 0)));
+    CapturedChunk captured = pager.capturePagedChunk(firstKey);
+    final byte[] expected = captured.read();
+    pager.retainRegionFiles();
+    pager.pageIn(firstKey);
+    // The space of the first chunk is held, so the second one must not overwrite it.
+    Assert.assertTrue(pager.pageOut(secondKey, makeChunk(world, 1)));
+    Assert.assertArrayEquals(expected, captured.read());
+    final long bytes = pager.getRegionBytes();
+    pager.releaseRegionFiles();
+    pager.pageIn(secondKey);
+    // Once released, the space is reused.
+    Assert.assertTrue(pager.pageOut(firstKey, makeChunk(world, 0)));
+    Assert.assertEquals(bytes, pager.getRegionBytes());
+  }
+
+  @Test
+  public void disposingShouldDeleteTheRegionFiles() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkPager pager = new ChunkPager(world);
+    long key = ChunkStore.packChunkKey(0, 0, 0);
+    Assert.assertTrue(pager.pageOut(key, makeChunk(world, 0)));
+    CapturedChunk captured = pager.capturePagedChunk(key);
+    pager.dispose();
+    Assert.assertEquals(0, pager.getRegionBytes());
+    try {
+      captured.read();
+      Assert.fail("expected an IOException");
+    } catch (IOException expected) {
+      // The region file no longer exists.
+    }
+  }
+
+  @Test
+  public void disposingShouldNotDeleteTheRegionFilesUntilTheyAreReleased() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkPager pager = new ChunkPager(world);
+    long key = ChunkStore.packChunkKey(0, 0, 0);
+    Assert.assertTrue(pager.pageOut(key, makeChunk(world, 0)));
+    CapturedChunk captured = pager.capturePagedChunk(key);
+    final byte[] bytes = captured.read();
+    pager.retainRegionFiles();
+    pager.dispose();
+    Assert.assertArrayEquals(bytes, captured.read());
+    pager.releaseRegionFiles();
+    Assert.assertEquals(0, pager.getRegionBytes());
+    try {
+      captured.read();
+      Assert.fail("expected an IOException");
+    } catch (IOException expected) {
+      // The region file no longer exists.
+    }
+  }
+
+}
@@ -0,0 +1,149 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkStoreTest {
+
+  private static final int CHUNK_SIDE = 5;
+  private static final int SIDE = 20;
+
+  @Test
+  public void toChunkCoordinateShouldRoundTowardsNegativeInfinity() throws Exception {
+    Assert.assertEquals(0, ChunkStore.toChunkCoordinate(0, CHUNK_SIDE));
+    Assert.assertEquals(0, ChunkStore.toChunkCoordinate(4, CHUNK_SIDE));
+    Assert.assertEquals(1, ChunkStore.toChunkCoordinate(5, CHUNK_SIDE));
+    Assert.assertEquals(-1, ChunkStore.toChunkCoordinate(-1, CHUNK_SIDE));
+    Assert.assertEquals(-1, ChunkStore.toChunkCoordinate(-5, CHUNK_SIDE));
+    Assert.assertEquals(-2, ChunkStore.toChunkCoordinate(-6, CHUNK_SIDE));
+  }
+
+  @Test
+  public void packChunkKeyShouldDistinguishNeighboringChunks() throws Exception {
+    long origin = ChunkStore.packChunkKey(0, 0, 0);
+    Assert.assertNotEquals(origin, ChunkStore.packChunkKey(-1, 0, 0));
+    Assert.assertNotEquals(origin, ChunkStore.packChunkKey(0, -1, 0));
+    Assert.assertNotEquals(origin, ChunkStore.packChunkKey(0, 0, -1));
+    Assert.assertNotEquals(ChunkStore.packChunkKey(1, 0, 0), ChunkStore.packChunkKey(0, 1, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void packChunkKeyShouldRejectDepthsOutsideOfTheSupportedRange() throws Exception {
+    ChunkStore.packChunkKey(0, 0, ChunkStore.MINIMUM_Z - 1);
+  }
+
+  @Test
+  public void packChunkKeyShouldRoundTripTheExtremesOfTheSupportedRange() throws Exception {
+    int[] coordinates = {ChunkStore.MINIMUM_CHUNK_COORDINATE, -1, 0, ChunkStore.MAXIMUM_CHUNK_COORDINATE};
+    for (int x : coordinates) {
+      for (int y : coordinates) {
+        long key = ChunkStore.packChunkKey(x, y, ChunkStore.MINIMUM_Z);
+        Assert.assertEquals(x, ChunkStore.unpackChunkX(key));
+        Assert.assertEquals(y, ChunkStore.unpackChunkY(key));
+        Assert.assertEquals(ChunkStore.MINIMUM_Z, ChunkStore.unpackZ(key));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void packChunkKeyShouldRejectCoordinatesThatWouldCollide() throws Exception {
+    ChunkStore.packChunkKey(ChunkStore.MAXIMUM_CHUNK_COORDINATE + 1, 0, 0);
+  }
+
+  @Test
+  public void getShouldReturnTheLocationsThatWerePut() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkStore store = new ChunkStore(CHUNK_SIDE);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        store.put(world.getLocation(x, y, 0));
+      }
+    }
+    Assert.assertEquals((2 * SIDE + 1) * (2 * SIDE + 1), store.size());
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        Assert.assertSame(world.getLocation(x, y, 0), store.get(x, y, 0));
+      }
+    }
+    Assert.assertNull(store.get(SIDE + 1, 0, 0));
+    Assert.assertNull(store.get(0, 0, ChunkStore.MAXIMUM_Z));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void putShouldRejectRepeatedLocations() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkStore store = new ChunkStore(CHUNK_SIDE);
+    store.put(world.getLocation(-1, -1, 0));
+    store.put(world.getLocation(-1, -1, 0));
+  }
+
+  @Test
+  public void unpackingShouldReverseTheChunkKeyPacking() throws Exception {
+    int[] values = {0, 1, -1, 4000, -4000};
+    for (int chunkX : values) {
+      for (int chunkY : values) {
+        for (int z = ChunkStore.MINIMUM_Z; z <= ChunkStore.MAXIMUM_Z; z++) {
+          long key = ChunkStore.packChunkKey(chunkX, chunkY, z);
+          Assert.assertEquals(chunkX, ChunkStore.unpackChunkX(key));
+          Assert.assertEquals(chunkY, ChunkStore.unpackChunkY(key));
+          Assert.assertEquals(z, ChunkStore.unpackZ(key));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void evictionShouldKeepTheRemainingLocationsReachable() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkStore store = new ChunkStore(CHUNK_SIDE);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        store.put(world.getLocation(x, y, 0));
+      }
+    }
+    ChunkPager pager = new ChunkPager(world);
+    int evicted = store.evictLeastRecentlyUsed(0, 0, 1, 9, pager);
+    Assert.assertEquals(evicted, pager.getPagedChunkCount());
+    Assert.assertEquals(9, store.getChunkCount());
+    for (int x = -CHUNK_SIDE; x < 2 * CHUNK_SIDE; x++) {
+      for (int y = -CHUNK_SIDE; y < 2 * CHUNK_SIDE; y++) {
+        Assert.assertSame(world.getLocation(x, y, 0), store.get(x, y, 0));
+      }
+    }
+    Assert.assertNull(store.get(-SIDE, -SIDE, 0));
+    long key = store.getChunkKey(-SIDE, -SIDE, 0);
+    store.putChunk(key, pager.pageIn(key));
+    Assert.assertEquals(world.getLocation(-SIDE, -SIDE, 0).getId(), store.get(-SIDE, -SIDE, 0).getId());
+  }
+
+  @Test
+  public void evictionShouldPreferTheLeastRecentlyUsedChunks() throws Exception {
+    World world = new World(new WorldStatistics(), 0);
+    ChunkStore store = new ChunkStore(CHUNK_SIDE);
+    store.put(world.getLocation(0, 0, 0));
+    store.put(world.getLocation(SIDE, 0, 0));
+    store.put(world.getLocation(-SIDE, 0, 0));
+    store.get(SIDE, 0, 0);
+    Assert.assertEquals(1, store.evictLeastRecentlyUsed(0, 0, 0, 2, new ChunkPager(world)));
+    Assert.assertNotNull(store.get(SIDE, 0, 0));
+    Assert.assertNull(store.get(-SIDE, 0, 0));
+  }
+
+  @Test
+  public void putChunkShouldKeepTheChunksReachableWhenTheTableGrows() throws Exception {
+    ChunkStore store = new ChunkStore(CHUNK_SIDE);
+    World world = new World(new WorldStatistics(), 0);
+    Location location = world.getLocation(0, 0, 0);
+    for (int chunkX = 0; chunkX < 100; chunkX++) {
+      store.putChunk(ChunkStore.packChunkKey(chunkX, 0, 0), new Location[CHUNK_SIDE * CHUNK_SIDE]);
+    }
+    Location[] chunk = new Location[CHUNK_SIDE * CHUNK_SIDE];
+    chunk[0] = location;
+    store.putChunk(ChunkStore.packChunkKey(0, 1, 0), chunk);
+    Assert.assertEquals(101, store.getChunkKeys().length);
+    Assert.assertSame(location, store.get(0, CHUNK_SIDE, 0));
+  }
+
+}
@@ -0,0 +1,59 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class DungeonEntranceIndexTest {
+
+  private static final MinimumBoundingRectangle RECTANGLE = DungeonCreator.getMinimumBoundingRectangle();
+  private static final int SIDE = 40;
+
+  @Test
+  public void addShouldThrowExceptionIfTheSameEntranceIsAddedTwice() throws Exception {
+    DungeonEntranceIndex index = new DungeonEntranceIndex(RECTANGLE);
+    index.add(-3, 2, 0);
+    try {
+      index.add(-3, 2, 0);
+      Assert.fail("Expected an IllegalStateException from the DungeonEntranceIndex.");
+    } catch (IllegalStateException expected) {
+      // Expected.
+    }
+    Assert.assertEquals(1, index.size());
+  }
+
+  @Test
+  public void hasEntranceNearShouldAgreeWithTheNoEntrancesZone() throws Exception {
+    SeededRandom random = new SeededRandom(0);
+    DungeonEntranceIndex index = new DungeonEntranceIndex(RECTANGLE);
+    Set<Point> entrances = new HashSet<>();
+    for (int i = 0; i < SIDE; i++) {
+      int x = random.nextInteger(-SIDE, SIDE);
+      int y = random.nextInteger(-SIDE, SIDE);
+      if (entrances.add(new Point(x, y, 0))) {
+        index.add(x, y, 0);
+      }
+    }
+    for (int x = -SIDE - RECTANGLE.getWidth(); x <= SIDE + RECTANGLE.getWidth(); x++) {
+      for (int y = -SIDE - RECTANGLE.getHeight(); y <= SIDE + RECTANGLE.getHeight(); y++) {
+        boolean expected = false;
+        for (Point point : DungeonDistributor.makeNoEntrancesZonePointList(new Point(x, y, 0), RECTANGLE)) {
+          expected |= entrances.contains(point);
+        }
+        Assert.assertEquals(expected, index.hasEntranceNear(x, y, 0));
+        Assert.assertEquals(entrances.contains(new Point(x, y, 0)), index.contains(x, y, 0));
+      }
+    }
+  }
+
+  @Test
+  public void hasEntranceNearShouldIgnoreOtherLevels() throws Exception {
+    DungeonEntranceIndex index = new DungeonEntranceIndex(RECTANGLE);
+    index.add(0, 0, -1);
+    Assert.assertFalse(index.hasEntranceNear(1, 0, 0));
+    Assert.assertTrue(index.hasEntranceNear(1, 0, -1));
+  }
+
+}
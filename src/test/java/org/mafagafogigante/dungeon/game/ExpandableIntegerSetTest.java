@@ -1,7 +1,11 @@
 package org.mafagafogigante.dungeon.game;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ExpandableIntegerSetTest {
 
   @Test(expected = IllegalArgumentException.class)
@@ -19,4 +23,48 @@ public class ExpandableIntegerSetTest {
     new ExpandableIntegerSet(1, 1);
   }
 
+  @Test
+  public void testContentsDoNotDependOnTheOrderOfExpansion() {
+    ExpandableIntegerSet upwardsFirst = new ExpandableIntegerSet(4, 20, 42);
+    upwardsFirst.expand(1000);
+    upwardsFirst.expand(-1000);
+    ExpandableIntegerSet downwardsFirst = new ExpandableIntegerSet(4, 20, 42);
+    downwardsFirst.expand(-1000);
+    downwardsFirst.expand(1000);
+    for (int i = -1000; i <= 1000; i++) {
+      Assert.assertEquals(upwardsFirst.contains(i), downwardsFirst.contains(i));
+    }
+  }
+
+  @Test
+  public void testExpandNotifiesTheListenerOfEveryNewInteger() {
+    ExpandableIntegerSet set = new ExpandableIntegerSet(4, 20, 42);
+    final List<Integer> added = new ArrayList<>();
+    ExpandableIntegerSet.ExpansionListener listener = new ExpandableIntegerSet.ExpansionListener() {
+      @Override
+      public void integerAdded(int integer) {
+        added.add(integer);
+      }
+    };
+    set.expand(1000, listener);
+    set.expand(-1000, listener);
+    int smallest = Integer.MAX_VALUE;
+    int biggest = Integer.MIN_VALUE;
+    for (int integer : added) {
+      Assert.assertTrue(set.contains(integer));
+      smallest = Math.min(smallest, integer);
+      biggest = Math.max(biggest, integer);
+    }
+    Assert.assertTrue(smallest < -1000);
+    Assert.assertTrue(biggest > 1000);
+    int count = 0;
+    for (int i = smallest; i <= biggest; i++) {
+      if (set.contains(i)) {
+        count++;
+      }
+    }
+    // Only the initial integer was not reported.
+    Assert.assertEquals(added.size() + 1, count);
+  }
+
 }
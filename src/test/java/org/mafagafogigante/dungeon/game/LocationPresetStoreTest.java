@@ -2,6 +2,8 @@ package org.mafagafogigante.dungeon.game;
 
 import org.mafagafogigante.dungeon.game.LocationPreset.Type;
 
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -62,4 +64,16 @@ public class LocationPresetStoreTest {
     }
   }
 
+  @Test
+  public void testMakeLocationPresetShouldUseTheDefaultFrequencyWhenItIsMissing() throws Exception {
+    String json = "{\"id\": \"TEST\", \"type\": \"LAND\", \"name\": {\"singular\": \"Test\"}, " +
+        "\"color\": [0, 0, 0], \"symbol\": \"T\", \"info\": \"A test.\", \"blobSize\": 1, " +
+        "\"lightPermittivity\": 1, \"tags\": []}";
+    Method method = LocationPresetStore.class.getDeclaredMethod("makeLocationPreset", JsonObject.class);
+    method.setAccessible(true);
+    LocationPreset preset = (LocationPreset) method.invoke(null, Json.parse(json).asObject());
+    method.setAccessible(false);
+    Assert.assertEquals(1.0, preset.getFrequency(), 0.0);
+  }
+
 }
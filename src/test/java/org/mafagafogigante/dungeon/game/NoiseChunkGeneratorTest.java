@@ -0,0 +1,69 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NoiseChunkGeneratorTest {
+
+  private static final long SEED = 42;
+  private static final int SIDE = 60;
+
+  @Test
+  public void chunksShouldNotDependOnTheOrderOfGeneration() throws Exception {
+    World forwards = new World(new WorldStatistics(), SEED, ChunkGeneratorType.NOISE);
+    World backwards = new World(new WorldStatistics(), SEED, ChunkGeneratorType.NOISE);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        forwards.getLocation(x, y, 0);
+        backwards.getLocation(-x, -y, 0);
+      }
+    }
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        for (int z = -2; z <= 0; z++) {
+          Assert.assertEquals(forwards.alreadyHasLocationAt(x, y, z), backwards.alreadyHasLocationAt(x, y, z));
+          if (forwards.alreadyHasLocationAt(x, y, z)) {
+            Assert.assertEquals(forwards.getLocation(x, y, z).getId(), backwards.getLocation(x, y, z).getId());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void riversShouldBeApartAndAwayFromTheOrigin() throws Exception {
+    NoiseChunkGenerator generator = new NoiseChunkGenerator(SEED);
+    int lastRiver = Integer.MIN_VALUE;
+    for (int x = -10 * SIDE; x <= 10 * SIDE; x++) {
+      if (generator.isRiver(x)) {
+        Assert.assertTrue(Math.abs(x) >= 10);
+        if (lastRiver != Integer.MIN_VALUE && lastRiver > 0 == x > 0) {
+          Assert.assertTrue(x - lastRiver >= 7);
+          Assert.assertTrue(x - lastRiver <= 11);
+        }
+        lastRiver = x;
+      }
+    }
+  }
+
+  @Test
+  public void dungeonEntrancesShouldBeIsolated() throws Exception {
+    NoiseChunkGenerator generator = new NoiseChunkGenerator(SEED);
+    MinimumBoundingRectangle rectangle = DungeonCreator.getMinimumBoundingRectangle();
+    int entrances = 0;
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        if (generator.isDungeonEntrance(x, y)) {
+          entrances++;
+          for (Point point : DungeonDistributor.makeNoEntrancesZonePointList(new Point(x, y, 0), rectangle)) {
+            Assert.assertFalse(generator.isDungeonEntrance(point.getX(), point.getY()));
+          }
+        }
+      }
+    }
+    Assert.assertTrue(entrances > 0);
+  }
+
+}
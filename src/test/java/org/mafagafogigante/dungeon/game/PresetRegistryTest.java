@@ -0,0 +1,68 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.date.Date;
+import org.mafagafogigante.dungeon.entity.items.ItemFactory;
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class PresetRegistryTest {
+
+  private static final Date DATE = new Date(2055, 6, 2);
+  private static final Id UNIQUE_ITEM_ID = new Id("THE_SUN_BLADE");
+
+  @Test
+  public void getDefaultRegistryShouldAlwaysReturnTheSameRegistry() throws Exception {
+    Assert.assertSame(PresetRegistry.getDefaultRegistry(), PresetRegistry.getDefaultRegistry());
+  }
+
+  @Test
+  public void worldsShouldShareTheCreatureFactory() throws Exception {
+    World first = new World(new WorldStatistics(), 1);
+    World second = new World(new WorldStatistics(), 2);
+    Assert.assertSame(first.getCreatureFactory(), second.getCreatureFactory());
+  }
+
+  @Test
+  public void worldsShouldNotShareUniquenessRestrictions() throws Exception {
+    World first = new World(new WorldStatistics(), 1);
+    World second = new World(new WorldStatistics(), 2);
+    first.getItemFactory().makeItem(UNIQUE_ITEM_ID, DATE);
+    Assert.assertFalse(first.getItemFactory().canMakeItem(UNIQUE_ITEM_ID));
+    Assert.assertTrue(second.getItemFactory().canMakeItem(UNIQUE_ITEM_ID));
+  }
+
+  @Test
+  public void deserializedItemFactoryShouldKeepItsRestrictionsAndHaveThePresets() throws Exception {
+    ItemFactory itemFactory = PresetRegistry.getDefaultRegistry().makeItemFactory();
+    itemFactory.makeItem(UNIQUE_ITEM_ID, DATE);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(itemFactory);
+    }
+    ItemFactory deserialized;
+    try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (ItemFactory) input.readObject();
+    }
+    Assert.assertFalse(deserialized.canMakeItem(UNIQUE_ITEM_ID));
+    Assert.assertNotNull(deserialized.makeItem(new Id("STICK"), DATE));
+  }
+
+  @Test
+  public void deserializedCreatureFactoryShouldBeTheSharedOne() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(PresetRegistry.getDefaultRegistry().getCreatureFactory());
+    }
+    try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Assert.assertSame(PresetRegistry.getDefaultRegistry().getCreatureFactory(), input.readObject());
+    }
+  }
+
+}
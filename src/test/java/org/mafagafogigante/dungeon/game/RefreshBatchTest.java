@@ -0,0 +1,94 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.date.Date;
+import org.mafagafogigante.dungeon.entity.creatures.Hero;
+import org.mafagafogigante.dungeon.entity.items.Item;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RefreshBatchTest {
+
+  private GameState state;
+
+  /**
+   * Sets a new GameState marked as saved. Refreshing the game marks it as unsaved, so the tests check that instead.
+   */
+  @Before
+  public void setUp() {
+    state = new GameState();
+    Game.setGameState(state);
+    state.setSaved(true);
+  }
+
+  @After
+  public void tearDown() {
+    Game.unsetGameState();
+  }
+
+  @Test
+  public void nestedBatchesShouldOnlyRefreshWhenTheOutermostIsClosed() {
+    try (RefreshBatch outer = Engine.beginRefreshBatch()) {
+      try (RefreshBatch inner = Engine.beginRefreshBatch()) {
+        inner.rollDate(1);
+      }
+      Assert.assertTrue(state.isSaved());
+      outer.rollDate(1);
+      Assert.assertTrue(state.isSaved());
+    }
+    Assert.assertFalse(state.isSaved());
+  }
+
+  @Test
+  public void batchesShouldNotRefreshIfNoTimePassed() {
+    try (RefreshBatch outer = Engine.beginRefreshBatch()) {
+      try (RefreshBatch inner = Engine.beginRefreshBatch()) {
+        inner.refreshItems();
+      }
+    }
+    Assert.assertTrue(state.isSaved());
+  }
+
+  @Test
+  public void closeShouldBeIdempotent() {
+    try (RefreshBatch outer = Engine.beginRefreshBatch()) {
+      RefreshBatch inner = Engine.beginRefreshBatch();
+      inner.close();
+      inner.close();
+      // Had the second close also closed the outer batch, rolling the date would refresh the game at once.
+      outer.rollDate(1);
+      Assert.assertTrue(state.isSaved());
+    }
+    Assert.assertFalse(state.isSaved());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void rollDateShouldThrowIfTheBatchIsClosed() {
+    RefreshBatch batch = Engine.beginRefreshBatch();
+    batch.close();
+    batch.rollDate(1);
+  }
+
+  @Test
+  public void pickItemsShouldNotPickAnItemThatDecomposedWhileItWasBeingPickedUp() {
+    Hero hero = state.getHero();
+    Date now = state.getWorld().getWorldDate();
+    Item probe = state.getWorld().getItemFactory().makeItem(new Id("APPLE"), now);
+    long putrefactionPeriod = probe.getDecompositionTime() - now.getTime();
+    // Made so that it decomposes five seconds from now, before the Hero finishes picking it up.
+    Date creationDate = new Date(now.getTime() - putrefactionPeriod + 5000);
+    Item apple = state.getWorld().getItemFactory().makeItem(new Id("APPLE"), creationDate);
+    hero.getLocation().addItem(apple);
+    // Closing the batch of pickItems would also remove the apple from the inventory of the Hero, so keep one open.
+    try (RefreshBatch batch = Engine.beginRefreshBatch()) {
+      hero.pickItems(new String[]{"apple"});
+      // The Hero took the time to pick the apple up, so it did try.
+      Assert.assertTrue(state.getWorld().getWorldDate().getTime() > now.getTime());
+      Assert.assertFalse(hero.getLocation().getInventory().hasItem(apple));
+      Assert.assertFalse(hero.getInventory().hasItem(apple));
+    }
+  }
+
+}
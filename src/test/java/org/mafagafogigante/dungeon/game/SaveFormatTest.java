@@ -0,0 +1,388 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.items.Item;
+import org.mafagafogigante.dungeon.io.CompressionCodec;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class SaveFormatTest {
+
+  private static final int SIDE = 20;
+
+  private static GameState writeAndRead(GameState state) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(state, bytes);
+    return SaveFormat.read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  private static void assertSameLocation(Location expected, Location actual) {
+    Assert.assertEquals(expected.getId(), actual.getId());
+    Assert.assertEquals(expected.getPoint(), actual.getPoint());
+    for (Direction direction : Direction.values()) {
+      Assert.assertEquals(expected.isBlocked(direction), actual.isBlocked(direction));
+    }
+    Assert.assertEquals(expected.getSpawners().size(), actual.getSpawners().size());
+    for (int i = 0; i < expected.getSpawners().size(); i++) {
+      Spawner expectedSpawner = expected.getSpawners().get(i);
+      Spawner actualSpawner = actual.getSpawners().get(i);
+      Assert.assertEquals(expectedSpawner.getId(), actualSpawner.getId());
+      Assert.assertEquals(expectedSpawner.getPopulationLimit(), actualSpawner.getPopulationLimit());
+      Assert.assertEquals(expectedSpawner.getLastChange(), actualSpawner.getLastChange());
+    }
+    Assert.assertEquals(expected.getItemList().size(), actual.getItemList().size());
+    for (int i = 0; i < expected.getItemList().size(); i++) {
+      Item expectedItem = expected.getItemList().get(i);
+      Item actualItem = actual.getItemList().get(i);
+      Assert.assertEquals(expectedItem.getId(), actualItem.getId());
+      Assert.assertEquals(expectedItem.getIntegrity().getCurrent(), actualItem.getIntegrity().getCurrent());
+      Assert.assertSame(actual.getInventory(), actualItem.getInventory());
+    }
+    Assert.assertEquals(expected.getCreatureCount(), actual.getCreatureCount());
+    Assert.assertSame(actual.getWorld(), actual.getWorld().getLocation(actual.getPoint()).getWorld());
+  }
+
+  @Test
+  public void readShouldRestoreTheLocationsAndTheHero() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        world.getLocation(x, y, 0);
+      }
+    }
+    Location origin = world.getLocation(0, 0, 0);
+    Item damaged = world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate());
+    damaged.getIntegrity().decrementBy(1);
+    origin.addItem(damaged);
+    Item clock = world.getItemFactory().makeItem(new Id("POCKET_WATCH"), world.getWorldDate());
+    clock.getClockComponent().setLastTime(world.getWorldDate());
+    origin.addItem(clock);
+    origin.getBlockedEntrances().block(Direction.EAST);
+    GameState loaded = writeAndRead(state);
+    World loadedWorld = loaded.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        assertSameLocation(world.getLocation(x, y, 0), loadedWorld.getLocation(x, y, 0));
+      }
+    }
+    Location loadedOrigin = loadedWorld.getLocation(0, 0, 0);
+    Assert.assertSame(loadedOrigin, loaded.getHero().getLocation());
+    Assert.assertTrue(loadedOrigin.getCreatures().contains(loaded.getHero()));
+    Assert.assertEquals(state.getHero().getInventory().getItemCount(), loaded.getHero().getInventory().getItemCount());
+    Assert.assertEquals(world.getWorldDate(), loadedWorld.getWorldDate());
+  }
+
+  @Test
+  public void readShouldRestoreTheItemsOfTheHeroInTheirInventory() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    Item stick = world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate());
+    stick.getIntegrity().decrementBy(1);
+    state.getHero().getInventory().addItem(stick);
+    state.getHero().setWeapon(stick);
+    Assert.assertSame(stick, state.getHero().getWeapon());
+    GameState loaded = writeAndRead(state);
+    List<Item> items = loaded.getHero().getInventory().getItems();
+    Assert.assertEquals(state.getHero().getInventory().getItemCount(), items.size());
+    Item loadedStick = items.get(items.size() - 1);
+    Assert.assertEquals(stick.getId(), loadedStick.getId());
+    Assert.assertEquals(stick.getIntegrity().getCurrent(), loadedStick.getIntegrity().getCurrent());
+    Assert.assertSame(loadedStick, loaded.getHero().getWeapon());
+    for (Item item : items) {
+      Assert.assertSame(loaded.getHero().getInventory(), item.getInventory());
+    }
+  }
+
+  @Test
+  public void readShouldRestorePagedOutChunks() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    world.setChunkResidencyLimits(0, 1);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, SIDE, 0);
+    }
+    world.pageOutDistantChunks(new Point(0, 0, 0));
+    Assert.assertTrue(world.getChunkPager().getPagedChunkCount() > 0);
+    World loadedWorld = writeAndRead(state).getWorld();
+    Assert.assertEquals(0, loadedWorld.getChunkPager().getPagedChunkCount());
+    Assert.assertEquals(0, loadedWorld.getChunkPager().getResidencyRadius());
+    Assert.assertEquals(1, loadedWorld.getChunkPager().getMaximumResidentChunks());
+    for (int x = -SIDE; x <= SIDE; x++) {
+      assertSameLocation(world.getLocation(x, SIDE, 0), loadedWorld.getLocation(x, SIDE, 0));
+    }
+  }
+
+  @Test
+  public void lazyReadsShouldOnlyDecodeTheChunksAroundTheHero() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        world.getLocation(x, y, 0);
+      }
+    }
+    Location origin = state.getHero().getLocation();
+    Location destination = world.getLocation(SIDE, SIDE, 0);
+    origin.removeCreature(state.getHero());
+    destination.addCreature(state.getHero());
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(state, bytes, CompressionCodec.LZ);
+    ByteArrayInputStream input = new ByteArrayInputStream(bytes.toByteArray());
+    GameState loaded = SaveFormat.read(SaveFormat.readHeader(input), input, null, true);
+    World loadedWorld = loaded.getWorld();
+    Assert.assertTrue(loadedWorld.getResidentChunkCount() <= 9);
+    Assert.assertEquals(world.getResidentChunkCount(),
+        loadedWorld.getResidentChunkCount() + loadedWorld.getChunkPager().getPagedChunkCount());
+    Assert.assertEquals(destination.getPoint(), loaded.getHero().getLocation().getPoint());
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        assertSameLocation(world.getLocation(x, y, 0), loadedWorld.getLocation(x, y, 0));
+      }
+    }
+  }
+
+  @Test
+  public void savesOfLazilyReadGamesShouldHaveTheChunksThatWereNotDecoded() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(state, bytes);
+    ByteArrayInputStream input = new ByteArrayInputStream(bytes.toByteArray());
+    GameState lazy = SaveFormat.read(SaveFormat.readHeader(input), input, null, true);
+    Assert.assertTrue(lazy.getWorld().getChunkPager().getPagedChunkCount() > 0);
+    World loadedWorld = writeAndRead(lazy).getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      assertSameLocation(world.getLocation(x, 0, 0), loadedWorld.getLocation(x, 0, 0));
+    }
+  }
+
+  @Test
+  public void journalRecordsShouldOnlyHaveTheChunksThatChanged() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    SaveFormat.write(state, new ByteArrayOutputStream());
+    Assert.assertEquals(0, world.getDirtyChunkCount());
+    world.getLocation(SIDE, 0, 0).addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    Assert.assertEquals(1, world.getDirtyChunkCount());
+    Assert.assertEquals(1, SaveFormat.writeJournalRecord(state, new ByteArrayOutputStream()));
+    Assert.assertEquals(0, SaveFormat.writeJournalRecord(state, new ByteArrayOutputStream()));
+  }
+
+  @Test
+  public void journalRecordsShouldOnlyHaveTheSectionsThatChanged() throws Exception {
+    GameState state = new GameState();
+    SaveFormat.write(state, new ByteArrayOutputStream());
+    SaveSnapshot record = SaveFormat.captureJournalRecord(state);
+    for (int section = 0; section < SaveFormat.SECTION_COUNT; section++) {
+      Assert.assertFalse(record.hasSection(section));
+    }
+    record.release();
+    state.getWorld().rollDate(60);
+    record = SaveFormat.captureJournalRecord(state);
+    for (int section = 0; section < SaveFormat.SECTION_COUNT; section++) {
+      Assert.assertEquals(section == SaveFormat.WORLD_SECTION, record.hasSection(section));
+    }
+    record.release();
+  }
+
+  @Test
+  public void readShouldApplyTheExplorationAndTheGenerationInTheJournal() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    SaveFormat.write(state, save);
+    ByteArrayOutputStream journal = new ByteArrayOutputStream();
+    SaveFormat.writeJournalHeader(state, journal);
+    Location location = world.getLocation(4 * SIDE, 0, 0);
+    state.getStatistics().getExplorationStatistics().addVisit(location.getPoint(), location.getId(),
+        world.getWorldDate());
+    SaveFormat.writeJournalRecord(state, journal);
+    GameState loaded = SaveFormat.read(new ByteArrayInputStream(save.toByteArray()),
+        new ByteArrayInputStream(journal.toByteArray()));
+    Assert.assertTrue(loaded.getStatistics().getExplorationStatistics().hasBeenSeen(location.getPoint()));
+    Assert.assertTrue(loaded.getWorld().getGenerator().hasGeneratedLocationAt(location.getPoint()));
+    Assert.assertSame(loaded.getStatistics().getWorldStatistics(), loaded.getWorld().getWorldStatistics());
+  }
+
+  @Test
+  public void readShouldApplyTheJournalToTheSave() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    SaveFormat.write(state, save);
+    ByteArrayOutputStream journal = new ByteArrayOutputStream();
+    SaveFormat.writeJournalHeader(state, journal);
+    world.getLocation(SIDE, SIDE, 0).addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    SaveFormat.writeJournalRecord(state, journal);
+    Location origin = world.getLocation(0, 0, 0);
+    Location destination = world.getLocation(1, 0, 0);
+    origin.removeCreature(state.getHero());
+    destination.addCreature(state.getHero());
+    SaveFormat.writeJournalRecord(state, journal);
+    GameState loaded = SaveFormat.read(new ByteArrayInputStream(save.toByteArray()),
+        new ByteArrayInputStream(journal.toByteArray()));
+    World loadedWorld = loaded.getWorld();
+    assertSameLocation(world.getLocation(SIDE, SIDE, 0), loadedWorld.getLocation(SIDE, SIDE, 0));
+    assertSameLocation(origin, loadedWorld.getLocation(0, 0, 0));
+    Assert.assertEquals(destination.getPoint(), loaded.getHero().getLocation().getPoint());
+    Assert.assertTrue(loaded.getHero().getLocation().getCreatures().contains(loaded.getHero()));
+  }
+
+  @Test
+  public void capturedChunksShouldBeWrittenAsTheyWereWhenCaptured() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    Location location = world.getLocation(4 * SIDE, 0, 0);
+    final int itemCount = location.getItemList().size();
+    SaveSnapshot snapshot = SaveFormat.captureSave(state);
+    location.addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    world.getLocation(8 * SIDE, 0, 0);
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    snapshot.writeTo(save);
+    World loadedWorld = SaveFormat.read(new ByteArrayInputStream(save.toByteArray())).getWorld();
+    Assert.assertEquals(itemCount, loadedWorld.getLocation(4 * SIDE, 0, 0).getItemList().size());
+    Assert.assertFalse(loadedWorld.alreadyHasLocationAt(8 * SIDE, 0, 0));
+  }
+
+  @Test
+  public void readShouldApplyRecordsCapturedBeforeTheSaveWasWritten() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    SaveSnapshot snapshot = SaveFormat.captureSave(state);
+    Location location = world.getLocation(4 * SIDE, 0, 0);
+    location.addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    SaveSnapshot record = SaveFormat.captureJournalRecord(state);
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    snapshot.writeTo(save);
+    ByteArrayOutputStream journal = new ByteArrayOutputStream();
+    SaveFormat.writeJournalHeader(state, journal);
+    record.writeTo(journal);
+    World loadedWorld = SaveFormat.read(new ByteArrayInputStream(save.toByteArray()),
+        new ByteArrayInputStream(journal.toByteArray())).getWorld();
+    assertSameLocation(location, loadedWorld.getLocation(4 * SIDE, 0, 0));
+    Assert.assertEquals(world.getIdTable().size(), loadedWorld.getIdTable().size());
+  }
+
+  @Test
+  public void readShouldIgnoreARecordThatWasCutShort() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    SaveFormat.write(state, save);
+    ByteArrayOutputStream journal = new ByteArrayOutputStream();
+    SaveFormat.writeJournalHeader(state, journal);
+    world.getLocation(SIDE, 0, 0).addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    SaveFormat.writeJournalRecord(state, journal);
+    int completeLength = journal.size();
+    Location location = world.getLocation(-SIDE, 0, 0);
+    final int itemCount = location.getItemList().size();
+    location.addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    SaveFormat.writeJournalRecord(state, journal);
+    byte[] truncated = Arrays.copyOf(journal.toByteArray(), (completeLength + journal.size()) / 2);
+    World loadedWorld = SaveFormat.read(new ByteArrayInputStream(save.toByteArray()),
+        new ByteArrayInputStream(truncated)).getWorld();
+    assertSameLocation(world.getLocation(SIDE, 0, 0), loadedWorld.getLocation(SIDE, 0, 0));
+    Assert.assertEquals(itemCount, loadedWorld.getLocation(-SIDE, 0, 0).getItemList().size());
+  }
+
+  @Test
+  public void readShouldIgnoreTheJournalOfAnotherSave() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    ByteArrayOutputStream journal = new ByteArrayOutputStream();
+    SaveFormat.write(state, new ByteArrayOutputStream());
+    SaveFormat.writeJournalHeader(state, journal);
+    world.getLocation(SIDE, 0, 0).addItem(world.getItemFactory().makeItem(new Id("STICK"), world.getWorldDate()));
+    SaveFormat.writeJournalRecord(state, journal);
+    GameState other = new GameState();
+    ByteArrayOutputStream save = new ByteArrayOutputStream();
+    SaveFormat.write(other, save);
+    World loadedWorld = SaveFormat.read(new ByteArrayInputStream(save.toByteArray()),
+        new ByteArrayInputStream(journal.toByteArray())).getWorld();
+    Assert.assertEquals(other.getWorld().getSeed(), loadedWorld.getSeed());
+    Assert.assertFalse(loadedWorld.alreadyHasLocationAt(SIDE, 0, 0));
+  }
+
+  @Test
+  public void readShouldRestoreSavesCompressedWithEveryCodec() throws Exception {
+    GameState state = new GameState();
+    World world = state.getWorld();
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    for (CompressionCodec codec : CompressionCodec.values()) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      SaveFormat.write(state, bytes, codec);
+      ByteArrayInputStream input = new ByteArrayInputStream(bytes.toByteArray());
+      SaveHeader header = SaveFormat.readHeader(input);
+      Assert.assertSame(codec, header.getCodec());
+      Assert.assertEquals(state.getSaveId(), header.getSaveId());
+      World loadedWorld = SaveFormat.read(header, input, null, false).getWorld();
+      for (int x = -SIDE; x <= SIDE; x++) {
+        assertSameLocation(world.getLocation(x, 0, 0), loadedWorld.getLocation(x, 0, 0));
+      }
+    }
+  }
+
+  @Test
+  public void theBodyLengthInTheHeaderShouldBeTheLengthOfTheUncompressedBody() throws Exception {
+    GameState state = new GameState();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(state, bytes);
+    ByteArrayInputStream input = new ByteArrayInputStream(bytes.toByteArray());
+    SaveHeader header = SaveFormat.readHeader(input);
+    Assert.assertEquals(input.available(), header.getBodyLength());
+  }
+
+  @Test(expected = IOException.class)
+  public void readShouldRejectStreamsWithoutTheMagicNumber() throws Exception {
+    SaveFormat.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 0, 0, 0, 1}));
+  }
+
+  @Test
+  public void serializedSavesShouldBeReportedAsWrittenByAnOlderVersion() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+      stream.writeObject(new Id("SAVE"));
+    }
+    try {
+      SaveFormat.readHeader(new ByteArrayInputStream(bytes.toByteArray()));
+      Assert.fail();
+    } catch (SaveFormat.UnsupportedVersionException exception) {
+      Assert.assertTrue(exception.isOlder());
+    }
+  }
+
+  @Test
+  public void savesOfOtherFormatVersionsShouldBeReportedAsWrittenByOtherVersions() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SaveFormat.write(new GameState(), bytes);
+    byte[] save = bytes.toByteArray();
+    for (int formatVersion : new int[] {SaveFormat.FORMAT_VERSION - 1, SaveFormat.FORMAT_VERSION + 1}) {
+      // The format version follows the magic number.
+      ByteBuffer.wrap(save).putInt(4, formatVersion);
+      try {
+        SaveFormat.read(new ByteArrayInputStream(save));
+        Assert.fail();
+      } catch (SaveFormat.UnsupportedVersionException exception) {
+        Assert.assertEquals(formatVersion < SaveFormat.FORMAT_VERSION, exception.isOlder());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeededRandomTest {
+
+  @Test
+  public void seededRandomsWithTheSameSeedShouldProduceTheSameSequence() throws Exception {
+    SeededRandom first = new SeededRandom(42);
+    SeededRandom second = new SeededRandom(42);
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(first.nextLong(), second.nextLong());
+    }
+  }
+
+  @Test
+  public void deriveSeedShouldBeDeterministic() throws Exception {
+    Assert.assertEquals(SeededRandom.deriveSeed(42, 1, 2), SeededRandom.deriveSeed(42, 1, 2));
+  }
+
+  @Test
+  public void deriveSeedShouldDependOnTheOrderOfTheComponents() throws Exception {
+    Assert.assertNotEquals(SeededRandom.deriveSeed(42, 1, 2), SeededRandom.deriveSeed(42, 2, 1));
+  }
+
+  @Test
+  public void deriveSeedShouldDependOnTheSeed() throws Exception {
+    Assert.assertNotEquals(SeededRandom.deriveSeed(42, 1, 2), SeededRandom.deriveSeed(43, 1, 2));
+  }
+
+}
@@ -0,0 +1,68 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.entity.creatures.Creature;
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpawnerTest {
+
+  private static final long SEED = 42;
+  private static final int SPAWN_DELAY = 60 * 1000;
+  private static final long TEN_YEARS = 10L * 365 * 24 * 60 * 60;
+
+  private static Id getCreatureId(World world) {
+    return world.getCreatureFactory().getPresets().iterator().next().getId();
+  }
+
+  @Test
+  public void refreshAfterALongTimeShouldSpawnOnlyTheMissingPopulation() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    Location location = world.getLocation(0, 0, 0);
+    Id id = getCreatureId(world);
+    int before = location.getCreatureCount(id);
+    long lastChange = world.getWorldDate().getTime();
+    Spawner spawner = new Spawner(id, before + 3, SPAWN_DELAY, location, lastChange);
+    world.rollDate(TEN_YEARS);
+    Assert.assertTrue(spawner.refresh());
+    Assert.assertEquals(before + 3, location.getCreatureCount(id));
+    Assert.assertEquals(lastChange + 3 * SPAWN_DELAY, spawner.getLastChange());
+    Assert.assertFalse(spawner.refresh());
+    Assert.assertEquals(before + 3, location.getCreatureCount(id));
+  }
+
+  @Test
+  public void refreshShouldSpawnOneCreaturePerElapsedDelay() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    Location location = world.getLocation(0, 0, 0);
+    Id id = getCreatureId(world);
+    int before = location.getCreatureCount(id);
+    long lastChange = world.getWorldDate().getTime();
+    Spawner spawner = new Spawner(id, before + 100, SPAWN_DELAY, location, lastChange);
+    // Two and a half spawn delays.
+    world.rollDate(150);
+    spawner.refresh();
+    Assert.assertEquals(before + 2, location.getCreatureCount(id));
+    Assert.assertEquals(lastChange + 2 * SPAWN_DELAY, spawner.getLastChange());
+  }
+
+  @Test
+  public void getCreatureCountShouldFollowAddedAndRemovedCreatures() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    Location location = world.getLocation(0, 0, 0);
+    Id id = getCreatureId(world);
+    int before = location.getCreatureCount(id);
+    Creature first = world.getCreatureFactory().makeCreature(id, world);
+    Creature second = world.getCreatureFactory().makeCreature(id, world);
+    location.addCreature(first);
+    location.addCreature(second);
+    Assert.assertEquals(before + 2, location.getCreatureCount(id));
+    location.removeCreature(first);
+    location.removeCreature(first);
+    Assert.assertEquals(before + 1, location.getCreatureCount(id));
+    location.removeCreature(second);
+    Assert.assertEquals(before, location.getCreatureCount(id));
+  }
+
+}
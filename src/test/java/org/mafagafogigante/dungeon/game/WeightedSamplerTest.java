@@ -0,0 +1,57 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class WeightedSamplerTest {
+
+  private static final List<String> ELEMENTS = Arrays.asList("A", "B", "C", "D");
+  private static final int SAMPLES = 100000;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorShouldRejectNegativeWeights() throws Exception {
+    new WeightedSampler<>(ELEMENTS, new double[] {1, 1, -1, 1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorShouldRejectWeightsThatAreAllZero() throws Exception {
+    new WeightedSampler<>(ELEMENTS, new double[] {0, 0, 0, 0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorShouldRejectMismatchedWeights() throws Exception {
+    new WeightedSampler<>(ELEMENTS, new double[] {1, 1});
+  }
+
+  @Test
+  public void sampleShouldFollowTheWeights() throws Exception {
+    double[] weights = {1, 0, 3, 6};
+    WeightedSampler<String> sampler = new WeightedSampler<>(ELEMENTS, weights);
+    SeededRandom random = new SeededRandom(0);
+    int[] counts = new int[ELEMENTS.size()];
+    for (int i = 0; i < SAMPLES; i++) {
+      counts[ELEMENTS.indexOf(sampler.sample(random))]++;
+    }
+    Assert.assertEquals(0, counts[1]);
+    for (int i = 0; i < ELEMENTS.size(); i++) {
+      Assert.assertEquals(weights[i] / 10, counts[i] / (double) SAMPLES, 0.01);
+    }
+  }
+
+  @Test
+  public void sampleShouldFollowTheWeightsWhenGivenHashes() throws Exception {
+    double[] weights = {1, 2, 3, 4};
+    WeightedSampler<String> sampler = new WeightedSampler<>(ELEMENTS, weights);
+    int[] counts = new int[ELEMENTS.size()];
+    for (int i = 0; i < SAMPLES; i++) {
+      counts[ELEMENTS.indexOf(sampler.sample(SeededRandom.deriveSeed(0, i)))]++;
+    }
+    for (int i = 0; i < ELEMENTS.size(); i++) {
+      Assert.assertEquals(weights[i] / 10, counts[i] / (double) SAMPLES, 0.01);
+    }
+  }
+
+}
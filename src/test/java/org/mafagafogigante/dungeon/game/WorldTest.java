@@ -0,0 +1,116 @@
+package org.mafagafogigante.dungeon.game;
+
+import org.mafagafogigante.dungeon.stats.WorldStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorldTest {
+
+  private static final long SEED = 42;
+  private static final int SIDE = 20;
+  private static final long TEN_DAYS = 10 * 24 * 60 * 60;
+
+  @Test
+  public void worldsWithTheSameSeedShouldHaveTheSameLocations() throws Exception {
+    World first = new World(new WorldStatistics(), SEED);
+    World second = new World(new WorldStatistics(), SEED);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        Point point = new Point(x, y, 0);
+        Assert.assertEquals(first.getLocation(point).getId(), second.getLocation(point).getId());
+      }
+    }
+  }
+
+  @Test
+  public void prefetchedLocationsShouldBeAddedToTheWorld() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    world.setChunkPrefetching(true);
+    world.prefetchAround(new Point(0, 0, 0));
+    for (int x = -SIDE; x <= SIDE; x++) {
+      for (int y = -SIDE; y <= SIDE; y++) {
+        Point point = new Point(x, y, 0);
+        Assert.assertEquals(point, world.getLocation(point).getPoint());
+      }
+    }
+  }
+
+  @Test
+  public void pagedOutLocationsShouldBePagedBackIn() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    World reference = new World(new WorldStatistics(), SEED);
+    world.setChunkResidencyLimits(0, 1);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    int residentChunks = world.getResidentChunkCount();
+    world.pageOutDistantChunks(new Point(0, 0, 0));
+    // Only the chunks of the origin, on the surface and possibly underground, should remain.
+    Assert.assertTrue(world.getResidentChunkCount() <= 3);
+    Assert.assertEquals(residentChunks - world.getResidentChunkCount(), world.getChunkPager().getPageOuts());
+    for (int x = -SIDE; x <= SIDE; x++) {
+      Location location = world.getLocation(x, 0, 0);
+      Assert.assertSame(world, location.getWorld());
+      Assert.assertEquals(reference.getLocation(x, 0, 0).getId(), location.getId());
+    }
+    // Underground chunks were paged out but not requested again.
+    Assert.assertTrue(world.getChunkPager().getPageIns() > 0);
+    Assert.assertTrue(world.getChunkPager().getPageIns() <= world.getChunkPager().getPageOuts());
+  }
+
+  @Test
+  public void scheduledChangesShouldCatchUpLikeRefreshingEachLocation() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    World reference = new World(new WorldStatistics(), SEED);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+      reference.getLocation(x, 0, 0);
+    }
+    Assert.assertTrue(world.getScheduledLocationCount() > 0);
+    world.rollDate(TEN_DAYS);
+    reference.rollDate(TEN_DAYS);
+    Assert.assertTrue(world.runScheduledChanges() > 0);
+    Assert.assertEquals(0, world.runScheduledChanges());
+    for (int x = -SIDE; x <= SIDE; x++) {
+      Location location = reference.getLocation(x, 0, 0);
+      location.refresh();
+      Assert.assertEquals(location.getCreatureCount(), world.getLocation(x, 0, 0).getCreatureCount());
+      Assert.assertEquals(location.getItemList().size(), world.getLocation(x, 0, 0).getItemList().size());
+    }
+  }
+
+  @Test
+  public void refreshingALocationShouldOnlyMarkItsChunkAsDirtyIfItChanged() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    Location location = world.getLocation(0, 0, 0);
+    location.refresh();
+    location.addItem(world.getItemFactory().makeItem(new Id("APPLE"), world.getWorldDate()));
+    world.takeDirtyChunkKeys();
+    location.refresh();
+    Assert.assertEquals(0, world.getDirtyChunkCount());
+    // The apple decomposes, which changes the location.
+    world.rollDate(TEN_DAYS * 100);
+    location.refresh();
+    Assert.assertEquals(1, world.getDirtyChunkCount());
+  }
+
+  @Test
+  public void pagedOutLocationsShouldNotBeScheduled() throws Exception {
+    World world = new World(new WorldStatistics(), SEED);
+    world.setChunkResidencyLimits(0, 1);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    int scheduled = world.getScheduledLocationCount();
+    world.pageOutDistantChunks(new Point(0, 0, 0));
+    int afterPageOut = world.getScheduledLocationCount();
+    Assert.assertTrue(afterPageOut < scheduled);
+    for (int x = -SIDE; x <= SIDE; x++) {
+      world.getLocation(x, 0, 0);
+    }
+    // The surface chunks are paged back in, which schedules their Locations again.
+    Assert.assertTrue(world.getScheduledLocationCount() > afterPageOut);
+  }
+
+}
@@ -0,0 +1,121 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+public class CompressionCodecTest {
+
+  private static byte[] makeRepetitiveBytes(int length) {
+    StringBuilder builder = new StringBuilder();
+    Random random = new Random(0);
+    while (builder.length() < length) {
+      builder.append("LOCATION_").append(random.nextInt(50)).append(" Forest with a river. ");
+    }
+    return Arrays.copyOf(builder.toString().getBytes(DungeonCharset.DEFAULT_CHARSET), length);
+  }
+
+  private static byte[] makeRandomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(0).nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] compress(CompressionCodec codec, byte[] bytes) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream stream = codec.newCompressingStream(compressed)) {
+      // Write in uneven pieces so that blocks are filled across writes.
+      int offset = 0;
+      int piece = 1;
+      while (offset < bytes.length) {
+        int length = Math.min(piece, bytes.length - offset);
+        stream.write(bytes, offset, length);
+        offset += length;
+        piece = piece * 3 + 1;
+      }
+    }
+    return compressed.toByteArray();
+  }
+
+  private static byte[] decompress(CompressionCodec codec, byte[] bytes) throws IOException {
+    ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+    try (InputStream stream = codec.newDecompressingStream(new ByteArrayInputStream(bytes))) {
+      byte[] buffer = new byte[1000];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        decompressed.write(buffer, 0, read);
+      }
+    }
+    return decompressed.toByteArray();
+  }
+
+  @Test
+  public void everyCodecShouldReverseItsCompression() throws Exception {
+    for (CompressionCodec codec : CompressionCodec.values()) {
+      for (byte[] bytes : Arrays.asList(new byte[0], makeRepetitiveBytes(3), makeRepetitiveBytes(300000),
+          makeRandomBytes(100000))) {
+        Assert.assertArrayEquals(codec.name(), bytes, decompress(codec, compress(codec, bytes)));
+      }
+    }
+  }
+
+  @Test
+  public void compressingCodecsShouldShrinkRepetitiveBytes() throws Exception {
+    byte[] bytes = makeRepetitiveBytes(300000);
+    Assert.assertTrue(compress(CompressionCodec.LZ, bytes).length < bytes.length / 3);
+    Assert.assertTrue(compress(CompressionCodec.DEFLATE, bytes).length < bytes.length / 3);
+  }
+
+  @Test
+  public void lzShouldNotGrowIncompressibleBytesByMoreThanItsFraming() throws Exception {
+    byte[] bytes = makeRandomBytes(100000);
+    Assert.assertTrue(compress(CompressionCodec.LZ, bytes).length < bytes.length + 16);
+  }
+
+  @Test(expected = EOFException.class)
+  public void lzShouldDetectStreamsThatWereCutShort() throws Exception {
+    byte[] compressed = compress(CompressionCodec.LZ, makeRepetitiveBytes(300000));
+    decompress(CompressionCodec.LZ, Arrays.copyOf(compressed, compressed.length / 2));
+  }
+
+  @Test
+  public void closingTheStreamsShouldNotCloseTheWrappedStreams() throws Exception {
+    for (CompressionCodec codec : CompressionCodec.values()) {
+      final boolean[] closed = new boolean[1];
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+        @Override
+        public void close() {
+          closed[0] = true;
+        }
+      };
+      codec.newCompressingStream(bytes).close();
+      InputStream input = new ByteArrayInputStream(bytes.toByteArray()) {
+        @Override
+        public void close() {
+          closed[0] = true;
+        }
+      };
+      codec.newDecompressingStream(input).close();
+      Assert.assertFalse(codec.name(), closed[0]);
+    }
+  }
+
+  @Test
+  public void codecsShouldBeFoundByTheirIdentifiersAndNames() throws Exception {
+    for (CompressionCodec codec : CompressionCodec.values()) {
+      Assert.assertSame(codec, CompressionCodec.fromIdentifier(codec.getIdentifier()));
+      Assert.assertSame(codec, CompressionCodec.fromName(codec.toString()));
+    }
+    Assert.assertNull(CompressionCodec.fromIdentifier(-1));
+    Assert.assertNull(CompressionCodec.fromName("zip"));
+  }
+
+}
@@ -18,4 +18,10 @@ public class ConverterTest {
     Assert.assertEquals("1024.0 GiB", Converter.bytesToHuman((1L << 40) - 1));
   }
 
+  @Test
+  public void throughputToHuman() throws Exception {
+    Assert.assertEquals("1.0 KiB/s", Converter.throughputToHuman(1L << 10, 1000000000));
+    Assert.assertEquals("2.0 MiB/s", Converter.throughputToHuman(1L << 20, 500000000));
+  }
+
 }
@@ -0,0 +1,141 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonBundleTest {
+
+  private static byte[] compile(Map<String, byte[]> sources) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    JsonBundle.write(sources, bytes);
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Asserts that two values are equal, except that numbers only have to have the same value and not the same JSON.
+   */
+  private static void assertEquivalent(JsonValue expected, JsonValue actual) {
+    if (expected.isNumber()) {
+      Assert.assertTrue(actual.isNumber());
+      Assert.assertEquals(expected.asDouble(), actual.asDouble(), 0.0);
+    } else if (expected.isArray()) {
+      Assert.assertEquals(expected.asArray().size(), actual.asArray().size());
+      for (int i = 0; i < expected.asArray().size(); i++) {
+        assertEquivalent(expected.asArray().get(i), actual.asArray().get(i));
+      }
+    } else if (expected.isObject()) {
+      Assert.assertEquals(expected.asObject().names(), actual.asObject().names());
+      for (String name : expected.asObject().names()) {
+        assertEquivalent(expected.asObject().get(name), actual.asObject().get(name));
+      }
+    } else {
+      Assert.assertEquals(expected, actual);
+    }
+  }
+
+  private static Map<String, byte[]> readResources() throws IOException {
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    for (DungeonResource resource : DungeonResource.values()) {
+      sources.put(resource.getFilename(), ResourceStreamFactory.readBytes(resource.getFilename()));
+    }
+    return sources;
+  }
+
+  @Test
+  public void decodeShouldReturnWhatParsingTheResourcesReturns() throws Exception {
+    Map<String, byte[]> sources = readResources();
+    JsonBundle bundle = JsonBundle.read(ByteBuffer.wrap(compile(sources)));
+    for (Map.Entry<String, byte[]> source : sources.entrySet()) {
+      byte[] bytes = source.getValue();
+      Assert.assertTrue(bundle.contains(source.getKey(), bytes.length, JsonBundle.checksum(bytes)));
+      assertEquivalent(JsonBundle.parse(source.getValue()), bundle.decode(source.getKey()));
+    }
+  }
+
+  @Test
+  public void openArrayShouldDecodeTheElementsOfTheArray() throws Exception {
+    JsonObject object = new JsonObject();
+    object.add("before", new JsonArray().add(Json.array(1, 2)).add(new JsonObject().add("skipped", 0.5)));
+    object.add("elements", new JsonArray().add(new JsonObject().add("a", 1)).add(new JsonObject().add("b", "c")));
+    object.add("after", true);
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    sources.put("array.json", object.toString().getBytes(DungeonCharset.DEFAULT_CHARSET));
+    JsonBundle.ArrayCursor cursor = JsonBundle.read(ByteBuffer.wrap(compile(sources))).openArray("array.json",
+        "elements");
+    for (JsonValue element : object.get("elements").asArray()) {
+      Assert.assertTrue(cursor.hasNext());
+      Assert.assertEquals(element, cursor.next());
+    }
+    Assert.assertFalse(cursor.hasNext());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void openArrayShouldThrowIfThereIsNoSuchArray() throws Exception {
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    sources.put("a.json", "{\"a\": 1}".getBytes(DungeonCharset.DEFAULT_CHARSET));
+    JsonBundle.read(ByteBuffer.wrap(compile(sources))).openArray("a.json", "b");
+  }
+
+  @Test
+  public void decodeShouldPreserveEveryKindOfValue() throws Exception {
+    JsonObject object = new JsonObject();
+    object.add("null", Json.NULL).add("true", true).add("false", false).add("integer", -1234567890123L);
+    object.add("double", 0.125).add("string", "Café").add("empty", new JsonObject());
+    object.add("array", Json.array(1, 2, 3)).add("string", "a repeated name");
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    sources.put("values.json", object.toString().getBytes(DungeonCharset.DEFAULT_CHARSET));
+    JsonValue decoded = JsonBundle.read(ByteBuffer.wrap(compile(sources))).decode("values.json");
+    Assert.assertEquals(object, decoded);
+    Assert.assertEquals(-1234567890123L, decoded.asObject().get("integer").asLong());
+    Assert.assertEquals(0.125, decoded.asObject().get("double").asDouble(), 0.0);
+  }
+
+  @Test
+  public void containsShouldReturnFalseForModifiedJson() throws Exception {
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    sources.put("a.json", "{\"a\": 1}".getBytes(DungeonCharset.DEFAULT_CHARSET));
+    JsonBundle bundle = JsonBundle.read(ByteBuffer.wrap(compile(sources)));
+    byte[] source = sources.get("a.json");
+    Assert.assertTrue(bundle.matchesSize("a.json", source.length));
+    Assert.assertTrue(bundle.contains("a.json", source.length, JsonBundle.checksum(source)));
+    byte[] longer = "{\"a\": 10}".getBytes(DungeonCharset.DEFAULT_CHARSET);
+    Assert.assertFalse(bundle.matchesSize("a.json", longer.length));
+    Assert.assertFalse(bundle.contains("a.json", longer.length, JsonBundle.checksum(longer)));
+    Assert.assertFalse(bundle.contains("b.json", source.length, JsonBundle.checksum(source)));
+  }
+
+  @Test
+  public void containsShouldReturnFalseForJsonModifiedWithoutChangingItsSize() throws Exception {
+    Map<String, byte[]> sources = new LinkedHashMap<>();
+    sources.put("a.json", "{\"damage\": 5}".getBytes(DungeonCharset.DEFAULT_CHARSET));
+    JsonBundle bundle = JsonBundle.read(ByteBuffer.wrap(compile(sources)));
+    byte[] modified = "{\"damage\": 6}".getBytes(DungeonCharset.DEFAULT_CHARSET);
+    Assert.assertTrue(bundle.matchesSize("a.json", modified.length));
+    Assert.assertFalse(bundle.contains("a.json", modified.length, JsonBundle.checksum(modified)));
+  }
+
+  @Test(expected = IOException.class)
+  public void readShouldThrowIfTheBundleIsTruncated() throws Exception {
+    byte[] bundle = compile(readResources());
+    JsonBundle.read(ByteBuffer.wrap(Arrays.copyOf(bundle, bundle.length / 2)));
+  }
+
+  @Test(expected = IOException.class)
+  public void readShouldThrowIfTheMagicNumberIsWrong() throws Exception {
+    byte[] bundle = compile(readResources());
+    bundle[0] = 0;
+    JsonBundle.read(ByteBuffer.wrap(bundle));
+  }
+
+}
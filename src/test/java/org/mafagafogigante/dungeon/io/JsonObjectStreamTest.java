@@ -0,0 +1,29 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.JsonArray;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonObjectStreamTest {
+
+  @Test
+  public void streamShouldReadTheSameObjectsAsTheParsedResource() throws Exception {
+    String filename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
+    JsonArray items = JsonObjectFactory.makeJsonObject(filename).get("items").asArray();
+    int index = 0;
+    try (JsonObjectStream stream = JsonObjectFactory.makeJsonObjectStream(filename, "items")) {
+      while (stream.hasNext()) {
+        Assert.assertEquals(items.get(index).asObject().get("id"), stream.next().get("id"));
+        index++;
+      }
+    }
+    Assert.assertEquals(items.size(), index);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void makeJsonObjectStreamShouldFailOnMissingArrays() throws Exception {
+    String filename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
+    JsonObjectFactory.makeJsonObjectStream(filename, "locations");
+  }
+
+}
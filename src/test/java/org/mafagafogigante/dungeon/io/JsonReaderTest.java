@@ -0,0 +1,110 @@
+package org.mafagafogigante.dungeon.io;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public class JsonReaderTest {
+
+  private static JsonReader makeReader(String json) {
+    return new JsonReader(new StringReader(json));
+  }
+
+  @Test
+  public void readerShouldReadTokensInOrder() throws Exception {
+    JsonReader reader = makeReader("{\"name\": \"Sword\", \"values\": [1, -2.5e3, true, null]}");
+    reader.beginObject();
+    Assert.assertEquals("name", reader.nextName());
+    Assert.assertEquals("Sword", reader.nextString());
+    Assert.assertEquals("values", reader.nextName());
+    reader.beginArray();
+    Assert.assertEquals(1, reader.nextInt());
+    Assert.assertEquals(-2500.0, reader.nextDouble(), 0.0);
+    Assert.assertTrue(reader.nextBoolean());
+    Assert.assertEquals(JsonToken.NULL, reader.peek());
+    reader.nextNull();
+    Assert.assertFalse(reader.hasNext());
+    reader.endArray();
+    reader.endObject();
+    Assert.assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+  }
+
+  @Test
+  public void readerShouldDecodeEscapes() throws Exception {
+    String json = "\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\" + "u0041\"";
+    Assert.assertEquals("\"\\/\b\f\n\r\tA", makeReader(json).nextString());
+  }
+
+  @Test
+  public void readerShouldReadStringsLongerThanItsBuffer() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      builder.append((char) ('a' + i % 26));
+    }
+    Assert.assertEquals(builder.toString(), makeReader("\"" + builder + "\"").nextString());
+  }
+
+  @Test
+  public void nextValueShouldBeEqualToTheParsedValue() throws Exception {
+    String json = "{\"a\": [1, 2, {\"b\": \"c\"}], \"d\": false, \"e\": null, \"f\": \"g\"}";
+    JsonValue value = makeReader(json).nextValue();
+    Assert.assertEquals(Json.parse(json), value);
+    Assert.assertEquals(2, value.asObject().get("a").asArray().get(1).asInt());
+  }
+
+  @Test
+  public void getPathShouldPointToTheCurrentValue() throws Exception {
+    JsonReader reader = makeReader("{\"items\": [{\"id\": 1}, {\"id\": 2, \"name\": \"x\"}]}");
+    reader.beginObject();
+    reader.nextName();
+    reader.beginArray();
+    reader.skipValue();
+    reader.beginObject();
+    reader.nextName();
+    reader.skipValue();
+    Assert.assertEquals("$.items[1].id", reader.getPath());
+    reader.nextName();
+    Assert.assertEquals("$.items[1].name", reader.getPath());
+  }
+
+  @Test
+  public void readerShouldRejectMalformedJson() throws Exception {
+    String[] documents = {"{\"a\" 1}", "[1 2]", "[1,]", "{\"a\": 1,}", "01", "1.", "tru", "\"a", "[1] 2", "\"\\x\""};
+    for (String document : documents) {
+      try {
+        makeReader(document).skipValue();
+        makeReader(document).nextValue();
+        JsonReader reader = makeReader(document);
+        reader.skipValue();
+        reader.peek();
+        Assert.fail(document + " should have been rejected.");
+      } catch (IOException expected) {
+        Assert.assertTrue(expected.getMessage().contains("line 1"));
+      }
+    }
+  }
+
+  @Test
+  public void syntaxErrorsShouldHaveTheirLineAndColumn() throws Exception {
+    JsonReader reader = makeReader("{\n  \"a\": 1\n  \"b\": 2\n}");
+    reader.beginObject();
+    reader.nextName();
+    reader.nextInt();
+    try {
+      reader.peek();
+      Assert.fail();
+    } catch (IOException expected) {
+      Assert.assertEquals("expected ',' or '}' at line 3, column 3.", expected.getMessage());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void readerShouldRejectReadingTheWrongToken() throws Exception {
+    makeReader("[1]").beginObject();
+  }
+
+}
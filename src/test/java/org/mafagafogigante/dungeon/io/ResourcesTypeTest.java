@@ -1,6 +1,16 @@
 package org.mafagafogigante.dungeon.io;
 
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.schema.JsonRule;
+import org.mafagafogigante.dungeon.schema.SchemaViolation;
+import org.mafagafogigante.dungeon.schema.rules.CompiledJsonSchema;
+
 import com.eclipsesource.json.JsonObject;
+import org.junit.Assert;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
 
 class ResourcesTypeTest {
 
@@ -8,4 +18,34 @@ class ResourcesTypeTest {
     return JsonObjectFactory.makeJsonObject(filename);
   }
 
+  /**
+   * Streams a resource through its rule in ResourceSchemas and fails listing every violation of the resource.
+   */
+  static void assertValid(DungeonResource resource) {
+    String itemsFilename = ResourceNameResolver.resolveName(DungeonResource.ITEMS);
+    List<Id> itemIds = ResourceSchemas.extractIds(getJsonObjectByJsonFilename(itemsFilename));
+    JsonRule rule = ResourceSchemas.makeRule(resource, itemIds);
+    Assert.assertNotNull(resource + " has no schema.", rule);
+    assertValid(rule, ResourceNameResolver.resolveName(resource));
+  }
+
+  /**
+   * Streams a resource through the compiled rule and fails listing every violation of the resource.
+   */
+  static void assertValid(JsonRule rule, String filename) {
+    try (Reader reader = ResourceStreamFactory.getInputStreamReader(filename)) {
+      List<SchemaViolation> violations = CompiledJsonSchema.compile(rule).validate(reader);
+      if (!violations.isEmpty()) {
+        StringBuilder builder = new StringBuilder(filename).append(" has ").append(violations.size());
+        builder.append(" violations:");
+        for (SchemaViolation violation : violations) {
+          builder.append('\n').append(violation);
+        }
+        Assert.fail(builder.toString());
+      }
+    } catch (IOException exception) {
+      throw new AssertionError(filename + " could not be read.", exception);
+    }
+  }
+
 }
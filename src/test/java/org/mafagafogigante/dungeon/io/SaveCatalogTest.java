@@ -0,0 +1,88 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.game.GameState;
+import org.mafagafogigante.dungeon.game.Id;
+import org.mafagafogigante.dungeon.game.SaveFormat;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+public class SaveCatalogTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void entriesShouldBeReadBackNewestFirst() throws Exception {
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    catalog.put(new SaveCatalog.Entry("old.dungeon", "v1", 10, "1-01-01 00:00:00", "Healthy at Forest", 1000));
+    catalog.put(new SaveCatalog.Entry("new.dungeon", "v2", 20, "2-01-01 00:00:00", "Injured at Desert", 2000));
+    catalog.put(new SaveCatalog.Entry("old.dungeon", "v1", 30, "3-01-01 00:00:00", "Healthy at River", 500));
+    List<SaveCatalog.Entry> entries = new SaveCatalog(folder.getRoot()).getEntries();
+    Assert.assertEquals(2, entries.size());
+    Assert.assertEquals("new.dungeon", entries.get(0).getName());
+    Assert.assertEquals("Injured at Desert", entries.get(0).getHeroSummary());
+    Assert.assertEquals("old.dungeon", entries.get(1).getName());
+    Assert.assertEquals(30, entries.get(1).getSize());
+    Assert.assertEquals("3-01-01 00:00:00", entries.get(1).getWorldDate());
+  }
+
+  @Test
+  public void removedEntriesShouldNotBeReadBack() throws Exception {
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    catalog.put(new SaveCatalog.Entry("gone.dungeon", "v1", 10, "", "", 1000));
+    catalog.remove("gone.dungeon");
+    Assert.assertTrue(new SaveCatalog(folder.getRoot()).isEmpty());
+  }
+
+  @Test
+  public void missingCatalogsShouldBeRebuiltFromTheSaves() throws Exception {
+    GameState state = new GameState();
+    File save = new File(folder.getRoot(), "rebuilt.dungeon");
+    try (OutputStream out = new FileOutputStream(save)) {
+      SaveFormat.write(state, out);
+    }
+    folder.newFile("invalid.dungeon");
+    List<SaveCatalog.Entry> entries = new SaveCatalog(folder.getRoot()).getEntries();
+    Assert.assertEquals(1, entries.size());
+    Assert.assertEquals("rebuilt.dungeon", entries.get(0).getName());
+    Assert.assertEquals(state.getGameVersion().toString(), entries.get(0).getGameVersion());
+    Assert.assertEquals(save.length(), entries.get(0).getSize());
+    Assert.assertTrue(new File(folder.getRoot(), SaveCatalog.CATALOG_NAME).isFile());
+  }
+
+  @Test
+  public void savesOfOlderVersionsShouldBeListedAsSuch() throws Exception {
+    File save = new File(folder.getRoot(), "serialized.dungeon");
+    // Saves were written by Java serialization before the save format was introduced.
+    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(save))) {
+      out.writeObject(new Id("SAVE"));
+    }
+    List<SaveCatalog.Entry> entries = new SaveCatalog(folder.getRoot()).getEntries();
+    Assert.assertEquals(1, entries.size());
+    Assert.assertEquals("serialized.dungeon", entries.get(0).getName());
+    Assert.assertEquals(SaveCatalog.OLDER_VERSION, entries.get(0).getGameVersion());
+  }
+
+  @Test
+  public void corruptedCatalogsShouldBeRebuiltFromTheSaves() throws Exception {
+    try (OutputStream out = new FileOutputStream(new File(folder.getRoot(), "only.dungeon"))) {
+      SaveFormat.write(new GameState(), out);
+    }
+    try (OutputStream out = new FileOutputStream(new File(folder.getRoot(), SaveCatalog.CATALOG_NAME))) {
+      out.write(new byte[] {1, 2, 3});
+    }
+    List<SaveCatalog.Entry> entries = new SaveCatalog(folder.getRoot()).getEntries();
+    Assert.assertEquals(1, entries.size());
+    Assert.assertEquals("only.dungeon", entries.get(0).getName());
+  }
+
+}
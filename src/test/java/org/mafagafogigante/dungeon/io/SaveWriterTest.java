@@ -0,0 +1,125 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.mafagafogigante.dungeon.game.GameState;
+import org.mafagafogigante.dungeon.game.SaveFormat;
+import org.mafagafogigante.dungeon.game.SaveSnapshot;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+public class SaveWriterTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private static void submit(GameState state, SaveSnapshot snapshot, File saveFile, File journalFile,
+      SaveCatalog catalog) {
+    SaveWriter.submit(state, snapshot, CompressionCodec.LZ, saveFile, journalFile, catalog, false);
+  }
+
+  @Test
+  public void submittedSavesShouldBeReadableOnceWritten() throws Exception {
+    File saveFile = new File(folder.getRoot(), "test.dungeon");
+    File journalFile = new File(folder.getRoot(), "test.journal");
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    GameState state = new GameState();
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    state.getWorld().getLocation(10, 10, 0);
+    submit(state, SaveFormat.captureJournalRecord(state), saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    Assert.assertTrue(journalFile.isFile());
+    Assert.assertEquals(1, catalog.getEntries().size());
+    Assert.assertEquals(saveFile.length() + journalFile.length(), catalog.getEntries().get(0).getSize());
+    Assert.assertFalse(new File(saveFile.getPath() + ".tmp").exists());
+    try (InputStream save = new FileInputStream(saveFile); InputStream journal = new FileInputStream(journalFile)) {
+      GameState loaded = SaveFormat.read(save, journal);
+      Assert.assertTrue(loaded.getWorld().alreadyHasLocationAt(10, 10, 0));
+    }
+  }
+
+  @Test
+  public void submittedSavesShouldNotHaveWhatChangedAfterTheyWereCaptured() throws Exception {
+    File saveFile = new File(folder.getRoot(), "test.dungeon");
+    File journalFile = new File(folder.getRoot(), "test.journal");
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    GameState state = new GameState();
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    state.getWorld().getLocation(10, 10, 0);
+    submit(state, SaveFormat.captureJournalRecord(state), saveFile, journalFile, catalog);
+    state.getWorld().getLocation(20, 20, 0);
+    SaveWriter.waitForPendingWrites();
+    try (InputStream save = new FileInputStream(saveFile); InputStream journal = new FileInputStream(journalFile)) {
+      GameState loaded = SaveFormat.read(save, journal);
+      Assert.assertTrue(loaded.getWorld().alreadyHasLocationAt(10, 10, 0));
+      Assert.assertFalse(loaded.getWorld().alreadyHasLocationAt(20, 20, 0));
+    }
+  }
+
+  @Test
+  public void wholeSavesShouldDeleteTheJournal() throws Exception {
+    File saveFile = new File(folder.getRoot(), "test.dungeon");
+    File journalFile = new File(folder.getRoot(), "test.journal");
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    GameState state = new GameState();
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    submit(state, SaveFormat.captureJournalRecord(state), saveFile, journalFile, catalog);
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    Assert.assertTrue(saveFile.isFile());
+    Assert.assertFalse(journalFile.exists());
+  }
+
+  @Test
+  public void recordsAfterAFailedRecordShouldBeDiscarded() throws Exception {
+    File saveFile = new File(folder.getRoot(), "test.dungeon");
+    File journalFile = new File(folder.getRoot(), "test.journal");
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    GameState state = new GameState();
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    state.setSaveName(saveFile.getName());
+    state.getWorld().getLocation(10, 10, 0);
+    final SaveSnapshot failing = SaveFormat.captureJournalRecord(state);
+    state.getWorld().getLocation(20, 20, 0);
+    final SaveSnapshot discarded = SaveFormat.captureJournalRecord(state);
+    state.setSaved(true);
+    // A journal that cannot be read makes appending the first record fail.
+    Assert.assertTrue(journalFile.mkdir());
+    submit(state, failing, saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    Assert.assertTrue(journalFile.delete());
+    state.setSaved(true);
+    state.setSaveName(saveFile.getName());
+    submit(state, discarded, saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    Assert.assertFalse(journalFile.exists());
+    Assert.assertFalse(state.isSaved());
+    Assert.assertNull(state.getSaveName());
+  }
+
+  @Test
+  public void recordsForAnotherSaveShouldNotBeAppended() throws Exception {
+    File saveFile = new File(folder.getRoot(), "test.dungeon");
+    File journalFile = new File(folder.getRoot(), "test.journal");
+    SaveCatalog catalog = new SaveCatalog(folder.getRoot());
+    GameState state = new GameState();
+    submit(state, SaveFormat.captureSave(state), saveFile, journalFile, catalog);
+    submit(state, SaveFormat.captureJournalRecord(state), saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    final long journalLength = journalFile.length();
+    GameState other = new GameState();
+    SaveFormat.captureSave(other);
+    other.setSaved(true);
+    submit(other, SaveFormat.captureJournalRecord(other), saveFile, journalFile, catalog);
+    SaveWriter.waitForPendingWrites();
+    Assert.assertEquals(journalLength, journalFile.length());
+    Assert.assertFalse(other.isSaved());
+  }
+
+}
@@ -0,0 +1,93 @@
+package org.mafagafogigante.dungeon.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class VariableLengthCodingTest {
+
+  private static final long[] VALUES = {0, 1, -1, 63, -64, 64, 127, 128, 300, -300, Integer.MAX_VALUE,
+      Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+
+  @Test
+  public void readUnsignedShouldReverseWriteUnsigned() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    for (long value : VALUES) {
+      VariableLengthCoding.writeUnsigned(output, value);
+    }
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    for (long value : VALUES) {
+      Assert.assertEquals(value, VariableLengthCoding.readUnsigned(input));
+    }
+    Assert.assertEquals(-1, input.read());
+  }
+
+  @Test
+  public void readFromByteBufferShouldReverseWrite() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    for (long value : VALUES) {
+      VariableLengthCoding.writeUnsigned(output, value);
+      VariableLengthCoding.writeSigned(output, value);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    for (long value : VALUES) {
+      Assert.assertEquals(value, VariableLengthCoding.readUnsigned(buffer));
+      Assert.assertEquals(value, VariableLengthCoding.readSigned(buffer));
+    }
+    Assert.assertFalse(buffer.hasRemaining());
+  }
+
+  @Test(expected = IOException.class)
+  public void readFromByteBufferShouldThrowIfTheBufferEndsInTheMiddleOfAnInteger() throws Exception {
+    VariableLengthCoding.readUnsigned(ByteBuffer.wrap(new byte[] {(byte) 0x80}));
+  }
+
+  @Test
+  public void getUnsignedLengthShouldMatchWhatWriteUnsignedWrites() throws Exception {
+    for (long value : VALUES) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      VariableLengthCoding.writeUnsigned(new DataOutputStream(bytes), value);
+      Assert.assertEquals(bytes.size(), VariableLengthCoding.getUnsignedLength(value));
+    }
+  }
+
+  @Test
+  public void readSignedShouldReverseWriteSigned() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    for (long value : VALUES) {
+      VariableLengthCoding.writeSigned(output, value);
+    }
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    for (long value : VALUES) {
+      Assert.assertEquals(value, VariableLengthCoding.readSigned(input));
+    }
+    Assert.assertEquals(-1, input.read());
+  }
+
+  @Test
+  public void integersOfSmallMagnitudeShouldTakeOneByte() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    VariableLengthCoding.writeUnsigned(output, 127);
+    VariableLengthCoding.writeSigned(output, -64);
+    VariableLengthCoding.writeSigned(output, 63);
+    Assert.assertEquals(3, bytes.size());
+  }
+
+  @Test(expected = IOException.class)
+  public void readUnsignedIntShouldRejectValuesThatDoNotFit() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    VariableLengthCoding.writeUnsigned(new DataOutputStream(bytes), Integer.MAX_VALUE + 1L);
+    VariableLengthCoding.readUnsignedInt(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+}
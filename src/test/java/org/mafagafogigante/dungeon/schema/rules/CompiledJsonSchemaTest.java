@@ -0,0 +1,86 @@
+package org.mafagafogigante.dungeon.schema.rules;
+
+import org.mafagafogigante.dungeon.schema.JsonRule;
+import org.mafagafogigante.dungeon.schema.SchemaViolation;
+
+import com.eclipsesource.json.Json;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompiledJsonSchemaTest {
+
+  private static List<String> validate(JsonRule rule, String json) throws IOException {
+    List<String> paths = new ArrayList<>();
+    for (SchemaViolation violation : CompiledJsonSchema.compile(rule).validate(new StringReader(json))) {
+      paths.add(violation.getPath());
+    }
+    return paths;
+  }
+
+  private static JsonRule makeItemsRule() {
+    Map<String, JsonRule> itemRules = new HashMap<>();
+    itemRules.put("id", new IdJsonRule());
+    itemRules.put("weight", new OptionalJsonRule(new BoundIntegerJsonRule(0, 100)));
+    itemRules.put("tags", new GroupJsonRule(new VariableArrayJsonRule(new UppercaseStringJsonRule()),
+        new ArraySizeJsonRule(2)));
+    Map<String, JsonRule> fileRules = new HashMap<>();
+    fileRules.put("items", new VariableArrayJsonRule(new ObjectJsonRule(itemRules)));
+    return new ObjectJsonRule(fileRules);
+  }
+
+  @Test
+  public void validDocumentsShouldHaveNoViolations() throws Exception {
+    String json = "{\"items\": [{\"id\": \"STICK\", \"tags\": [\"A\", \"B\"]}, " +
+        "{\"id\": \"STONE\", \"weight\": 3, \"tags\": [\"C\", \"D\"]}]}";
+    Assert.assertEquals(new ArrayList<String>(), validate(makeItemsRule(), json));
+    new ObjectJsonRule(new HashMap<String, JsonRule>()).validate(Json.parse("{}"));
+    makeItemsRule().validate(Json.parse(json));
+  }
+
+  @Test
+  public void allViolationsShouldBeCollectedWithTheirPaths() throws Exception {
+    String json = "{\"items\": [{\"id\": \"stick\", \"tags\": [\"A\"]}, " +
+        "{\"id\": \"STONE\", \"weight\": 300, \"tags\": [\"C\", \"d\"], \"color\": \"RED\"}, {\"tags\": []}]}";
+    List<String> expected = Arrays.asList("$.items[0].id", "$.items[0].tags", "$.items[1].weight",
+        "$.items[1].tags[1]", "$.items[1].color", "$.items[2].tags", "$.items[2].id");
+    Assert.assertEquals(expected, validate(makeItemsRule(), json));
+  }
+
+  @Test
+  public void fixedArraysShouldCheckEachElementAndTheirSize() throws Exception {
+    JsonRule rule = new FixedArrayJsonRule(Arrays.<JsonRule>asList(new StringJsonRule(), new IntegerJsonRule()));
+    Assert.assertEquals(new ArrayList<String>(), validate(rule, "[\"a\", 1]"));
+    Assert.assertEquals(Arrays.asList("$[0]", "$[1]"), validate(rule, "[1, \"a\"]"));
+    Assert.assertEquals(Arrays.asList("$"), validate(rule, "[\"a\", 1, 2]"));
+  }
+
+  @Test
+  public void valuesOfTheWrongTypeShouldBeViolations() throws Exception {
+    Assert.assertEquals(Arrays.asList("$"), validate(makeItemsRule(), "[]"));
+    Assert.assertEquals(Arrays.asList("$.items"), validate(makeItemsRule(), "{\"items\": {}}"));
+    Assert.assertEquals(Arrays.asList("$.items"), validate(makeItemsRule(), "{\"items\": 1}"));
+  }
+
+  @Test
+  public void emptyRulesShouldAcceptAnything() throws Exception {
+    Map<String, JsonRule> rules = new HashMap<>();
+    rules.put("anything", new EmptyRule());
+    JsonRule rule = new ObjectJsonRule(rules);
+    Assert.assertEquals(new ArrayList<String>(), validate(rule, "{\"anything\": {\"a\": [1, {}]}}"));
+    Assert.assertEquals(new ArrayList<String>(), validate(rule, "{}"));
+  }
+
+  @Test(expected = IOException.class)
+  public void malformedDocumentsShouldThrowException() throws Exception {
+    validate(makeItemsRule(), "{\"items\": [}");
+  }
+
+}
@@ -0,0 +1,42 @@
+package org.mafagafogigante.dungeon.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntegerMapTest {
+
+  @Test
+  public void getShouldReturnNullForMissingKeys() throws Exception {
+    IntegerMap<String> map = new IntegerMap<>();
+    Assert.assertNull(map.get(0));
+    Assert.assertFalse(map.containsKey(0));
+    Assert.assertEquals(0, map.size());
+  }
+
+  @Test
+  public void getShouldReturnTheValuesThatWerePut() throws Exception {
+    IntegerMap<String> map = new IntegerMap<>();
+    for (int i = -1000; i <= 1000; i += 7) {
+      map.put(i, String.valueOf(i));
+    }
+    for (int i = -1000; i <= 1000; i++) {
+      Assert.assertEquals(i % 7 == 1 || i % 7 == -6 ? String.valueOf(i) : null, map.get(i));
+    }
+    Assert.assertEquals(286, map.size());
+  }
+
+  @Test
+  public void putShouldReplaceExistingValues() throws Exception {
+    IntegerMap<String> map = new IntegerMap<>();
+    map.put(Integer.MIN_VALUE, "first");
+    map.put(Integer.MIN_VALUE, "second");
+    Assert.assertEquals("second", map.get(Integer.MIN_VALUE));
+    Assert.assertEquals(1, map.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void putShouldRejectNullValues() throws Exception {
+    new IntegerMap<String>().put(1, null);
+  }
+
+}